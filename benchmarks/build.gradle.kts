@@ -0,0 +1,25 @@
+repositories {
+    mavenCentral()
+}
+
+dependencies {
+    implementation(rootProject)
+    implementation(project(":gson"))
+    implementation(project(":netty"))
+    implementation("io.netty:netty-buffer:4.1.97.Final")
+
+    implementation("org.openjdk.jmh:jmh-core:1.37")
+    annotationProcessor("org.openjdk.jmh:jmh-generator-annprocess:1.37")
+}
+
+// Runs every benchmark with the GC profiler attached so allocation rates are reported next to throughput,
+// custom JMH arguments can be passed with -Pjmh.args="EncodeBenchmark -p format=BYTE_BUF"
+tasks.register<JavaExec>("jmh") {
+    group = "benchmark"
+    description = "Runs the JMH benchmarks"
+
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("org.openjdk.jmh.Main")
+
+    args = ((project.findProperty("jmh.args") as String?) ?: "-prof gc").split(" ")
+}
@@ -0,0 +1,195 @@
+package io.wispforest.endec.benchmarks;
+
+import com.google.common.io.ByteArrayDataOutput;
+import com.google.common.io.ByteStreams;
+import com.google.gson.JsonElement;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.wispforest.endec.Deserializer;
+import io.wispforest.endec.Endec;
+import io.wispforest.endec.SerializationContext;
+import io.wispforest.endec.Serializer;
+import io.wispforest.endec.format.bytebuf.ByteBufDeserializer;
+import io.wispforest.endec.format.bytebuf.ByteBufSerializer;
+import io.wispforest.endec.format.data.DataInputDeserializer;
+import io.wispforest.endec.format.data.DataOutputSerializer;
+import io.wispforest.endec.format.edm.EdmDeserializer;
+import io.wispforest.endec.format.edm.EdmElement;
+import io.wispforest.endec.format.edm.EdmIo;
+import io.wispforest.endec.format.edm.EdmSerializer;
+import io.wispforest.endec.format.gson.GsonDeserializer;
+import io.wispforest.endec.format.gson.GsonSerializer;
+import io.wispforest.endec.format.hash.HashSerializer;
+import io.wispforest.endec.format.java.JavaDeserializer;
+import io.wispforest.endec.format.java.JavaSerializer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Every format benchmarked, each one knows how to encode a value into its
+ * serialized form and how to decode it back again
+ */
+public enum BenchmarkFormat {
+    DATA_OUTPUT {
+        @Override
+        public Harness createHarness() {
+            return new Harness() {
+                @Override
+                public <T> Object encode(Endec<T> endec, T value) {
+                    var output = ByteStreams.newDataOutput();
+                    run(DataOutputSerializer.of(output), endec, value);
+
+                    return output.toByteArray();
+                }
+
+                @Override
+                public <T> T decode(Endec<T> endec, Object encoded) {
+                    return run(DataInputDeserializer.of(ByteStreams.newDataInput((byte[]) encoded)), endec);
+                }
+            };
+        }
+    },
+    BYTE_BUF {
+        @Override
+        public Harness createHarness() {
+            return new Harness() {
+                private final ByteBuf encodeBuffer = Unpooled.buffer(4096);
+
+                @Override
+                public <T> Object encode(Endec<T> endec, T value) {
+                    this.encodeBuffer.clear();
+                    run(ByteBufSerializer.of(this.encodeBuffer), endec, value);
+
+                    return this.encodeBuffer;
+                }
+
+                @Override
+                public <T> T decode(Endec<T> endec, Object encoded) {
+                    return run(ByteBufDeserializer.of(((ByteBuf) encoded).readerIndex(0)), endec);
+                }
+
+                @Override
+                public Object prepareDecodeInput(Object encoded) {
+                    return Unpooled.copiedBuffer((ByteBuf) encoded);
+                }
+            };
+        }
+    },
+    EDM {
+        @Override
+        public Harness createHarness() {
+            return new Harness() {
+                @Override
+                public <T> Object encode(Endec<T> endec, T value) {
+                    return run(EdmSerializer.of(), endec, value);
+                }
+
+                @Override
+                public <T> T decode(Endec<T> endec, Object encoded) {
+                    return run(EdmDeserializer.of((EdmElement<?>) encoded), endec);
+                }
+            };
+        }
+    },
+    EDM_IO {
+        @Override
+        public Harness createHarness() {
+            return new Harness() {
+                @Override
+                public <T> Object encode(Endec<T> endec, T value) {
+                    try {
+                        ByteArrayDataOutput output = ByteStreams.newDataOutput();
+                        EdmIo.encode(output, run(EdmSerializer.of(), endec, value));
+
+                        return output.toByteArray();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+
+                @Override
+                public <T> T decode(Endec<T> endec, Object encoded) {
+                    try {
+                        return run(EdmDeserializer.of(EdmIo.decode(ByteStreams.newDataInput((byte[]) encoded))), endec);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            };
+        }
+    },
+    GSON {
+        @Override
+        public Harness createHarness() {
+            return new Harness() {
+                @Override
+                public <T> Object encode(Endec<T> endec, T value) {
+                    return run(GsonSerializer.of(), endec, value);
+                }
+
+                @Override
+                public <T> T decode(Endec<T> endec, Object encoded) {
+                    return run(GsonDeserializer.of((JsonElement) encoded), endec);
+                }
+            };
+        }
+    },
+    JAVA {
+        @Override
+        public Harness createHarness() {
+            return new Harness() {
+                @Override
+                public <T> Object encode(Endec<T> endec, T value) {
+                    return run(JavaSerializer.of(), endec, value);
+                }
+
+                @Override
+                public <T> T decode(Endec<T> endec, Object encoded) {
+                    return run(JavaDeserializer.of(encoded), endec);
+                }
+            };
+        }
+    },
+    HASH {
+        @Override
+        public Harness createHarness() {
+            return new Harness() {
+                @Override
+                public <T> Object encode(Endec<T> endec, T value) {
+                    return run(HashSerializer.crc32c(), endec, value);
+                }
+
+                @Override
+                public <T> T decode(Endec<T> endec, Object encoded) {
+                    throw new UnsupportedOperationException("Hashes cannot be decoded");
+                }
+            };
+        }
+    };
+
+    public abstract Harness createHarness();
+
+    private static <T, E> E run(Serializer<E> serializer, Endec<T> endec, T value) {
+        endec.encode(serializer.setupContext(SerializationContext.empty()), serializer, value);
+        return serializer.result();
+    }
+
+    private static <T> T run(Deserializer<?> deserializer, Endec<T> endec) {
+        return endec.decode(deserializer.setupContext(SerializationContext.empty()), deserializer);
+    }
+
+    public interface Harness {
+        <T> Object encode(Endec<T> endec, T value);
+
+        <T> T decode(Endec<T> endec, Object encoded);
+
+        /**
+         * Turn the result of {@link #encode(Endec, Object)} into something which stays valid
+         * while being decoded over and over, by default the encoded form is returned as-is
+         */
+        default Object prepareDecodeInput(Object encoded) {
+            return encoded;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package io.wispforest.endec.benchmarks;
+
+import io.wispforest.endec.Endec;
+import io.wispforest.endec.impl.ReflectiveEndecBuilder;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static io.wispforest.endec.benchmarks.BenchmarkTypes.*;
+
+/**
+ * The different shapes of data which get pushed through every {@link BenchmarkFormat}
+ */
+public enum BenchmarkShape {
+    STRUCT_BUILDER(() -> new Sample<>(Player.ENDEC, new Player("glisco", 69, 19.5))),
+    RECORD(() -> new Sample<>(
+            ReflectiveEndecBuilder.SHARED_INSTANCE.get(EntityRecord.class),
+            new EntityRecord(42, 1234567890123L, 90.5f, true, "zombie", List.of(1, 2, 3, 4, 5, 6, 7, 8))
+    )),
+    OBJECT(() -> new Sample<>(
+            ReflectiveEndecBuilder.SHARED_INSTANCE.get(EntityObject.class),
+            new EntityObject(42, 1234567890123L, 90.5f, true, "zombie", List.of(1, 2, 3, 4, 5, 6, 7, 8))
+    )),
+    RECURSIVE(() -> new Sample<>(TreeNode.ENDEC, TreeNode.create(4, 3))),
+    INT_LIST(() -> new Sample<>(Endec.INT.listOf(), IntStream.range(0, 256).boxed().toList())),
+    STRUCT_LIST(() -> new Sample<>(
+            Player.ENDEC.listOf(),
+            IntStream.range(0, 64).mapToObj(i -> new Player("player_" + i, i, i * .5)).toList()
+    )),
+    STRING_MAP(() -> {
+        var map = new LinkedHashMap<String, Integer>();
+        for (int i = 0; i < 64; i++) map.put("key_" + i, i);
+
+        return new Sample<>(BenchmarkTypes.STRING_MAP, map);
+    }),
+    KEYED_MAP(() -> {
+        var map = new LinkedHashMap<Integer, String>();
+        for (int i = 0; i < 64; i++) map.put(i, "value_" + i);
+
+        return new Sample<>(BenchmarkTypes.KEYED_MAP, map);
+    }),
+    DISPATCHED(() -> new Sample<>(
+            Shape.ENDEC.listOf(),
+            IntStream.range(0, 32).<Shape>mapToObj(i -> i % 2 == 0 ? new Circle(i) : new Rectangle(i, i * 2)).toList()
+    ));
+
+    private final Supplier<Sample<?>> factory;
+
+    BenchmarkShape(Supplier<Sample<?>> factory) {
+        this.factory = factory;
+    }
+
+    public Sample<?> createSample() {
+        return this.factory.get();
+    }
+
+    public record Sample<T>(Endec<T> endec, T value) {}
+}
@@ -0,0 +1,101 @@
+package io.wispforest.endec.benchmarks;
+
+import io.wispforest.endec.Endec;
+import io.wispforest.endec.StructEndec;
+import io.wispforest.endec.impl.StructEndecBuilder;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The value types used across all benchmarks, each one exercising a different
+ * way of building an endec
+ */
+public final class BenchmarkTypes {
+
+    private BenchmarkTypes() {}
+
+    // --- StructEndecBuilder
+
+    public record Player(String name, int level, double health) {
+        public static final StructEndec<Player> ENDEC = StructEndecBuilder.of(
+                Endec.STRING.fieldOf("name", Player::name),
+                Endec.INT.fieldOf("level", Player::level),
+                Endec.DOUBLE.fieldOf("health", Player::health),
+                Player::new
+        );
+    }
+
+    // --- RecordEndec / ObjectEndec through the ReflectiveEndecBuilder
+
+    public record EntityRecord(int id, long timestamp, float yaw, boolean onGround, String name, List<Integer> data) {}
+
+    public static class EntityObject {
+        public int id;
+        public long timestamp;
+        public float yaw;
+        public boolean onGround;
+        public String name;
+        public List<Integer> data;
+
+        public EntityObject() {}
+
+        public EntityObject(int id, long timestamp, float yaw, boolean onGround, String name, List<Integer> data) {
+            this.id = id;
+            this.timestamp = timestamp;
+            this.yaw = yaw;
+            this.onGround = onGround;
+            this.name = name;
+            this.data = data;
+        }
+    }
+
+    // --- Endec.recursive
+
+    public record TreeNode(String name, int value, List<TreeNode> children) {
+        public static final Endec<TreeNode> ENDEC = Endec.recursive(self -> StructEndecBuilder.of(
+                Endec.STRING.fieldOf("name", TreeNode::name),
+                Endec.VAR_INT.fieldOf("value", TreeNode::value),
+                self.listOf().fieldOf("children", TreeNode::children),
+                TreeNode::new
+        ));
+
+        public static TreeNode create(int depth, int breadth) {
+            var children = depth == 0
+                    ? List.<TreeNode>of()
+                    : java.util.stream.IntStream.range(0, breadth).mapToObj(i -> create(depth - 1, breadth)).toList();
+
+            return new TreeNode("node_" + depth, depth * breadth, children);
+        }
+    }
+
+    // --- Endec.dispatchedStruct
+
+    public sealed interface Shape permits Circle, Rectangle {
+        Endec<Shape> ENDEC = Endec.dispatchedStruct(
+                type -> type.equals("circle") ? Circle.ENDEC : Rectangle.ENDEC,
+                shape -> shape instanceof Circle ? "circle" : "rectangle",
+                Endec.STRING
+        );
+    }
+
+    public record Circle(float radius) implements Shape {
+        public static final StructEndec<Circle> ENDEC = StructEndecBuilder.of(
+                Endec.FLOAT.fieldOf("radius", Circle::radius),
+                Circle::new
+        );
+    }
+
+    public record Rectangle(float width, float height) implements Shape {
+        public static final StructEndec<Rectangle> ENDEC = StructEndecBuilder.of(
+                Endec.FLOAT.fieldOf("width", Rectangle::width),
+                Endec.FLOAT.fieldOf("height", Rectangle::height),
+                Rectangle::new
+        );
+    }
+
+    // --- mapOf / map
+
+    public static final Endec<Map<String, Integer>> STRING_MAP = Endec.INT.mapOf();
+    public static final Endec<Map<Integer, String>> KEYED_MAP = Endec.map(Endec.VAR_INT, Endec.STRING);
+}
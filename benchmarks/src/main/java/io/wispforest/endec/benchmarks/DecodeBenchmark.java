@@ -0,0 +1,41 @@
+package io.wispforest.endec.benchmarks;
+
+import io.wispforest.endec.Endec;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DecodeBenchmark {
+
+    // hashes are one-way, so HASH is intentionally missing here
+    @Param({"DATA_OUTPUT", "BYTE_BUF", "EDM", "EDM_IO", "GSON", "JAVA"})
+    public BenchmarkFormat format;
+
+    @Param({"STRUCT_BUILDER", "RECORD", "OBJECT", "RECURSIVE", "INT_LIST", "STRUCT_LIST", "STRING_MAP", "KEYED_MAP", "DISPATCHED"})
+    public BenchmarkShape shape;
+
+    private BenchmarkFormat.Harness harness;
+    private Endec<Object> endec;
+    private Object encoded;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        var sample = this.shape.createSample();
+
+        this.harness = this.format.createHarness();
+        this.endec = (Endec<Object>) sample.endec();
+        this.encoded = this.harness.prepareDecodeInput(this.harness.encode(this.endec, sample.value()));
+    }
+
+    @Benchmark
+    public Object decode() {
+        return this.harness.decode(this.endec, this.encoded);
+    }
+}
@@ -5,6 +5,10 @@ plugins {
     id("maven-publish")
 }
 
+dependencies {
+    testAnnotationProcessor(project(":processor"))
+}
+
 allprojects {
     apply(plugin = "java")
     apply(plugin = "maven-publish")
@@ -25,8 +29,11 @@ allprojects {
     dependencies {
         compileOnly("org.jetbrains:annotations:24.1.0")
 
-        implementation("it.unimi.dsi:fastutil:8.5.12")
-        implementation("com.google.guava:guava:32.1.2-jre")
+        // The annotation processor runs inside the compiler, keep its classpath to the bare minimum
+        if (project.name != "processor") {
+            implementation("it.unimi.dsi:fastutil:8.5.12")
+            implementation("com.google.guava:guava:32.1.2-jre")
+        }
 
         testImplementation("org.junit.jupiter:junit-jupiter:5.11.2")
         testRuntimeOnly("org.junit.platform:junit-platform-launcher")
@@ -67,7 +74,7 @@ allprojects {
     }
 
     publishing {
-        if (project.name == "endec_test") return@publishing;
+        if (project.name == "endec_test" || project.name == "benchmarks") return@publishing;
 
         publications {
             create<MavenPublication>("mavenCommon") {
@@ -87,4 +94,4 @@ allprojects {
             }
         }
     }
-}
\ No newline at end of file
+}
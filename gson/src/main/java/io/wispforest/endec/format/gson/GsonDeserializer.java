@@ -11,10 +11,13 @@ import org.jetbrains.annotations.Nullable;
 import java.util.Iterator;
 import java.util.ListIterator;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Supplier;
 
 public class GsonDeserializer extends RecursiveDeserializer<JsonElement> implements SelfDescribedDeserializer<JsonElement> {
 
+    private static final Set<FormatCapability> CAPABILITIES = FormatCapability.setOf(FormatCapability.SELF_DESCRIBED, FormatCapability.SKIP, FormatCapability.RANDOM_ACCESS, FormatCapability.TRY_READ);
+
     protected GsonDeserializer(JsonElement serialized) {
         super(serialized);
     }
@@ -28,6 +31,11 @@ public class GsonDeserializer extends RecursiveDeserializer<JsonElement> impleme
         return super.setupContext(ctx).withAttributes(SerializationAttributes.HUMAN_READABLE);
     }
 
+    @Override
+    public Set<FormatCapability> capabilities() {
+        return CAPABILITIES;
+    }
+
     // ---
 
     @Override
@@ -72,6 +80,16 @@ public class GsonDeserializer extends RecursiveDeserializer<JsonElement> impleme
         return this.readLong(ctx);
     }
 
+    @Override
+    public int readSignedVarInt(SerializationContext ctx) {
+        return this.readVarInt(ctx);
+    }
+
+    @Override
+    public long readSignedVarLong(SerializationContext ctx) {
+        return this.readVarLong(ctx);
+    }
+
     // ---
 
     @Override
@@ -269,6 +287,15 @@ public class GsonDeserializer extends RecursiveDeserializer<JsonElement> impleme
 
         @Override
         public <F> @Nullable F field(String name, SerializationContext ctx, Endec<F> endec, @Nullable Supplier<F> defaultValueFactory) {
+            return this.decodeField(name, ctx.pushField(name), endec, defaultValueFactory);
+        }
+
+        @Override
+        public <F> @Nullable F field(FieldKey key, SerializationContext ctx, Endec<F> endec, @Nullable Supplier<F> defaultValueFactory) {
+            return this.decodeField(key.name(), ctx.pushField(key), endec, defaultValueFactory);
+        }
+
+        private <F> @Nullable F decodeField(String name, SerializationContext fieldCtx, Endec<F> endec, @Nullable Supplier<F> defaultValueFactory) {
             var element = this.object.get(name);
             if (element == null) {
                 if(defaultValueFactory == null) {
@@ -279,7 +306,7 @@ public class GsonDeserializer extends RecursiveDeserializer<JsonElement> impleme
             }
             return GsonDeserializer.this.frame(
                     () -> element,
-                    () -> endec.decode(ctx.pushField(name), GsonDeserializer.this)
+                    () -> endec.decode(fieldCtx, GsonDeserializer.this)
             );
         }
     }
@@ -12,7 +12,7 @@ public final class GsonEndec implements Endec<JsonElement> {
 
     @Override
     public void encode(SerializationContext ctx, Serializer<?> serializer, JsonElement value) {
-        if (serializer instanceof SelfDescribedSerializer<?>) {
+        if (serializer.hasCapability(FormatCapability.SELF_DESCRIBED)) {
             GsonDeserializer.of(value).readAny(ctx, serializer);
             return;
         }
@@ -22,9 +22,9 @@ public final class GsonEndec implements Endec<JsonElement> {
 
     @Override
     public JsonElement decode(SerializationContext ctx, Deserializer<?> deserializer) {
-        if (deserializer instanceof SelfDescribedDeserializer<?> selfDescribedDeserializer) {
+        if (deserializer.hasCapability(FormatCapability.SELF_DESCRIBED)) {
             var json = GsonSerializer.of();
-            selfDescribedDeserializer.readAny(ctx, json);
+            deserializer.readAny(ctx, json);
 
             return json.result();
         }
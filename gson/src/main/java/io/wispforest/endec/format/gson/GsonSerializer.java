@@ -5,9 +5,12 @@ import io.wispforest.endec.*;
 import io.wispforest.endec.util.RecursiveSerializer;
 
 import java.util.Optional;
+import java.util.Set;
 
 public class GsonSerializer extends RecursiveSerializer<JsonElement> implements SelfDescribedSerializer<JsonElement> {
 
+    private static final Set<FormatCapability> CAPABILITIES = FormatCapability.setOf(FormatCapability.SELF_DESCRIBED, FormatCapability.BULK_PRIMITIVE_ARRAYS);
+
     private JsonElement prefix;
 
     protected GsonSerializer(JsonElement prefix) {
@@ -28,6 +31,11 @@ public class GsonSerializer extends RecursiveSerializer<JsonElement> implements
         return super.setupContext(ctx).withAttributes(SerializationAttributes.HUMAN_READABLE);
     }
 
+    @Override
+    public Set<FormatCapability> capabilities() {
+        return CAPABILITIES;
+    }
+
     // ---
 
     @Override
@@ -72,6 +80,16 @@ public class GsonSerializer extends RecursiveSerializer<JsonElement> implements
         this.writeLong(ctx, value);
     }
 
+    @Override
+    public void writeSignedVarInt(SerializationContext ctx, int value) {
+        this.writeVarInt(ctx, value);
+    }
+
+    @Override
+    public void writeSignedVarLong(SerializationContext ctx, long value) {
+        this.writeVarLong(ctx, value);
+    }
+
     // ---
 
     @Override
@@ -104,6 +122,67 @@ public class GsonSerializer extends RecursiveSerializer<JsonElement> implements
 
     // ---
 
+    @Override
+    public void writeShorts(SerializationContext ctx, short[] values) {
+        var result = this.createArray(values.length);
+        for (var value : values) result.add(value);
+
+        this.consume(result);
+    }
+
+    @Override
+    public void writeInts(SerializationContext ctx, int[] values) {
+        var result = this.createArray(values.length);
+        for (var value : values) result.add(value);
+
+        this.consume(result);
+    }
+
+    @Override
+    public void writeLongs(SerializationContext ctx, long[] values) {
+        var result = this.createArray(values.length);
+        for (var value : values) result.add(value);
+
+        this.consume(result);
+    }
+
+    @Override
+    public void writeFloats(SerializationContext ctx, float[] values) {
+        var result = this.createArray(values.length);
+        for (var value : values) result.add(value);
+
+        this.consume(result);
+    }
+
+    @Override
+    public void writeDoubles(SerializationContext ctx, double[] values) {
+        var result = this.createArray(values.length);
+        for (var value : values) result.add(value);
+
+        this.consume(result);
+    }
+
+    @Override
+    public void writeBooleans(SerializationContext ctx, boolean[] values) {
+        var result = this.createArray(values.length);
+        for (var value : values) result.add(value);
+
+        this.consume(result);
+    }
+
+    private JsonArray createArray(int size) {
+        if (this.prefix == null) return new JsonArray(size);
+
+        if (this.prefix instanceof JsonArray prefixArray) {
+            this.prefix = null;
+            return prefixArray;
+        } else {
+            throw new IllegalStateException("Incompatible prefix of type " + this.prefix.getClass().getSimpleName() + " used for JSON sequence");
+        }
+    }
+
+    // ---
+
     @Override
     public <E> Serializer.Sequence<E> sequence(SerializationContext ctx, Endec<E> elementEndec, int size) {
         return new Sequence<>(ctx, elementEndec, size);
@@ -153,8 +232,17 @@ public class GsonSerializer extends RecursiveSerializer<JsonElement> implements
 
         @Override
         public <F> Struct field(String name, SerializationContext ctx, Endec<F> endec, F value, boolean mayOmit) {
+            return this.encodeField(name, ctx.pushField(name), endec, value, mayOmit);
+        }
+
+        @Override
+        public <F> Struct field(FieldKey key, SerializationContext ctx, Endec<F> endec, F value, boolean mayOmit) {
+            return this.encodeField(key.name(), ctx.pushField(key), endec, value, mayOmit);
+        }
+
+        private <F> Struct encodeField(String name, SerializationContext fieldCtx, Endec<F> endec, F value, boolean mayOmit) {
             GsonSerializer.this.frame(encoded -> {
-                endec.encode(ctx.pushField(name), GsonSerializer.this, value);
+                endec.encode(fieldCtx, GsonSerializer.this, value);
 
                 var element = encoded.require("struct field");
 
@@ -182,16 +270,7 @@ public class GsonSerializer extends RecursiveSerializer<JsonElement> implements
             this.ctx = ctx;
             this.valueEndec = valueEndec;
 
-            if (GsonSerializer.this.prefix != null) {
-                if (GsonSerializer.this.prefix instanceof JsonArray prefixArray) {
-                    this.result = prefixArray;
-                    GsonSerializer.this.prefix = null;
-                } else {
-                    throw new IllegalStateException("Incompatible prefix of type " + GsonSerializer.this.prefix.getClass().getSimpleName() + " used for JSON sequence");
-                }
-            } else {
-                this.result = new JsonArray(size);
-            }
+            this.result = GsonSerializer.this.createArray(size);
         }
 
         @Override
@@ -8,10 +8,13 @@ import org.jetbrains.annotations.Nullable;
 import java.math.BigDecimal;
 import java.util.Iterator;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Supplier;
 
 public class JanksonDeserializer extends RecursiveDeserializer<JsonElement> implements SelfDescribedDeserializer<JsonElement> {
 
+    private static final Set<FormatCapability> CAPABILITIES = FormatCapability.setOf(FormatCapability.SELF_DESCRIBED, FormatCapability.SKIP, FormatCapability.RANDOM_ACCESS, FormatCapability.TRY_READ);
+
     protected JanksonDeserializer(JsonElement serialized) {
         super(serialized);
     }
@@ -25,6 +28,11 @@ public class JanksonDeserializer extends RecursiveDeserializer<JsonElement> impl
         return super.setupContext(ctx).withAttributes(SerializationAttributes.HUMAN_READABLE);
     }
 
+    @Override
+    public Set<FormatCapability> capabilities() {
+        return CAPABILITIES;
+    }
+
     // ---
 
     @Override
@@ -73,6 +81,16 @@ public class JanksonDeserializer extends RecursiveDeserializer<JsonElement> impl
         return this.readLong(ctx);
     }
 
+    @Override
+    public int readSignedVarInt(SerializationContext ctx) {
+        return this.readVarInt(ctx);
+    }
+
+    @Override
+    public long readSignedVarLong(SerializationContext ctx) {
+        return this.readVarLong(ctx);
+    }
+
     // ---
 
     @Override
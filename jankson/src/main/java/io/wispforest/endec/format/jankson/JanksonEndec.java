@@ -14,7 +14,7 @@ public final class JanksonEndec implements Endec<JsonElement> {
 
     @Override
     public void encode(SerializationContext ctx, Serializer<?> serializer, JsonElement value) {
-        if (serializer instanceof SelfDescribedSerializer<?>) {
+        if (serializer.hasCapability(FormatCapability.SELF_DESCRIBED)) {
             JanksonDeserializer.of(value).readAny(ctx, serializer);
             return;
         }
@@ -24,9 +24,9 @@ public final class JanksonEndec implements Endec<JsonElement> {
 
     @Override
     public JsonElement decode(SerializationContext ctx, Deserializer<?> deserializer) {
-        if (deserializer instanceof SelfDescribedDeserializer<?> selfDescribedDeserializer) {
+        if (deserializer.hasCapability(FormatCapability.SELF_DESCRIBED)) {
             var json = JanksonSerializer.of();
-            selfDescribedDeserializer.readAny(ctx, json);
+            deserializer.readAny(ctx, json);
 
             return json.result();
         }
@@ -6,9 +6,12 @@ import io.wispforest.endec.impl.CommentAttribute;
 import io.wispforest.endec.util.RecursiveSerializer;
 
 import java.util.Optional;
+import java.util.Set;
 
 public class JanksonSerializer extends RecursiveSerializer<JsonElement> implements SelfDescribedSerializer<JsonElement> {
 
+    private static final Set<FormatCapability> CAPABILITIES = FormatCapability.setOf(FormatCapability.SELF_DESCRIBED);
+
     private JsonElement prefix;
 
     protected JanksonSerializer(JsonElement prefix) {
@@ -29,6 +32,11 @@ public class JanksonSerializer extends RecursiveSerializer<JsonElement> implemen
         return super.setupContext(ctx).withAttributes(SerializationAttributes.HUMAN_READABLE);
     }
 
+    @Override
+    public Set<FormatCapability> capabilities() {
+        return CAPABILITIES;
+    }
+
     // ---
 
     @Override
@@ -73,6 +81,16 @@ public class JanksonSerializer extends RecursiveSerializer<JsonElement> implemen
         this.writeLong(ctx, value);
     }
 
+    @Override
+    public void writeSignedVarInt(SerializationContext ctx, int value) {
+        this.writeVarInt(ctx, value);
+    }
+
+    @Override
+    public void writeSignedVarLong(SerializationContext ctx, long value) {
+        this.writeVarLong(ctx, value);
+    }
+
     // ---
 
     @Override
@@ -154,8 +172,17 @@ public class JanksonSerializer extends RecursiveSerializer<JsonElement> implemen
 
         @Override
         public <F> Struct field(String name, SerializationContext ctx, Endec<F> endec, F value, boolean mayOmit) {
+            return this.encodeField(name, ctx, ctx.pushField(name), endec, value, mayOmit);
+        }
+
+        @Override
+        public <F> Struct field(FieldKey key, SerializationContext ctx, Endec<F> endec, F value, boolean mayOmit) {
+            return this.encodeField(key.name(), ctx, ctx.pushField(key), endec, value, mayOmit);
+        }
+
+        private <F> Struct encodeField(String name, SerializationContext ctx, SerializationContext fieldCtx, Endec<F> endec, F value, boolean mayOmit) {
             JanksonSerializer.this.frame(encoded -> {
-                endec.encode(ctx.pushField(name), JanksonSerializer.this, value);
+                endec.encode(fieldCtx, JanksonSerializer.this, value);
 
                 var element = encoded.require("struct field");
 
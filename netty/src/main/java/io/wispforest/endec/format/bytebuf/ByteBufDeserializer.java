@@ -3,27 +3,70 @@ package io.wispforest.endec.format.bytebuf;
 import io.netty.buffer.ByteBuf;
 import io.wispforest.endec.Deserializer;
 import io.wispforest.endec.Endec;
+import io.wispforest.endec.FormatCapability;
 import io.wispforest.endec.SerializationContext;
+import io.wispforest.endec.impl.OptionalEndec;
+import io.wispforest.endec.util.BinaryDeserializer;
 import io.wispforest.endec.util.VarInts;
 import org.jetbrains.annotations.Nullable;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
-import java.util.Optional;
-import java.util.function.Function;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
 import java.util.function.Supplier;
 
-public class ByteBufDeserializer implements Deserializer<ByteBuf> {
+public class ByteBufDeserializer extends BinaryDeserializer<ByteBuf> {
+
+    private static final Set<FormatCapability> FRAMED_CAPABILITIES = FormatCapability.setOf(FormatCapability.BULK_PRIMITIVE_ARRAYS, FormatCapability.TRY_READ, FormatCapability.OMITS_FIELD_NAMES, FormatCapability.SKIP_FRAMES);
 
     private final ByteBuf buffer;
+    private final boolean framed;
+    private final boolean presenceBits;
 
-    protected ByteBufDeserializer(ByteBuf buffer) {
+    protected ByteBufDeserializer(ByteBuf buffer, Set<ByteBufOption> options) {
         this.buffer = buffer;
+        this.framed = options.contains(ByteBufOption.FRAMED);
+        this.presenceBits = options.contains(ByteBufOption.PRESENCE_BITS);
+    }
+
+    protected ByteBufDeserializer(ByteBuf buffer) {
+        this(buffer, Set.of());
     }
 
     public static ByteBufDeserializer of(ByteBuf buffer) {
         return new ByteBufDeserializer(buffer);
     }
 
+    /**
+     * Create a deserializer reading data written by a {@link ByteBufSerializer#withOptions(ByteBuf, ByteBufOption...) serializer}
+     * using the same {@code options}
+     */
+    public static ByteBufDeserializer withOptions(ByteBuf buffer, ByteBufOption... options) {
+        var optionSet = EnumSet.noneOf(ByteBufOption.class);
+        Collections.addAll(optionSet, options);
+
+        return new ByteBufDeserializer(buffer, optionSet);
+    }
+
+    /**
+     * Create a deserializer for data written by a {@link ByteBufSerializer#framed(ByteBuf) framed serializer}. Structs,
+     * sequences and maps can be passed over using {@link #skipFrame(SerializationContext)}. Fields following the last one
+     * known to a struct endec are ignored, while fields missing from the end of a struct decode to their default value
+     *
+     * @see ByteBufOption#FRAMED
+     */
+    public static ByteBufDeserializer framed(ByteBuf buffer) {
+        return withOptions(buffer, ByteBufOption.FRAMED);
+    }
+
+    @Override
+    public Set<FormatCapability> capabilities() {
+        return this.framed ? FRAMED_CAPABILITIES : super.capabilities();
+    }
+
     // ---
 
     @Override
@@ -60,12 +103,12 @@ public class ByteBufDeserializer implements Deserializer<ByteBuf> {
 
     @Override
     public int readVarInt(SerializationContext ctx) {
-        return VarInts.readInt(() -> this.readByte(ctx));
+        return ByteBufVarInts.readInt(this.buffer);
     }
 
     @Override
     public long readVarLong(SerializationContext ctx) {
-        return VarInts.readLong(() -> this.readByte(ctx));
+        return ByteBufVarInts.readLong(this.buffer);
     }
 
     // ---
@@ -93,113 +136,191 @@ public class ByteBufDeserializer implements Deserializer<ByteBuf> {
         return array;
     }
 
+    // ---
+
     @Override
-    public <V> Optional<V> readOptional(SerializationContext ctx, Endec<V> endec) {
-        return this.readBoolean(ctx)
-                ? Optional.of(endec.decode(ctx, this))
-                : Optional.empty();
+    protected ByteBuffer consume(int length) {
+        var index = this.buffer.readerIndex();
+
+        this.buffer.skipBytes(length);
+        return this.buffer.nioBuffer(index, length);
     }
 
-    // ---
+    @Override
+    protected long position() {
+        return this.buffer.readerIndex();
+    }
 
     @Override
-    public <V> V tryRead(Function<Deserializer<ByteBuf>, V> reader) {
-        var prevReaderIdx = this.buffer.readerIndex();
+    protected void seek(long position) {
+        this.buffer.readerIndex((int) position);
+    }
 
-        try {
-            return reader.apply(this);
-        } catch (Exception e) {
-            this.buffer.readerIndex(prevReaderIdx);
-            throw e;
-        }
+    // ---
+
+    /**
+     * Skip over the next struct, sequence or map. Only supported by framed deserializers, which
+     * cannot skip other kinds of values at all, as those are written without a length prefix
+     */
+    @Override
+    public void skipFrame(SerializationContext ctx) {
+        this.requireCapability(FormatCapability.SKIP_FRAMES, "skipFrame(...)");
+        this.buffer.skipBytes(this.readVarInt(ctx));
     }
 
     // ---
 
     @Override
     public <E> Deserializer.Sequence<E> sequence(SerializationContext ctx, Endec<E> elementEndec) {
-        return new Sequence<>(ctx, elementEndec, this.readVarInt(ctx));
+        var frameEnd = this.readFrameEnd(ctx);
+        return new Sequence<>(ctx, elementEndec, this.readVarInt(ctx), frameEnd);
     }
 
     @Override
     public <V> Deserializer.Map<V> map(SerializationContext ctx, Endec<V> valueEndec) {
-        return new Map<>(ctx, valueEndec, this.readVarInt(ctx));
+        var frameEnd = this.readFrameEnd(ctx);
+        return new Map<>(ctx, valueEndec, this.readVarInt(ctx), frameEnd);
     }
 
     @Override
     public Struct struct(SerializationContext context) {
-        return new Sequence<>(null, null, 0);
+        var frameEnd = this.readFrameEnd(context);
+        return this.presenceBits ? new PresenceStruct(frameEnd) : new Sequence<>(null, null, 0, frameEnd);
     }
 
-    // ---
+    /**
+     * @return the reader index at which the frame starting at the current reader index
+     * ends, or {@code -1} if this deserializer is not framed
+     */
+    private int readFrameEnd(SerializationContext ctx) {
+        if (!this.framed) return -1;
 
-    private class Sequence<V> implements Deserializer.Sequence<V>, Struct {
+        var length = this.readVarInt(ctx);
+        return this.buffer.readerIndex() + length;
+    }
 
-        private final SerializationContext ctx;
-        private final Endec<V> valueEndec;
-        private final int size;
+    /**
+     * Ensure that the sequence or map whose frame ends at {@code frameEnd} was read up to exactly that index
+     */
+    private void checkFrameEnd(int frameEnd) {
+        if (frameEnd == -1 || this.buffer.readerIndex() == frameEnd) return;
+        throw new IllegalStateException("Sequence or map did not end with its frame, the data is likely malformed");
+    }
 
-        private int index = 0;
+    // ---
+
+    private class Sequence<V> extends BinarySequence<V> {
 
-        private Sequence(SerializationContext ctx, Endec<V> valueEndec, int size) {
-            this.ctx = ctx;
-            this.valueEndec = valueEndec;
-            this.size = size;
+        private final int frameEnd;
+
+        private Sequence(SerializationContext ctx, Endec<V> valueEndec, int size, int frameEnd) {
+            super(ctx, valueEndec, size);
+            this.frameEnd = frameEnd;
         }
 
         @Override
-        public int estimatedSize() {
-            return this.size;
+        public boolean hasNext() {
+            if (super.hasNext()) return true;
+
+            ByteBufDeserializer.this.checkFrameEnd(this.frameEnd);
+            return false;
         }
 
         @Override
-        public boolean hasNext() {
-            return this.index < this.size;
+        public <F> @Nullable F field(String name, SerializationContext ctx, Endec<F> endec, @Nullable Supplier<F> defaultValueFactory) {
+            // Data written by an older version of the struct, which did not have this field yet
+            if (defaultValueFactory != null && this.frameEnd != -1 && ByteBufDeserializer.this.buffer.readerIndex() >= this.frameEnd) {
+                return defaultValueFactory.get();
+            }
+
+            return super.field(name, ctx, endec, defaultValueFactory);
         }
 
         @Override
-        public V next() {
-            this.index++;
-            return this.valueEndec.decode(this.ctx, ByteBufDeserializer.this);
+        public void end() {
+            if (this.frameEnd == -1) return;
+
+            if (ByteBufDeserializer.this.buffer.readerIndex() > this.frameEnd) {
+                throw new IllegalStateException("Struct read past the end of its frame, the data is likely malformed");
+            }
+
+            // Skip fields added by a newer version of the struct
+            ByteBufDeserializer.this.buffer.readerIndex(this.frameEnd);
+        }
+    }
+
+    /**
+     * A struct preceded by the bitmask of {@link ByteBufOption#PRESENCE_BITS}, kept apart
+     * from {@link Sequence} to not make every other struct and sequence any larger
+     */
+    private class PresenceStruct extends Sequence<Object> {
+
+        private int optionalFields = 0;
+        private long presence = 0;
+        private @Nullable BitSet overflowPresence = null;
+
+        private PresenceStruct(int frameEnd) {
+            super(null, null, 0, frameEnd);
+            this.readPresence();
         }
 
         @Override
         public <F> @Nullable F field(String name, SerializationContext ctx, Endec<F> endec, @Nullable Supplier<F> defaultValueFactory) {
-            return endec.decode(ctx, ByteBufDeserializer.this);
+            if (defaultValueFactory != null && endec instanceof OptionalEndec<F> optionalEndec) {
+                var valueEndec = optionalEndec.valueEndec();
+
+                if (valueEndec != null) {
+                    return this.isPresent(this.optionalFields++)
+                            ? valueEndec.decode(ctx, ByteBufDeserializer.this)
+                            : defaultValueFactory.get();
+                }
+            }
+
+            return super.field(name, ctx, endec, defaultValueFactory);
         }
-    }
 
-    private class Map<V> implements Deserializer.Map<V> {
+        private void readPresence() {
+            int maskByte;
+            int index = 0;
 
-        private final SerializationContext ctx;
-        private final Endec<V> valueEndec;
-        private final int size;
+            do {
+                maskByte = ByteBufDeserializer.this.buffer.readUnsignedByte();
 
-        private int index = 0;
+                for (int bit = 0; bit < 7; bit++, index++) {
+                    if ((maskByte & (1 << bit)) == 0) continue;
 
-        private Map(SerializationContext ctx, Endec<V> valueEndec, int size) {
-            this.ctx = ctx;
-            this.valueEndec = valueEndec;
-            this.size = size;
+                    if (index < Long.SIZE) {
+                        this.presence |= 1L << index;
+                    } else {
+                        if (this.overflowPresence == null) this.overflowPresence = new BitSet();
+                        this.overflowPresence.set(index);
+                    }
+                }
+            } while ((maskByte & VarInts.CONTINUE_BIT) != 0);
         }
 
-        @Override
-        public int estimatedSize() {
-            return this.size;
+        private boolean isPresent(int index) {
+            return index < Long.SIZE
+                    ? (this.presence & (1L << index)) != 0
+                    : this.overflowPresence != null && this.overflowPresence.get(index);
         }
+    }
 
-        @Override
-        public boolean hasNext() {
-            return this.index < this.size;
+    private class Map<V> extends BinaryMap<V> {
+
+        private final int frameEnd;
+
+        private Map(SerializationContext ctx, Endec<V> valueEndec, int size, int frameEnd) {
+            super(ctx, valueEndec, size);
+            this.frameEnd = frameEnd;
         }
 
         @Override
-        public java.util.Map.Entry<String, V> next() {
-            this.index++;
-            return java.util.Map.entry(
-                    ByteBufDeserializer.this.readString(this.ctx),
-                    this.valueEndec.decode(this.ctx, ByteBufDeserializer.this)
-            );
+        public boolean hasNext() {
+            if (super.hasNext()) return true;
+
+            ByteBufDeserializer.this.checkFrameEnd(this.frameEnd);
+            return false;
         }
     }
 }
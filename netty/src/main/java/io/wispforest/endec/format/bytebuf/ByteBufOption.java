@@ -0,0 +1,22 @@
+package io.wispforest.endec.format.bytebuf;
+
+/**
+ * Opt-in extensions of the binary format written by {@link ByteBufSerializer} and read by {@link ByteBufDeserializer}.
+ * Data must be read with the same options it was written with, as none of them are recorded in the data itself
+ */
+public enum ByteBufOption {
+    /**
+     * Prefix every struct, sequence and map with its length in bytes, such that they can be skipped without
+     * decoding them and fields appended to a struct by a newer version of it are tolerated
+     */
+    FRAMED,
+
+    /**
+     * Write a bitmask ahead of every struct recording which of its optional fields are present, and leave out
+     * absent ones entirely instead of writing the presence prefix of {@link io.wispforest.endec.Serializer#writeOptional}
+     * for each of them. This applies to fields with a default value using an {@link io.wispforest.endec.impl.OptionalEndec},
+     * as created by {@link io.wispforest.endec.Endec#optionalFieldOf} - which must be encoded with {@code mayOmit}
+     * set, just like {@link io.wispforest.endec.impl.StructField} does
+     */
+    PRESENCE_BITS
+}
@@ -2,25 +2,76 @@ package io.wispforest.endec.format.bytebuf;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufUtil;
+import io.wispforest.endec.BooleanEndec;
+import io.wispforest.endec.DoubleEndec;
 import io.wispforest.endec.Endec;
+import io.wispforest.endec.FloatEndec;
+import io.wispforest.endec.FormatCapability;
+import io.wispforest.endec.IntEndec;
+import io.wispforest.endec.LongEndec;
 import io.wispforest.endec.SerializationContext;
 import io.wispforest.endec.Serializer;
+import io.wispforest.endec.impl.OptionalEndec;
 import io.wispforest.endec.util.VarInts;
+import org.jetbrains.annotations.Nullable;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.Optional;
+import java.util.Set;
 
 public class ByteBufSerializer<B extends ByteBuf> implements Serializer<B> {
 
+    private static final Set<FormatCapability> CAPABILITIES = FormatCapability.setOf(FormatCapability.BULK_PRIMITIVE_ARRAYS, FormatCapability.REQUIRES_KNOWN_SEQUENCE_SIZE, FormatCapability.OMITS_FIELD_NAMES);
+
     private final B buffer;
+    private final boolean framed;
+    private final boolean presenceBits;
 
-    protected ByteBufSerializer(B buffer) {
+    protected ByteBufSerializer(B buffer, Set<ByteBufOption> options) {
         this.buffer = buffer;
+        this.framed = options.contains(ByteBufOption.FRAMED);
+        this.presenceBits = options.contains(ByteBufOption.PRESENCE_BITS);
+    }
+
+    protected ByteBufSerializer(B buffer) {
+        this(buffer, Set.of());
     }
 
     public static <B extends ByteBuf> ByteBufSerializer<B> of(B buffer) {
         return new ByteBufSerializer<>(buffer);
     }
 
+    /**
+     * Create a serializer writing the extensions of the binary format described by {@code options}, the data
+     * of which must be read by a {@link ByteBufDeserializer#withOptions(ByteBuf, ByteBufOption...) deserializer} with the same options
+     */
+    public static <B extends ByteBuf> ByteBufSerializer<B> withOptions(B buffer, ByteBufOption... options) {
+        var optionSet = EnumSet.noneOf(ByteBufOption.class);
+        Collections.addAll(optionSet, options);
+
+        return new ByteBufSerializer<>(buffer, optionSet);
+    }
+
+    /**
+     * Create a serializer which prefixes every struct, sequence and map with its length in bytes, such that
+     * a {@link ByteBufDeserializer#framed(ByteBuf) framed deserializer} can skip them without decoding and
+     * tolerates fields appended to a struct by a newer version of it
+     *
+     * @see ByteBufOption#FRAMED
+     */
+    public static <B extends ByteBuf> ByteBufSerializer<B> framed(B buffer) {
+        return withOptions(buffer, ByteBufOption.FRAMED);
+    }
+
+    @Override
+    public Set<FormatCapability> capabilities() {
+        return CAPABILITIES;
+    }
+
     // ---
 
     @Override
@@ -57,12 +108,12 @@ public class ByteBufSerializer<B extends ByteBuf> implements Serializer<B> {
 
     @Override
     public void writeVarInt(SerializationContext ctx, int value) {
-        VarInts.writeInt(value, b -> this.writeByte(ctx, b));
+        ByteBufVarInts.writeInt(this.buffer, value);
     }
 
     @Override
     public void writeVarLong(SerializationContext ctx, long value) {
-        VarInts.writeLong(value, b -> this.writeByte(ctx, b));
+        ByteBufVarInts.writeLong(this.buffer, value);
     }
 
     // ---
@@ -93,21 +144,179 @@ public class ByteBufSerializer<B extends ByteBuf> implements Serializer<B> {
 
     // ---
 
+    @Override
+    public void writeShorts(SerializationContext ctx, short[] values) {
+        this.writeVarInt(ctx, values.length);
+
+        var length = values.length * Short.BYTES;
+        var view = this.bulkView(length);
+        view.asShortBuffer().put(values);
+        this.commitBulkView(view, length);
+    }
+
+    @Override
+    public void writeInts(SerializationContext ctx, int[] values) {
+        this.writeVarInt(ctx, values.length);
+
+        var length = values.length * Integer.BYTES;
+        var view = this.bulkView(length);
+        view.asIntBuffer().put(values);
+        this.commitBulkView(view, length);
+    }
+
+    @Override
+    public void writeLongs(SerializationContext ctx, long[] values) {
+        this.writeVarInt(ctx, values.length);
+
+        var length = values.length * Long.BYTES;
+        var view = this.bulkView(length);
+        view.asLongBuffer().put(values);
+        this.commitBulkView(view, length);
+    }
+
+    @Override
+    public void writeFloats(SerializationContext ctx, float[] values) {
+        this.writeVarInt(ctx, values.length);
+
+        var length = values.length * Float.BYTES;
+        var view = this.bulkView(length);
+        view.asFloatBuffer().put(values);
+        this.commitBulkView(view, length);
+    }
+
+    @Override
+    public void writeDoubles(SerializationContext ctx, double[] values) {
+        this.writeVarInt(ctx, values.length);
+
+        var length = values.length * Double.BYTES;
+        var view = this.bulkView(length);
+        view.asDoubleBuffer().put(values);
+        this.commitBulkView(view, length);
+    }
+
+    @Override
+    public void writeBooleans(SerializationContext ctx, boolean[] values) {
+        this.writeVarInt(ctx, values.length);
+
+        this.buffer.ensureWritable(values.length);
+        for (var value : values) this.buffer.writeBoolean(value);
+    }
+
+    /**
+     * Get a big-endian view of the next {@code length} writable bytes of the buffer, should
+     * the buffer not be backed by a single NIO buffer, a temporary buffer is returned instead
+     * which is then copied over by {@link #commitBulkView(ByteBuffer, int)}
+     */
+    private ByteBuffer bulkView(int length) {
+        this.buffer.ensureWritable(length);
+
+        return this.buffer.nioBufferCount() == 1
+                ? this.buffer.nioBuffer(this.buffer.writerIndex(), length).order(ByteOrder.BIG_ENDIAN)
+                : ByteBuffer.allocate(length);
+    }
+
+    private void commitBulkView(ByteBuffer view, int length) {
+        if (this.buffer.nioBufferCount() == 1) {
+            this.buffer.writerIndex(this.buffer.writerIndex() + length);
+        } else {
+            this.buffer.writeBytes(view);
+        }
+    }
+
+    // ---
+
     @Override
     public <V> Map<V> map(SerializationContext ctx, Endec<V> valueEndec, int size) {
+        var frameStart = this.beginFrame();
+
         this.writeVarInt(ctx, size);
-        return new Sequence<>(ctx, valueEndec);
+        return new Sequence<>(ctx, valueEndec, frameStart);
     }
 
     @Override
     public <E> Serializer.Sequence<E> sequence(SerializationContext ctx, Endec<E> elementEndec, int size) {
+        var frameStart = this.beginFrame();
+
         this.writeVarInt(ctx, size);
-        return new Sequence<>(ctx, elementEndec);
+        return new Sequence<>(ctx, elementEndec, frameStart);
     }
 
     @Override
     public Struct struct() {
-        return new Sequence<>(null, null);
+        var frameStart = this.beginFrame();
+        if (!this.presenceBits) return new Sequence<>(null, null, frameStart);
+
+        var presenceStart = this.buffer.writerIndex();
+        this.buffer.writeByte(0);
+
+        return new PresenceStruct(frameStart, presenceStart);
+    }
+
+    /**
+     * Reserve a single byte for the length of a frame starting at the current writer index,
+     * which is the entire length prefix for frames shorter than 128 bytes
+     *
+     * @return the start of the frame, or {@code -1} if this serializer is not framed
+     */
+    private int beginFrame() {
+        if (!this.framed) return -1;
+
+        var frameStart = this.buffer.writerIndex();
+        this.buffer.writeByte(0);
+
+        return frameStart;
+    }
+
+    /**
+     * Backpatch the length of the frame starting at {@code frameStart}
+     */
+    private void endFrame(int frameStart) {
+        if (frameStart == -1) return;
+
+        var length = this.buffer.writerIndex() - frameStart - 1;
+        var prefixSize = VarInts.getSizeInBytesFromInt(length);
+
+        this.expandReservedByte(frameStart, prefixSize);
+
+        this.buffer.writerIndex(frameStart);
+        ByteBufVarInts.writeInt(this.buffer, length);
+        this.buffer.writerIndex(frameStart + prefixSize + length);
+    }
+
+    /**
+     * Grow the single byte reserved at {@code index} to {@code size} bytes by moving everything
+     * written after it back in place, which is only necessary in the rare case that one byte does not suffice
+     */
+    private void expandReservedByte(int index, int size) {
+        if (size <= 1) return;
+
+        var shift = size - 1;
+        var contentStart = index + 1;
+        var contentLength = this.buffer.writerIndex() - contentStart;
+
+        this.buffer.ensureWritable(shift);
+
+        if (this.buffer.hasArray()) {
+            var array = this.buffer.array();
+            var offset = this.buffer.arrayOffset() + contentStart;
+
+            System.arraycopy(array, offset, array, offset + shift, contentLength);
+        } else {
+            // Copying a buffer onto itself through setBytes(...) is not safe for overlapping
+            // ranges, so move the contents from back to front instead
+            var remaining = contentLength;
+            for (; remaining >= Long.BYTES; remaining -= Long.BYTES) {
+                var from = contentStart + remaining - Long.BYTES;
+                this.buffer.setLong(from + shift, this.buffer.getLong(from));
+            }
+
+            for (; remaining > 0; remaining--) {
+                var from = contentStart + remaining - 1;
+                this.buffer.setByte(from + shift, this.buffer.getByte(from));
+            }
+        }
+
+        this.buffer.writerIndex(this.buffer.writerIndex() + shift);
     }
 
     // ---
@@ -123,10 +332,12 @@ public class ByteBufSerializer<B extends ByteBuf> implements Serializer<B> {
 
         private final SerializationContext ctx;
         private final Endec<V> valueEndec;
+        private final int frameStart;
 
-        private Sequence(SerializationContext ctx, Endec<V> valueEndec) {
+        private Sequence(SerializationContext ctx, Endec<V> valueEndec, int frameStart) {
             this.ctx = ctx;
             this.valueEndec = valueEndec;
+            this.frameStart = frameStart;
         }
 
         @Override
@@ -147,6 +358,116 @@ public class ByteBufSerializer<B extends ByteBuf> implements Serializer<B> {
         }
 
         @Override
-        public void end() {}
+        public Struct intField(String name, SerializationContext ctx, IntEndec endec, int value) {
+            endec.encodeInt(ctx, ByteBufSerializer.this, value);
+            return this;
+        }
+
+        @Override
+        public Struct longField(String name, SerializationContext ctx, LongEndec endec, long value) {
+            endec.encodeLong(ctx, ByteBufSerializer.this, value);
+            return this;
+        }
+
+        @Override
+        public Struct floatField(String name, SerializationContext ctx, FloatEndec endec, float value) {
+            endec.encodeFloat(ctx, ByteBufSerializer.this, value);
+            return this;
+        }
+
+        @Override
+        public Struct doubleField(String name, SerializationContext ctx, DoubleEndec endec, double value) {
+            endec.encodeDouble(ctx, ByteBufSerializer.this, value);
+            return this;
+        }
+
+        @Override
+        public Struct booleanField(String name, SerializationContext ctx, BooleanEndec endec, boolean value) {
+            endec.encodeBoolean(ctx, ByteBufSerializer.this, value);
+            return this;
+        }
+
+        @Override
+        public void end() {
+            ByteBufSerializer.this.endFrame(this.frameStart);
+        }
+    }
+
+    /**
+     * A struct preceded by the bitmask of {@link ByteBufOption#PRESENCE_BITS}, kept apart
+     * from {@link Sequence} to not make every other struct and sequence any larger
+     */
+    private class PresenceStruct extends Sequence<Object> {
+
+        private final int presenceStart;
+
+        private int optionalFields = 0;
+        private long presence = 0;
+        private @Nullable BitSet overflowPresence = null;
+
+        private PresenceStruct(int frameStart, int presenceStart) {
+            super(null, null, frameStart);
+            this.presenceStart = presenceStart;
+        }
+
+        @Override
+        public <F> Struct field(String name, SerializationContext ctx, Endec<F> endec, F value, boolean mayOmit) {
+            if (mayOmit && endec instanceof OptionalEndec<F> optionalEndec) {
+                var valueEndec = optionalEndec.valueEndec();
+
+                if (valueEndec != null) {
+                    var present = optionalEndec.isPresent(value);
+                    this.recordPresence(present);
+
+                    if (present) valueEndec.encode(ctx, ByteBufSerializer.this, value);
+                    return this;
+                }
+            }
+
+            return super.field(name, ctx, endec, value, mayOmit);
+        }
+
+        private void recordPresence(boolean present) {
+            var index = this.optionalFields++;
+            if (!present) return;
+
+            if (index < Long.SIZE) {
+                this.presence |= 1L << index;
+            } else {
+                if (this.overflowPresence == null) this.overflowPresence = new BitSet();
+                this.overflowPresence.set(index);
+            }
+        }
+
+        private boolean isPresent(int index) {
+            return index < Long.SIZE
+                    ? (this.presence & (1L << index)) != 0
+                    : this.overflowPresence != null && this.overflowPresence.get(index);
+        }
+
+        /**
+         * Write the presence bitmask into the space reserved for it, seven bits per byte
+         * with the highest bit of each byte signalling whether another one follows. Masks
+         * of more than seven optional fields move the fields after them back in place
+         */
+        private void writePresence() {
+            var maskSize = Math.max(1, (this.optionalFields + 6) / 7);
+            ByteBufSerializer.this.expandReservedByte(this.presenceStart, maskSize);
+
+            for (int i = 0; i < maskSize; i++) {
+                int maskByte = i < maskSize - 1 ? VarInts.CONTINUE_BIT : 0;
+                for (int bit = 0; bit < 7; bit++) {
+                    if (this.isPresent(i * 7 + bit)) maskByte |= 1 << bit;
+                }
+
+                ByteBufSerializer.this.buffer.setByte(this.presenceStart + i, maskByte);
+            }
+        }
+
+        @Override
+        public void end() {
+            this.writePresence();
+            super.end();
+        }
     }
 }
@@ -0,0 +1,98 @@
+package io.wispforest.endec.format.bytebuf;
+
+import io.netty.buffer.ByteBuf;
+import io.wispforest.endec.util.VarInts;
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * VarInt encoding working directly on a {@link ByteBuf}. Values are written using
+ * wide stores of their {@linkplain VarInts#packInt(int) packed} form, and read by peeking
+ * the next 8 bytes and decoding them at once whenever that many bytes are readable,
+ * falling back to the byte-by-byte decoding of {@link VarInts} otherwise
+ */
+@ApiStatus.Internal
+public final class ByteBufVarInts {
+
+    private ByteBufVarInts() {}
+
+    public static void writeInt(ByteBuf buffer, int value) {
+        if ((value & ~VarInts.SEGMENT_BITS) == 0) {
+            buffer.writeByte(value);
+            return;
+        }
+
+        writePacked(buffer, VarInts.packInt(value), VarInts.getSizeInBytesFromInt(value));
+    }
+
+    public static void writeLong(ByteBuf buffer, long value) {
+        if ((value & ~((long) VarInts.SEGMENT_BITS)) == 0) {
+            buffer.writeByte((int) value);
+            return;
+        }
+
+        var size = VarInts.getSizeInBytesFromLong(value);
+        if (size <= Long.BYTES) {
+            writePacked(buffer, VarInts.packLong(value), size);
+            return;
+        }
+
+        buffer.ensureWritable(size);
+        buffer.writeLongLE(VarInts.packLongPrefix(value));
+        writeInt(buffer, (int) (value >>> 56));
+    }
+
+    /**
+     * Write the lower {@code size} bytes of {@code packed}, exactly. Storing a full {@code long}
+     * and only advancing the writer index by {@code size} would be cheaper still, but would
+     * clobber data following the writer index when it has been moved back to patch a buffer
+     */
+    private static void writePacked(ByteBuf buffer, long packed, int size) {
+        switch (size) {
+            case 2 -> buffer.writeShortLE((int) packed);
+            case 3 -> buffer.writeMediumLE((int) packed);
+            case 4 -> buffer.writeIntLE((int) packed);
+            case 8 -> buffer.writeLongLE(packed);
+            default -> {
+                buffer.ensureWritable(size);
+                buffer.writeIntLE((int) packed);
+
+                switch (size) {
+                    case 5 -> buffer.writeByte((int) (packed >>> 32));
+                    case 6 -> buffer.writeShortLE((int) (packed >>> 32));
+                    case 7 -> buffer.writeMediumLE((int) (packed >>> 32));
+                }
+            }
+        }
+    }
+
+    public static int readInt(ByteBuf buffer) {
+        var readerIndex = buffer.readerIndex();
+
+        if (buffer.writerIndex() - readerIndex >= Long.BYTES) {
+            var unpacked = VarInts.unpack(buffer.getLongLE(readerIndex));
+            var size = (int) (unpacked >>> 56);
+
+            if (unpacked == -1 || size > 5) throw new RuntimeException("VarInt is too big");
+
+            buffer.readerIndex(readerIndex + size);
+            return (int) unpacked;
+        }
+
+        return VarInts.readInt(buffer::readByte);
+    }
+
+    public static long readLong(ByteBuf buffer) {
+        var readerIndex = buffer.readerIndex();
+
+        if (buffer.writerIndex() - readerIndex >= Long.BYTES) {
+            var unpacked = VarInts.unpack(buffer.getLongLE(readerIndex));
+
+            if (unpacked != -1) {
+                buffer.readerIndex(readerIndex + (int) (unpacked >>> 56));
+                return unpacked & VarInts.UNPACKED_VALUE_BITS;
+            }
+        }
+
+        return VarInts.readLong(buffer::readByte);
+    }
+}
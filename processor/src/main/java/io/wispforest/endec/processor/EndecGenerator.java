@@ -0,0 +1,709 @@
+package io.wispforest.endec.processor;
+
+import org.jetbrains.annotations.Nullable;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.AnnotatedConstruct;
+import javax.lang.model.element.*;
+import javax.lang.model.type.*;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import java.util.*;
+import java.util.stream.Collectors;
+
+///
+/// Generates the source of the endec for a single annotated type. The generated code mirrors what the
+/// `ReflectiveEndecBuilder` would create at runtime:
+///
+/// - records and classes become a `StructEndec` built from one `StructField` per component or field, in
+///   declaration order, with primitive fields using the unboxed `StructField` variants
+/// - `@SealedPolymorphic` types become the same dispatched endec over their permitted subclasses
+///
+/// Field types are resolved at compile time as far as possible: primitives and strings map to the respective
+/// `Endec` constants, lists, sets, maps and optionals are composed from their element endecs and types which
+/// define their endec through `@DefinedEndecGetter` are referenced directly. Any other type is resolved
+/// through the builder passed to the generated `create` method, as are the permitted subclasses of sealed types
+///
+final class EndecGenerator {
+
+    private static final String ANNOTATIONS = "io.wispforest.endec.annotations.";
+
+    private static final Map<TypeKind, String> PRIMITIVE_ENDECS = Map.of(
+            TypeKind.BOOLEAN, "BuiltInEndecs.BOOLEAN",
+            TypeKind.BYTE, "Endec.BYTE",
+            TypeKind.SHORT, "Endec.SHORT",
+            TypeKind.INT, "BuiltInEndecs.INT",
+            TypeKind.LONG, "BuiltInEndecs.LONG",
+            TypeKind.FLOAT, "BuiltInEndecs.FLOAT",
+            TypeKind.DOUBLE, "BuiltInEndecs.DOUBLE"
+    );
+
+    private static final Map<TypeKind, String> PRIMITIVE_ARRAY_ENDECS = Map.of(
+            TypeKind.BYTE, "Endec.BYTES",
+            TypeKind.SHORT, "BuiltInEndecs.SHORT_ARRAY",
+            TypeKind.INT, "BuiltInEndecs.INT_ARRAY",
+            TypeKind.LONG, "BuiltInEndecs.LONG_ARRAY",
+            TypeKind.FLOAT, "BuiltInEndecs.FLOAT_ARRAY",
+            TypeKind.DOUBLE, "BuiltInEndecs.DOUBLE_ARRAY",
+            TypeKind.BOOLEAN, "BuiltInEndecs.BOOLEAN_ARRAY"
+    );
+
+    private static final Map<TypeKind, Set<String>> PRIMITIVE_FIELD_ENDECS = Map.of(
+            TypeKind.INT, Set.of("BuiltInEndecs.INT", "BuiltInEndecs.VAR_INT", "BuiltInEndecs.SIGNED_VAR_INT"),
+            TypeKind.LONG, Set.of("BuiltInEndecs.LONG", "BuiltInEndecs.VAR_LONG", "BuiltInEndecs.SIGNED_VAR_LONG"),
+            TypeKind.FLOAT, Set.of("BuiltInEndecs.FLOAT"),
+            TypeKind.DOUBLE, Set.of("BuiltInEndecs.DOUBLE"),
+            TypeKind.BOOLEAN, Set.of("BuiltInEndecs.BOOLEAN")
+    );
+
+    private final Types types;
+    private final Elements elements;
+
+    private final TypeElement type;
+    private final String packageName;
+    private final String simpleName;
+
+    EndecGenerator(ProcessingEnvironment env, TypeElement type) {
+        this.types = env.getTypeUtils();
+        this.elements = env.getElementUtils();
+
+        this.type = type;
+        this.packageName = this.elements.getPackageOf(type).getQualifiedName().toString();
+
+        var nesting = new ArrayDeque<String>();
+        for (Element element = type; element instanceof TypeElement typeElement; element = element.getEnclosingElement()) {
+            nesting.push(typeElement.getSimpleName().toString());
+        }
+
+        this.simpleName = String.join("_", nesting) + "Endec";
+    }
+
+    String generatedName() {
+        return this.packageName.isEmpty() ? this.simpleName : this.packageName + "." + this.simpleName;
+    }
+
+    String generate() throws GenerationException {
+        if (!this.type.getTypeParameters().isEmpty()) {
+            throw new GenerationException("Endecs can not be generated for generic types", this.type);
+        }
+
+        if (!this.isAccessible(this.type)) {
+            throw new GenerationException("Endecs can only be generated for types accessible from their package", this.type);
+        }
+
+        if (this.definedEndecGetter(this.type) != null) {
+            throw new GenerationException("Type already defines its endec through @DefinedEndecGetter", this.type);
+        }
+
+        if (hasAnnotation(this.type, ANNOTATIONS + "SealedPolymorphic")) {
+            return this.generateSealed();
+        } else if (this.type.getKind() == ElementKind.RECORD || this.type.getKind() == ElementKind.CLASS) {
+            return this.generateStruct();
+        }
+
+        throw new GenerationException("Endecs can only be generated for records, classes and @SealedPolymorphic types", this.type);
+    }
+
+    // ------
+    // Struct
+    // ------
+
+    private String generateStruct() throws GenerationException {
+        var typeName = this.typeName(this.type.asType(), this.type);
+        var properties = this.type.getKind() == ElementKind.RECORD ? this.recordProperties() : this.classProperties();
+
+        var constructor = this.findConstructor(properties);
+        var mutable = constructor == null;
+
+        if (mutable) {
+            if (this.findConstructor(List.of()) == null) {
+                throw new GenerationException("Unable to find a constructor taking all fields in order or a no-args constructor", this.type);
+            }
+
+            for (var property : properties) {
+                if (property.setter == null) {
+                    throw new GenerationException("Unable to find a way to assign field '" + property.name + "' as it is not accessible and no setter is present", property.element);
+                }
+            }
+        }
+
+        var source = new StringBuilder();
+        this.header(source, List.of(
+                "io.wispforest.endec.Deserializer",
+                "io.wispforest.endec.Endec",
+                "io.wispforest.endec.SerializationContext",
+                "io.wispforest.endec.Serializer",
+                "io.wispforest.endec.StructEndec",
+                "io.wispforest.endec.impl.BuiltInEndecs",
+                "io.wispforest.endec.impl.CommentAttribute",
+                "io.wispforest.endec.impl.OptionalEndec",
+                "io.wispforest.endec.impl.ReflectiveEndecBuilder",
+                "io.wispforest.endec.impl.StructField",
+                "io.wispforest.endec.impl.StructSchema"
+        ));
+
+        this.holder(source, "StructEndec<" + typeName + ">");
+
+        var impl = new StringBuilder();
+        impl.append("public static final class Impl implements StructEndec<").append(typeName).append("> {\n\n");
+
+        for (var property : properties) {
+            impl.append("    private final ").append(property.fieldType).append(" ").append(property.name).append(";\n");
+        }
+
+        // Named such that it cannot collide with the field of any property
+        impl.append("\n    private final StructSchema $schema;\n");
+
+        impl.append("\n    private Impl(ReflectiveEndecBuilder builder) {\n");
+        for (var property : properties) {
+            impl.append("        this.").append(property.name).append(" = ").append(property.fieldInitializer).append(";\n");
+        }
+        impl.append("\n        this.$schema = StructSchema.of(");
+        impl.append(properties.stream().map(property -> "this." + property.name).collect(Collectors.joining(", ")));
+        impl.append(");\n");
+        impl.append("    }\n\n");
+
+        impl.append("    public static StructEndec<").append(typeName).append("> create(ReflectiveEndecBuilder builder) {\n");
+        impl.append("        return new Impl(builder);\n");
+        impl.append("    }\n\n");
+
+        impl.append("    @Override\n");
+        impl.append("    public StructSchema schema() {\n");
+        impl.append("        return this.$schema;\n");
+        impl.append("    }\n\n");
+
+        impl.append("    @Override\n");
+        impl.append("    public void encodeStruct(SerializationContext ctx, Serializer<?> serializer, Serializer.Struct struct, ").append(typeName).append(" value) {\n");
+        for (var property : properties) {
+            impl.append("        this.").append(property.name).append(".encodeField(ctx, serializer, struct, value);\n");
+        }
+        impl.append("    }\n\n");
+
+        impl.append("    @Override\n");
+        impl.append("    public ").append(typeName).append(" decodeStruct(SerializationContext ctx, Deserializer<?> deserializer, Deserializer.Struct struct) {\n");
+        if (mutable) {
+            impl.append("        var instance = new ").append(typeName).append("();\n\n");
+            for (var property : properties) {
+                impl.append("        ").append(String.format(property.setter, property.decodeCall())).append(";\n");
+            }
+            impl.append("\n        return instance;\n");
+        } else {
+            impl.append("        return new ").append(typeName).append("(\n");
+            impl.append(properties.stream().map(property -> "                " + property.decodeCall()).collect(Collectors.joining(",\n")));
+            impl.append("\n        );\n");
+        }
+        impl.append("    }\n\n");
+
+        impl.append("    @Override\n");
+        impl.append("    public String toString() {\n");
+        impl.append("        return \"GeneratedEndec[").append(typeName).append("]\";\n");
+        impl.append("    }\n");
+        impl.append("}\n");
+
+        this.impl(source, impl);
+        source.append("}\n");
+
+        return source.toString();
+    }
+
+    private List<Property> recordProperties() throws GenerationException {
+        var typeName = this.typeName(this.type.asType(), this.type);
+        var properties = new ArrayList<Property>();
+
+        for (var component : this.type.getRecordComponents()) {
+            var endec = this.endec(component.asType(), component);
+
+            // Kept for compatibility with the deprecated record component annotation
+            if (hasAnnotation(component, ANNOTATIONS + "NullableComponent")) endec += ".nullableOf()";
+
+            properties.add(this.property(component, component.getSimpleName().toString(), component.asType(), endec, typeName + "::" + component.getAccessor().getSimpleName(), null));
+        }
+
+        return properties;
+    }
+
+    private List<Property> classProperties() throws GenerationException {
+        var hierarchy = new ArrayDeque<TypeElement>();
+        for (var current = this.type; current != null; current = this.superclass(current)) {
+            hierarchy.push(current);
+        }
+
+        var fields = new ArrayList<VariableElement>();
+        for (var clazz : hierarchy) {
+            for (var field : ElementFilter.fieldsIn(clazz.getEnclosedElements())) {
+                var modifiers = field.getModifiers();
+                if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT)) continue;
+
+                fields.add(field);
+            }
+        }
+
+        if (fields.isEmpty()) {
+            throw new GenerationException("Unable to generate an endec for a class without fields", this.type);
+        }
+
+        var recordLike = fields.get(0).getModifiers().contains(Modifier.FINAL);
+        for (var field : fields) {
+            if (field.getModifiers().contains(Modifier.FINAL) != recordLike) {
+                throw new GenerationException("Fields must either all be final or all be mutable", field);
+            }
+        }
+
+        var properties = new ArrayList<Property>();
+        var names = new HashSet<String>();
+
+        for (var field : fields) {
+            var name = field.getSimpleName().toString();
+            if (!names.add(name)) throw new GenerationException("Field '" + name + "' is declared more than once in the class hierarchy", field);
+
+            String getter;
+            if (this.isAccessible(field)) {
+                getter = "instance -> instance." + name;
+            } else {
+                var method = this.findAccessor(field, List.of(name, "get" + capitalize(name)), 0);
+                if (method == null) throw new GenerationException("Unable to find a getter for the inaccessible field '" + name + "'", field);
+
+                getter = "instance -> instance." + method.getSimpleName() + "()";
+            }
+
+            String setter = null;
+            if (!recordLike) {
+                if (this.isAccessible(field)) {
+                    setter = "instance." + name + " = %s";
+                } else {
+                    var method = this.findAccessor(field, List.of(name, "set" + capitalize(name)), 1);
+                    if (method != null) setter = "instance." + method.getSimpleName() + "(%s)";
+                }
+            }
+
+            properties.add(this.property(field, name, field.asType(), this.endec(field.asType(), field), getter, setter));
+        }
+
+        return properties;
+    }
+
+    private Property property(Element element, String name, TypeMirror valueType, String endec, String getter, @Nullable String setter) throws GenerationException {
+        var typeName = this.typeName(this.type.asType(), this.type);
+
+        var comment = annotation(valueType, ANNOTATIONS + "Comment");
+        var context = comment != null
+                ? ".withContext(SerializationContext.attributes(new CommentAttribute(" + this.stringValue(comment, "comment") + ")))"
+                : "";
+
+        var primitiveEndecs = PRIMITIVE_FIELD_ENDECS.get(valueType.getKind());
+        if (primitiveEndecs != null && primitiveEndecs.contains(endec)) {
+            var primitive = capitalize(valueType.getKind().name().toLowerCase(Locale.ROOT));
+
+            return new Property(
+                    element,
+                    name,
+                    "StructField." + primitive + "Field<" + typeName + ">",
+                    "new StructField." + primitive + "Field<" + typeName + ">(\"" + name + "\", " + endec + ", " + getter + ")" + context,
+                    "decode" + primitive,
+                    setter
+            );
+        }
+
+        var boxedTypeName = this.typeName(valueType.getKind().isPrimitive() ? this.types.boxedClass((PrimitiveType) valueType).asType() : valueType, element);
+
+        return new Property(
+                element,
+                name,
+                "StructField<" + typeName + ", " + boxedTypeName + ">",
+                endec + ".fieldOf(\"" + name + "\", " + getter + ")" + context,
+                "decodeField",
+                setter
+        );
+    }
+
+    ///
+    /// @return the accessible constructor taking exactly the types of all `properties` in order, or `null`
+    ///
+    private @Nullable ExecutableElement findConstructor(List<Property> properties) throws GenerationException {
+        var propertyTypes = new ArrayList<TypeMirror>();
+        for (var property : properties) {
+            propertyTypes.add(property.element.asType());
+        }
+
+        for (var constructor : ElementFilter.constructorsIn(this.type.getEnclosedElements())) {
+            if (!this.isAccessible(constructor) || constructor.getParameters().size() != propertyTypes.size()) continue;
+
+            var matches = true;
+            for (int i = 0; i < propertyTypes.size(); i++) {
+                if (!this.types.isSameType(this.types.erasure(constructor.getParameters().get(i).asType()), this.types.erasure(propertyTypes.get(i)))) {
+                    matches = false;
+                    break;
+                }
+            }
+
+            if (matches) return constructor;
+        }
+
+        return null;
+    }
+
+    private @Nullable ExecutableElement findAccessor(VariableElement field, List<String> names, int parameterCount) {
+        for (var current = this.type; current != null; current = this.superclass(current)) {
+            for (var method : ElementFilter.methodsIn(current.getEnclosedElements())) {
+                if (!names.contains(method.getSimpleName().toString()) || method.getParameters().size() != parameterCount) continue;
+                if (method.getModifiers().contains(Modifier.STATIC) || !this.isAccessible(method)) continue;
+
+                var accessedType = parameterCount == 0 ? method.getReturnType() : method.getParameters().get(0).asType();
+                if (this.types.isSameType(this.types.erasure(accessedType), this.types.erasure(field.asType()))) return method;
+            }
+        }
+
+        return null;
+    }
+
+    // ------
+    // Sealed
+    // ------
+
+    private String generateSealed() throws GenerationException {
+        var typeName = this.typeName(this.type.asType(), this.type);
+
+        if (!this.type.getModifiers().contains(Modifier.SEALED)) {
+            throw new GenerationException("@SealedPolymorphic types must be sealed", this.type);
+        }
+
+        var subclasses = new ArrayList<TypeElement>();
+        for (var permitted : this.type.getPermittedSubclasses()) {
+            subclasses.add((TypeElement) this.types.asElement(permitted));
+        }
+
+        for (int i = 0; i < subclasses.size(); i++) {
+            var subclass = subclasses.get(i);
+
+            if (subclass.getModifiers().contains(Modifier.SEALED)) {
+                for (var permitted : subclass.getPermittedSubclasses()) {
+                    var element = (TypeElement) this.types.asElement(permitted);
+                    if (!subclasses.contains(element)) subclasses.add(element);
+                }
+            } else if (!subclass.getModifiers().contains(Modifier.FINAL) && subclass.getKind() != ElementKind.RECORD && subclass.getKind() != ElementKind.ENUM) {
+                throw new GenerationException("Subclasses of a @SealedPolymorphic class must themselves be sealed", subclass);
+            }
+
+            if (!this.isAccessible(subclass)) {
+                throw new GenerationException("Subclasses of a @SealedPolymorphic class must be accessible from its package", subclass);
+            }
+        }
+
+        subclasses.sort(Comparator.comparing(subclass -> this.elements.getBinaryName(subclass).toString()));
+
+        var names = new HashSet<String>();
+        for (var subclass : subclasses) {
+            if (!names.add(subclass.getSimpleName().toString())) {
+                throw new GenerationException("Two or more permitted subclasses share the simple name '" + subclass.getSimpleName() + "'", subclass);
+            }
+        }
+
+        var source = new StringBuilder();
+        this.header(source, List.of(
+                "io.wispforest.endec.Endec",
+                "io.wispforest.endec.impl.BuiltInEndecs",
+                "io.wispforest.endec.impl.DispatchTable",
+                "io.wispforest.endec.impl.ReflectiveEndecBuilder"
+        ));
+
+        this.holder(source, "Endec<" + typeName + ">");
+
+        var impl = new StringBuilder();
+        impl.append("public static final class Impl {\n\n");
+        impl.append("    private Impl() {}\n\n");
+
+        impl.append("    public static Endec<").append(typeName).append("> create(ReflectiveEndecBuilder builder) {\n");
+        impl.append("        return Endec.dispatched(DispatchTable.<").append(typeName).append(">builder()\n");
+        impl.append("                .idEndec(BuiltInEndecs.INT)\n");
+        for (var subclass : subclasses) {
+            impl.append("                .register(").append(subclass.getQualifiedName()).append(".class, \"").append(subclass.getSimpleName())
+                    .append("\", builder.get(").append(subclass.getQualifiedName()).append(".class))\n");
+        }
+        impl.append("                .build());\n");
+        impl.append("    }\n");
+        impl.append("}\n");
+
+        this.impl(source, impl);
+        source.append("}\n");
+
+        return source.toString();
+    }
+
+    // -----
+    // Types
+    // -----
+
+    ///
+    /// @return the source of the endec for `type`, with any endec adjusting annotations applied
+    /// in the same order as the `ReflectiveEndecBuilder` applies them
+    ///
+    private String endec(TypeMirror type, Element element) throws GenerationException {
+        var endec = this.baseEndec(type, element);
+
+        var nullable = annotation(type, ANNOTATIONS + "IsNullable");
+        if (nullable != null) {
+            endec = "new OptionalEndec<>(" + endec + ".optionalOf(), () -> null, "
+                    + (Boolean.TRUE.equals(this.value(nullable, "mayOmitNullValues")) ? "java.util.Objects::isNull" : "null") + ", "
+                    + this.value(nullable, "mayOmitField") + ")";
+        }
+
+        var varInt = annotation(type, ANNOTATIONS + "IsVarInt");
+        if (varInt != null) {
+            var signed = Boolean.TRUE.equals(this.value(varInt, "signed")) ? "SIGNED_" : "";
+            var kind = this.unboxedKind(type);
+
+            if (kind == TypeKind.INT) endec = "BuiltInEndecs." + signed + "VAR_INT";
+            if (kind == TypeKind.LONG) endec = "BuiltInEndecs." + signed + "VAR_LONG";
+        }
+
+        var rangedFloat = annotation(type, ANNOTATIONS + "RangedFloat");
+        if (rangedFloat != null) {
+            var kind = this.unboxedKind(type);
+
+            if (isIntegerKind(kind)) {
+                throw new GenerationException("Can not apply RangedFloat to a integer type, use RangedInteger instead!", element);
+            } else if (kind == TypeKind.FLOAT || kind == TypeKind.DOUBLE) {
+                var cast = kind == TypeKind.FLOAT ? "(float) " : "";
+
+                endec = "Endec.ranged(" + endec + ", "
+                        + cast + doubleLiteral((Double) this.value(rangedFloat, "min")) + ", "
+                        + cast + doubleLiteral((Double) this.value(rangedFloat, "max")) + ", "
+                        + this.value(rangedFloat, "throwError") + ")";
+            }
+        }
+
+        var rangedInteger = annotation(type, ANNOTATIONS + "RangedInteger");
+        if (rangedInteger != null) {
+            var kind = this.unboxedKind(type);
+
+            if (kind == TypeKind.FLOAT || kind == TypeKind.DOUBLE) {
+                throw new GenerationException("Can not apply RangedInteger to a integer type, use RangedFloat instead!", element);
+            } else if (isIntegerKind(kind)) {
+                var cast = kind == TypeKind.LONG ? "" : "(" + kind.name().toLowerCase(Locale.ROOT) + ") ";
+
+                endec = "Endec.ranged(" + endec + ", "
+                        + cast + this.value(rangedInteger, "min") + "L, "
+                        + cast + this.value(rangedInteger, "max") + "L, "
+                        + this.value(rangedInteger, "throwError") + ")";
+            }
+        }
+
+        return endec;
+    }
+
+    private String baseEndec(TypeMirror type, Element element) throws GenerationException {
+        var kind = this.unboxedKind(type);
+        if (kind != null && PRIMITIVE_ENDECS.containsKey(kind)) return PRIMITIVE_ENDECS.get(kind);
+
+        if (type instanceof ArrayType arrayType) {
+            var componentKind = arrayType.getComponentType().getKind();
+
+            if (PRIMITIVE_ARRAY_ENDECS.containsKey(componentKind) && arrayType.getComponentType().getAnnotationMirrors().isEmpty()) {
+                return PRIMITIVE_ARRAY_ENDECS.get(componentKind);
+            }
+
+            if (!arrayType.getComponentType().getAnnotationMirrors().isEmpty()) {
+                throw new GenerationException("Annotated array components are not supported, use a List instead", element);
+            }
+
+            return "builder.get(" + this.typeName(this.types.erasure(type), element) + ".class)";
+        }
+
+        if (!(type instanceof DeclaredType declaredType)) {
+            throw new GenerationException("Unable to generate an endec for type " + type, element);
+        }
+
+        var typeElement = (TypeElement) declaredType.asElement();
+        var qualifiedName = typeElement.getQualifiedName().toString();
+        var typeArguments = declaredType.getTypeArguments();
+
+        if (qualifiedName.equals("java.lang.String")) return "Endec.STRING";
+
+        if (!typeArguments.isEmpty()) {
+            switch (qualifiedName) {
+                case "java.util.List" -> {
+                    return this.endec(typeArguments.get(0), element) + ".listOf()";
+                }
+                case "java.util.Set" -> {
+                    return this.endec(typeArguments.get(0), element) + ".setOf()";
+                }
+                case "java.util.Optional" -> {
+                    return this.endec(typeArguments.get(0), element) + ".optionalOf()";
+                }
+                case "java.util.Map" -> {
+                    var keyType = typeArguments.get(0);
+
+                    return keyType instanceof DeclaredType keyDeclaredType && ((TypeElement) keyDeclaredType.asElement()).getQualifiedName().contentEquals("java.lang.String")
+                            ? this.endec(typeArguments.get(1), element) + ".mapOf()"
+                            : "Endec.map(" + this.endec(keyType, element) + ", " + this.endec(typeArguments.get(1), element) + ")";
+                }
+                default -> throw new GenerationException("Generic type " + qualifiedName + " is not supported, only List, Set, Map and Optional are", element);
+            }
+        }
+
+        var definedEndec = this.definedEndecGetter(typeElement);
+        if (definedEndec != null) return definedEndec;
+
+        return "builder.get(" + qualifiedName + ".class)";
+    }
+
+    ///
+    /// @return the source referencing the endec `type` defines through `@DefinedEndecGetter`, or `null` if there is none
+    ///
+    private @Nullable String definedEndecGetter(TypeElement type) {
+        for (var member : type.getEnclosedElements()) {
+            if (!hasAnnotation(member, ANNOTATIONS + "DefinedEndecGetter")) continue;
+            if (!member.getModifiers().containsAll(Set.of(Modifier.PUBLIC, Modifier.STATIC))) continue;
+
+            if (member.getKind() == ElementKind.FIELD) return type.getQualifiedName() + "." + member.getSimpleName();
+            if (member.getKind() == ElementKind.METHOD) return type.getQualifiedName() + "." + member.getSimpleName() + "()";
+        }
+
+        return null;
+    }
+
+    ///
+    /// @return the source name of `type`, stripped of all type annotations
+    ///
+    private String typeName(TypeMirror type, Element element) throws GenerationException {
+        if (type.getKind().isPrimitive()) return type.getKind().name().toLowerCase(Locale.ROOT);
+
+        if (type instanceof ArrayType arrayType) return this.typeName(arrayType.getComponentType(), element) + "[]";
+
+        if (type instanceof DeclaredType declaredType) {
+            var name = ((TypeElement) declaredType.asElement()).getQualifiedName().toString();
+            if (declaredType.getTypeArguments().isEmpty()) return name;
+
+            var arguments = new ArrayList<String>();
+            for (var argument : declaredType.getTypeArguments()) {
+                arguments.add(this.typeName(argument, element));
+            }
+
+            return name + "<" + String.join(", ", arguments) + ">";
+        }
+
+        throw new GenerationException("Unable to generate an endec for type " + type + ", type variables and wildcards are not supported", element);
+    }
+
+    private @Nullable TypeKind unboxedKind(TypeMirror type) {
+        if (type.getKind().isPrimitive()) return type.getKind();
+
+        try {
+            return this.types.unboxedType(type).getKind();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static boolean isIntegerKind(@Nullable TypeKind kind) {
+        return kind == TypeKind.BYTE || kind == TypeKind.SHORT || kind == TypeKind.INT || kind == TypeKind.LONG;
+    }
+
+    // -----
+    // Utils
+    // -----
+
+    ///
+    /// Open the generated class, which only holds the `ENDEC` created by the shared builder and the `create`
+    /// method for other builders. The endec itself lives in the nested `Impl` class, which is what the
+    /// `ReflectiveEndecBuilder` loads - this way, builders creating their own endec never initialize `ENDEC`
+    /// and with it the endecs of the shared builder
+    ///
+    private void holder(StringBuilder source, String endecType) {
+        source.append("public final class ").append(this.simpleName).append(" {\n\n");
+        source.append("    public static final ").append(endecType).append(" ENDEC = create(ReflectiveEndecBuilder.SHARED_INSTANCE);\n\n");
+        source.append("    private ").append(this.simpleName).append("() {}\n\n");
+
+        source.append("    public static ").append(endecType).append(" create(ReflectiveEndecBuilder builder) {\n");
+        source.append("        return Impl.create(builder);\n");
+        source.append("    }\n\n");
+    }
+
+    private void impl(StringBuilder source, StringBuilder impl) {
+        impl.toString().lines().forEach(line -> source.append(line.isEmpty() ? "" : "    " + line).append("\n"));
+    }
+
+    private void header(StringBuilder source, List<String> imports) {
+        if (!this.packageName.isEmpty()) source.append("package ").append(this.packageName).append(";\n\n");
+
+        for (var imported : imports) {
+            source.append("import ").append(imported).append(";\n");
+        }
+
+        source.append("\n/**\n");
+        source.append(" * Endec for {@link ").append(this.type.getQualifiedName()).append("}, generated by the endec annotation processor\n");
+        source.append(" */\n");
+    }
+
+    private boolean isAccessible(Element element) {
+        var modifiers = element.getModifiers();
+        if (modifiers.contains(Modifier.PRIVATE)) return false;
+
+        if (!modifiers.contains(Modifier.PUBLIC) && !this.elements.getPackageOf(element).getQualifiedName().contentEquals(this.packageName)) {
+            return false;
+        }
+
+        var enclosing = element.getEnclosingElement();
+        return !(enclosing instanceof TypeElement) || this.isAccessible(enclosing);
+    }
+
+    private @Nullable TypeElement superclass(TypeElement type) {
+        var superclass = type.getSuperclass();
+        if (!(superclass instanceof DeclaredType declaredType)) return null;
+
+        var element = (TypeElement) declaredType.asElement();
+        return element.getQualifiedName().contentEquals("java.lang.Object") ? null : element;
+    }
+
+    private @Nullable Object value(AnnotationMirror annotation, String name) {
+        for (var entry : this.elements.getElementValuesWithDefaults(annotation).entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) return entry.getValue().getValue();
+        }
+
+        return null;
+    }
+
+    private String stringValue(AnnotationMirror annotation, String name) {
+        return this.elements.getConstantExpression(this.value(annotation, name));
+    }
+
+    private static String doubleLiteral(double value) {
+        if (value == Double.POSITIVE_INFINITY) return "Double.POSITIVE_INFINITY";
+        if (value == Double.NEGATIVE_INFINITY) return "Double.NEGATIVE_INFINITY";
+        if (Double.isNaN(value)) return "Double.NaN";
+
+        return value + "d";
+    }
+
+    private static @Nullable AnnotationMirror annotation(AnnotatedConstruct construct, String annotationName) {
+        for (var mirror : construct.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotationName)) return mirror;
+        }
+
+        return null;
+    }
+
+    private static boolean hasAnnotation(AnnotatedConstruct construct, String annotationName) {
+        return annotation(construct, annotationName) != null;
+    }
+
+    private static String capitalize(String name) {
+        return name.substring(0, 1).toUpperCase(Locale.ROOT) + name.substring(1);
+    }
+
+    private record Property(Element element, String name, String fieldType, String fieldInitializer, String decodeMethod, @Nullable String setter) {
+        private String decodeCall() {
+            return "this." + this.name + "." + this.decodeMethod + "(ctx, deserializer, struct)";
+        }
+    }
+
+    static final class GenerationException extends Exception {
+        final Element element;
+
+        GenerationException(String message, Element element) {
+            super(message);
+            this.element = element;
+        }
+    }
+}
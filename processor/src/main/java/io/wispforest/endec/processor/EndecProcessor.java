@@ -0,0 +1,49 @@
+package io.wispforest.endec.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.util.Set;
+
+///
+/// Annotation processor generating an endec for every type annotated with
+/// `io.wispforest.endec.annotations.GenerateEndec`, see [EndecGenerator] for the generated code
+///
+@SupportedAnnotationTypes(EndecProcessor.GENERATE_ENDEC)
+public final class EndecProcessor extends AbstractProcessor {
+
+    static final String GENERATE_ENDEC = "io.wispforest.endec.annotations.GenerateEndec";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (var annotation : annotations) {
+            for (var element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (!(element instanceof TypeElement type)) continue;
+
+                try {
+                    var generator = new EndecGenerator(this.processingEnv, type);
+                    var source = generator.generate();
+
+                    try (var writer = this.processingEnv.getFiler().createSourceFile(generator.generatedName(), type).openWriter()) {
+                        writer.write(source);
+                    }
+                } catch (EndecGenerator.GenerationException e) {
+                    this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, e.getMessage(), e.element);
+                } catch (IOException e) {
+                    this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Unable to write generated endec: " + e, type);
+                }
+            }
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,5 @@
+module endec_processor {
+    requires java.compiler;
+    requires static org.jetbrains.annotations;
+    provides javax.annotation.processing.Processor with io.wispforest.endec.processor.EndecProcessor;
+}
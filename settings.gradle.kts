@@ -3,4 +3,6 @@ rootProject.name = "endec"
 include("gson")
 include("jankson")
 include("netty")
+include("processor")
+include("benchmarks")
 
@@ -0,0 +1,64 @@
+package io.wispforest.endec;
+
+import io.wispforest.endec.impl.StructField;
+
+/**
+ * An {@link Endec} for {@code boolean} values which can encode and decode them without boxing.
+ * <p>
+ * Endecs of this type are picked up by primitive {@link StructField} variants (see {@link #booleanFieldOf(String, ToBooleanFunction)}),
+ * allowing the value to travel from the getter into the serializer as {@code boolean} the whole way. When used
+ * as a plain {@link Endec}, values are (un)boxed at the boundary
+ */
+public interface BooleanEndec extends Endec<Boolean> {
+
+    void encodeBoolean(SerializationContext ctx, Serializer<?> serializer, boolean value);
+
+    boolean decodeBoolean(SerializationContext ctx, Deserializer<?> deserializer);
+
+    @Override
+    default void encode(SerializationContext ctx, Serializer<?> serializer, Boolean value) {
+        this.encodeBoolean(ctx, serializer, value);
+    }
+
+    @Override
+    default Boolean decode(SerializationContext ctx, Deserializer<?> deserializer) {
+        return this.decodeBoolean(ctx, deserializer);
+    }
+
+    /**
+     * Create a new struct-field for values of this endec, which reads the
+     * field value from {@code getter} without boxing it
+     */
+    default <S> StructField<S, Boolean> booleanFieldOf(String name, ToBooleanFunction<S> getter) {
+        return new StructField.BooleanField<>(name, this, getter);
+    }
+
+    static BooleanEndec of(BooleanEncoder encoder, BooleanDecoder decoder) {
+        return new BooleanEndec() {
+            @Override
+            public void encodeBoolean(SerializationContext ctx, Serializer<?> serializer, boolean value) {
+                encoder.encode(ctx, serializer, value);
+            }
+
+            @Override
+            public boolean decodeBoolean(SerializationContext ctx, Deserializer<?> deserializer) {
+                return decoder.decode(ctx, deserializer);
+            }
+        };
+    }
+
+    @FunctionalInterface
+    interface BooleanEncoder {
+        void encode(SerializationContext ctx, Serializer<?> serializer, boolean value);
+    }
+
+    @FunctionalInterface
+    interface BooleanDecoder {
+        boolean decode(SerializationContext ctx, Deserializer<?> deserializer);
+    }
+
+    @FunctionalInterface
+    interface ToBooleanFunction<S> {
+        boolean applyAsBoolean(S value);
+    }
+}
@@ -1,9 +1,12 @@
 package io.wispforest.endec;
 
+import io.wispforest.endec.util.VarInts;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -13,6 +16,35 @@ public interface Deserializer<T> {
         return ctx;
     }
 
+    /**
+     * Capabilities assumed for deserializers which do not declare their own, as every
+     * deserializer is expected to support {@link #tryRead(Function)} unless stated otherwise
+     */
+    Set<FormatCapability> DEFAULT_CAPABILITIES = FormatCapability.setOf(FormatCapability.TRY_READ);
+
+    /**
+     * The {@link FormatCapability capabilities} of the format this deserializer handles, which endecs may
+     * consult to pick the most efficient representation. Implementations should return a constant set,
+     * preferably created through {@link FormatCapability#setOf(FormatCapability...)}
+     */
+    default Set<FormatCapability> capabilities() {
+        return DEFAULT_CAPABILITIES;
+    }
+
+    default boolean hasCapability(FormatCapability capability) {
+        return this.capabilities().contains(capability);
+    }
+
+    /**
+     * Throw an {@link IllegalStateException} if this deserializer lacks {@code capability},
+     * which {@code operation} cannot be performed without
+     */
+    default void requireCapability(FormatCapability capability, String operation) {
+        if (!this.hasCapability(capability)) {
+            throw new IllegalStateException(operation + " requires FormatCapability." + capability + ", which " + this.getClass().getName() + " does not support");
+        }
+    }
+
     byte readByte(SerializationContext ctx);
     short readShort(SerializationContext ctx);
     int readInt(SerializationContext ctx);
@@ -23,11 +55,113 @@ public interface Deserializer<T> {
     int readVarInt(SerializationContext ctx);
     long readVarLong(SerializationContext ctx);
 
+    /**
+     * Read a VarInt written by {@link Serializer#writeSignedVarInt(SerializationContext, int)},
+     * by default this reverses the zigzag encoding applied to it
+     */
+    default int readSignedVarInt(SerializationContext ctx) {
+        return VarInts.decodeZigZag(this.readVarInt(ctx));
+    }
+
+    /**
+     * @see #readSignedVarInt(SerializationContext)
+     */
+    default long readSignedVarLong(SerializationContext ctx) {
+        return VarInts.decodeZigZag(this.readVarLong(ctx));
+    }
+
     boolean readBoolean(SerializationContext ctx);
     String readString(SerializationContext ctx);
     byte[] readBytes(SerializationContext ctx);
     <V> Optional<V> readOptional(SerializationContext ctx, Endec<V> endec);
 
+    // --- Primitive arrays, decoded from a sequence of the respective primitive endec by default.
+    //     Formats which can read these in bulk should override them ---
+
+    default short[] readShorts(SerializationContext ctx) {
+        var sequence = this.sequence(ctx, Endec.SHORT);
+
+        var values = new short[sequence.estimatedSize()];
+        int size = 0;
+
+        while (sequence.hasNext()) {
+            if (size == values.length) values = Arrays.copyOf(values, Math.max(16, size * 2));
+            values[size++] = sequence.next();
+        }
+
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    default int[] readInts(SerializationContext ctx) {
+        var sequence = this.sequence(ctx, Endec.INT);
+
+        var values = new int[sequence.estimatedSize()];
+        int size = 0;
+
+        while (sequence.hasNext()) {
+            if (size == values.length) values = Arrays.copyOf(values, Math.max(16, size * 2));
+            values[size++] = sequence.next();
+        }
+
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    default long[] readLongs(SerializationContext ctx) {
+        var sequence = this.sequence(ctx, Endec.LONG);
+
+        var values = new long[sequence.estimatedSize()];
+        int size = 0;
+
+        while (sequence.hasNext()) {
+            if (size == values.length) values = Arrays.copyOf(values, Math.max(16, size * 2));
+            values[size++] = sequence.next();
+        }
+
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    default float[] readFloats(SerializationContext ctx) {
+        var sequence = this.sequence(ctx, Endec.FLOAT);
+
+        var values = new float[sequence.estimatedSize()];
+        int size = 0;
+
+        while (sequence.hasNext()) {
+            if (size == values.length) values = Arrays.copyOf(values, Math.max(16, size * 2));
+            values[size++] = sequence.next();
+        }
+
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    default double[] readDoubles(SerializationContext ctx) {
+        var sequence = this.sequence(ctx, Endec.DOUBLE);
+
+        var values = new double[sequence.estimatedSize()];
+        int size = 0;
+
+        while (sequence.hasNext()) {
+            if (size == values.length) values = Arrays.copyOf(values, Math.max(16, size * 2));
+            values[size++] = sequence.next();
+        }
+
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    default boolean[] readBooleans(SerializationContext ctx) {
+        var sequence = this.sequence(ctx, Endec.BOOLEAN);
+
+        var values = new boolean[sequence.estimatedSize()];
+        int size = 0;
+
+        while (sequence.hasNext()) {
+            if (size == values.length) values = Arrays.copyOf(values, Math.max(16, size * 2));
+            values[size++] = sequence.next();
+        }
+
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
     <E> Sequence<E> sequence(SerializationContext ctx, Endec<E> elementEndec);
     <V> Map<V> map(SerializationContext ctx, Endec<V> valueEndec);
 
@@ -35,6 +169,44 @@ public interface Deserializer<T> {
 
     <V> V tryRead(Function<Deserializer<T>, V> reader);
 
+    /**
+     * Read the value this deserializer is positioned at, whatever its shape, and write it to {@code visitor}. Only
+     * formats which declare {@link FormatCapability#SELF_DESCRIBED} can do this, callers must check
+     * {@link #hasCapability(FormatCapability)} first - all others throw an {@link IllegalStateException}
+     *
+     * @see SelfDescribedDeserializer
+     */
+    default <S> void readAny(SerializationContext ctx, Serializer<S> visitor) {
+        this.requireCapability(FormatCapability.SELF_DESCRIBED, "readAny(...)");
+        throw new IllegalStateException(this.getClass().getName() + " declares FormatCapability.SELF_DESCRIBED, but does not implement readAny(...)");
+    }
+
+    /**
+     * Skip over the value this deserializer is positioned at without decoding it. Only formats which declare
+     * {@link FormatCapability#SKIP} can do this, callers must check {@link #hasCapability(FormatCapability)}
+     * first - all others throw an {@link IllegalStateException}
+     * <p>
+     * When called by the endec of an element, entry or field, only that value is passed over
+     * and the enclosing sequence, map or struct continues with the next one
+     *
+     * @see #skipFrame(SerializationContext)
+     */
+    default void skip(SerializationContext ctx) {
+        this.requireCapability(FormatCapability.SKIP, "skip(...)");
+        throw new IllegalStateException(this.getClass().getName() + " declares FormatCapability.SKIP, but does not implement skip(...)");
+    }
+
+    /**
+     * Skip over the struct, sequence or map this deserializer is positioned at without decoding it. This is
+     * possible for formats declaring either {@link FormatCapability#SKIP} or {@link FormatCapability#SKIP_FRAMES},
+     * the latter of which - like a framed {@code ByteBufDeserializer} - cannot tell any other kind of value
+     * apart from the next and thus leave the data in an undefined state if asked to skip one
+     */
+    default void skipFrame(SerializationContext ctx) {
+        if (!this.hasCapability(FormatCapability.SKIP)) this.requireCapability(FormatCapability.SKIP_FRAMES, "skipFrame(...)");
+        this.skip(ctx);
+    }
+
     interface Sequence<E> extends Iterator<E> {
 
         int estimatedSize();
@@ -73,5 +245,63 @@ public interface Deserializer<T> {
          * supplier result is used as the returned value
          */
         <F> @Nullable F field(String name, SerializationContext ctx, Endec<F> endec, @Nullable Supplier<F> defaultValueFactory);
+
+        /**
+         * Variant of {@link #field(String, SerializationContext, Endec, Supplier)} taking a pre-resolved
+         * {@link FieldKey}, for formats which can look up fields through the representation cached in the key
+         */
+        default <F> @Nullable F field(FieldKey key, SerializationContext ctx, Endec<F> endec, @Nullable Supplier<F> defaultValueFactory) {
+            return this.field(key.name(), ctx, endec, defaultValueFactory);
+        }
+
+        // --- Primitive fields, formats which can read these without boxing should override them ---
+
+        default int intField(String name, SerializationContext ctx, IntEndec endec) {
+            return this.field(name, ctx, endec, (Supplier<Integer>) null);
+        }
+
+        default long longField(String name, SerializationContext ctx, LongEndec endec) {
+            return this.field(name, ctx, endec, (Supplier<Long>) null);
+        }
+
+        default float floatField(String name, SerializationContext ctx, FloatEndec endec) {
+            return this.field(name, ctx, endec, (Supplier<Float>) null);
+        }
+
+        default double doubleField(String name, SerializationContext ctx, DoubleEndec endec) {
+            return this.field(name, ctx, endec, (Supplier<Double>) null);
+        }
+
+        default boolean booleanField(String name, SerializationContext ctx, BooleanEndec endec) {
+            return this.field(name, ctx, endec, (Supplier<Boolean>) null);
+        }
+
+        // --- Primitive fields taking a pre-resolved FieldKey, see field(FieldKey, ...) ---
+
+        default int intField(FieldKey key, SerializationContext ctx, IntEndec endec) {
+            return this.intField(key.name(), ctx, endec);
+        }
+
+        default long longField(FieldKey key, SerializationContext ctx, LongEndec endec) {
+            return this.longField(key.name(), ctx, endec);
+        }
+
+        default float floatField(FieldKey key, SerializationContext ctx, FloatEndec endec) {
+            return this.floatField(key.name(), ctx, endec);
+        }
+
+        default double doubleField(FieldKey key, SerializationContext ctx, DoubleEndec endec) {
+            return this.doubleField(key.name(), ctx, endec);
+        }
+
+        default boolean booleanField(FieldKey key, SerializationContext ctx, BooleanEndec endec) {
+            return this.booleanField(key.name(), ctx, endec);
+        }
+
+        /**
+         * Called once all fields have been decoded, such that formats can move past any
+         * remaining data of the struct - like fields added by a newer version of it
+         */
+        default void end() {}
     }
 }
@@ -0,0 +1,61 @@
+package io.wispforest.endec;
+
+import io.wispforest.endec.impl.StructField;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * An {@link Endec} for {@code double} values which can encode and decode them without boxing.
+ * <p>
+ * Endecs of this type are picked up by primitive {@link StructField} variants (see {@link #doubleFieldOf(String, ToDoubleFunction)}),
+ * allowing the value to travel from the getter into the serializer as {@code double} the whole way. When used
+ * as a plain {@link Endec}, values are (un)boxed at the boundary
+ */
+public interface DoubleEndec extends Endec<Double> {
+
+    void encodeDouble(SerializationContext ctx, Serializer<?> serializer, double value);
+
+    double decodeDouble(SerializationContext ctx, Deserializer<?> deserializer);
+
+    @Override
+    default void encode(SerializationContext ctx, Serializer<?> serializer, Double value) {
+        this.encodeDouble(ctx, serializer, value);
+    }
+
+    @Override
+    default Double decode(SerializationContext ctx, Deserializer<?> deserializer) {
+        return this.decodeDouble(ctx, deserializer);
+    }
+
+    /**
+     * Create a new struct-field for values of this endec, which reads the
+     * field value from {@code getter} without boxing it
+     */
+    default <S> StructField<S, Double> doubleFieldOf(String name, ToDoubleFunction<S> getter) {
+        return new StructField.DoubleField<>(name, this, getter);
+    }
+
+    static DoubleEndec of(DoubleEncoder encoder, DoubleDecoder decoder) {
+        return new DoubleEndec() {
+            @Override
+            public void encodeDouble(SerializationContext ctx, Serializer<?> serializer, double value) {
+                encoder.encode(ctx, serializer, value);
+            }
+
+            @Override
+            public double decodeDouble(SerializationContext ctx, Deserializer<?> deserializer) {
+                return decoder.decode(ctx, deserializer);
+            }
+        };
+    }
+
+    @FunctionalInterface
+    interface DoubleEncoder {
+        void encode(SerializationContext ctx, Serializer<?> serializer, double value);
+    }
+
+    @FunctionalInterface
+    interface DoubleDecoder {
+        double decode(SerializationContext ctx, Deserializer<?> deserializer);
+    }
+}
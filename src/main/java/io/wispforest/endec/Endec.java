@@ -65,15 +65,17 @@ public interface Endec<T> {
 
     Endec<Void> VOID = Endec.of((ctx, serializer, unused) -> {}, (ctx, deserializer) -> null);
 
-    Endec<Boolean> BOOLEAN = Endec.of((ctx, serializer, value) -> serializer.writeBoolean(ctx, value), (ctx, deserializer) -> deserializer.readBoolean(ctx));
+    Endec<Boolean> BOOLEAN = BooleanEndec.of((ctx, serializer, value) -> serializer.writeBoolean(ctx, value), (ctx, deserializer) -> deserializer.readBoolean(ctx));
     Endec<Byte> BYTE = Endec.of((ctx, serializer, value) -> serializer.writeByte(ctx, value), (ctx, deserializer) -> deserializer.readByte(ctx));
     Endec<Short> SHORT = Endec.of((ctx, serializer, value) -> serializer.writeShort(ctx, value), (ctx, deserializer) -> deserializer.readShort(ctx));
-    Endec<Integer> INT = Endec.of((ctx, serializer, value) -> serializer.writeInt(ctx, value), (ctx, deserializer) -> deserializer.readInt(ctx));
-    Endec<Integer> VAR_INT = Endec.of((ctx, serializer, value) -> serializer.writeVarInt(ctx, value), (ctx, deserializer) -> deserializer.readVarInt(ctx));
-    Endec<Long> LONG = Endec.of((ctx, serializer, value) -> serializer.writeLong(ctx, value), (ctx, deserializer) -> deserializer.readLong(ctx));
-    Endec<Long> VAR_LONG = Endec.of((ctx, serializer, value) -> serializer.writeVarLong(ctx, value), (ctx, deserializer) -> deserializer.readVarLong(ctx));
-    Endec<Float> FLOAT = Endec.of((ctx, serializer, value) -> serializer.writeFloat(ctx, value), (ctx, deserializer) -> deserializer.readFloat(ctx));
-    Endec<Double> DOUBLE = Endec.of((ctx, serializer, value) -> serializer.writeDouble(ctx, value), (ctx, deserializer) -> deserializer.readDouble(ctx));
+    Endec<Integer> INT = IntEndec.of((ctx, serializer, value) -> serializer.writeInt(ctx, value), (ctx, deserializer) -> deserializer.readInt(ctx));
+    Endec<Integer> VAR_INT = IntEndec.of((ctx, serializer, value) -> serializer.writeVarInt(ctx, value), (ctx, deserializer) -> deserializer.readVarInt(ctx));
+    Endec<Long> LONG = LongEndec.of((ctx, serializer, value) -> serializer.writeLong(ctx, value), (ctx, deserializer) -> deserializer.readLong(ctx));
+    Endec<Long> VAR_LONG = LongEndec.of((ctx, serializer, value) -> serializer.writeVarLong(ctx, value), (ctx, deserializer) -> deserializer.readVarLong(ctx));
+    Endec<Integer> SIGNED_VAR_INT = IntEndec.of((ctx, serializer, value) -> serializer.writeSignedVarInt(ctx, value), (ctx, deserializer) -> deserializer.readSignedVarInt(ctx));
+    Endec<Long> SIGNED_VAR_LONG = LongEndec.of((ctx, serializer, value) -> serializer.writeSignedVarLong(ctx, value), (ctx, deserializer) -> deserializer.readSignedVarLong(ctx));
+    Endec<Float> FLOAT = FloatEndec.of((ctx, serializer, value) -> serializer.writeFloat(ctx, value), (ctx, deserializer) -> deserializer.readFloat(ctx));
+    Endec<Double> DOUBLE = DoubleEndec.of((ctx, serializer, value) -> serializer.writeDouble(ctx, value), (ctx, deserializer) -> deserializer.readDouble(ctx));
     Endec<String> STRING = Endec.of((ctx, serializer, value) -> serializer.writeString(ctx, value), (ctx, deserializer) -> deserializer.readString(ctx));
     Endec<byte[]> BYTES = Endec.of((ctx, serializer, value) -> serializer.writeBytes(ctx, value), (ctx, deserializer) -> deserializer.readBytes(ctx));
 
@@ -134,10 +136,7 @@ public interface Endec<T> {
      * serialized using this endec
      */
     default Endec<Optional<T>> optionalOf() {
-        return of(
-                (ctx, serializer, value) -> serializer.writeOptional(ctx, this, value),
-                (ctx, deserializer) -> deserializer.readOptional(ctx, this)
-        );
+        return new OptionalEndec.Wrapping<>(this);
     }
 
     // --- Constructors ---
@@ -399,6 +398,63 @@ public interface Endec<T> {
         };
     }
 
+    /**
+     * Variant of {@link #dispatchedStruct(Function, Function, Endec, String)} over a fixed set of variants registered
+     * in {@code table}. The variant of a value is resolved by its class through {@link ClassValue}, and decoded
+     * variant ids index straight into the table, avoiding any per-call map lookups in binary formats
+     * <p>
+     * All variant endecs of {@code table} must be {@link StructEndec}s
+     */
+    static <T> StructEndec<T> dispatchedStruct(DispatchTable<T> table, String variantKey) {
+        for (var variant : table.variants()) {
+            if (!(variant.endec() instanceof StructEndec<?>)) {
+                throw new IllegalStateException("The endec of variant '" + variant.name() + "' is not a StructEndec");
+            }
+        }
+
+        var variantEndec = table.variantEndec();
+
+        return new StructEndec<>() {
+            @Override
+            public void encodeStruct(SerializationContext ctx, Serializer<?> serializer, Serializer.Struct struct, T value) {
+                var variant = table.variantOf(value);
+                struct.field(variantKey, ctx, variantEndec, variant);
+
+                ((StructEndec<T>) variant.endec()).encodeStruct(ctx, serializer, struct, value);
+            }
+
+            @Override
+            public T decodeStruct(SerializationContext ctx, Deserializer<?> deserializer, Deserializer.Struct struct) {
+                var variant = struct.field(variantKey, ctx, variantEndec);
+                return ((StructEndec<T>) variant.endec()).decodeStruct(ctx, deserializer, struct);
+            }
+        };
+    }
+
+    /**
+     * Variant of {@link #dispatched(Function, Function, Endec)} over a fixed set of variants registered in {@code table},
+     * see {@link #dispatchedStruct(DispatchTable, String)}
+     */
+    static <T> StructEndec<T> dispatched(DispatchTable<T> table) {
+        var variantEndec = table.variantEndec();
+
+        return new StructEndec<>() {
+            @Override
+            public void encodeStruct(SerializationContext ctx, Serializer<?> serializer, Serializer.Struct struct, T value) {
+                var variant = table.variantOf(value);
+
+                struct.field("variant", ctx, variantEndec, variant);
+                struct.field("instance", ctx, variant.endec(), value);
+            }
+
+            @Override
+            public T decodeStruct(SerializationContext ctx, Deserializer<?> deserializer, Deserializer.Struct struct) {
+                var variant = struct.field("variant", ctx, variantEndec);
+                return struct.field("instance", ctx, variant.endec());
+            }
+        };
+    }
+
     // ---
 
     ///
@@ -493,9 +549,15 @@ public interface Endec<T> {
     /**
      * Create a new endec which, if decoding using this endec's {@link #decode(SerializationContext, Deserializer)} fails,
      * instead tries to decode using {@code decodeOnError}
+     * <p>
+     * The failed attempt is rewound before {@code decodeOnError} is invoked, which requires the deserializer to support
+     * {@link FormatCapability#TRY_READ}. Decoding from any other deserializer throws {@link IllegalStateException}
+     * before reading anything, as {@code decodeOnError} would otherwise continue from wherever the attempt stopped
      */
     default Endec<T> catchErrors(DecoderWithError<T> decodeOnError) {
         return of(this::encode, (ctx, deserializer) -> {
+            deserializer.requireCapability(FormatCapability.TRY_READ, "catchErrors(...)");
+
             try {
                 return deserializer.tryRead(deserializer1 -> this.decode(ctx, deserializer1));
             } catch (Exception e) {
@@ -0,0 +1,113 @@
+package io.wispforest.endec;
+
+import io.wispforest.endec.impl.trace.EndecTraceElement;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * The name of a struct field, resolved once when the endec of the struct is created rather than
+ * for every value passing through it. Formats receive it through {@link Serializer.Struct#field(FieldKey, SerializationContext, Endec, Object, boolean)}
+ * and {@link Deserializer.Struct#field(FieldKey, SerializationContext, Endec, java.util.function.Supplier)}
+ * and may use {@link #encoded(Encoding)} to keep whichever representation of the name they
+ * write or look up - UTF-8 bytes, a pre-built JSON key and so on - with the key itself
+ */
+public final class FieldKey {
+
+    /**
+     * The name encoded as UTF-8, as written by most binary formats
+     */
+    public static final Encoding<byte[]> UTF_8 = encoding(key -> key.name.getBytes(StandardCharsets.UTF_8));
+
+    private final String name;
+    private final EndecTraceElement.FieldTraceElement traceElement;
+
+    // Alternating encodings and their values, replaced as a whole when an encoding is added
+    private volatile Object[] encodings = new Object[0];
+
+    private FieldKey(String name) {
+        this.name = name;
+        this.traceElement = new EndecTraceElement.FieldTraceElement(name);
+    }
+
+    /**
+     * Create a key for the field {@code name}. The name is interned, such that
+     * formats comparing it against other constant names hit the identity fast-path
+     */
+    public static FieldKey of(String name) {
+        return new FieldKey(name.intern());
+    }
+
+    /**
+     * Create an encoding which computes the representation of a key using {@code encoder}. Encodings are
+     * compared by identity and should thus be stored in a constant by the format defining them
+     */
+    public static <V> Encoding<V> encoding(Function<FieldKey, V> encoder) {
+        return new Encoding<>(encoder);
+    }
+
+    public String name() {
+        return this.name;
+    }
+
+    /**
+     * The trace element of this field, shared by every {@link SerializationContext#pushField(FieldKey)}
+     */
+    EndecTraceElement.FieldTraceElement traceElement() {
+        return this.traceElement;
+    }
+
+    /**
+     * @return the representation of this key under {@code encoding}, which is computed on
+     * first request and shared with all subsequent ones. Callers must not modify it
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V encoded(Encoding<V> encoding) {
+        var encodings = this.encodings;
+        for (int i = 0; i < encodings.length; i += 2) {
+            if (encodings[i] == encoding) return (V) encodings[i + 1];
+        }
+
+        var value = encoding.encoder.apply(this);
+
+        synchronized (this) {
+            encodings = this.encodings;
+            for (int i = 0; i < encodings.length; i += 2) {
+                if (encodings[i] == encoding) return (V) encodings[i + 1];
+            }
+
+            encodings = Arrays.copyOf(encodings, encodings.length + 2);
+            encodings[encodings.length - 2] = encoding;
+            encodings[encodings.length - 1] = value;
+
+            this.encodings = encodings;
+        }
+
+        return value;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return this == obj || (obj instanceof FieldKey other && this.name.equals(other.name));
+    }
+
+    @Override
+    public int hashCode() {
+        return this.name.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "FieldKey[" + this.name + "]";
+    }
+
+    public static final class Encoding<V> {
+
+        private final Function<FieldKey, V> encoder;
+
+        private Encoding(Function<FieldKey, V> encoder) {
+            this.encoder = encoder;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package io.wispforest.endec;
+
+import io.wispforest.endec.impl.StructField;
+
+/**
+ * An {@link Endec} for {@code float} values which can encode and decode them without boxing.
+ * <p>
+ * Endecs of this type are picked up by primitive {@link StructField} variants (see {@link #floatFieldOf(String, ToFloatFunction)}),
+ * allowing the value to travel from the getter into the serializer as {@code float} the whole way. When used
+ * as a plain {@link Endec}, values are (un)boxed at the boundary
+ */
+public interface FloatEndec extends Endec<Float> {
+
+    void encodeFloat(SerializationContext ctx, Serializer<?> serializer, float value);
+
+    float decodeFloat(SerializationContext ctx, Deserializer<?> deserializer);
+
+    @Override
+    default void encode(SerializationContext ctx, Serializer<?> serializer, Float value) {
+        this.encodeFloat(ctx, serializer, value);
+    }
+
+    @Override
+    default Float decode(SerializationContext ctx, Deserializer<?> deserializer) {
+        return this.decodeFloat(ctx, deserializer);
+    }
+
+    /**
+     * Create a new struct-field for values of this endec, which reads the
+     * field value from {@code getter} without boxing it
+     */
+    default <S> StructField<S, Float> floatFieldOf(String name, ToFloatFunction<S> getter) {
+        return new StructField.FloatField<>(name, this, getter);
+    }
+
+    static FloatEndec of(FloatEncoder encoder, FloatDecoder decoder) {
+        return new FloatEndec() {
+            @Override
+            public void encodeFloat(SerializationContext ctx, Serializer<?> serializer, float value) {
+                encoder.encode(ctx, serializer, value);
+            }
+
+            @Override
+            public float decodeFloat(SerializationContext ctx, Deserializer<?> deserializer) {
+                return decoder.decode(ctx, deserializer);
+            }
+        };
+    }
+
+    @FunctionalInterface
+    interface FloatEncoder {
+        void encode(SerializationContext ctx, Serializer<?> serializer, float value);
+    }
+
+    @FunctionalInterface
+    interface FloatDecoder {
+        float decode(SerializationContext ctx, Deserializer<?> deserializer);
+    }
+
+    @FunctionalInterface
+    interface ToFloatFunction<S> {
+        float applyAsFloat(S value);
+    }
+}
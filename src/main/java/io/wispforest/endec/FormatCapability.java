@@ -0,0 +1,72 @@
+package io.wispforest.endec;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Properties of a data format which endecs may consult through {@link Serializer#hasCapability(FormatCapability)}
+ * and {@link Deserializer#hasCapability(FormatCapability)} to choose the most efficient representation for it,
+ * instead of checking for specific serializer or deserializer implementations
+ */
+public enum FormatCapability {
+    /**
+     * The format describes its own structure: serializers accept any shape of data as
+     * produced by {@link Deserializer#readAny(SerializationContext, Serializer)}, deserializers
+     * implement said method - typically by implementing {@link SelfDescribedDeserializer}
+     */
+    SELF_DESCRIBED,
+
+    /**
+     * Values of any kind can be skipped through {@link Deserializer#skip(SerializationContext)} without knowing
+     * the endec they were written with, which is why unknown struct fields are tolerated when decoding
+     */
+    SKIP,
+
+    /**
+     * Structs, sequences and maps - but no other kinds of values - can be skipped through
+     * {@link Deserializer#skipFrame(SerializationContext)} without knowing the endec they were written
+     * with. Formats declaring {@link #SKIP} can skip those as well and need not declare this
+     */
+    SKIP_FRAMES,
+
+    /**
+     * Struct fields can be read in any order, regardless of the order they were written in
+     */
+    RANDOM_ACCESS,
+
+    /**
+     * Primitive arrays are written and read in bulk by the respective {@code writeInts}, {@code readInts}
+     * etc. methods, rather than as a sequence of individually encoded elements
+     */
+    BULK_PRIMITIVE_ARRAYS,
+
+    /**
+     * {@link Deserializer#tryRead(java.util.function.Function)} is supported, meaning the
+     * deserializer can be rewound to where it was if the read attempt fails
+     */
+    TRY_READ,
+
+    /**
+     * The size passed when starting a sequence or map must be the exact amount of elements
+     * written to it, as it is encoded ahead of them
+     */
+    REQUIRES_KNOWN_SEQUENCE_SIZE,
+
+    /**
+     * The names of struct fields are not part of the encoded data, fields are
+     * identified solely by the order in which they are written
+     */
+    OMITS_FIELD_NAMES;
+
+    /**
+     * Create an immutable set of capabilities, which formats should store in a
+     * constant and return from their {@code capabilities()} method
+     */
+    public static Set<FormatCapability> setOf(FormatCapability... capabilities) {
+        var set = EnumSet.noneOf(FormatCapability.class);
+        Collections.addAll(set, capabilities);
+
+        return Collections.unmodifiableSet(set);
+    }
+}
@@ -0,0 +1,61 @@
+package io.wispforest.endec;
+
+import io.wispforest.endec.impl.StructField;
+
+import java.util.function.ToIntFunction;
+
+/**
+ * An {@link Endec} for {@code int} values which can encode and decode them without boxing.
+ * <p>
+ * Endecs of this type are picked up by primitive {@link StructField} variants (see {@link #intFieldOf(String, ToIntFunction)}),
+ * allowing the value to travel from the getter into the serializer as {@code int} the whole way. When used
+ * as a plain {@link Endec}, values are (un)boxed at the boundary
+ */
+public interface IntEndec extends Endec<Integer> {
+
+    void encodeInt(SerializationContext ctx, Serializer<?> serializer, int value);
+
+    int decodeInt(SerializationContext ctx, Deserializer<?> deserializer);
+
+    @Override
+    default void encode(SerializationContext ctx, Serializer<?> serializer, Integer value) {
+        this.encodeInt(ctx, serializer, value);
+    }
+
+    @Override
+    default Integer decode(SerializationContext ctx, Deserializer<?> deserializer) {
+        return this.decodeInt(ctx, deserializer);
+    }
+
+    /**
+     * Create a new struct-field for values of this endec, which reads the
+     * field value from {@code getter} without boxing it
+     */
+    default <S> StructField<S, Integer> intFieldOf(String name, ToIntFunction<S> getter) {
+        return new StructField.IntField<>(name, this, getter);
+    }
+
+    static IntEndec of(IntEncoder encoder, IntDecoder decoder) {
+        return new IntEndec() {
+            @Override
+            public void encodeInt(SerializationContext ctx, Serializer<?> serializer, int value) {
+                encoder.encode(ctx, serializer, value);
+            }
+
+            @Override
+            public int decodeInt(SerializationContext ctx, Deserializer<?> deserializer) {
+                return decoder.decode(ctx, deserializer);
+            }
+        };
+    }
+
+    @FunctionalInterface
+    interface IntEncoder {
+        void encode(SerializationContext ctx, Serializer<?> serializer, int value);
+    }
+
+    @FunctionalInterface
+    interface IntDecoder {
+        int decode(SerializationContext ctx, Deserializer<?> deserializer);
+    }
+}
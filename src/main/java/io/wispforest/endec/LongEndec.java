@@ -0,0 +1,61 @@
+package io.wispforest.endec;
+
+import io.wispforest.endec.impl.StructField;
+
+import java.util.function.ToLongFunction;
+
+/**
+ * An {@link Endec} for {@code long} values which can encode and decode them without boxing.
+ * <p>
+ * Endecs of this type are picked up by primitive {@link StructField} variants (see {@link #longFieldOf(String, ToLongFunction)}),
+ * allowing the value to travel from the getter into the serializer as {@code long} the whole way. When used
+ * as a plain {@link Endec}, values are (un)boxed at the boundary
+ */
+public interface LongEndec extends Endec<Long> {
+
+    void encodeLong(SerializationContext ctx, Serializer<?> serializer, long value);
+
+    long decodeLong(SerializationContext ctx, Deserializer<?> deserializer);
+
+    @Override
+    default void encode(SerializationContext ctx, Serializer<?> serializer, Long value) {
+        this.encodeLong(ctx, serializer, value);
+    }
+
+    @Override
+    default Long decode(SerializationContext ctx, Deserializer<?> deserializer) {
+        return this.decodeLong(ctx, deserializer);
+    }
+
+    /**
+     * Create a new struct-field for values of this endec, which reads the
+     * field value from {@code getter} without boxing it
+     */
+    default <S> StructField<S, Long> longFieldOf(String name, ToLongFunction<S> getter) {
+        return new StructField.LongField<>(name, this, getter);
+    }
+
+    static LongEndec of(LongEncoder encoder, LongDecoder decoder) {
+        return new LongEndec() {
+            @Override
+            public void encodeLong(SerializationContext ctx, Serializer<?> serializer, long value) {
+                encoder.encode(ctx, serializer, value);
+            }
+
+            @Override
+            public long decodeLong(SerializationContext ctx, Deserializer<?> deserializer) {
+                return decoder.decode(ctx, deserializer);
+            }
+        };
+    }
+
+    @FunctionalInterface
+    interface LongEncoder {
+        void encode(SerializationContext ctx, Serializer<?> serializer, long value);
+    }
+
+    @FunctionalInterface
+    interface LongDecoder {
+        long decode(SerializationContext ctx, Deserializer<?> deserializer);
+    }
+}
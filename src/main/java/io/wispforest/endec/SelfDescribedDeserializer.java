@@ -1,5 +1,26 @@
 package io.wispforest.endec;
 
+import java.util.Set;
+
 public interface SelfDescribedDeserializer<T> extends Deserializer<T> {
+
+    Set<FormatCapability> CAPABILITIES = FormatCapability.setOf(FormatCapability.SELF_DESCRIBED, FormatCapability.TRY_READ, FormatCapability.SKIP);
+
+    @Override
+    default Set<FormatCapability> capabilities() {
+        return CAPABILITIES;
+    }
+
+    @Override
     <S> void readAny(SerializationContext ctx, Serializer<S> visitor);
+
+    /**
+     * Self-described formats hand out the current value through their enclosing
+     * struct, sequence or map instead of reading it from a stream, thus nothing
+     * needs to be done for skipping it other than not reading it. Those advance
+     * to their next element, entry or field on their own once the value's endec
+     * returns - which is why skipping never moves past more than the current value
+     */
+    @Override
+    default void skip(SerializationContext ctx) {}
 }
@@ -1,3 +1,13 @@
 package io.wispforest.endec;
 
-public interface SelfDescribedSerializer<T> extends Serializer<T> {}
+import java.util.Set;
+
+public interface SelfDescribedSerializer<T> extends Serializer<T> {
+
+    Set<FormatCapability> CAPABILITIES = FormatCapability.setOf(FormatCapability.SELF_DESCRIBED);
+
+    @Override
+    default Set<FormatCapability> capabilities() {
+        return CAPABILITIES;
+    }
+}
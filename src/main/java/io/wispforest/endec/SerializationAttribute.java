@@ -1,11 +1,44 @@
 package io.wispforest.endec;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Set;
+
 public sealed abstract class SerializationAttribute permits SerializationAttribute.Marker, SerializationAttribute.WithValue {
 
+    // Ids of attributes which are still reachable, the ids of collected ones are handed out again
+    private static final BitSet USED_IDS = new BitSet();
+    private static final Set<IdReference> LIVE_IDS = new HashSet<>();
+    private static final ReferenceQueue<SerializationAttribute> RELEASED_IDS = new ReferenceQueue<>();
+
     public final String name;
 
+    /**
+     * Dense index of this attribute, which is the lowest one not taken by another reachable
+     * attribute. {@link SerializationContext} uses it to store attributes in bitsets and plain
+     * arrays instead of hash-based collections
+     */
+    final int id;
+
     protected SerializationAttribute(String name) {
         this.name = name;
+        this.id = allocateId(this);
+    }
+
+    private static synchronized int allocateId(SerializationAttribute attribute) {
+        for (Reference<? extends SerializationAttribute> released; (released = RELEASED_IDS.poll()) != null; ) {
+            LIVE_IDS.remove(released);
+            USED_IDS.clear(((IdReference) released).id);
+        }
+
+        var id = USED_IDS.nextClearBit(0);
+        USED_IDS.set(id);
+        LIVE_IDS.add(new IdReference(attribute, id));
+
+        return id;
     }
 
     public static SerializationAttribute.Marker marker(String name) {
@@ -67,6 +100,15 @@ public sealed abstract class SerializationAttribute permits SerializationAttribu
         }
     }
 
+    private static final class IdReference extends WeakReference<SerializationAttribute> {
+        private final int id;
+
+        private IdReference(SerializationAttribute attribute, int id) {
+            super(attribute, RELEASED_IDS);
+            this.id = id;
+        }
+    }
+
     public interface Instance {
         SerializationAttribute attribute();
         Object value();
@@ -3,23 +3,23 @@ package io.wispforest.endec;
 import io.wispforest.endec.impl.MissingAttributeValueException;
 import io.wispforest.endec.impl.trace.EndecTrace;
 import io.wispforest.endec.impl.trace.EndecMalformedInputException;
+import org.jetbrains.annotations.Nullable;
 
 import static io.wispforest.endec.impl.trace.EndecTraceElement.*;
 
-import java.util.*;
+import java.util.Arrays;
 import java.util.function.Function;
+import java.util.function.IntConsumer;
 
 public final class SerializationContext {
 
-    private static final SerializationContext EMPTY = new SerializationContext(Map.of(), Set.of(), new EndecTrace());
+    private static final SerializationContext EMPTY = new SerializationContext(Attributes.EMPTY, new EndecTrace());
 
-    private final Map<SerializationAttribute, Object> attributeValues;
-    private final Set<SerializationAttribute> suppressedAttributes;
+    private final Attributes attributes;
     private final EndecTrace trace;
 
-    private SerializationContext(Map<SerializationAttribute, Object> attributeValues, Set<SerializationAttribute> suppressedAttributes, EndecTrace trace) {
-        this.attributeValues = Collections.unmodifiableMap(attributeValues);
-        this.suppressedAttributes = Collections.unmodifiableSet(suppressedAttributes);
+    private SerializationContext(Attributes attributes, EndecTrace trace) {
+        this.attributes = attributes;
         this.trace = trace;
     }
 
@@ -30,84 +30,94 @@ public final class SerializationContext {
     }
 
     public static SerializationContext attributes(SerializationAttribute.Instance... attributes) {
-        return (attributes.length == 0)
-            ? EMPTY
-            : new SerializationContext(unpackAttributes(attributes), Set.of(), new EndecTrace());
+        if (attributes.length == 0) return EMPTY;
+
+        var builder = new Attributes.Builder(Attributes.EMPTY);
+        for (var instance : attributes) {
+            builder.put(instance.attribute(), instance.value());
+        }
+
+        return new SerializationContext(builder.build(), new EndecTrace());
     }
 
     public static SerializationContext suppressed(SerializationAttribute... attributes) {
-        return (attributes.length == 0)
-            ? EMPTY
-            : new SerializationContext(Map.of(), Set.of(attributes), new EndecTrace());
+        if (attributes.length == 0) return EMPTY;
+
+        var builder = new Attributes.Builder(Attributes.EMPTY);
+        for (var attribute : attributes) {
+            builder.suppress(attribute);
+        }
+
+        return new SerializationContext(builder.build(), new EndecTrace());
     }
 
     //--
 
     public SerializationContext withAttributes(SerializationAttribute.Instance... attributes) {
-        var newAttributes = unpackAttributes(attributes);
-        this.attributeValues.forEach((attribute, value) -> {
-            if (!newAttributes.containsKey(attribute)) {
-                newAttributes.put(attribute, value);
-            }
-        });
+        var builder = new Attributes.Builder(this.attributes);
+        for (var instance : attributes) {
+            builder.put(instance.attribute(), instance.value());
+        }
 
-        return new SerializationContext(newAttributes, this.suppressedAttributes, this.trace);
+        return new SerializationContext(builder.build(), this.trace);
     }
 
     public SerializationContext withoutAttributes(SerializationAttribute... attributes) {
-        var newAttributes = new HashMap<>(this.attributeValues);
+        var builder = new Attributes.Builder(this.attributes);
         for (var attribute : attributes) {
-            newAttributes.remove(attribute);
+            builder.remove(attribute);
         }
 
-        return new SerializationContext(newAttributes, this.suppressedAttributes, this.trace);
+        return new SerializationContext(builder.build(), this.trace);
     }
 
     public SerializationContext withSuppressed(SerializationAttribute... attributes) {
-        var newSuppressed = new HashSet<SerializationAttribute>(this.suppressedAttributes);
-        newSuppressed.addAll(Arrays.asList(attributes));
+        var builder = new Attributes.Builder(this.attributes);
+        for (var attribute : attributes) {
+            builder.suppress(attribute);
+        }
 
-        return new SerializationContext(this.attributeValues, newSuppressed, this.trace);
+        return new SerializationContext(builder.build(), this.trace);
     }
 
     public SerializationContext withoutSuppressed(SerializationAttribute... attributes) {
-        var newSuppressed = new HashSet<>(this.suppressedAttributes);
+        var builder = new Attributes.Builder(this.attributes);
         for (var attribute : attributes) {
-            newSuppressed.remove(attribute);
+            builder.unsuppress(attribute);
         }
 
-        return new SerializationContext(this.attributeValues, newSuppressed, this.trace);
+        return new SerializationContext(builder.build(), this.trace);
     }
 
     public SerializationContext and(SerializationContext other) {
         if (this.isEmpty()) {
-            return other.isEmpty() ? EMPTY : other;
+            return other.isEmpty() ? this : new SerializationContext(other.attributes, this.trace);
         } else if(other.isEmpty()) {
             return this;
         }
 
-        var newAttributeValues = new HashMap<>(this.attributeValues);
-        newAttributeValues.putAll(other.attributeValues);
-
-        var newSuppressed = new HashSet<>(this.suppressedAttributes);
-        newSuppressed.addAll(other.suppressedAttributes);
-
-        return new SerializationContext(newAttributeValues, newSuppressed, this.trace);
+        var attributes = this.attributes.and(other.attributes);
+        return attributes == this.attributes ? this : new SerializationContext(attributes, this.trace);
     }
 
     public boolean isEmpty() {
-        return this.attributeValues.isEmpty() && this.suppressedAttributes.isEmpty();
+        return this.attributes.empty;
     }
 
     //--
 
     public boolean hasAttribute(SerializationAttribute attribute) {
-        return this.attributeValues.containsKey(attribute) && !this.suppressedAttributes.contains(attribute);
+        int word = attribute.id >>> 6;
+
+        return word < this.attributes.presentBits.length
+            && ((this.attributes.presentBits[word] & ~this.attributes.suppressedBits[word]) & (1L << attribute.id)) != 0;
     }
 
     @SuppressWarnings("unchecked")
     public <A> A getAttributeValue(SerializationAttribute.WithValue<A> attribute) {
-        return (A) this.attributeValues.get(attribute);
+        return attribute.id < this.attributes.values.length
+            ? (A) this.attributes.values[attribute.id]
+            : null;
     }
 
     public <A> A requireAttributeValue(SerializationAttribute.WithValue<A> attribute) {
@@ -125,11 +135,18 @@ public final class SerializationContext {
     }
 
     public SerializationContext pushField(String fieldName) {
-        return new SerializationContext(this.attributeValues, this.suppressedAttributes, this.trace.push(new FieldTraceElement(fieldName)));
+        return new SerializationContext(this.attributes, this.trace.push(new FieldTraceElement(fieldName)));
+    }
+
+    /**
+     * Variant of {@link #pushField(String)} which reuses the trace element held by {@code key}
+     */
+    public SerializationContext pushField(FieldKey key) {
+        return new SerializationContext(this.attributes, this.trace.push(key.traceElement()));
     }
 
     public SerializationContext pushIndex(int index) {
-        return new SerializationContext(this.attributeValues, this.suppressedAttributes, this.trace.push(new IndexTraceElement(index)));
+        return new SerializationContext(this.attributes, this.trace.push(new IndexTraceElement(index)));
     }
 
     public void throwMalformedInput(String message) throws EndecMalformedInputException {
@@ -142,23 +159,244 @@ public final class SerializationContext {
 
     //--
 
-    private static Map<SerializationAttribute, Object> unpackAttributes(SerializationAttribute.Instance[] attributes) {
-        var attributeValues = new HashMap<SerializationAttribute, Object>();
-        for (var instance : attributes) {
-            attributeValues.put(instance.attribute(), instance.value());
+    @Override
+    public String toString() {
+        return "SerializationContext[" +
+            "Attributes: " + this.attributes.valuesToString() +
+            ", SuppressedAttributes: " + this.attributes.suppressedToString() +
+            ", CurrentTrace: " + trace + "]";
+    }
+
+    //--
+
+    ///
+    /// Memoizes the result of [#and(SerializationContext)] for a fixed right-hand side `context`, intended
+    /// for places like [io.wispforest.endec.impl.StructField] which merge the same context into every value they handle.
+    ///
+    /// Merges are cached by identity of the left-hand side's attributes, which are shared by all contexts
+    /// that only differ in their trace, in a small number of slots such that alternating parents (say, the same
+    /// field being reached through different enclosing endecs) do not evict each other. Each slot also remembers
+    /// the last merged context, which is reused as long as the parent's trace is the same. Repeated merges
+    /// therefore only allocate the resulting context when the trace changes, or nothing at all if `context`
+    /// does not change any attributes
+    ///
+    public static final class MergeCache {
+
+        private static final int SLOTS = 4;
+
+        private final SerializationContext context;
+        private final @Nullable MergedAttributes[] merges = new MergedAttributes[SLOTS];
+        private int nextSlot = 0;
+
+        public MergeCache(SerializationContext context) {
+            this.context = context;
+        }
+
+        public SerializationContext context() {
+            return this.context;
         }
 
-        return attributeValues;
+        public SerializationContext merge(SerializationContext parent) {
+            if (this.context.isEmpty()) return parent;
+
+            var merges = this.merges;
+            for (int slot = 0; slot < SLOTS; slot++) {
+                var merge = merges[slot];
+                if (merge == null || merge.parent != parent.attributes) continue;
+
+                if (merge.merged == parent.attributes) return parent;
+                if (merge.result.trace == parent.trace) return merge.result;
+
+                var result = new SerializationContext(merge.merged, parent.trace);
+                merges[slot] = new MergedAttributes(merge.parent, merge.merged, result);
+
+                return result;
+            }
+
+            var merged = parent.isEmpty() ? this.context.attributes : parent.attributes.and(this.context.attributes);
+            var result = merged == parent.attributes ? parent : new SerializationContext(merged, parent.trace);
+
+            // Slots are replaced round-robin, racing threads at worst cause an additional miss
+            var slot = this.nextSlot;
+            this.nextSlot = (slot + 1) % SLOTS;
+            merges[slot] = new MergedAttributes(parent.attributes, merged, result);
+
+            return result;
+        }
+
+        private record MergedAttributes(Attributes parent, Attributes merged, SerializationContext result) {}
     }
 
     //--
 
+    /**
+     * Immutable attribute storage of a context, indexed by {@link SerializationAttribute#id}.
+     * Present and suppressed attributes are kept as bitsets of equal length, the attributes
+     * themselves and the values of present ones are stored in plain arrays. Contexts which
+     * only differ in their trace share the same instance
+     * <p>
+     * Referencing the attributes keeps their ids from being handed out again
+     * while any context still holds them
+     */
+    private static final class Attributes {
+
+        private static final Attributes EMPTY = new Attributes(new long[0], new long[0], new SerializationAttribute[0], new Object[0]);
+
+        private final long[] presentBits;
+        private final long[] suppressedBits;
+        private final SerializationAttribute[] keys;
+        private final Object[] values;
+        private final boolean empty;
+
+        private Attributes(long[] presentBits, long[] suppressedBits, SerializationAttribute[] keys, Object[] values) {
+            this.presentBits = presentBits;
+            this.suppressedBits = suppressedBits;
+            this.keys = keys;
+            this.values = values;
+
+            boolean empty = true;
+            for (int i = 0; i < presentBits.length; i++) {
+                if (presentBits[i] != 0 || suppressedBits[i] != 0) {
+                    empty = false;
+                    break;
+                }
+            }
 
-    @Override
-    public String toString() {
-        return "SerializationContext[" +
-            "Attributes: " + attributeValues +
-            ", SuppressedAttributes: " + suppressedAttributes +
-            ", CurrentTrace: " + trace + "]";
+            this.empty = empty;
+        }
+
+        private Attributes and(Attributes other) {
+            if (this.containsAll(other)) return this;
+
+            var builder = new Builder(this);
+
+            for (int word = 0; word < other.presentBits.length; word++) {
+                long present = other.presentBits[word];
+                while (present != 0) {
+                    int id = (word << 6) | Long.numberOfTrailingZeros(present);
+                    builder.put(other.keys[id], other.values[id]);
+
+                    present &= present - 1;
+                }
+
+                long suppressed = other.suppressedBits[word];
+                while (suppressed != 0) {
+                    builder.suppress(other.keys[(word << 6) | Long.numberOfTrailingZeros(suppressed)]);
+                    suppressed &= suppressed - 1;
+                }
+            }
+
+            return builder.build();
+        }
+
+        private boolean containsAll(Attributes other) {
+            if (other.presentBits.length > this.presentBits.length) return false;
+
+            for (int word = 0; word < other.presentBits.length; word++) {
+                if ((other.presentBits[word] & ~this.presentBits[word]) != 0) return false;
+                if ((other.suppressedBits[word] & ~this.suppressedBits[word]) != 0) return false;
+
+                long present = other.presentBits[word];
+                while (present != 0) {
+                    int id = (word << 6) | Long.numberOfTrailingZeros(present);
+                    if (this.values[id] != other.values[id]) return false;
+
+                    present &= present - 1;
+                }
+            }
+
+            return true;
+        }
+
+        private String valuesToString() {
+            var builder = new StringBuilder("{");
+            this.forEachSetBit(this.presentBits, id -> {
+                if (builder.length() > 1) builder.append(", ");
+                builder.append(this.keys[id]).append('=').append(this.values[id]);
+            });
+
+            return builder.append('}').toString();
+        }
+
+        private String suppressedToString() {
+            var builder = new StringBuilder("[");
+            this.forEachSetBit(this.suppressedBits, id -> {
+                if (builder.length() > 1) builder.append(", ");
+                builder.append(this.keys[id]);
+            });
+
+            return builder.append(']').toString();
+        }
+
+        private void forEachSetBit(long[] bits, IntConsumer action) {
+            for (int word = 0; word < bits.length; word++) {
+                long remaining = bits[word];
+                while (remaining != 0) {
+                    action.accept((word << 6) | Long.numberOfTrailingZeros(remaining));
+                    remaining &= remaining - 1;
+                }
+            }
+        }
+
+        private static long[] ensureWords(long[] bits, int words) {
+            return bits.length >= words ? bits : Arrays.copyOf(bits, words);
+        }
+
+        private static final class Builder {
+            private long[] presentBits;
+            private long[] suppressedBits;
+            private SerializationAttribute[] keys;
+            private Object[] values;
+
+            private Builder(Attributes base) {
+                this.presentBits = base.presentBits.clone();
+                this.suppressedBits = base.suppressedBits.clone();
+                this.keys = base.keys.clone();
+                this.values = base.values.clone();
+            }
+
+            private void put(SerializationAttribute attribute, Object value) {
+                int id = attribute.id;
+
+                this.presentBits = ensureWords(this.presentBits, (id >>> 6) + 1);
+                this.presentBits[id >>> 6] |= 1L << id;
+
+                this.ensureSlot(id);
+                this.keys[id] = attribute;
+                this.values[id] = value;
+            }
+
+            private void ensureSlot(int id) {
+                if (this.values.length > id) return;
+
+                this.keys = Arrays.copyOf(this.keys, id + 1);
+                this.values = Arrays.copyOf(this.values, id + 1);
+            }
+
+            private void remove(SerializationAttribute attribute) {
+                if ((attribute.id >>> 6) >= this.presentBits.length) return;
+
+                this.presentBits[attribute.id >>> 6] &= ~(1L << attribute.id);
+                if (attribute.id < this.values.length) this.values[attribute.id] = null;
+            }
+
+            private void suppress(SerializationAttribute attribute) {
+                this.suppressedBits = ensureWords(this.suppressedBits, (attribute.id >>> 6) + 1);
+                this.suppressedBits[attribute.id >>> 6] |= 1L << attribute.id;
+
+                this.ensureSlot(attribute.id);
+                this.keys[attribute.id] = attribute;
+            }
+
+            private void unsuppress(SerializationAttribute attribute) {
+                if ((attribute.id >>> 6) >= this.suppressedBits.length) return;
+                this.suppressedBits[attribute.id >>> 6] &= ~(1L << attribute.id);
+            }
+
+            private Attributes build() {
+                int words = Math.max(this.presentBits.length, this.suppressedBits.length);
+                return new Attributes(ensureWords(this.presentBits, words), ensureWords(this.suppressedBits, words), this.keys, this.values);
+            }
+        }
     }
 }
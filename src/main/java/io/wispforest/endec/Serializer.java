@@ -1,8 +1,10 @@
 package io.wispforest.endec;
 
 import io.wispforest.endec.util.Endable;
+import io.wispforest.endec.util.VarInts;
 
 import java.util.Optional;
+import java.util.Set;
 
 public interface Serializer<T> {
 
@@ -10,6 +12,19 @@ public interface Serializer<T> {
         return ctx;
     }
 
+    /**
+     * The {@link FormatCapability capabilities} of the format this serializer handles, which endecs may
+     * consult to pick the most efficient representation. Implementations should return a constant set,
+     * preferably created through {@link FormatCapability#setOf(FormatCapability...)}
+     */
+    default Set<FormatCapability> capabilities() {
+        return Set.of();
+    }
+
+    default boolean hasCapability(FormatCapability capability) {
+        return this.capabilities().contains(capability);
+    }
+
     void writeByte(SerializationContext ctx, byte value);
     void writeShort(SerializationContext ctx, short value);
     void writeInt(SerializationContext ctx, int value);
@@ -20,12 +35,67 @@ public interface Serializer<T> {
     void writeVarInt(SerializationContext ctx, int value);
     void writeVarLong(SerializationContext ctx, long value);
 
+    /**
+     * Write a VarInt which is expected to be small in magnitude but possibly negative. By default,
+     * the value is zigzag encoded to keep the encoding of small negative values short, formats which
+     * do not store VarInts as a sequence of bytes should override this to write the plain value
+     */
+    default void writeSignedVarInt(SerializationContext ctx, int value) {
+        this.writeVarInt(ctx, VarInts.encodeZigZag(value));
+    }
+
+    /**
+     * @see #writeSignedVarInt(SerializationContext, int)
+     */
+    default void writeSignedVarLong(SerializationContext ctx, long value) {
+        this.writeVarLong(ctx, VarInts.encodeZigZag(value));
+    }
+
     void writeBoolean(SerializationContext ctx, boolean value);
     void writeString(SerializationContext ctx, String value);
     void writeBytes(SerializationContext ctx, byte[] bytes);
 
     <V> void writeOptional(SerializationContext ctx, Endec<V> endec, Optional<V> optional);
 
+    // --- Primitive arrays, encoded as a sequence of the respective primitive endec by default.
+    //     Formats which can write these in bulk should override them ---
+
+    default void writeShorts(SerializationContext ctx, short[] values) {
+        try (var sequence = this.sequence(ctx, Endec.SHORT, values.length)) {
+            for (var value : values) sequence.element(value);
+        }
+    }
+
+    default void writeInts(SerializationContext ctx, int[] values) {
+        try (var sequence = this.sequence(ctx, Endec.INT, values.length)) {
+            for (var value : values) sequence.element(value);
+        }
+    }
+
+    default void writeLongs(SerializationContext ctx, long[] values) {
+        try (var sequence = this.sequence(ctx, Endec.LONG, values.length)) {
+            for (var value : values) sequence.element(value);
+        }
+    }
+
+    default void writeFloats(SerializationContext ctx, float[] values) {
+        try (var sequence = this.sequence(ctx, Endec.FLOAT, values.length)) {
+            for (var value : values) sequence.element(value);
+        }
+    }
+
+    default void writeDoubles(SerializationContext ctx, double[] values) {
+        try (var sequence = this.sequence(ctx, Endec.DOUBLE, values.length)) {
+            for (var value : values) sequence.element(value);
+        }
+    }
+
+    default void writeBooleans(SerializationContext ctx, boolean[] values) {
+        try (var sequence = this.sequence(ctx, Endec.BOOLEAN, values.length)) {
+            for (var value : values) sequence.element(value);
+        }
+    }
+
     <E> Sequence<E> sequence(SerializationContext ctx, Endec<E> elementEndec, int size);
     <V> Map<V> map(SerializationContext ctx, Endec<V> valueEndec, int size);
     Struct struct();
@@ -46,5 +116,58 @@ public interface Serializer<T> {
         }
 
         <F> Struct field(String name, SerializationContext ctx, Endec<F> endec, F value, boolean mayOmit);
+
+        /**
+         * Variant of {@link #field(String, SerializationContext, Endec, Object, boolean)} taking a pre-resolved
+         * {@link FieldKey}. Formats which hash or encode field names should override this to use the
+         * representation cached in the key instead of deriving it from the name for every value
+         */
+        default <F> Struct field(FieldKey key, SerializationContext ctx, Endec<F> endec, F value, boolean mayOmit) {
+            return this.field(key.name(), ctx, endec, value, mayOmit);
+        }
+
+        // --- Primitive fields, formats which can write these without boxing should override them ---
+
+        default Struct intField(String name, SerializationContext ctx, IntEndec endec, int value) {
+            return this.field(name, ctx, endec, value);
+        }
+
+        default Struct longField(String name, SerializationContext ctx, LongEndec endec, long value) {
+            return this.field(name, ctx, endec, value);
+        }
+
+        default Struct floatField(String name, SerializationContext ctx, FloatEndec endec, float value) {
+            return this.field(name, ctx, endec, value);
+        }
+
+        default Struct doubleField(String name, SerializationContext ctx, DoubleEndec endec, double value) {
+            return this.field(name, ctx, endec, value);
+        }
+
+        default Struct booleanField(String name, SerializationContext ctx, BooleanEndec endec, boolean value) {
+            return this.field(name, ctx, endec, value);
+        }
+
+        // --- Primitive fields taking a pre-resolved FieldKey, see field(FieldKey, ...) ---
+
+        default Struct intField(FieldKey key, SerializationContext ctx, IntEndec endec, int value) {
+            return this.intField(key.name(), ctx, endec, value);
+        }
+
+        default Struct longField(FieldKey key, SerializationContext ctx, LongEndec endec, long value) {
+            return this.longField(key.name(), ctx, endec, value);
+        }
+
+        default Struct floatField(FieldKey key, SerializationContext ctx, FloatEndec endec, float value) {
+            return this.floatField(key.name(), ctx, endec, value);
+        }
+
+        default Struct doubleField(FieldKey key, SerializationContext ctx, DoubleEndec endec, double value) {
+            return this.doubleField(key.name(), ctx, endec, value);
+        }
+
+        default Struct booleanField(FieldKey key, SerializationContext ctx, BooleanEndec endec, boolean value) {
+            return this.booleanField(key.name(), ctx, endec, value);
+        }
     }
 }
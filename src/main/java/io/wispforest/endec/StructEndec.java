@@ -1,8 +1,11 @@
 package io.wispforest.endec;
 
 import io.wispforest.endec.impl.AttributeStructEndecBuilder;
+import io.wispforest.endec.impl.LazyStruct;
 import io.wispforest.endec.impl.StructEndecBuilder;
 import io.wispforest.endec.impl.StructField;
+import io.wispforest.endec.impl.StructSchema;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
@@ -19,6 +22,14 @@ public interface StructEndec<T> extends Endec<T> {
 
     T decodeStruct(SerializationContext ctx, Deserializer<?> deserializer, Deserializer.Struct struct);
 
+    /**
+     * @return the fields this endec encodes in order, if they are known ahead of time.
+     * Endecs built from {@link StructField}s report them, arbitrary implementations {@code null}
+     */
+    default @Nullable StructSchema schema() {
+        return null;
+    }
+
     /**
      * Static constructor for {@link StructEndec} for use when base use of such is desired, it is recommended that
      * you use {@link StructEndecBuilder} as encoding and decoding of data must be kept
@@ -48,7 +59,24 @@ public interface StructEndec<T> extends Endec<T> {
 
     @Override
     default T decode(SerializationContext ctx, Deserializer<?> deserializer) {
-        return this.decodeStruct(ctx, deserializer, deserializer.struct(ctx));
+        var struct = deserializer.struct(ctx);
+        var value = this.decodeStruct(ctx, deserializer, struct);
+
+        struct.end();
+        return value;
+    }
+
+    /**
+     * Set up a {@link LazyStruct} over {@code value}, which decodes the fields of the struct only once they are
+     * requested. This requires the {@link #schema()} of this endec and is thus not supported by arbitrary implementations
+     */
+    default <E> LazyStruct<T> decodeLazily(SerializationContext ctx, Function<E, Deserializer<E>> deserializerConstructor, E value) {
+        var deserializer = deserializerConstructor.apply(value);
+        return LazyStruct.of(this, deserializer.setupContext(ctx), deserializer);
+    }
+
+    default <E> LazyStruct<T> decodeLazily(Function<E, Deserializer<E>> deserializerConstructor, E value) {
+        return this.decodeLazily(SerializationContext.empty(), deserializerConstructor, value);
     }
 
     /**
@@ -99,8 +127,14 @@ public interface StructEndec<T> extends Endec<T> {
         );
     }
 
+    /**
+     * Struct equivalent of {@link Endec#catchErrors(Endec.DecoderWithError)}, which likewise requires
+     * the deserializer to support {@link FormatCapability#TRY_READ}
+     */
     default StructEndec<T> structuredCatchErrors(StructuredDecoderWithError<T> decodeOnError) {
         return StructEndec.of(this::encodeStruct, (ctx, deserializer, struct) -> {
+            deserializer.requireCapability(FormatCapability.TRY_READ, "structuredCatchErrors(...)");
+
             try {
                 return deserializer.tryRead(deserializer1 -> this.decodeStruct(ctx, deserializer1, struct));
             } catch (Exception e) {
@@ -0,0 +1,23 @@
+package io.wispforest.endec.annotations;
+
+import io.wispforest.endec.impl.ReflectiveEndecBuilder;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+///
+/// Marks a record, class or [SealedPolymorphic] type for which the endec annotation processor
+/// (the `processor` artifact) generates an endec at compile time.
+///
+/// The generated class is placed next to the annotated type and named after it with an `Endec` suffix, nested
+/// types being joined by `_` (`Outer.Inner` becomes `Outer_InnerEndec`). It exposes the endec as `ENDEC` and
+/// through `create(ReflectiveEndecBuilder)`. The [ReflectiveEndecBuilder] uses the latter's counterpart on the
+/// nested `Impl` class in place of reflectively creating an endec for the annotated type - provided the generated
+/// class is present. This leaves `ENDEC`, and with it the shared builder, untouched
+///
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface GenerateEndec {
+}
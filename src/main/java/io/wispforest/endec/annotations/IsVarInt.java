@@ -14,8 +14,13 @@ import java.lang.annotation.Target;
 /// as variable variant of the [Integer] or [Long] type in serialization
 /// meaning such will use either the [Endec#VAR_INT] or [Endec#VAR_LONG].
 ///
+/// Should the value be [#signed()], the zigzag encoded [Endec#SIGNED_VAR_INT] or [Endec#SIGNED_VAR_LONG]
+/// is used instead which keeps small negative values short.
+///
 @Target(ElementType.TYPE_USE)
 @Retention(RetentionPolicy.RUNTIME)
 public @interface IsVarInt {
     boolean ignoreHumanReadable() default false;
+
+    boolean signed() default false;
 }
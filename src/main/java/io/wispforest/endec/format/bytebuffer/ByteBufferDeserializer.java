@@ -0,0 +1,99 @@
+package io.wispforest.endec.format.bytebuffer;
+
+import io.wispforest.endec.SerializationContext;
+import io.wispforest.endec.util.BinaryDeserializer;
+import io.wispforest.endec.util.VarInts;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Deserializer reading the binary format of {@code ByteBufDeserializer} from a {@link ByteBuffer}, heap or
+ * direct, without depending on Netty. Data is read starting at the position of the buffer, which is advanced
+ * past everything decoded. The byte order of the buffer is set to {@link ByteOrder#BIG_ENDIAN}
+ */
+public class ByteBufferDeserializer extends BinaryDeserializer<ByteBuffer> {
+
+    private final ByteBuffer buffer;
+
+    protected ByteBufferDeserializer(ByteBuffer buffer) {
+        this.buffer = buffer.order(ByteOrder.BIG_ENDIAN);
+    }
+
+    public static ByteBufferDeserializer of(ByteBuffer buffer) {
+        return new ByteBufferDeserializer(buffer);
+    }
+
+    // ---
+
+    @Override
+    public byte readByte(SerializationContext ctx) {
+        return this.buffer.get();
+    }
+
+    @Override
+    public short readShort(SerializationContext ctx) {
+        return this.buffer.getShort();
+    }
+
+    @Override
+    public int readInt(SerializationContext ctx) {
+        return this.buffer.getInt();
+    }
+
+    @Override
+    public long readLong(SerializationContext ctx) {
+        return this.buffer.getLong();
+    }
+
+    @Override
+    public float readFloat(SerializationContext ctx) {
+        return this.buffer.getFloat();
+    }
+
+    @Override
+    public double readDouble(SerializationContext ctx) {
+        return this.buffer.getDouble();
+    }
+
+    // ---
+
+    @Override
+    public int readVarInt(SerializationContext ctx) {
+        return VarInts.readInt(this.buffer);
+    }
+
+    @Override
+    public long readVarLong(SerializationContext ctx) {
+        return VarInts.readLong(this.buffer);
+    }
+
+    // ---
+
+    @Override
+    public boolean readBoolean(SerializationContext ctx) {
+        return this.buffer.get() != 0;
+    }
+
+    // ---
+
+    @Override
+    protected ByteBuffer consume(int length) {
+        var position = this.buffer.position();
+        if (length < 0 || length > this.buffer.remaining()) throw new BufferUnderflowException();
+
+        this.buffer.position(position + length);
+        return this.buffer.slice(position, length);
+    }
+
+    @Override
+    protected long position() {
+        return this.buffer.position();
+    }
+
+    @Override
+    protected void seek(long position) {
+        this.buffer.position((int) position);
+    }
+}
@@ -0,0 +1,63 @@
+package io.wispforest.endec.format.bytebuffer;
+
+import io.wispforest.endec.Endec;
+import io.wispforest.endec.SerializationContext;
+import io.wispforest.endec.util.EndecBuffer;
+
+import java.nio.ByteBuffer;
+
+/**
+ * An {@link EndecBuffer} backed by a growing {@link ByteBuffer}. Values are appended by {@link #write(SerializationContext, Endec, Object)}
+ * through a {@link ByteBufferSerializer} and read back in the same order by {@link #read(SerializationContext, Endec)}
+ * through a {@link ByteBufferDeserializer}, each keeping its own index into the buffer
+ */
+public final class ByteBufferEndecBuffer implements EndecBuffer {
+
+    private final ByteBufferSerializer serializer;
+    private int readerIndex = 0;
+
+    private ByteBufferEndecBuffer(ByteBufferSerializer serializer) {
+        this.serializer = serializer;
+    }
+
+    public static ByteBufferEndecBuffer heap() {
+        return new ByteBufferEndecBuffer(ByteBufferSerializer.heap());
+    }
+
+    public static ByteBufferEndecBuffer direct() {
+        return new ByteBufferEndecBuffer(ByteBufferSerializer.direct());
+    }
+
+    @Override
+    public <T> void write(SerializationContext ctx, Endec<T> endec, T value) {
+        endec.encode(ctx, this.serializer, value);
+    }
+
+    /**
+     * Read the next value from the buffer. Should decoding fail, nothing is consumed
+     */
+    @Override
+    public <T> T read(SerializationContext ctx, Endec<T> endec) {
+        var view = this.contents();
+        var value = endec.decode(ctx, ByteBufferDeserializer.of(view));
+
+        this.readerIndex = this.serializer.result().position() - view.remaining();
+        return value;
+    }
+
+    /**
+     * @return the amount of bytes written but not yet read
+     */
+    public int readableBytes() {
+        return this.serializer.result().position() - this.readerIndex;
+    }
+
+    /**
+     * @return a view of the bytes written but not yet read, sharing its contents with this
+     * buffer until the next write causes it to grow
+     */
+    public ByteBuffer contents() {
+        var buffer = this.serializer.result();
+        return buffer.duplicate().limit(buffer.position()).position(this.readerIndex);
+    }
+}
@@ -0,0 +1,310 @@
+package io.wispforest.endec.format.bytebuffer;
+
+import io.wispforest.endec.BooleanEndec;
+import io.wispforest.endec.DoubleEndec;
+import io.wispforest.endec.Endec;
+import io.wispforest.endec.FloatEndec;
+import io.wispforest.endec.FormatCapability;
+import io.wispforest.endec.IntEndec;
+import io.wispforest.endec.LongEndec;
+import io.wispforest.endec.SerializationContext;
+import io.wispforest.endec.Serializer;
+import io.wispforest.endec.util.VarInts;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Serializer writing the binary format of {@code ByteBufSerializer} into a {@link ByteBuffer}, without
+ * depending on Netty. Should the buffer run out of space, it is replaced by one of twice the capacity
+ * which is direct if the original buffer was - {@link #result()} thus returns the buffer currently in use,
+ * not necessarily the one passed in
+ * <p>
+ * Data is written starting at the position of the buffer, which after encoding is placed at the
+ * end of the written data. The byte order of the buffer is set to {@link ByteOrder#BIG_ENDIAN}
+ */
+public class ByteBufferSerializer implements Serializer<ByteBuffer> {
+
+    private static final Set<FormatCapability> CAPABILITIES = FormatCapability.setOf(FormatCapability.BULK_PRIMITIVE_ARRAYS, FormatCapability.REQUIRES_KNOWN_SEQUENCE_SIZE, FormatCapability.OMITS_FIELD_NAMES);
+
+    private static final int DEFAULT_CAPACITY = 256;
+
+    private ByteBuffer buffer;
+
+    protected ByteBufferSerializer(ByteBuffer buffer) {
+        this.buffer = buffer.order(ByteOrder.BIG_ENDIAN);
+    }
+
+    public static ByteBufferSerializer of(ByteBuffer buffer) {
+        return new ByteBufferSerializer(buffer);
+    }
+
+    /**
+     * Create a serializer writing into a newly allocated heap buffer
+     */
+    public static ByteBufferSerializer heap() {
+        return new ByteBufferSerializer(ByteBuffer.allocate(DEFAULT_CAPACITY));
+    }
+
+    /**
+     * Create a serializer writing into a newly allocated direct buffer, which may be handed to
+     * channels or native code without being copied first
+     */
+    public static ByteBufferSerializer direct() {
+        return new ByteBufferSerializer(ByteBuffer.allocateDirect(DEFAULT_CAPACITY));
+    }
+
+    @Override
+    public Set<FormatCapability> capabilities() {
+        return CAPABILITIES;
+    }
+
+    // ---
+
+    @Override
+    public void writeByte(SerializationContext ctx, byte value) {
+        this.ensureWritable(Byte.BYTES).put(value);
+    }
+
+    @Override
+    public void writeShort(SerializationContext ctx, short value) {
+        this.ensureWritable(Short.BYTES).putShort(value);
+    }
+
+    @Override
+    public void writeInt(SerializationContext ctx, int value) {
+        this.ensureWritable(Integer.BYTES).putInt(value);
+    }
+
+    @Override
+    public void writeLong(SerializationContext ctx, long value) {
+        this.ensureWritable(Long.BYTES).putLong(value);
+    }
+
+    @Override
+    public void writeFloat(SerializationContext ctx, float value) {
+        this.ensureWritable(Float.BYTES).putFloat(value);
+    }
+
+    @Override
+    public void writeDouble(SerializationContext ctx, double value) {
+        this.ensureWritable(Double.BYTES).putDouble(value);
+    }
+
+    // ---
+
+    @Override
+    public void writeVarInt(SerializationContext ctx, int value) {
+        VarInts.writeInt(value, this.ensureWritable(VarInts.getSizeInBytesFromInt(value)));
+    }
+
+    @Override
+    public void writeVarLong(SerializationContext ctx, long value) {
+        VarInts.writeLong(value, this.ensureWritable(VarInts.getSizeInBytesFromLong(value)));
+    }
+
+    // ---
+
+    @Override
+    public void writeBoolean(SerializationContext ctx, boolean value) {
+        this.ensureWritable(1).put(value ? (byte) 1 : (byte) 0);
+    }
+
+    @Override
+    public void writeString(SerializationContext ctx, String value) {
+        var length = value.length();
+        for (int i = 0; i < length; i++) {
+            if (value.charAt(i) >= 0x80) {
+                this.writeBytes(ctx, value.getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+        }
+
+        // Pure ASCII, which encodes to one byte per char and can thus be written without an intermediate array
+        this.writeVarInt(ctx, length);
+
+        var buffer = this.ensureWritable(length);
+        for (int i = 0; i < length; i++) buffer.put((byte) value.charAt(i));
+    }
+
+    @Override
+    public void writeBytes(SerializationContext ctx, byte[] bytes) {
+        this.writeVarInt(ctx, bytes.length);
+        this.ensureWritable(bytes.length).put(bytes);
+    }
+
+    @Override
+    public <V> void writeOptional(SerializationContext ctx, Endec<V> endec, Optional<V> optional) {
+        this.writeBoolean(ctx, optional.isPresent());
+        optional.ifPresent(value -> endec.encode(ctx, this, value));
+    }
+
+    // ---
+
+    @Override
+    public void writeShorts(SerializationContext ctx, short[] values) {
+        this.writeVarInt(ctx, values.length);
+
+        var buffer = this.ensureWritable(Math.multiplyExact(values.length, Short.BYTES));
+        buffer.asShortBuffer().put(values);
+        buffer.position(buffer.position() + values.length * Short.BYTES);
+    }
+
+    @Override
+    public void writeInts(SerializationContext ctx, int[] values) {
+        this.writeVarInt(ctx, values.length);
+
+        var buffer = this.ensureWritable(Math.multiplyExact(values.length, Integer.BYTES));
+        buffer.asIntBuffer().put(values);
+        buffer.position(buffer.position() + values.length * Integer.BYTES);
+    }
+
+    @Override
+    public void writeLongs(SerializationContext ctx, long[] values) {
+        this.writeVarInt(ctx, values.length);
+
+        var buffer = this.ensureWritable(Math.multiplyExact(values.length, Long.BYTES));
+        buffer.asLongBuffer().put(values);
+        buffer.position(buffer.position() + values.length * Long.BYTES);
+    }
+
+    @Override
+    public void writeFloats(SerializationContext ctx, float[] values) {
+        this.writeVarInt(ctx, values.length);
+
+        var buffer = this.ensureWritable(Math.multiplyExact(values.length, Float.BYTES));
+        buffer.asFloatBuffer().put(values);
+        buffer.position(buffer.position() + values.length * Float.BYTES);
+    }
+
+    @Override
+    public void writeDoubles(SerializationContext ctx, double[] values) {
+        this.writeVarInt(ctx, values.length);
+
+        var buffer = this.ensureWritable(Math.multiplyExact(values.length, Double.BYTES));
+        buffer.asDoubleBuffer().put(values);
+        buffer.position(buffer.position() + values.length * Double.BYTES);
+    }
+
+    @Override
+    public void writeBooleans(SerializationContext ctx, boolean[] values) {
+        this.writeVarInt(ctx, values.length);
+
+        var buffer = this.ensureWritable(values.length);
+        for (var value : values) buffer.put(value ? (byte) 1 : (byte) 0);
+    }
+
+    /**
+     * Make sure at least {@code bytes} more bytes fit into the buffer, replacing it with a
+     * larger copy of itself if they do not
+     *
+     * @return the buffer to write into
+     */
+    private ByteBuffer ensureWritable(int bytes) {
+        var buffer = this.buffer;
+        if (buffer.remaining() >= bytes) return buffer;
+
+        var capacity = (int) Math.min(Integer.MAX_VALUE, Math.max(Math.addExact(buffer.position(), bytes), buffer.capacity() * 2L));
+
+        var grown = buffer.isDirect() ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+        grown.order(ByteOrder.BIG_ENDIAN).put(buffer.flip());
+
+        return this.buffer = grown;
+    }
+
+    // ---
+
+    @Override
+    public <V> Map<V> map(SerializationContext ctx, Endec<V> valueEndec, int size) {
+        this.writeVarInt(ctx, size);
+        return new Sequence<>(ctx, valueEndec);
+    }
+
+    @Override
+    public <E> Serializer.Sequence<E> sequence(SerializationContext ctx, Endec<E> elementEndec, int size) {
+        this.writeVarInt(ctx, size);
+        return new Sequence<>(ctx, elementEndec);
+    }
+
+    @Override
+    public Struct struct() {
+        return new Sequence<>(null, null);
+    }
+
+    // ---
+
+    /**
+     * @return the buffer holding the encoded data, which may have been replaced by a larger one
+     * while encoding. Its position is placed after the data, call {@link ByteBuffer#flip()} to read it
+     */
+    @Override
+    public ByteBuffer result() {
+        return this.buffer;
+    }
+
+    // ---
+
+    private class Sequence<V> implements Serializer.Sequence<V>, Struct, Map<V> {
+
+        private final SerializationContext ctx;
+        private final Endec<V> valueEndec;
+
+        private Sequence(SerializationContext ctx, Endec<V> valueEndec) {
+            this.ctx = ctx;
+            this.valueEndec = valueEndec;
+        }
+
+        @Override
+        public void element(V element) {
+            this.valueEndec.encode(this.ctx, ByteBufferSerializer.this, element);
+        }
+
+        @Override
+        public void entry(String key, V value) {
+            ByteBufferSerializer.this.writeString(this.ctx, key);
+            this.valueEndec.encode(this.ctx, ByteBufferSerializer.this, value);
+        }
+
+        @Override
+        public <F> Struct field(String name, SerializationContext ctx, Endec<F> endec, F value, boolean mayOmit) {
+            endec.encode(ctx, ByteBufferSerializer.this, value);
+            return this;
+        }
+
+        @Override
+        public Struct intField(String name, SerializationContext ctx, IntEndec endec, int value) {
+            endec.encodeInt(ctx, ByteBufferSerializer.this, value);
+            return this;
+        }
+
+        @Override
+        public Struct longField(String name, SerializationContext ctx, LongEndec endec, long value) {
+            endec.encodeLong(ctx, ByteBufferSerializer.this, value);
+            return this;
+        }
+
+        @Override
+        public Struct floatField(String name, SerializationContext ctx, FloatEndec endec, float value) {
+            endec.encodeFloat(ctx, ByteBufferSerializer.this, value);
+            return this;
+        }
+
+        @Override
+        public Struct doubleField(String name, SerializationContext ctx, DoubleEndec endec, double value) {
+            endec.encodeDouble(ctx, ByteBufferSerializer.this, value);
+            return this;
+        }
+
+        @Override
+        public Struct booleanField(String name, SerializationContext ctx, BooleanEndec endec, boolean value) {
+            endec.encodeBoolean(ctx, ByteBufferSerializer.this, value);
+            return this;
+        }
+
+        @Override
+        public void end() {}
+    }
+}
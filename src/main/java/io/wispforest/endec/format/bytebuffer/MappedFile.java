@@ -0,0 +1,253 @@
+package io.wispforest.endec.format.bytebuffer;
+
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A file mapped into memory for reading, which data can be decoded from in place through any number of
+ * {@link Reader}s - either by a {@link MappedFileDeserializer} or, as readers implement {@link DataInput},
+ * by {@link io.wispforest.endec.format.edm.EdmIo#decode(DataInput)} and {@link io.wispforest.endec.format.data.DataInputDeserializer}
+ * <p>
+ * As a single {@link MappedByteBuffer} cannot exceed 2 GB, the file is mapped in chunks of 1 GB, each of which
+ * extends a little into the next. This way, every value of fixed size can be read from a single chunk and
+ * only longer strings or arrays spanning two chunks need to be copied together
+ * <p>
+ * Closing the file closes its channel. The mappings themselves are released once they are garbage collected,
+ * until then readers stay valid
+ */
+public final class MappedFile implements AutoCloseable {
+
+    static final int CHUNK_SHIFT = 30;
+    static final long CHUNK_SIZE = 1L << CHUNK_SHIFT;
+
+    // The amount of bytes every chunk maps past its end
+    static final int CHUNK_OVERLAP = 1 << 16;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer[] chunks;
+    private final long size;
+
+    private MappedFile(FileChannel channel, MappedByteBuffer[] chunks, long size) {
+        this.channel = channel;
+        this.chunks = chunks;
+        this.size = size;
+    }
+
+    public static MappedFile open(Path path) throws IOException {
+        var channel = FileChannel.open(path, StandardOpenOption.READ);
+
+        try {
+            var size = channel.size();
+            var chunks = new MappedByteBuffer[(int) Math.max(1, (size + CHUNK_SIZE - 1) >>> CHUNK_SHIFT)];
+
+            for (int i = 0; i < chunks.length; i++) {
+                var start = (long) i << CHUNK_SHIFT;
+                chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(size - start, CHUNK_SIZE + CHUNK_OVERLAP));
+            }
+
+            return new MappedFile(channel, chunks, size);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public long size() {
+        return this.size;
+    }
+
+    /**
+     * Create a reader starting at the beginning of the file
+     */
+    public Reader reader() {
+        return new Reader(0);
+    }
+
+    /**
+     * Create a reader starting at byte {@code position} of the file
+     */
+    public Reader reader(long position) {
+        return new Reader(position);
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    @Override
+    public String toString() {
+        return "MappedFile[Size: " + this.size + ", Chunks: " + this.chunks.length + "]";
+    }
+
+    // ---
+
+    /**
+     * A position in a {@link MappedFile} which reads advance, and which can be moved freely through {@link #seek(long)}.
+     * Reading past the end of the file throws {@link BufferUnderflowException}. Readers are not thread-safe,
+     * but any number of them may read the same file concurrently
+     */
+    public final class Reader implements DataInput {
+
+        private ByteBuffer chunk;
+        private long chunkStart;
+
+        private Reader(long position) {
+            this.seek(position);
+        }
+
+        public MappedFile file() {
+            return MappedFile.this;
+        }
+
+        public long position() {
+            return this.chunkStart + this.chunk.position();
+        }
+
+        public long remaining() {
+            return MappedFile.this.size - this.position();
+        }
+
+        /**
+         * Move this reader to byte {@code position} of the file
+         */
+        public void seek(long position) {
+            if (position < 0 || position > MappedFile.this.size) {
+                throw new IndexOutOfBoundsException("Position " + position + " is outside of " + MappedFile.this);
+            }
+
+            // A position at the end of a file ending on a chunk boundary belongs to the last chunk
+            var index = Math.min((int) (position >>> CHUNK_SHIFT), MappedFile.this.chunks.length - 1);
+
+            this.chunk = MappedFile.this.chunks[index].duplicate();
+            this.chunkStart = (long) index << CHUNK_SHIFT;
+            this.chunk.position((int) (position - this.chunkStart));
+        }
+
+        /**
+         * Get the chunk containing the next {@code length} bytes, positioned at the first of them. Reads of
+         * up to {@link #CHUNK_OVERLAP} bytes always fit into a single chunk, longer ones may not
+         *
+         * @return the chunk to read from, or {@code null} if the bytes span two chunks
+         */
+        ByteBuffer window(int length) {
+            if (length < 0 || length > this.remaining()) throw new BufferUnderflowException();
+            if (this.chunk.remaining() >= length) return this.chunk;
+
+            // Move on to the chunk starting closest to the current position
+            this.seek(this.position());
+            return this.chunk.remaining() >= length ? this.chunk : null;
+        }
+
+        // ---
+
+        @Override
+        public void readFully(byte[] bytes) {
+            this.readFully(bytes, 0, bytes.length);
+        }
+
+        @Override
+        public void readFully(byte[] bytes, int offset, int length) {
+            if (length > this.remaining()) throw new BufferUnderflowException();
+
+            while (length > 0) {
+                if (!this.chunk.hasRemaining()) this.seek(this.position());
+
+                var read = Math.min(length, this.chunk.remaining());
+                this.chunk.get(bytes, offset, read);
+
+                offset += read;
+                length -= read;
+            }
+        }
+
+        @Override
+        public int skipBytes(int count) {
+            var skipped = (int) Math.max(0, Math.min(count, this.remaining()));
+
+            var chunkPosition = this.chunk.position() + (long) skipped;
+            if (chunkPosition <= this.chunk.limit()) {
+                this.chunk.position((int) chunkPosition);
+            } else {
+                this.seek(this.chunkStart + chunkPosition);
+            }
+
+            return skipped;
+        }
+
+        @Override
+        public boolean readBoolean() {
+            return this.window(1).get() != 0;
+        }
+
+        @Override
+        public byte readByte() {
+            return this.window(Byte.BYTES).get();
+        }
+
+        @Override
+        public int readUnsignedByte() {
+            return Byte.toUnsignedInt(this.readByte());
+        }
+
+        @Override
+        public short readShort() {
+            return this.window(Short.BYTES).getShort();
+        }
+
+        @Override
+        public int readUnsignedShort() {
+            return Short.toUnsignedInt(this.readShort());
+        }
+
+        @Override
+        public char readChar() {
+            return this.window(Character.BYTES).getChar();
+        }
+
+        @Override
+        public int readInt() {
+            return this.window(Integer.BYTES).getInt();
+        }
+
+        @Override
+        public long readLong() {
+            return this.window(Long.BYTES).getLong();
+        }
+
+        @Override
+        public float readFloat() {
+            return this.window(Float.BYTES).getFloat();
+        }
+
+        @Override
+        public double readDouble() {
+            return this.window(Double.BYTES).getDouble();
+        }
+
+        /**
+         * Lines are not part of any format read from mapped files, which is why this is not supported
+         */
+        @Override
+        public String readLine() {
+            throw new UnsupportedOperationException("MappedFile.Reader does not support reading lines");
+        }
+
+        @Override
+        public String readUTF() throws IOException {
+            return DataInputStream.readUTF(this);
+        }
+
+        @Override
+        public String toString() {
+            return "MappedFile.Reader[Position: " + this.position() + ", Size: " + MappedFile.this.size + "]";
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package io.wispforest.endec.format.bytebuffer;
+
+import io.wispforest.endec.SerializationContext;
+import io.wispforest.endec.util.BinaryDeserializer;
+import io.wispforest.endec.util.VarInts;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Deserializer reading the binary format of {@link ByteBufferDeserializer} directly from a {@link MappedFile},
+ * without copying the file through intermediate buffers. Decoding starts at any offset into the file and
+ * the deserializer can be moved around freely through {@link #seek(long)}, such that values at known
+ * offsets are read on demand and everything else in the file is never touched
+ * <p>
+ * Strings and byte arrays are only copied out of the file once they are read. {@link #readBytesView(SerializationContext)}
+ * avoids even that, returning a view of the mapped bytes instead
+ */
+public class MappedFileDeserializer extends BinaryDeserializer<MappedFile> {
+
+    private static final int MAX_VAR_LONG_BYTES = 10;
+
+    private final MappedFile.Reader reader;
+
+    protected MappedFileDeserializer(MappedFile.Reader reader) {
+        this.reader = reader;
+    }
+
+    public static MappedFileDeserializer of(MappedFile file) {
+        return new MappedFileDeserializer(file.reader());
+    }
+
+    public static MappedFileDeserializer of(MappedFile file, long position) {
+        return new MappedFileDeserializer(file.reader(position));
+    }
+
+    /**
+     * @return the offset into the file at which the next value is read
+     */
+    @Override
+    public long position() {
+        return this.reader.position();
+    }
+
+    /**
+     * Continue decoding at byte {@code position} of the file, which must be the start of a value
+     */
+    @Override
+    public void seek(long position) {
+        this.reader.seek(position);
+    }
+
+    // ---
+
+    @Override
+    public byte readByte(SerializationContext ctx) {
+        return this.reader.readByte();
+    }
+
+    @Override
+    public short readShort(SerializationContext ctx) {
+        return this.reader.readShort();
+    }
+
+    @Override
+    public int readInt(SerializationContext ctx) {
+        return this.reader.readInt();
+    }
+
+    @Override
+    public long readLong(SerializationContext ctx) {
+        return this.reader.readLong();
+    }
+
+    @Override
+    public float readFloat(SerializationContext ctx) {
+        return this.reader.readFloat();
+    }
+
+    @Override
+    public double readDouble(SerializationContext ctx) {
+        return this.reader.readDouble();
+    }
+
+    // ---
+
+    @Override
+    public int readVarInt(SerializationContext ctx) {
+        return VarInts.readInt(this.varIntWindow());
+    }
+
+    @Override
+    public long readVarLong(SerializationContext ctx) {
+        return VarInts.readLong(this.varIntWindow());
+    }
+
+    /**
+     * Get the chunk containing the longest possible VarInt at the current
+     * position, or as much of it as there is left in the file
+     */
+    private ByteBuffer varIntWindow() {
+        return this.reader.window((int) Math.min(MAX_VAR_LONG_BYTES, this.reader.remaining()));
+    }
+
+    // ---
+
+    @Override
+    public boolean readBoolean(SerializationContext ctx) {
+        return this.reader.readBoolean();
+    }
+
+    // ---
+
+    /**
+     * Read a byte array or string, like {@link #readBytes(SerializationContext)} does, but return a read-only
+     * view of its bytes in the mapped file rather than a copy. Only arrays spanning two chunks of the file are copied
+     */
+    public ByteBuffer readBytesView(SerializationContext ctx) {
+        var length = this.readVarInt(ctx);
+        return this.consume(length).asReadOnlyBuffer();
+    }
+
+    private byte[] readSpanning(int length) {
+        var bytes = new byte[length];
+        this.reader.readFully(bytes);
+
+        return bytes;
+    }
+
+    /**
+     * Consume the next {@code length} bytes of the file and return a view of them, which
+     * is a copy only if they span two chunks
+     */
+    @Override
+    protected ByteBuffer consume(int length) {
+        var window = this.reader.window(length);
+        if (window == null) return ByteBuffer.wrap(this.readSpanning(length));
+
+        var view = window.slice(window.position(), length);
+        window.position(window.position() + length);
+
+        return view;
+    }
+}
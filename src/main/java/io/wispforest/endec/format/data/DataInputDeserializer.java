@@ -1,19 +1,33 @@
 package io.wispforest.endec.format.data;
 
+import io.wispforest.endec.BooleanEndec;
 import io.wispforest.endec.Deserializer;
+import io.wispforest.endec.DoubleEndec;
 import io.wispforest.endec.Endec;
+import io.wispforest.endec.FieldKey;
+import io.wispforest.endec.FloatEndec;
+import io.wispforest.endec.FormatCapability;
+import io.wispforest.endec.IntEndec;
+import io.wispforest.endec.LongEndec;
 import io.wispforest.endec.SerializationContext;
 import io.wispforest.endec.util.VarInts;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.DataInput;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
 public class DataInputDeserializer implements Deserializer<DataInput> {
 
+    private static final int BULK_CHUNK_SIZE = 1 << 13;
+
+    private static final Set<FormatCapability> CAPABILITIES = FormatCapability.setOf(FormatCapability.BULK_PRIMITIVE_ARRAYS, FormatCapability.OMITS_FIELD_NAMES);
+
     protected final DataInput input;
 
     protected DataInputDeserializer(DataInput input) {
@@ -24,6 +38,11 @@ public class DataInputDeserializer implements Deserializer<DataInput> {
         return new DataInputDeserializer(input);
     }
 
+    @Override
+    public Set<FormatCapability> capabilities() {
+        return CAPABILITIES;
+    }
+
     // ---
 
     @Override
@@ -114,15 +133,7 @@ public class DataInputDeserializer implements Deserializer<DataInput> {
 
     @Override
     public byte[] readBytes(SerializationContext ctx) {
-        var result = new byte[this.readVarInt(ctx)];
-
-        try {
-            this.input.readFully(result);
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
-
-        return result;
+        return this.readBulk(this.readVarInt(ctx)).array();
     }
 
     @Override
@@ -134,6 +145,100 @@ public class DataInputDeserializer implements Deserializer<DataInput> {
 
     // ---
 
+    @Override
+    public short[] readShorts(SerializationContext ctx) {
+        var length = this.readVarInt(ctx);
+        var bytes = this.readBulk(Math.multiplyExact(length, Short.BYTES));
+
+        var values = new short[length];
+        bytes.asShortBuffer().get(values);
+
+        return values;
+    }
+
+    @Override
+    public int[] readInts(SerializationContext ctx) {
+        var length = this.readVarInt(ctx);
+        var bytes = this.readBulk(Math.multiplyExact(length, Integer.BYTES));
+
+        var values = new int[length];
+        bytes.asIntBuffer().get(values);
+
+        return values;
+    }
+
+    @Override
+    public long[] readLongs(SerializationContext ctx) {
+        var length = this.readVarInt(ctx);
+        var bytes = this.readBulk(Math.multiplyExact(length, Long.BYTES));
+
+        var values = new long[length];
+        bytes.asLongBuffer().get(values);
+
+        return values;
+    }
+
+    @Override
+    public float[] readFloats(SerializationContext ctx) {
+        var length = this.readVarInt(ctx);
+        var bytes = this.readBulk(Math.multiplyExact(length, Float.BYTES));
+
+        var values = new float[length];
+        bytes.asFloatBuffer().get(values);
+
+        return values;
+    }
+
+    @Override
+    public double[] readDoubles(SerializationContext ctx) {
+        var length = this.readVarInt(ctx);
+        var bytes = this.readBulk(Math.multiplyExact(length, Double.BYTES));
+
+        var values = new double[length];
+        bytes.asDoubleBuffer().get(values);
+
+        return values;
+    }
+
+    @Override
+    public boolean[] readBooleans(SerializationContext ctx) {
+        var bytes = this.readBulk(this.readVarInt(ctx));
+
+        var values = new boolean[bytes.capacity()];
+        for (int i = 0; i < values.length; i++) values[i] = bytes.get(i) != 0;
+
+        return values;
+    }
+
+    /**
+     * Read {@code length} bytes from the input. As the length comes from the input itself and
+     * cannot be trusted, the bytes are read in chunks of at most {@link #BULK_CHUNK_SIZE} and
+     * the array only grows as data actually arrives - a bogus length thus fails once the input
+     * runs out instead of allocating up to 2 GB upfront
+     */
+    private ByteBuffer readBulk(int length) {
+        if (length < 0) throw new IllegalStateException("Malformed input: negative array length " + length);
+
+        var bytes = new byte[Math.min(length, BULK_CHUNK_SIZE)];
+
+        try {
+            var read = 0;
+            while (true) {
+                this.input.readFully(bytes, read, bytes.length - read);
+                read = bytes.length;
+
+                if (read == length) break;
+                bytes = Arrays.copyOf(bytes, (int) Math.min(length, read * 2L));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        return ByteBuffer.wrap(bytes);
+    }
+
+    // ---
+
     @Override
     public <V> V tryRead(Function<Deserializer<DataInput>, V> reader) {
         throw new UnsupportedOperationException("As DataInput cannot be rewound, tryRead(...) cannot be supported");
@@ -195,6 +300,61 @@ public class DataInputDeserializer implements Deserializer<DataInput> {
         public <F> @Nullable F field(String name, SerializationContext ctx, Endec<F> endec, @Nullable Supplier<F> defaultValueFactory) {
             return endec.decode(ctx.pushField(name), DataInputDeserializer.this);
         }
+
+        @Override
+        public int intField(String name, SerializationContext ctx, IntEndec endec) {
+            return endec.decodeInt(ctx.pushField(name), DataInputDeserializer.this);
+        }
+
+        @Override
+        public long longField(String name, SerializationContext ctx, LongEndec endec) {
+            return endec.decodeLong(ctx.pushField(name), DataInputDeserializer.this);
+        }
+
+        @Override
+        public float floatField(String name, SerializationContext ctx, FloatEndec endec) {
+            return endec.decodeFloat(ctx.pushField(name), DataInputDeserializer.this);
+        }
+
+        @Override
+        public double doubleField(String name, SerializationContext ctx, DoubleEndec endec) {
+            return endec.decodeDouble(ctx.pushField(name), DataInputDeserializer.this);
+        }
+
+        @Override
+        public boolean booleanField(String name, SerializationContext ctx, BooleanEndec endec) {
+            return endec.decodeBoolean(ctx.pushField(name), DataInputDeserializer.this);
+        }
+
+        @Override
+        public <F> @Nullable F field(FieldKey key, SerializationContext ctx, Endec<F> endec, @Nullable Supplier<F> defaultValueFactory) {
+            return endec.decode(ctx.pushField(key), DataInputDeserializer.this);
+        }
+
+        @Override
+        public int intField(FieldKey key, SerializationContext ctx, IntEndec endec) {
+            return endec.decodeInt(ctx.pushField(key), DataInputDeserializer.this);
+        }
+
+        @Override
+        public long longField(FieldKey key, SerializationContext ctx, LongEndec endec) {
+            return endec.decodeLong(ctx.pushField(key), DataInputDeserializer.this);
+        }
+
+        @Override
+        public float floatField(FieldKey key, SerializationContext ctx, FloatEndec endec) {
+            return endec.decodeFloat(ctx.pushField(key), DataInputDeserializer.this);
+        }
+
+        @Override
+        public double doubleField(FieldKey key, SerializationContext ctx, DoubleEndec endec) {
+            return endec.decodeDouble(ctx.pushField(key), DataInputDeserializer.this);
+        }
+
+        @Override
+        public boolean booleanField(FieldKey key, SerializationContext ctx, BooleanEndec endec) {
+            return endec.decodeBoolean(ctx.pushField(key), DataInputDeserializer.this);
+        }
     }
 
     private class Map<V> implements Deserializer.Map<V> {
@@ -1,18 +1,34 @@
 package io.wispforest.endec.format.data;
 
+import io.wispforest.endec.BooleanEndec;
+import io.wispforest.endec.DoubleEndec;
 import io.wispforest.endec.Endec;
+import io.wispforest.endec.FloatEndec;
+import io.wispforest.endec.FormatCapability;
+import io.wispforest.endec.IntEndec;
+import io.wispforest.endec.LongEndec;
 import io.wispforest.endec.SerializationContext;
 import io.wispforest.endec.Serializer;
 import io.wispforest.endec.util.VarInts;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.DataOutput;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.Optional;
+import java.util.Set;
 
 public class DataOutputSerializer<D extends DataOutput> implements Serializer<D> {
 
+    private static final int BULK_CHUNK_SIZE = 1 << 13;
+
+    private static final Set<FormatCapability> CAPABILITIES = FormatCapability.setOf(FormatCapability.BULK_PRIMITIVE_ARRAYS, FormatCapability.REQUIRES_KNOWN_SEQUENCE_SIZE, FormatCapability.OMITS_FIELD_NAMES);
+
     protected final D output;
 
+    private final byte[] varIntBuffer = new byte[10];
+    private @Nullable ByteBuffer bulkScratch = null;
+
     protected DataOutputSerializer(D output) {
         this.output = output;
     }
@@ -29,55 +45,97 @@ public class DataOutputSerializer<D extends DataOutput> implements Serializer<D>
         }
     }
 
-    // ---
+    @Override
+    public Set<FormatCapability> capabilities() {
+        return CAPABILITIES;
+    }
+
+    // --- Fixed-width primitives are written directly rather than through write(Writer),
+    // as the capturing lambda is not reliably eliminated on hot paths
 
     @Override
     public void writeByte(SerializationContext ctx, byte value) {
-        this.write(() -> this.output.writeByte(value));
+        try {
+            this.output.writeByte(value);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
     }
 
     @Override
     public void writeShort(SerializationContext ctx, short value) {
-        this.write(() -> this.output.writeShort(value));
+        try {
+            this.output.writeShort(value);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
     }
 
     @Override
     public void writeInt(SerializationContext ctx, int value) {
-        this.write(() -> this.output.writeInt(value));
+        try {
+            this.output.writeInt(value);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
     }
 
     @Override
     public void writeLong(SerializationContext ctx, long value) {
-        this.write(() -> this.output.writeLong(value));
+        try {
+            this.output.writeLong(value);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
     }
 
     @Override
     public void writeFloat(SerializationContext ctx, float value) {
-        this.write(() -> this.output.writeFloat(value));
+        try {
+            this.output.writeFloat(value);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
     }
 
     @Override
     public void writeDouble(SerializationContext ctx, double value) {
-        this.write(() -> this.output.writeDouble(value));
+        try {
+            this.output.writeDouble(value);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
     }
 
     // ---
 
     @Override
     public void writeVarInt(SerializationContext ctx, int value) {
-        VarInts.writeInt(value, b -> this.writeByte(ctx, b));
+        this.writeVarIntBuffer(VarInts.writeInt(value, this.varIntBuffer, 0));
     }
 
     @Override
     public void writeVarLong(SerializationContext ctx, long value) {
-        VarInts.writeLong(value, b -> this.writeByte(ctx, b));
+        this.writeVarIntBuffer(VarInts.writeLong(value, this.varIntBuffer, 0));
+    }
+
+    private void writeVarIntBuffer(int size) {
+        try {
+            this.output.write(this.varIntBuffer, 0, size);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
     }
 
     // ---
 
     @Override
     public void writeBoolean(SerializationContext ctx, boolean value) {
-        this.write(() -> this.output.writeBoolean(value));
+        try {
+            this.output.writeBoolean(value);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
     }
 
     @Override
@@ -101,6 +159,103 @@ public class DataOutputSerializer<D extends DataOutput> implements Serializer<D>
 
     // ---
 
+    @Override
+    public void writeShorts(SerializationContext ctx, short[] values) {
+        this.writeVarInt(ctx, values.length);
+
+        var scratch = this.bulkScratch().asShortBuffer();
+        for (int offset = 0; offset < values.length; offset += scratch.capacity()) {
+            int count = Math.min(values.length - offset, scratch.capacity());
+
+            scratch.clear().put(values, offset, count);
+            this.writeBulk(count * Short.BYTES);
+        }
+    }
+
+    @Override
+    public void writeInts(SerializationContext ctx, int[] values) {
+        this.writeVarInt(ctx, values.length);
+
+        var scratch = this.bulkScratch().asIntBuffer();
+        for (int offset = 0; offset < values.length; offset += scratch.capacity()) {
+            int count = Math.min(values.length - offset, scratch.capacity());
+
+            scratch.clear().put(values, offset, count);
+            this.writeBulk(count * Integer.BYTES);
+        }
+    }
+
+    @Override
+    public void writeLongs(SerializationContext ctx, long[] values) {
+        this.writeVarInt(ctx, values.length);
+
+        var scratch = this.bulkScratch().asLongBuffer();
+        for (int offset = 0; offset < values.length; offset += scratch.capacity()) {
+            int count = Math.min(values.length - offset, scratch.capacity());
+
+            scratch.clear().put(values, offset, count);
+            this.writeBulk(count * Long.BYTES);
+        }
+    }
+
+    @Override
+    public void writeFloats(SerializationContext ctx, float[] values) {
+        this.writeVarInt(ctx, values.length);
+
+        var scratch = this.bulkScratch().asFloatBuffer();
+        for (int offset = 0; offset < values.length; offset += scratch.capacity()) {
+            int count = Math.min(values.length - offset, scratch.capacity());
+
+            scratch.clear().put(values, offset, count);
+            this.writeBulk(count * Float.BYTES);
+        }
+    }
+
+    @Override
+    public void writeDoubles(SerializationContext ctx, double[] values) {
+        this.writeVarInt(ctx, values.length);
+
+        var scratch = this.bulkScratch().asDoubleBuffer();
+        for (int offset = 0; offset < values.length; offset += scratch.capacity()) {
+            int count = Math.min(values.length - offset, scratch.capacity());
+
+            scratch.clear().put(values, offset, count);
+            this.writeBulk(count * Double.BYTES);
+        }
+    }
+
+    @Override
+    public void writeBooleans(SerializationContext ctx, boolean[] values) {
+        this.writeVarInt(ctx, values.length);
+
+        var scratch = this.bulkScratch().array();
+        for (int offset = 0; offset < values.length; offset += scratch.length) {
+            int count = Math.min(values.length - offset, scratch.length);
+
+            for (int i = 0; i < count; i++) scratch[i] = (byte) (values[offset + i] ? 1 : 0);
+            this.writeBulk(count);
+        }
+    }
+
+    /**
+     * Primitive arrays are written in chunks of at most {@link #BULK_CHUNK_SIZE} bytes through this
+     * reusable buffer, instead of allocating a buffer for (and copying) the entire array at once
+     */
+    private ByteBuffer bulkScratch() {
+        if (this.bulkScratch == null) this.bulkScratch = ByteBuffer.allocate(BULK_CHUNK_SIZE);
+        return this.bulkScratch;
+    }
+
+    private void writeBulk(int length) {
+        try {
+            this.output.write(this.bulkScratch.array(), 0, length);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    // ---
+
     @Override
     public <V> Map<V> map(SerializationContext ctx, Endec<V> valueEndec, int size) {
         this.writeVarInt(ctx, size);
@@ -157,6 +312,36 @@ public class DataOutputSerializer<D extends DataOutput> implements Serializer<D>
             return this;
         }
 
+        @Override
+        public Struct intField(String name, SerializationContext ctx, IntEndec endec, int value) {
+            endec.encodeInt(ctx.pushField(name), DataOutputSerializer.this, value);
+            return this;
+        }
+
+        @Override
+        public Struct longField(String name, SerializationContext ctx, LongEndec endec, long value) {
+            endec.encodeLong(ctx.pushField(name), DataOutputSerializer.this, value);
+            return this;
+        }
+
+        @Override
+        public Struct floatField(String name, SerializationContext ctx, FloatEndec endec, float value) {
+            endec.encodeFloat(ctx.pushField(name), DataOutputSerializer.this, value);
+            return this;
+        }
+
+        @Override
+        public Struct doubleField(String name, SerializationContext ctx, DoubleEndec endec, double value) {
+            endec.encodeDouble(ctx.pushField(name), DataOutputSerializer.this, value);
+            return this;
+        }
+
+        @Override
+        public Struct booleanField(String name, SerializationContext ctx, BooleanEndec endec, boolean value) {
+            endec.encodeBoolean(ctx.pushField(name), DataOutputSerializer.this, value);
+            return this;
+        }
+
         @Override
         public void end() {}
     }
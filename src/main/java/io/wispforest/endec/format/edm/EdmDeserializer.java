@@ -11,6 +11,8 @@ import static io.wispforest.endec.format.edm.EdmElement.Type.*;
 
 public class EdmDeserializer extends RecursiveDeserializer<EdmElement<?>> implements SelfDescribedDeserializer<EdmElement<?>> {
 
+    private static final Set<FormatCapability> CAPABILITIES = FormatCapability.setOf(FormatCapability.SELF_DESCRIBED, FormatCapability.SKIP, FormatCapability.RANDOM_ACCESS, FormatCapability.TRY_READ);
+
     protected EdmDeserializer(EdmElement<?> serialized) {
         super(serialized);
     }
@@ -19,6 +21,11 @@ public class EdmDeserializer extends RecursiveDeserializer<EdmElement<?>> implem
         return new EdmDeserializer(serialized);
     }
 
+    @Override
+    public Set<FormatCapability> capabilities() {
+        return CAPABILITIES;
+    }
+
     // ---
 
     @Override
@@ -65,6 +72,16 @@ public class EdmDeserializer extends RecursiveDeserializer<EdmElement<?>> implem
         return this.readLong(ctx);
     }
 
+    @Override
+    public int readSignedVarInt(SerializationContext ctx) {
+        return this.readVarInt(ctx);
+    }
+
+    @Override
+    public long readSignedVarLong(SerializationContext ctx) {
+        return this.readVarLong(ctx);
+    }
+
     // ---
 
     @Override
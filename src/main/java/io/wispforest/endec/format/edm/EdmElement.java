@@ -8,7 +8,7 @@ import org.jetbrains.annotations.Nullable;
 import java.util.*;
 import java.util.stream.Collectors;
 
-public sealed class EdmElement<T> permits EdmMap {
+public sealed class EdmElement<T> permits EdmMap, LazyEdmElement {
 
     public static final EdmElement<Optional<EdmElement<?>>> EMPTY = new EdmElement<>(Optional.empty(), Type.OPTIONAL);
 
@@ -26,7 +26,7 @@ public sealed class EdmElement<T> permits EdmMap {
 
     @SuppressWarnings("unchecked")
     public <V> V cast() {
-        return (V) this.value;
+        return (V) this.value();
     }
 
     public Type type() {
@@ -34,14 +34,16 @@ public sealed class EdmElement<T> permits EdmMap {
     }
 
     public Object unwrap() {
-        if (this.value instanceof List<?> list) {
+        var value = this.value();
+
+        if (value instanceof List<?> list) {
             return list.stream().map(o -> ((EdmElement<?>) o).unwrap()).toList();
-        } else if (this.value instanceof Map<?, ?> map) {
+        } else if (value instanceof Map<?, ?> map) {
             return map.entrySet().stream().map(entry -> Map.entry(entry.getKey(), ((EdmElement<?>) entry.getValue()).unwrap())).collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-        } else if (this.value instanceof Optional<?> optional) {
+        } else if (value instanceof Optional<?> optional) {
             return optional.map(o -> ((EdmElement<?>) o).unwrap());
         } else {
-            return this.value;
+            return value;
         }
     }
 
@@ -61,13 +63,13 @@ public sealed class EdmElement<T> permits EdmMap {
     public boolean equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof EdmElement<?> that)) return false;
-        if (!this.value.equals(that.value)) return false;
+        if (!this.value().equals(that.value())) return false;
         return this.type == that.type;
     }
 
     @Override
     public int hashCode() {
-        int result = this.value.hashCode();
+        int result = this.value().hashCode();
         result = 31 * result + this.type.hashCode();
         return result;
     }
@@ -121,12 +123,12 @@ public sealed class EdmElement<T> permits EdmMap {
             }
             case STRING -> {
                 yield formatter.writeBlock("string(\"", "\")", false, blockWriter -> {
-                    blockWriter.write(Objects.toString(value));
+                    blockWriter.write(Objects.toString(this.value()));
                 });
             }
             default -> {
                 yield formatter.writeBlock(type.formatName() + "(", ")", false, blockWriter -> {
-                    blockWriter.write(Objects.toString(value));
+                    blockWriter.write(Objects.toString(this.value()));
                 });
             }
         };
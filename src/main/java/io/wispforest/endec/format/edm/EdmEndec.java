@@ -14,7 +14,7 @@ public class EdmEndec implements Endec<EdmElement<?>> {
 
     @Override
     public void encode(SerializationContext ctx, Serializer<?> serializer, EdmElement<?> value) {
-        if (serializer instanceof SelfDescribedSerializer<?>) {
+        if (serializer.hasCapability(FormatCapability.SELF_DESCRIBED)) {
             new EdmDeserializer(value).readAny(ctx, serializer);
             return;
         }
@@ -31,9 +31,9 @@ public class EdmEndec implements Endec<EdmElement<?>> {
 
     @Override
     public EdmElement<?> decode(SerializationContext ctx, Deserializer<?> deserializer) {
-        if (deserializer instanceof SelfDescribedDeserializer<?> selfDescribedDeserializer) {
+        if (deserializer.hasCapability(FormatCapability.SELF_DESCRIBED)) {
             var nativeSerializer = new EdmSerializer();
-            selfDescribedDeserializer.readAny(ctx, nativeSerializer);
+            deserializer.readAny(ctx, nativeSerializer);
 
             return nativeSerializer.result();
         }
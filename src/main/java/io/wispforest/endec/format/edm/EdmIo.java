@@ -1,5 +1,8 @@
 package io.wispforest.endec.format.edm;
 
+import io.wispforest.endec.format.bytebuffer.MappedFile;
+import org.jetbrains.annotations.Nullable;
+
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
@@ -13,7 +16,23 @@ public class EdmIo {
     }
 
     public static EdmElement<?> decode(DataInput input) throws IOException {
-        return decodeElementData(input, input.readByte());
+        return decodeElementData(input, input.readByte(), null);
+    }
+
+    /**
+     * Decode the next element of {@code reader} like {@link #decode(DataInput)}, except that strings
+     * and byte arrays are skipped over and only read from the file once their value is accessed
+     */
+    public static EdmElement<?> decodeLazily(MappedFile.Reader reader) throws IOException {
+        return decodeElementData(reader, reader.readByte(), reader);
+    }
+
+    /**
+     * Read past the next element of {@code input} without decoding it, which for inputs
+     * that can skip bytes cheaply means strings and byte arrays are never read at all
+     */
+    public static void skip(DataInput input) throws IOException {
+        skipElementData(input, input.readByte());
     }
 
     public static void encodeElementData(DataOutput output, EdmElement<?> data) throws IOException {
@@ -66,8 +85,17 @@ public class EdmIo {
         }
     }
 
-    private static EdmElement<?> decodeElementData(DataInput input, byte type) throws IOException {
-        return switch (EdmElement.Type.values()[type]) {
+    private static EdmElement<?> decodeElementData(DataInput input, byte type, MappedFile.@Nullable Reader lazyReader) throws IOException {
+        var elementType = EdmElement.Type.values()[type];
+
+        if (lazyReader != null && (elementType == EdmElement.Type.STRING || elementType == EdmElement.Type.BYTES)) {
+            var element = new LazyEdmElement<>(lazyReader.file(), lazyReader.position(), elementType);
+            skipElementData(lazyReader, type);
+
+            return element;
+        }
+
+        return switch (elementType) {
             case I8 -> EdmElement.i8(input.readByte());
             case U8 -> EdmElement.u8(input.readByte());
             case I16 -> EdmElement.i16(input.readShort());
@@ -88,7 +116,7 @@ public class EdmIo {
             }
             case OPTIONAL -> {
                 if (input.readByte() != 0) {
-                    yield EdmElement.optional(Optional.of(decodeElementData(input, input.readByte())));
+                    yield EdmElement.optional(Optional.of(decodeElementData(input, input.readByte(), lazyReader)));
                 } else {
                     yield EdmElement.optional(Optional.empty());
                 }
@@ -99,7 +127,7 @@ public class EdmIo {
                     var result = new ArrayList<EdmElement<?>>(length);
 
                     for (int i = 0; i < length; i++) {
-                        result.add(decodeElementData(input, input.readByte()));
+                        result.add(decodeElementData(input, input.readByte(), lazyReader));
                     }
 
                     yield EdmElement.sequence(result);
@@ -114,7 +142,7 @@ public class EdmIo {
                 for (int i = 0; i < length; i++) {
                     result.put(
                             input.readUTF(),
-                            decodeElementData(input, input.readByte())
+                            decodeElementData(input, input.readByte(), lazyReader)
                     );
                 }
 
@@ -123,4 +151,44 @@ public class EdmIo {
         };
     }
 
+    private static void skipElementData(DataInput input, byte type) throws IOException {
+        switch (EdmElement.Type.values()[type]) {
+            case I8, U8, BOOLEAN -> skipFully(input, Byte.BYTES);
+            case I16, U16 -> skipFully(input, Short.BYTES);
+            case I32, U32, F32 -> skipFully(input, Integer.BYTES);
+            case I64, U64, F64 -> skipFully(input, Long.BYTES);
+            case STRING -> skipFully(input, input.readUnsignedShort());
+            case BYTES -> skipFully(input, input.readInt());
+            case OPTIONAL -> {
+                if (input.readByte() != 0) skipElementData(input, input.readByte());
+            }
+            case SEQUENCE -> {
+                var length = input.readInt();
+                for (int i = 0; i < length; i++) {
+                    skipElementData(input, input.readByte());
+                }
+            }
+            case MAP -> {
+                var length = input.readInt();
+                for (int i = 0; i < length; i++) {
+                    skipFully(input, input.readUnsignedShort());
+                    skipElementData(input, input.readByte());
+                }
+            }
+        }
+    }
+
+    private static void skipFully(DataInput input, int count) throws IOException {
+        while (count > 0) {
+            var skipped = input.skipBytes(count);
+
+            // DataInput may skip fewer bytes than requested for any reason, reading fails properly at the end of input
+            if (skipped <= 0) {
+                input.readByte();
+                skipped = 1;
+            }
+
+            count -= skipped;
+        }
+    }
 }
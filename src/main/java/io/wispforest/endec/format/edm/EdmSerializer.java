@@ -1,18 +1,24 @@
 package io.wispforest.endec.format.edm;
 
 import io.wispforest.endec.Endec;
+import io.wispforest.endec.FieldKey;
+import io.wispforest.endec.FormatCapability;
 import io.wispforest.endec.SelfDescribedSerializer;
 import io.wispforest.endec.SerializationContext;
 import io.wispforest.endec.Serializer;
 import io.wispforest.endec.util.RecursiveSerializer;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public class EdmSerializer extends RecursiveSerializer<EdmElement<?>> implements SelfDescribedSerializer<EdmElement<?>> {
 
+    private static final Set<FormatCapability> CAPABILITIES = FormatCapability.setOf(FormatCapability.SELF_DESCRIBED, FormatCapability.BULK_PRIMITIVE_ARRAYS);
+
     protected EdmSerializer() {
         super(null);
     }
@@ -21,6 +27,11 @@ public class EdmSerializer extends RecursiveSerializer<EdmElement<?>> implements
         return new EdmSerializer();
     }
 
+    @Override
+    public Set<FormatCapability> capabilities() {
+        return CAPABILITIES;
+    }
+
     // ---
 
     @Override
@@ -67,6 +78,16 @@ public class EdmSerializer extends RecursiveSerializer<EdmElement<?>> implements
         this.consume(EdmElement.i64(value));
     }
 
+    @Override
+    public void writeSignedVarInt(SerializationContext ctx, int value) {
+        this.writeVarInt(ctx, value);
+    }
+
+    @Override
+    public void writeSignedVarLong(SerializationContext ctx, long value) {
+        this.writeVarLong(ctx, value);
+    }
+
     // ---
 
     @Override
@@ -97,6 +118,56 @@ public class EdmSerializer extends RecursiveSerializer<EdmElement<?>> implements
 
     // ---
 
+    @Override
+    public void writeShorts(SerializationContext ctx, short[] values) {
+        var elements = new EdmElement<?>[values.length];
+        for (int i = 0; i < values.length; i++) elements[i] = EdmElement.i16(values[i]);
+
+        this.consume(EdmElement.sequence(Arrays.asList(elements)));
+    }
+
+    @Override
+    public void writeInts(SerializationContext ctx, int[] values) {
+        var elements = new EdmElement<?>[values.length];
+        for (int i = 0; i < values.length; i++) elements[i] = EdmElement.i32(values[i]);
+
+        this.consume(EdmElement.sequence(Arrays.asList(elements)));
+    }
+
+    @Override
+    public void writeLongs(SerializationContext ctx, long[] values) {
+        var elements = new EdmElement<?>[values.length];
+        for (int i = 0; i < values.length; i++) elements[i] = EdmElement.i64(values[i]);
+
+        this.consume(EdmElement.sequence(Arrays.asList(elements)));
+    }
+
+    @Override
+    public void writeFloats(SerializationContext ctx, float[] values) {
+        var elements = new EdmElement<?>[values.length];
+        for (int i = 0; i < values.length; i++) elements[i] = EdmElement.f32(values[i]);
+
+        this.consume(EdmElement.sequence(Arrays.asList(elements)));
+    }
+
+    @Override
+    public void writeDoubles(SerializationContext ctx, double[] values) {
+        var elements = new EdmElement<?>[values.length];
+        for (int i = 0; i < values.length; i++) elements[i] = EdmElement.f64(values[i]);
+
+        this.consume(EdmElement.sequence(Arrays.asList(elements)));
+    }
+
+    @Override
+    public void writeBooleans(SerializationContext ctx, boolean[] values) {
+        var elements = new EdmElement<?>[values.length];
+        for (int i = 0; i < values.length; i++) elements[i] = EdmElement.bool(values[i]);
+
+        this.consume(EdmElement.sequence(Arrays.asList(elements)));
+    }
+
+    // ---
+
     @Override
     public <E> Serializer.Sequence<E> sequence(SerializationContext ctx, Endec<E> elementEndec, int size) {
         return new Sequence<>(elementEndec, ctx);
@@ -179,8 +250,17 @@ public class EdmSerializer extends RecursiveSerializer<EdmElement<?>> implements
 
         @Override
         public <F> Serializer.Struct field(String name, SerializationContext ctx, Endec<F> endec, F value, boolean mayOmit) {
+            return this.encodeField(name, ctx.pushField(name), endec, value, mayOmit);
+        }
+
+        @Override
+        public <F> Serializer.Struct field(FieldKey key, SerializationContext ctx, Endec<F> endec, F value, boolean mayOmit) {
+            return this.encodeField(key.name(), ctx.pushField(key), endec, value, mayOmit);
+        }
+
+        private <F> Serializer.Struct encodeField(String name, SerializationContext fieldCtx, Endec<F> endec, F value, boolean mayOmit) {
             EdmSerializer.this.frame(encoded -> {
-                endec.encode(ctx.pushField(name), EdmSerializer.this, value);
+                endec.encode(fieldCtx, EdmSerializer.this, value);
 
                 var element = encoded.require("struct field");
 
@@ -0,0 +1,50 @@
+package io.wispforest.endec.format.edm;
+
+import io.wispforest.endec.format.bytebuffer.MappedFile;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+
+/**
+ * A string or byte array element decoded by {@link EdmIo#decodeLazily(MappedFile.Reader)}, which
+ * is only read from its file once its value is first accessed. As mappings outlive the channel
+ * of their file, this remains valid after the {@link MappedFile} has been closed
+ */
+final class LazyEdmElement<T> extends EdmElement<T> {
+
+    private final MappedFile file;
+    private final long position;
+
+    private volatile @Nullable T value = null;
+
+    LazyEdmElement(MappedFile file, long position, Type type) {
+        super(null, type);
+
+        this.file = file;
+        this.position = position;
+    }
+
+    @Override
+    public T value() {
+        var value = this.value;
+        if (value == null) this.value = value = this.load();
+
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T load() {
+        var reader = this.file.reader(this.position);
+
+        try {
+            if (this.type() == Type.STRING) return (T) reader.readUTF();
+
+            var bytes = new byte[reader.readInt()];
+            reader.readFully(bytes);
+
+            return (T) bytes;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package io.wispforest.endec.format.forwarding;
 import io.wispforest.endec.*;
 
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 
 public class ForwardingDeserializer<T> implements Deserializer<T> {
@@ -19,6 +20,11 @@ public class ForwardingDeserializer<T> implements Deserializer<T> {
 
     //--
 
+    @Override
+    public Set<FormatCapability> capabilities() {
+        return this.delegate.capabilities();
+    }
+
     @Override
     public byte readByte(SerializationContext ctx) {
         return this.delegate.readByte(ctx);
@@ -59,6 +65,16 @@ public class ForwardingDeserializer<T> implements Deserializer<T> {
         return this.delegate.readVarLong(ctx);
     }
 
+    @Override
+    public int readSignedVarInt(SerializationContext ctx) {
+        return this.delegate.readSignedVarInt(ctx);
+    }
+
+    @Override
+    public long readSignedVarLong(SerializationContext ctx) {
+        return this.delegate.readSignedVarLong(ctx);
+    }
+
     @Override
     public boolean readBoolean(SerializationContext ctx) {
         return this.delegate.readBoolean(ctx);
@@ -79,6 +95,36 @@ public class ForwardingDeserializer<T> implements Deserializer<T> {
         return this.delegate.readOptional(ctx, endec);
     }
 
+    @Override
+    public short[] readShorts(SerializationContext ctx) {
+        return this.delegate.readShorts(ctx);
+    }
+
+    @Override
+    public int[] readInts(SerializationContext ctx) {
+        return this.delegate.readInts(ctx);
+    }
+
+    @Override
+    public long[] readLongs(SerializationContext ctx) {
+        return this.delegate.readLongs(ctx);
+    }
+
+    @Override
+    public float[] readFloats(SerializationContext ctx) {
+        return this.delegate.readFloats(ctx);
+    }
+
+    @Override
+    public double[] readDoubles(SerializationContext ctx) {
+        return this.delegate.readDoubles(ctx);
+    }
+
+    @Override
+    public boolean[] readBooleans(SerializationContext ctx) {
+        return this.delegate.readBooleans(ctx);
+    }
+
     @Override
     public <E> Sequence<E> sequence(SerializationContext ctx, Endec<E> elementEndec) {
         return this.delegate.sequence(ctx, elementEndec);
@@ -99,6 +145,21 @@ public class ForwardingDeserializer<T> implements Deserializer<T> {
         return this.delegate.tryRead(reader);
     }
 
+    @Override
+    public <S> void readAny(SerializationContext ctx, Serializer<S> visitor) {
+        this.delegate.readAny(ctx, visitor);
+    }
+
+    @Override
+    public void skip(SerializationContext ctx) {
+        this.delegate.skip(ctx);
+    }
+
+    @Override
+    public void skipFrame(SerializationContext ctx) {
+        this.delegate.skipFrame(ctx);
+    }
+
     private static class ForwardingSelfDescribedDeserializer<T> extends ForwardingDeserializer<T> implements SelfDescribedDeserializer<T> {
         private ForwardingSelfDescribedDeserializer(Deserializer<T> delegate) {
             super(delegate);
@@ -106,7 +167,7 @@ public class ForwardingDeserializer<T> implements Deserializer<T> {
 
         @Override
         public <S> void readAny(SerializationContext ctx, Serializer<S> visitor) {
-            ((SelfDescribedDeserializer<T>) this.delegate()).readAny(ctx, visitor);
+            this.delegate().readAny(ctx, visitor);
         }
     }
 }
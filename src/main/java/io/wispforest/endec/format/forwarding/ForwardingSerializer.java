@@ -1,11 +1,13 @@
 package io.wispforest.endec.format.forwarding;
 
 import io.wispforest.endec.Endec;
+import io.wispforest.endec.FormatCapability;
 import io.wispforest.endec.SelfDescribedSerializer;
 import io.wispforest.endec.SerializationContext;
 import io.wispforest.endec.Serializer;
 
 import java.util.Optional;
+import java.util.Set;
 
 public class ForwardingSerializer<T> implements Serializer<T> {
 
@@ -21,6 +23,11 @@ public class ForwardingSerializer<T> implements Serializer<T> {
 
     //--
 
+    @Override
+    public Set<FormatCapability> capabilities() {
+        return this.delegate.capabilities();
+    }
+
     @Override
     public void writeByte(SerializationContext ctx, byte value) {
         this.delegate.writeByte(ctx, value);
@@ -61,6 +68,16 @@ public class ForwardingSerializer<T> implements Serializer<T> {
         this.delegate.writeVarLong(ctx, value);
     }
 
+    @Override
+    public void writeSignedVarInt(SerializationContext ctx, int value) {
+        this.delegate.writeSignedVarInt(ctx, value);
+    }
+
+    @Override
+    public void writeSignedVarLong(SerializationContext ctx, long value) {
+        this.delegate.writeSignedVarLong(ctx, value);
+    }
+
     @Override
     public void writeBoolean(SerializationContext ctx, boolean value) {
         this.delegate.writeBoolean(ctx, value);
@@ -81,6 +98,36 @@ public class ForwardingSerializer<T> implements Serializer<T> {
         this.delegate.writeOptional(ctx, endec, optional);
     }
 
+    @Override
+    public void writeShorts(SerializationContext ctx, short[] values) {
+        this.delegate.writeShorts(ctx, values);
+    }
+
+    @Override
+    public void writeInts(SerializationContext ctx, int[] values) {
+        this.delegate.writeInts(ctx, values);
+    }
+
+    @Override
+    public void writeLongs(SerializationContext ctx, long[] values) {
+        this.delegate.writeLongs(ctx, values);
+    }
+
+    @Override
+    public void writeFloats(SerializationContext ctx, float[] values) {
+        this.delegate.writeFloats(ctx, values);
+    }
+
+    @Override
+    public void writeDoubles(SerializationContext ctx, double[] values) {
+        this.delegate.writeDoubles(ctx, values);
+    }
+
+    @Override
+    public void writeBooleans(SerializationContext ctx, boolean[] values) {
+        this.delegate.writeBooleans(ctx, values);
+    }
+
     @Override
     public <E> Sequence<E> sequence(SerializationContext ctx, Endec<E> elementEndec, int size) {
         return this.delegate.sequence(ctx, elementEndec, size);
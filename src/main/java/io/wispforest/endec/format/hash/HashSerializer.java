@@ -4,14 +4,24 @@ import com.google.common.hash.HashCode;
 import com.google.common.hash.HashFunction;
 import com.google.common.hash.Hasher;
 import com.google.common.hash.Hashing;
+import io.wispforest.endec.BooleanEndec;
+import io.wispforest.endec.DoubleEndec;
 import io.wispforest.endec.Endec;
+import io.wispforest.endec.FieldKey;
+import io.wispforest.endec.FloatEndec;
+import io.wispforest.endec.IntEndec;
+import io.wispforest.endec.LongEndec;
 import io.wispforest.endec.SerializationContext;
 import io.wispforest.endec.Serializer;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 
 public class HashSerializer implements Serializer<HashCode> {
 
+    // The little-endian UTF-16 units of a key, which hash identically to passing it through putUnencodedChars
+    private static final FieldKey.Encoding<byte[]> UNENCODED_CHARS = FieldKey.encoding(key -> key.name().getBytes(StandardCharsets.UTF_16LE));
+
     private final HashFunction function;
     private final Hasher hasher;
 
@@ -72,6 +82,16 @@ public class HashSerializer implements Serializer<HashCode> {
         writeLong(ctx, value);
     }
 
+    @Override
+    public void writeSignedVarInt(SerializationContext ctx, int value) {
+        this.writeVarInt(ctx, value);
+    }
+
+    @Override
+    public void writeSignedVarLong(SerializationContext ctx, long value) {
+        this.writeVarLong(ctx, value);
+    }
+
     @Override
     public void writeBoolean(SerializationContext ctx, boolean value) {
         hasher.putBoolean(value);
@@ -136,6 +156,60 @@ public class HashSerializer implements Serializer<HashCode> {
                 return this;
             }
 
+            @Override
+            public <F> Struct field(FieldKey key, SerializationContext ctx, Endec<F> endec, F value, boolean mayOmit) {
+                hasher.putBytes(key.encoded(UNENCODED_CHARS));
+
+                endec.encode(ctx, HashSerializer.this, value);
+
+                return this;
+            }
+
+            @Override
+            public Struct intField(FieldKey key, SerializationContext ctx, IntEndec endec, int value) {
+                hasher.putBytes(key.encoded(UNENCODED_CHARS));
+
+                endec.encodeInt(ctx, HashSerializer.this, value);
+
+                return this;
+            }
+
+            @Override
+            public Struct longField(FieldKey key, SerializationContext ctx, LongEndec endec, long value) {
+                hasher.putBytes(key.encoded(UNENCODED_CHARS));
+
+                endec.encodeLong(ctx, HashSerializer.this, value);
+
+                return this;
+            }
+
+            @Override
+            public Struct floatField(FieldKey key, SerializationContext ctx, FloatEndec endec, float value) {
+                hasher.putBytes(key.encoded(UNENCODED_CHARS));
+
+                endec.encodeFloat(ctx, HashSerializer.this, value);
+
+                return this;
+            }
+
+            @Override
+            public Struct doubleField(FieldKey key, SerializationContext ctx, DoubleEndec endec, double value) {
+                hasher.putBytes(key.encoded(UNENCODED_CHARS));
+
+                endec.encodeDouble(ctx, HashSerializer.this, value);
+
+                return this;
+            }
+
+            @Override
+            public Struct booleanField(FieldKey key, SerializationContext ctx, BooleanEndec endec, boolean value) {
+                hasher.putBytes(key.encoded(UNENCODED_CHARS));
+
+                endec.encodeBoolean(ctx, HashSerializer.this, value);
+
+                return this;
+            }
+
             @Override public void end() {}
         };
     }
@@ -4,10 +4,12 @@ import io.wispforest.endec.*;
 import io.wispforest.endec.util.RecursiveDeserializer;
 import org.jetbrains.annotations.Nullable;
 
+import java.lang.invoke.MethodType;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
@@ -24,6 +26,8 @@ import java.util.function.Supplier;
 ///
 public class JavaDeserializer extends RecursiveDeserializer<Object> implements SelfDescribedDeserializer<Object> {
 
+    private static final Set<FormatCapability> CAPABILITIES = FormatCapability.setOf(FormatCapability.SELF_DESCRIBED, FormatCapability.SKIP, FormatCapability.RANDOM_ACCESS, FormatCapability.TRY_READ);
+
     protected JavaDeserializer(Object serialized) {
         super(serialized);
     }
@@ -72,6 +76,16 @@ public class JavaDeserializer extends RecursiveDeserializer<Object> implements S
         return readLong(ctx);
     }
 
+    @Override
+    public int readSignedVarInt(SerializationContext ctx) {
+        return this.readVarInt(ctx);
+    }
+
+    @Override
+    public long readSignedVarLong(SerializationContext ctx) {
+        return this.readVarLong(ctx);
+    }
+
     @Override
     public boolean readBoolean(SerializationContext ctx) {
         return this.getAndCast(ctx, boolean.class);
@@ -107,6 +121,11 @@ public class JavaDeserializer extends RecursiveDeserializer<Object> implements S
         return new Struct(this.getAndCast(ctx, "Map<String, ?>", object -> object instanceof java.util.Map<?,?>, object -> (java.util.Map<String, Object>) object));
     }
 
+    @Override
+    public Set<FormatCapability> capabilities() {
+        return CAPABILITIES;
+    }
+
     // ---
 
     @Override
@@ -151,8 +170,12 @@ public class JavaDeserializer extends RecursiveDeserializer<Object> implements S
         }
     }
 
+    @SuppressWarnings("unchecked")
     private <T> T getAndCast(SerializationContext ctx, Class<T> clazz) {
-        return getAndCast(ctx, clazz.getSimpleName(), object -> clazz.isAssignableFrom(object.getClass()), clazz::cast);
+        // primitives are stored boxed, so the check and cast have to happen against the wrapper type
+        var boxedClazz = (Class<T>) MethodType.methodType(clazz).wrap().returnType();
+
+        return getAndCast(ctx, clazz.getSimpleName(), object -> boxedClazz.isAssignableFrom(object.getClass()), boxedClazz::cast);
     }
 
     private <T> T getAndCast(SerializationContext ctx, String clazzName, Predicate<Object> isCompatible, Function<Object, T> cast) {
@@ -260,6 +283,15 @@ public class JavaDeserializer extends RecursiveDeserializer<Object> implements S
 
         @Override
         public <F> @Nullable F field(String name, SerializationContext ctx, Endec<F> endec, @Nullable Supplier<F> defaultValueFactory) {
+            return this.decodeField(name, ctx.pushField(name), endec, defaultValueFactory);
+        }
+
+        @Override
+        public <F> @Nullable F field(FieldKey key, SerializationContext ctx, Endec<F> endec, @Nullable Supplier<F> defaultValueFactory) {
+            return this.decodeField(key.name(), ctx.pushField(key), endec, defaultValueFactory);
+        }
+
+        private <F> @Nullable F decodeField(String name, SerializationContext fieldCtx, Endec<F> endec, @Nullable Supplier<F> defaultValueFactory) {
             var element = this.map.get(name);
             if (element == null) {
                 if(defaultValueFactory == null) {
@@ -270,7 +302,7 @@ public class JavaDeserializer extends RecursiveDeserializer<Object> implements S
             }
             return JavaDeserializer.this.frame(
                     () -> element,
-                    () -> endec.decode(ctx.pushField(name), JavaDeserializer.this)
+                    () -> endec.decode(fieldCtx, JavaDeserializer.this)
             );
         }
     }
@@ -1,6 +1,8 @@
 package io.wispforest.endec.format.java;
 
 import io.wispforest.endec.Endec;
+import io.wispforest.endec.FieldKey;
+import io.wispforest.endec.FormatCapability;
 import io.wispforest.endec.SelfDescribedSerializer;
 import io.wispforest.endec.SerializationContext;
 import io.wispforest.endec.Serializer;
@@ -23,6 +25,8 @@ import java.util.*;
 ///
 public class JavaSerializer extends RecursiveSerializer<Object> implements SelfDescribedSerializer<Object> {
 
+    private static final Set<FormatCapability> CAPABILITIES = FormatCapability.setOf(FormatCapability.SELF_DESCRIBED);
+
     private final java.util.Map<Object, java.util.Map<String, String>> commentLookupMap = new HashMap<>();
 
     protected JavaSerializer() {
@@ -39,6 +43,11 @@ public class JavaSerializer extends RecursiveSerializer<Object> implements SelfD
                 : Collections.unmodifiableMap(commentLookupMap.get(object));
     }
 
+    @Override
+    public Set<FormatCapability> capabilities() {
+        return CAPABILITIES;
+    }
+
     // ---
 
     @Override
@@ -85,6 +94,16 @@ public class JavaSerializer extends RecursiveSerializer<Object> implements SelfD
         this.consume(value);
     }
 
+    @Override
+    public void writeSignedVarInt(SerializationContext ctx, int value) {
+        this.writeVarInt(ctx, value);
+    }
+
+    @Override
+    public void writeSignedVarLong(SerializationContext ctx, long value) {
+        this.writeVarLong(ctx, value);
+    }
+
     // ---
 
     @Override
@@ -197,8 +216,17 @@ public class JavaSerializer extends RecursiveSerializer<Object> implements SelfD
 
         @Override
         public <F> Serializer.Struct field(String name, SerializationContext ctx, Endec<F> endec, F value, boolean mayOmit) {
+            return this.encodeField(name, ctx, ctx.pushField(name), endec, value, mayOmit);
+        }
+
+        @Override
+        public <F> Serializer.Struct field(FieldKey key, SerializationContext ctx, Endec<F> endec, F value, boolean mayOmit) {
+            return this.encodeField(key.name(), ctx, ctx.pushField(key), endec, value, mayOmit);
+        }
+
+        private <F> Serializer.Struct encodeField(String name, SerializationContext ctx, SerializationContext fieldCtx, Endec<F> endec, F value, boolean mayOmit) {
             JavaSerializer.this.frame(encoded -> {
-                endec.encode(ctx.pushField(name), JavaSerializer.this, value);
+                endec.encode(fieldCtx, JavaSerializer.this, value);
 
                 var element = encoded.require("struct field");
 
@@ -27,15 +27,19 @@ public class AttributeEndecBuilder<T> {
         return this;
     }
 
+    @SuppressWarnings("unchecked")
     public Endec<T> orElse(Endec<T> endec) {
+        var attributes = this.branches.keySet().toArray(SerializationAttribute[]::new);
+        var branchEndecs = (Endec<T>[]) this.branches.values().toArray(Endec[]::new);
+
         return new Endec<>() {
             @Override
             public void encode(SerializationContext ctx, Serializer<?> serializer, T value) {
                 var branchEndec = endec;
 
-                for (var branch : AttributeEndecBuilder.this.branches.entrySet()) {
-                    if (ctx.hasAttribute(branch.getKey())) {
-                        branchEndec = branch.getValue();
+                for (int i = 0; i < attributes.length; i++) {
+                    if (ctx.hasAttribute(attributes[i])) {
+                        branchEndec = branchEndecs[i];
                         break;
                     }
                 }
@@ -47,9 +51,9 @@ public class AttributeEndecBuilder<T> {
             public T decode(SerializationContext ctx, Deserializer<?> deserializer) {
                 var branchEndec = endec;
 
-                for (var branch : AttributeEndecBuilder.this.branches.entrySet()) {
-                    if (ctx.hasAttribute(branch.getKey())) {
-                        branchEndec = branch.getValue();
+                for (int i = 0; i < attributes.length; i++) {
+                    if (ctx.hasAttribute(attributes[i])) {
+                        branchEndec = branchEndecs[i];
                         break;
                     }
                 }
@@ -27,15 +27,19 @@ public class AttributeStructEndecBuilder<T> {
         return this;
     }
 
+    @SuppressWarnings("unchecked")
     public StructEndec<T> orElse(StructEndec<T> endec) {
+        var attributes = this.branches.keySet().toArray(SerializationAttribute[]::new);
+        var branchEndecs = (StructEndec<T>[]) this.branches.values().toArray(StructEndec[]::new);
+
         return new StructEndec<T>() {
             @Override
             public void encodeStruct(SerializationContext ctx, Serializer<?> serializer, Serializer.Struct struct, T value) {
                 var branchEndec = endec;
 
-                for (var branch : AttributeStructEndecBuilder.this.branches.entrySet()) {
-                    if (ctx.hasAttribute(branch.getKey())) {
-                        branchEndec = branch.getValue();
+                for (int i = 0; i < attributes.length; i++) {
+                    if (ctx.hasAttribute(attributes[i])) {
+                        branchEndec = branchEndecs[i];
                         break;
                     }
                 }
@@ -47,9 +51,9 @@ public class AttributeStructEndecBuilder<T> {
             public T decodeStruct(SerializationContext ctx, Deserializer<?> deserializer, Deserializer.Struct struct) {
                 var branchEndec = endec;
 
-                for (var branch : AttributeStructEndecBuilder.this.branches.entrySet()) {
-                    if (ctx.hasAttribute(branch.getKey())) {
-                        branchEndec = branch.getValue();
+                for (int i = 0; i < attributes.length; i++) {
+                    if (ctx.hasAttribute(attributes[i])) {
+                        branchEndec = branchEndecs[i];
                         break;
                     }
                 }
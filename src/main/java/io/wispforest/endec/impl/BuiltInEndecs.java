@@ -1,6 +1,11 @@
 package io.wispforest.endec.impl;
 
+import io.wispforest.endec.BooleanEndec;
+import io.wispforest.endec.DoubleEndec;
 import io.wispforest.endec.Endec;
+import io.wispforest.endec.FloatEndec;
+import io.wispforest.endec.IntEndec;
+import io.wispforest.endec.LongEndec;
 import io.wispforest.endec.SerializationAttributes;
 
 import java.time.Instant;
@@ -13,10 +18,27 @@ public final class BuiltInEndecs{
 
     private BuiltInEndecs() {}
 
+    // --- Primitives ---
+
+    // The endecs behind the primitive constants of Endec, typed such that their unboxed methods are visible
+    public static final BooleanEndec BOOLEAN = (BooleanEndec) Endec.BOOLEAN;
+    public static final IntEndec INT = (IntEndec) Endec.INT;
+    public static final IntEndec VAR_INT = (IntEndec) Endec.VAR_INT;
+    public static final IntEndec SIGNED_VAR_INT = (IntEndec) Endec.SIGNED_VAR_INT;
+    public static final LongEndec LONG = (LongEndec) Endec.LONG;
+    public static final LongEndec VAR_LONG = (LongEndec) Endec.VAR_LONG;
+    public static final LongEndec SIGNED_VAR_LONG = (LongEndec) Endec.SIGNED_VAR_LONG;
+    public static final FloatEndec FLOAT = (FloatEndec) Endec.FLOAT;
+    public static final DoubleEndec DOUBLE = (DoubleEndec) Endec.DOUBLE;
+
     // --- Java Types ---
 
-    public static final Endec<int[]> INT_ARRAY = Endec.INT.listOf().xmap((list) -> list.stream().mapToInt(v -> v).toArray(), (ints) -> Arrays.stream(ints).boxed().toList());
-    public static final Endec<long[]> LONG_ARRAY = Endec.LONG.listOf().xmap((list) -> list.stream().mapToLong(v -> v).toArray(), (longs) -> Arrays.stream(longs).boxed().toList());
+    public static final Endec<short[]> SHORT_ARRAY = Endec.of((ctx, serializer, values) -> serializer.writeShorts(ctx, values), (ctx, deserializer) -> deserializer.readShorts(ctx));
+    public static final Endec<int[]> INT_ARRAY = Endec.of((ctx, serializer, values) -> serializer.writeInts(ctx, values), (ctx, deserializer) -> deserializer.readInts(ctx));
+    public static final Endec<long[]> LONG_ARRAY = Endec.of((ctx, serializer, values) -> serializer.writeLongs(ctx, values), (ctx, deserializer) -> deserializer.readLongs(ctx));
+    public static final Endec<float[]> FLOAT_ARRAY = Endec.of((ctx, serializer, values) -> serializer.writeFloats(ctx, values), (ctx, deserializer) -> deserializer.readFloats(ctx));
+    public static final Endec<double[]> DOUBLE_ARRAY = Endec.of((ctx, serializer, values) -> serializer.writeDoubles(ctx, values), (ctx, deserializer) -> deserializer.readDoubles(ctx));
+    public static final Endec<boolean[]> BOOLEAN_ARRAY = Endec.of((ctx, serializer, values) -> serializer.writeBooleans(ctx, values), (ctx, deserializer) -> deserializer.readBooleans(ctx));
 
     public static final Endec<BitSet> BITSET = LONG_ARRAY.xmap(BitSet::valueOf, BitSet::toLongArray);
 
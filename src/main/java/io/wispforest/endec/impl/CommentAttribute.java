@@ -27,7 +27,7 @@ public record CommentAttribute(String comment) implements SerializationAttribute
     @Nullable
     public static String getComment(SerializationContext ctx) {
         if (ctx.hasAttribute(CommentAttribute.ATTRIBUTE) && !ctx.hasAttribute(SerializationAttributes.DISABLE_COMMENTS)) {
-            return ctx.requireAttributeValue(CommentAttribute.ATTRIBUTE).comment();
+            return ctx.getAttributeValue(CommentAttribute.ATTRIBUTE).comment();
         }
 
         return null;
@@ -0,0 +1,71 @@
+package io.wispforest.endec.impl;
+
+import io.wispforest.endec.Deserializer;
+import io.wispforest.endec.SerializationContext;
+import io.wispforest.endec.Serializer;
+import io.wispforest.endec.StructEndec;
+
+import java.lang.constant.ConstantDescs;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+
+///
+/// Template of the per-type struct endecs created by [StructEndecCompiler]. This class itself is never
+/// initialized, instead its bytes are defined as a new hidden class for every compiled type with the
+/// encoder and decoder handles of that type passed as class data.
+///
+/// As these handles are held in `static final` fields, the JIT treats them as constants and inlines the entire
+/// field sequence into [#encodeStruct] and [#decodeStruct] - with every type getting its own copy of both
+///
+final class CompiledStructEndec implements StructEndec<Object> {
+
+    private static final MethodHandle ENCODER;
+    private static final MethodHandle DECODER;
+    private static final String NAME;
+    private static final StructSchema SCHEMA;
+
+    static {
+        try {
+            var lookup = MethodHandles.lookup();
+
+            ENCODER = MethodHandles.classDataAt(lookup, ConstantDescs.DEFAULT_NAME, MethodHandle.class, 0);
+            DECODER = MethodHandles.classDataAt(lookup, ConstantDescs.DEFAULT_NAME, MethodHandle.class, 1);
+            NAME = MethodHandles.classDataAt(lookup, ConstantDescs.DEFAULT_NAME, String.class, 2);
+            SCHEMA = MethodHandles.classDataAt(lookup, ConstantDescs.DEFAULT_NAME, StructSchema.class, 3);
+        } catch (IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @Override
+    public void encodeStruct(SerializationContext ctx, Serializer<?> serializer, Serializer.Struct struct, Object value) {
+        try {
+            ENCODER.invokeExact(ctx, serializer, struct, value);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Exception thrown while encoding " + NAME, e);
+        }
+    }
+
+    @Override
+    public Object decodeStruct(SerializationContext ctx, Deserializer<?> deserializer, Deserializer.Struct struct) {
+        try {
+            return (Object) DECODER.invokeExact(ctx, deserializer, struct);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Exception thrown while decoding " + NAME, e);
+        }
+    }
+
+    @Override
+    public StructSchema schema() {
+        return SCHEMA;
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledStructEndec[" + NAME + "]";
+    }
+}
@@ -0,0 +1,137 @@
+package io.wispforest.endec.impl;
+
+import io.wispforest.endec.*;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+///
+/// Registry of the known variants of some polymorphic type [T], for use with [Endec#dispatched(DispatchTable)]
+/// and [Endec#dispatchedStruct(DispatchTable, String)].
+///
+/// Every variant is identified by a dense integer id, assigned in registration order, and a name. When encoding, the
+/// variant of a value is resolved through a [ClassValue] which caches it per concrete class, such that after the first
+/// value of a class no hashing is involved anymore. When decoding, the id indexes straight into an array - only
+/// human-readable formats, which identify variants by name, go through a map lookup
+///
+public final class DispatchTable<T> {
+
+    private final Variant<T>[] variants;
+    private final Map<String, Variant<T>> variantsByName;
+    private final Endec<Variant<T>> variantEndec;
+
+    private final ClassValue<@Nullable Variant<T>> variantsByClass = new ClassValue<>() {
+        @Override
+        protected @Nullable Variant<T> computeValue(Class<?> type) {
+            @Nullable Variant<T> match = null;
+
+            // Prefer the exact class, otherwise go with the most specific registered supertype
+            for (var variant : DispatchTable.this.variants) {
+                if (variant.clazz == type) return variant;
+
+                if (variant.clazz.isAssignableFrom(type) && (match == null || match.clazz.isAssignableFrom(variant.clazz))) {
+                    match = variant;
+                }
+            }
+
+            return match;
+        }
+    };
+
+    private DispatchTable(List<Variant<T>> variants, IntEndec idEndec) {
+        //noinspection unchecked
+        this.variants = variants.toArray(Variant[]::new);
+        this.variantEndec = Endec.of(
+                (ctx, serializer, variant) -> {
+                    if (ctx.hasAttribute(SerializationAttributes.HUMAN_READABLE)) {
+                        serializer.writeString(ctx, variant.name);
+                    } else {
+                        idEndec.encodeInt(ctx, serializer, variant.id);
+                    }
+                },
+                (ctx, deserializer) -> ctx.hasAttribute(SerializationAttributes.HUMAN_READABLE)
+                        ? this.variant(deserializer.readString(ctx))
+                        : this.variant(idEndec.decodeInt(ctx, deserializer))
+        );
+
+        var variantsByName = new HashMap<String, Variant<T>>();
+        for (var variant : variants) variantsByName.put(variant.name, variant);
+
+        this.variantsByName = variantsByName;
+    }
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    ///
+    /// @return the variant `instance` belongs to
+    /// @throws IllegalStateException if no variant is registered for the class of `instance` or any of its supertypes
+    ///
+    public Variant<T> variantOf(T instance) {
+        var variant = this.variantsByClass.get(instance.getClass());
+        if (variant == null) throw new IllegalStateException("No variant registered for " + instance.getClass().getName());
+
+        return variant;
+    }
+
+    public Variant<T> variant(int id) {
+        if (id < 0 || id >= this.variants.length) throw new IllegalStateException("Unknown variant id: " + id);
+        return this.variants[id];
+    }
+
+    public Variant<T> variant(String name) {
+        var variant = this.variantsByName.get(name);
+        if (variant == null) throw new IllegalStateException("Unknown variant name: " + name);
+
+        return variant;
+    }
+
+    public List<Variant<T>> variants() {
+        return List.of(this.variants);
+    }
+
+    ///
+    /// Endec of the variant identifiers of this table, which writes the name of a variant
+    /// in human-readable formats and its id using the configured id endec otherwise
+    ///
+    public Endec<Variant<T>> variantEndec() {
+        return this.variantEndec;
+    }
+
+    public record Variant<T>(int id, String name, Class<? extends T> clazz, Endec<T> endec) {}
+
+    public static final class Builder<T> {
+
+        private final List<Variant<T>> variants = new ArrayList<>();
+        private IntEndec idEndec = BuiltInEndecs.VAR_INT;
+
+        private Builder() {}
+
+        ///
+        /// Register `clazz` as the next variant, identified by `name` in human-readable formats
+        ///
+        @SuppressWarnings("unchecked")
+        public <V extends T> Builder<T> register(Class<V> clazz, String name, Endec<V> endec) {
+            for (var variant : this.variants) {
+                if (variant.clazz == clazz) throw new IllegalStateException("Class '" + clazz.getName() + "' is already registered as a variant");
+                if (variant.name.equals(name)) throw new IllegalStateException("Variant name '" + name + "' is already in use by class '" + variant.clazz.getName() + "'");
+            }
+
+            this.variants.add(new Variant<>(this.variants.size(), name, clazz, (Endec<T>) endec));
+            return this;
+        }
+
+        ///
+        /// Set the endec used for writing variant ids in formats which are not human-readable, [Endec#VAR_INT] by default
+        ///
+        public Builder<T> idEndec(IntEndec idEndec) {
+            this.idEndec = idEndec;
+            return this;
+        }
+
+        public DispatchTable<T> build() {
+            return new DispatchTable<>(List.copyOf(this.variants), this.idEndec);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package io.wispforest.endec.impl;
+
+import io.wispforest.endec.*;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+///
+/// A view of an encoded struct which decodes its fields only once they are requested, keeping the
+/// [Deserializer] - and thus the backing [io.wispforest.endec.format.edm.EdmElement] map, `JsonObject`
+/// or buffer - around in the meantime. Decoded fields are cached, such that [#get(String)] decodes any
+/// field at most once and [#value()] only decodes those that have not been requested yet.
+///
+/// Formats with [FormatCapability#RANDOM_ACCESS] decode exactly the requested field, other formats decode
+/// every field up to and including it as they can only be read in order - which is still cheap for fields at
+/// the start of the struct, like the type or target of a message which is otherwise passed on as-is.
+///
+/// Requires the [StructSchema] of the endec (see [StructEndec#schema()]). Instances are not thread-safe
+///
+public final class LazyStruct<T> {
+
+    private static final Object NULL = new Object();
+
+    private final StructEndec<T> endec;
+    private final StructSchema schema;
+    private final SerializationContext ctx;
+    private final Deserializer<?> deserializer;
+    private final CachingStruct struct;
+    private final boolean randomAccess;
+
+    // The amount of fields, in schema order, which have been read from formats without random access
+    private int decodedFields = 0;
+    private @Nullable T value = null;
+
+    private LazyStruct(StructEndec<T> endec, StructSchema schema, SerializationContext ctx, Deserializer<?> deserializer) {
+        this.endec = endec;
+        this.schema = schema;
+        this.ctx = ctx;
+        this.deserializer = deserializer;
+        this.struct = new CachingStruct(deserializer.struct(ctx));
+        this.randomAccess = deserializer.hasCapability(FormatCapability.RANDOM_ACCESS);
+    }
+
+    ///
+    /// Begin decoding a struct from `deserializer`, which must be positioned at it and not used
+    /// for anything else until the lazy struct is done with it
+    ///
+    /// @throws IllegalStateException if `endec` does not provide its [StructSchema]
+    ///
+    public static <T> LazyStruct<T> of(StructEndec<T> endec, SerializationContext ctx, Deserializer<?> deserializer) {
+        var schema = endec.schema();
+        if (schema == null) throw new IllegalStateException("Unable to lazily decode a struct using an endec without schema: " + endec);
+
+        return new LazyStruct<>(endec, schema, ctx, deserializer);
+    }
+
+    public StructSchema schema() {
+        return this.schema;
+    }
+
+    ///
+    /// Decode the value of field `name`, or return it if it has been decoded before
+    ///
+    /// @throws IllegalStateException if the schema has no such field
+    ///
+    @SuppressWarnings("unchecked")
+    public <F> F get(String name) {
+        var cached = this.struct.cache.get(name);
+        if (cached != null) return cached == NULL ? null : (F) cached;
+
+        var index = this.schema.indexOf(name);
+        if (index == -1) throw new IllegalStateException("Field '" + name + "' is not part of " + this.schema);
+
+        if (this.randomAccess) {
+            this.schema.fields().get(index).structField().decodeField(this.ctx, this.deserializer, this.struct);
+        } else {
+            for (; this.decodedFields <= index; this.decodedFields++) {
+                this.schema.fields().get(this.decodedFields).structField().decodeField(this.ctx, this.deserializer, this.struct);
+            }
+        }
+
+        cached = this.struct.cache.get(name);
+        return cached == NULL ? null : (F) cached;
+    }
+
+    public boolean isDecoded(String name) {
+        return this.struct.cache.containsKey(name);
+    }
+
+    ///
+    /// Decode the entire struct, reusing all fields decoded so far
+    ///
+    public T value() {
+        if (this.value == null) {
+            this.value = this.endec.decodeStruct(this.ctx, this.deserializer, this.struct);
+            this.struct.end();
+        }
+
+        return this.value;
+    }
+
+    @Override
+    public String toString() {
+        return "LazyStruct[Decoded: " + this.struct.cache.keySet() + ", Schema: " + this.schema + "]";
+    }
+
+    ///
+    /// [Deserializer.Struct] which remembers the value of every field read through it and serves
+    /// subsequent reads of the same field from memory rather than the underlying struct
+    ///
+    private static final class CachingStruct implements Deserializer.Struct {
+
+        private final Deserializer.Struct delegate;
+        private final Map<String, Object> cache = new HashMap<>();
+
+        private CachingStruct(Deserializer.Struct delegate) {
+            this.delegate = delegate;
+        }
+
+        @SuppressWarnings("unchecked")
+        private <F> F cached(String name, Supplier<F> reader) {
+            var cached = this.cache.get(name);
+            if (cached != null) return cached == NULL ? null : (F) cached;
+
+            var value = reader.get();
+            this.cache.put(name, value == null ? NULL : value);
+
+            return value;
+        }
+
+        @Override
+        public <F> @Nullable F field(String name, SerializationContext ctx, Endec<F> endec, @Nullable Supplier<F> defaultValueFactory) {
+            return this.cached(name, () -> this.delegate.field(name, ctx, endec, defaultValueFactory));
+        }
+
+        @Override
+        public <F> @Nullable F field(FieldKey key, SerializationContext ctx, Endec<F> endec, @Nullable Supplier<F> defaultValueFactory) {
+            return this.cached(key.name(), () -> this.delegate.field(key, ctx, endec, defaultValueFactory));
+        }
+
+        @Override
+        public int intField(String name, SerializationContext ctx, IntEndec endec) {
+            return this.cached(name, () -> this.delegate.intField(name, ctx, endec));
+        }
+
+        @Override
+        public long longField(String name, SerializationContext ctx, LongEndec endec) {
+            return this.cached(name, () -> this.delegate.longField(name, ctx, endec));
+        }
+
+        @Override
+        public float floatField(String name, SerializationContext ctx, FloatEndec endec) {
+            return this.cached(name, () -> this.delegate.floatField(name, ctx, endec));
+        }
+
+        @Override
+        public double doubleField(String name, SerializationContext ctx, DoubleEndec endec) {
+            return this.cached(name, () -> this.delegate.doubleField(name, ctx, endec));
+        }
+
+        @Override
+        public boolean booleanField(String name, SerializationContext ctx, BooleanEndec endec) {
+            return this.cached(name, () -> this.delegate.booleanField(name, ctx, endec));
+        }
+
+        @Override
+        public int intField(FieldKey key, SerializationContext ctx, IntEndec endec) {
+            return this.cached(key.name(), () -> this.delegate.intField(key, ctx, endec));
+        }
+
+        @Override
+        public long longField(FieldKey key, SerializationContext ctx, LongEndec endec) {
+            return this.cached(key.name(), () -> this.delegate.longField(key, ctx, endec));
+        }
+
+        @Override
+        public float floatField(FieldKey key, SerializationContext ctx, FloatEndec endec) {
+            return this.cached(key.name(), () -> this.delegate.floatField(key, ctx, endec));
+        }
+
+        @Override
+        public double doubleField(FieldKey key, SerializationContext ctx, DoubleEndec endec) {
+            return this.cached(key.name(), () -> this.delegate.doubleField(key, ctx, endec));
+        }
+
+        @Override
+        public boolean booleanField(FieldKey key, SerializationContext ctx, BooleanEndec endec) {
+            return this.cached(key.name(), () -> this.delegate.booleanField(key, ctx, endec));
+        }
+
+        @Override
+        public void end() {
+            this.delegate.end();
+        }
+    }
+}
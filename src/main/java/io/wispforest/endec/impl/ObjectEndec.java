@@ -1,10 +1,12 @@
 package io.wispforest.endec.impl;
 
 import io.wispforest.endec.*;
+import io.wispforest.endec.util.reflection.Accessors;
 import io.wispforest.endec.util.reflection.ObjectConstructor;
 import io.wispforest.endec.util.reflection.ReflectionUtils;
 import org.jetbrains.annotations.Nullable;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.*;
 import java.util.*;
 
@@ -12,10 +14,20 @@ public final class ObjectEndec<T> implements StructEndec<T> {
 
     private final ObjectConstructor<T> constructor;
     private final List<StructField.MutableField<T, ?>> fields;
+    private final StructSchema schema;
 
-    private ObjectEndec(Constructor<T> constructor, List<StructField.MutableField<T, ?>> fields) {
-        this.constructor = ObjectConstructor.fromConstructor(constructor);
+    private final Constructor<T> noArgConstructor;
+    private final List<MethodHandle> getters;
+    private final List<MethodHandle> setters;
+
+    private ObjectEndec(ReflectiveEndecBuilder builder, Constructor<T> constructor, List<StructField.MutableField<T, ?>> fields, List<MethodHandle> getters, List<MethodHandle> setters) {
+        this.constructor = builder.objectConstructor(constructor);
         this.fields = fields;
+        this.schema = StructSchema.of(fields);
+
+        this.noArgConstructor = constructor;
+        this.getters = getters;
+        this.setters = setters;
     }
 
     public static <T> StructEndec<T> createShared(Class<T> clazz, Type ...typeArguments){
@@ -58,6 +70,8 @@ public final class ObjectEndec<T> implements StructEndec<T> {
 
         if (objectType == ObjectType.STRUCT) {
             Map<Field, StructField.MutableField<T, ?>> validFields = new LinkedHashMap<>();
+            var getters = new ArrayList<MethodHandle>();
+            var setters = new ArrayList<MethodHandle>();
 
             for (var entry : fields.entrySet()) {
                 Field field = entry.getKey();
@@ -68,13 +82,19 @@ public final class ObjectEndec<T> implements StructEndec<T> {
 
                 var alternativeGenericTypeCheck = builder.getAlternativeGenericTypeCheck(clazz);
 
+                var getter = ReflectionUtils.createGetterHandle(clazz, field, alternativeGenericTypeCheck);
+                var setter = ReflectionUtils.createSetterHandle(clazz, field, alternativeGenericTypeCheck);
+
                 validFields.put(field, new StructField.MutableField<>(
                         field.getName(),
                         (Endec<Object>) builder.getAnnotated(field, entry.getValue()),
-                        ReflectionUtils.createGetter(clazz, field, alternativeGenericTypeCheck),
-                        ReflectionUtils.createSetter(clazz, field, alternativeGenericTypeCheck),
+                        Accessors.getter(getter),
+                        Accessors.setter(setter),
                         builder.getContext(field)
                 ));
+
+                getters.add(getter);
+                setters.add(setter);
             }
 
             Constructor<T> noArgConstructor = null;
@@ -94,23 +114,26 @@ public final class ObjectEndec<T> implements StructEndec<T> {
             }
 
             if (validConstructor != null) {
-                return new RecordishEndec<>(validConstructor, (List<StructField<T, ?>>) (Object) validFields.values().stream().toList());
+                return new RecordishEndec<>(builder, validConstructor, (List<StructField<T, ?>>) (Object) validFields.values().stream().toList(), getters);
             } else if (noArgConstructor != null) {
-                return new ObjectEndec<>(noArgConstructor, validFields.values().stream().toList());
+                return new ObjectEndec<>(builder, noArgConstructor, validFields.values().stream().toList(), getters, setters);
             }
         } else {
             var structFields = new ArrayList<StructField<T, ?>>();
+            var getters = new ArrayList<MethodHandle>();
 
             for (var entry : fields.entrySet()) {
                 Field field = entry.getKey();
+                var getter = ReflectionUtils.createGetterHandle(clazz, field, builder.getAlternativeGenericTypeCheck(clazz));
 
-                structFields.add(new StructField<>(
+                structFields.add(StructField.ofGetterHandle(
                         field.getName(),
-                        (Endec<Object>) builder.getAnnotated(field, entry.getValue()),
-                        ReflectionUtils.createGetter(clazz, field, builder.getAlternativeGenericTypeCheck(clazz)),
-                        null,
+                        builder.getAnnotated(field, entry.getValue()),
+                        getter,
                         builder.getContext(field)
                 ));
+
+                getters.add(getter);
             }
 
             var validConstructor = (Constructor<T>) Arrays.stream(clazz.getConstructors())
@@ -128,13 +151,18 @@ public final class ObjectEndec<T> implements StructEndec<T> {
                     .orElse(null);
 
             if (validConstructor != null) {
-                return new RecordishEndec<>(validConstructor, structFields);
+                return new RecordishEndec<>(builder, validConstructor, structFields, getters);
             }
         }
 
         throw new IllegalStateException("Unable to contruct a endec for the given class object due to the inability to find the needed Constructor: " + clazz);
     }
 
+    @Override
+    public StructSchema schema() {
+        return this.schema;
+    }
+
     @Override
     public void encodeStruct(SerializationContext ctx, Serializer<?> serializer, Serializer.Struct struct, T value) {
         for (StructField.MutableField<T, ?> field : fields) {
@@ -153,6 +181,18 @@ public final class ObjectEndec<T> implements StructEndec<T> {
         return t;
     }
 
+    ///
+    /// Compile this endec into a dedicated class for its type as described by [CompiledStructEndec]
+    ///
+    StructEndec<T> compile() {
+        try {
+            var constructorHandle = Accessors.lookupFor(this.noArgConstructor.getDeclaringClass()).unreflectConstructor(this.noArgConstructor);
+            return StructEndecCompiler.compileMutable(this.noArgConstructor.getDeclaringClass(), this.schema, this.fields, this.getters, this.setters, constructorHandle);
+        } catch (IllegalAccessException e) {
+            return this;
+        }
+    }
+
     private enum ObjectType {
         STRUCT,
         RECORD
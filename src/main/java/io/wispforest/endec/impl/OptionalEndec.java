@@ -21,6 +21,21 @@ public record OptionalEndec<T>(Endec<Optional<T>> endec, Supplier<T> defaultValu
         return isDefaultValue != null && isDefaultValue.test(value) ? Optional.empty() : Optional.ofNullable(value);
     }
 
+    ///
+    /// @return whether `value` is encoded as a present optional rather than being replaced by the default value
+    ///
+    public boolean isPresent(T value) {
+        return value != null && (isDefaultValue == null || !isDefaultValue.test(value));
+    }
+
+    ///
+    /// @return the endec of the values wrapped in the optional, if known. Formats can use this
+    /// to encode present values on their own after having recorded their presence elsewhere
+    ///
+    public @Nullable Endec<T> valueEndec() {
+        return this.endec instanceof Wrapping<T> wrapping ? wrapping.endec() : null;
+    }
+
     @Override
     public void encode(SerializationContext ctx, Serializer<?> serializer, T value) {
         endec.encode(ctx, serializer, getOptional(value));
@@ -35,4 +50,20 @@ public record OptionalEndec<T>(Endec<Optional<T>> endec, Supplier<T> defaultValu
     public <S> StructField<S, T> fieldOf(String name, Function<S, T> getter) {
         return mayOmitForField ? new StructField<>(name, this, getter, defaultValue) : Endec.super.fieldOf(name, getter);
     }
+
+    ///
+    /// The endec created by [Endec#optionalOf()], which hands optionals of `endec` to [Serializer#writeOptional]
+    /// and [Deserializer#readOptional]
+    ///
+    public record Wrapping<T>(Endec<T> endec) implements Endec<Optional<T>> {
+        @Override
+        public void encode(SerializationContext ctx, Serializer<?> serializer, Optional<T> value) {
+            serializer.writeOptional(ctx, this.endec, value);
+        }
+
+        @Override
+        public Optional<T> decode(SerializationContext ctx, Deserializer<?> deserializer) {
+            return deserializer.readOptional(ctx, this.endec);
+        }
+    }
 }
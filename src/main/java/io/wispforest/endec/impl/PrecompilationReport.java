@@ -0,0 +1,30 @@
+package io.wispforest.endec.impl;
+
+import java.time.Duration;
+import java.util.Map;
+
+///
+/// Outcome of [ReflectiveEndecBuilder#precompile(java.util.Collection, java.util.concurrent.Executor, int)].
+///
+/// `buildTimes` holds the time it took to resolve the endec of every class for which this succeeded. Note that
+/// endecs shared between several classes are only created once, the time for which is attributed to whichever class
+/// got to them first. `failures` holds the exception encountered while resolving the endec of any other class.
+///
+/// `warmupTimes` holds the time spent on the synthetic round trips of every class which was warmed up successfully,
+/// and `warmupFailures` the exception thrown while warming up any other class. As the synthetic values are not
+/// necessarily valid (think of a field which must not be zero), these do not make precompilation unsuccessful
+///
+public record PrecompilationReport(Map<Class<?>, Duration> buildTimes, Map<Class<?>, Throwable> failures, Map<Class<?>, Duration> warmupTimes, Map<Class<?>, Throwable> warmupFailures, Duration totalTime) {
+
+    ///
+    /// @return whether the endec of every class could be resolved, regardless of warm-up failures
+    ///
+    public boolean successful() {
+        return this.failures.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "PrecompilationReport[classes=" + this.buildTimes.size() + ", failures=" + this.failures.size() + ", warmupFailures=" + this.warmupFailures.size() + ", totalTime=" + this.totalTime.toMillis() + "ms]";
+    }
+}
@@ -1,9 +1,8 @@
 package io.wispforest.endec.impl;
 
-import io.wispforest.endec.Endec;
+import io.wispforest.endec.util.reflection.Accessors;
 
 import java.lang.invoke.MethodHandle;
-import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
@@ -13,8 +12,8 @@ public final class RecordEndec<R extends Record> extends RecordishEndec<R> {
 
     private static final Map<Class<?>, RecordEndec<?>> ENDECS = new HashMap<>();
 
-    private RecordEndec(Constructor<R> instanceCreator, List<StructField<R, ?>> fields) {
-        super(instanceCreator, fields);
+    private RecordEndec(ReflectiveEndecBuilder builder, Constructor<R> instanceCreator, List<StructField<R, ?>> fields, List<MethodHandle> getters) {
+        super(builder, instanceCreator, fields, getters);
     }
 
     public static <R extends Record> RecordEndec<R> createShared(Class<R> recordClass){
@@ -37,9 +36,10 @@ public final class RecordEndec<R extends Record> extends RecordishEndec<R> {
         if (endec instanceof RecordEndec<R> recordEndec) return recordEndec;
 
         var fields = new ArrayList<StructField<R, ?>>();
+        var getters = new ArrayList<MethodHandle>();
         var canonicalConstructorArgs = new Class<?>[recordClass.getRecordComponents().length];
 
-        var lookup = MethodHandles.publicLookup();
+        var lookup = Accessors.lookupFor(recordClass);
         for (int i = 0; i < recordClass.getRecordComponents().length; i++) {
             try {
                 var component = recordClass.getRecordComponents()[i];
@@ -48,15 +48,15 @@ public final class RecordEndec<R extends Record> extends RecordishEndec<R> {
                 var type = (component.getGenericType() instanceof TypeVariable<?>) ? extraTypeInfoStack.poll() : null;
 
                 fields.add(
-                        new StructField<>(
+                        StructField.ofGetterHandle(
                                 component.getName(),
-                                (Endec<Object>) builder.getAnnotated(component, type),
-                                instance -> getRecordEntry(instance, handle),
-                                null,
+                                builder.getAnnotated(component, type),
+                                handle,
                                 builder.getContext(component)
                         )
                 );
 
+                getters.add(handle);
                 canonicalConstructorArgs[i] = component.getType();
             } catch (IllegalAccessException e) {
                 throw new IllegalStateException("Failed to create method handle for record component accessor", e);
@@ -64,17 +64,9 @@ public final class RecordEndec<R extends Record> extends RecordishEndec<R> {
         }
 
         try {
-            return new RecordEndec<>(recordClass.getConstructor(canonicalConstructorArgs), fields);
+            return new RecordEndec<>(builder, recordClass.getDeclaredConstructor(canonicalConstructorArgs), fields, getters);
         } catch (NoSuchMethodException e) {
             throw new IllegalStateException("Could not locate canonical record constructor");
         }
     }
-
-    private static <R extends Record> Object getRecordEntry(R instance, MethodHandle accessor) {
-        try {
-            return accessor.invoke(instance);
-        } catch (Throwable e) {
-            throw new IllegalStateException("Unable to get record component value", e);
-        }
-    }
 }
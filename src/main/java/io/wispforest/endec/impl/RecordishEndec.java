@@ -4,8 +4,11 @@ import io.wispforest.endec.Deserializer;
 import io.wispforest.endec.SerializationContext;
 import io.wispforest.endec.Serializer;
 import io.wispforest.endec.StructEndec;
+import io.wispforest.endec.util.reflection.Accessors;
 import io.wispforest.endec.util.reflection.ObjectConstructor;
+import org.jetbrains.annotations.Nullable;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Constructor;
 import java.util.List;
 
@@ -16,10 +19,47 @@ public class RecordishEndec<T> implements StructEndec<T> {
 
     protected final List<StructField<T, ?>> fields;
     protected final ObjectConstructor<T> instanceCreator;
+    protected final StructSchema schema;
 
-    protected RecordishEndec(Constructor<T> constructor, List<StructField<T, ?>> fields) {
-        this.instanceCreator = ObjectConstructor.fromConstructor(constructor);
+    private final Constructor<T> constructor;
+    private final @Nullable List<MethodHandle> getters;
+
+    protected RecordishEndec(ReflectiveEndecBuilder builder, Constructor<T> constructor, List<StructField<T, ?>> fields, @Nullable List<MethodHandle> getters) {
+        this.instanceCreator = builder.objectConstructor(constructor);
         this.fields = fields;
+        this.schema = StructSchema.of(fields);
+
+        this.constructor = constructor;
+        this.getters = getters;
+    }
+
+    protected RecordishEndec(Constructor<T> constructor, List<StructField<T, ?>> fields, @Nullable List<MethodHandle> getters) {
+        this(ReflectiveEndecBuilder.SHARED_INSTANCE, constructor, fields, getters);
+    }
+
+    protected RecordishEndec(Constructor<T> constructor, List<StructField<T, ?>> fields) {
+        this(constructor, fields, null);
+    }
+
+    ///
+    /// Compile this endec into a dedicated class for its type as described by [CompiledStructEndec]
+    ///
+    /// @return the compiled endec, or this endec if the getters of its fields are not known
+    ///
+    StructEndec<T> compile() {
+        if (this.getters == null) return this;
+
+        try {
+            var constructorHandle = Accessors.lookupFor(this.constructor.getDeclaringClass()).unreflectConstructor(this.constructor);
+            return StructEndecCompiler.compile(this.constructor.getDeclaringClass(), this.schema, this.fields, this.getters, constructorHandle);
+        } catch (IllegalAccessException e) {
+            return this;
+        }
+    }
+
+    @Override
+    public StructSchema schema() {
+        return this.schema;
     }
 
     @Override
@@ -0,0 +1,99 @@
+package io.wispforest.endec.impl;
+
+import io.wispforest.endec.Endec;
+import io.wispforest.endec.util.reflection.ReflectionUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+///
+/// Collects the classes a [ReflectiveEndecBuilder] accessed reflectively while creating endecs, see
+/// [ReflectiveEndecBuilder#recordReflectionMetadata()]. From these, configuration for ahead-of-time
+/// environments can be generated:
+///
+/// - [#toReflectConfig()] yields a GraalVM native-image `reflect-config.json` registering the fields, methods,
+///   constructors, record components and permitted subclasses of every such class and its supertypes
+/// - [#toClassList()] yields a class list for creating an AppCDS archive through `-XX:SharedClassListFile`,
+///   containing those classes along with the classes of the endecs created for them
+///
+/// Compiled struct endecs (see [ReflectiveEndecBuilder#compileStructEndecs()]) and compiled constructors are
+/// hidden classes, which neither environment can handle - while recording, the builder thus creates neither
+/// and invokes constructors through their method handles instead, just like within a native image.
+///
+/// For use as a build step, the (experimental) [ReflectionMetadataTool] resolves the endecs of
+/// the classes passed to it using a builder of the application's choosing and writes both files
+///
+public final class ReflectionMetadata {
+
+    public static final String REFLECT_CONFIG_FILE = "reflect-config.json";
+    public static final String CLASS_LIST_FILE = "classlist";
+
+    private final Set<Class<?>> reflectiveClasses = ConcurrentHashMap.newKeySet();
+    private final Set<Class<?>> loadedClasses = ConcurrentHashMap.newKeySet();
+
+    ReflectionMetadata() {}
+
+    void record(Class<?> clazz, Endec<?> endec) {
+        for (var type : ReflectionUtils.unpackClassesAndInterfaces(clazz)) {
+            if (type == Object.class) continue;
+
+            this.reflectiveClasses.add(type);
+            this.loadedClasses.add(type);
+        }
+
+        for (Class<?> endecClass = endec.getClass(); endecClass != Object.class; endecClass = endecClass.getSuperclass()) {
+            if (endecClass.isHidden()) continue;
+            this.loadedClasses.add(endecClass);
+        }
+    }
+
+    public Set<Class<?>> reflectiveClasses() {
+        return Collections.unmodifiableSet(this.reflectiveClasses);
+    }
+
+    public Set<Class<?>> loadedClasses() {
+        return Collections.unmodifiableSet(this.loadedClasses);
+    }
+
+    public String toReflectConfig() {
+        return sorted(this.reflectiveClasses).stream().map(clazz -> {
+            var entry = new StringBuilder("  {\n    \"name\": \"").append(clazz.getName()).append("\",\n")
+                    .append("    \"allDeclaredFields\": true,\n")
+                    .append("    \"allDeclaredMethods\": true,\n")
+                    .append("    \"allPublicMethods\": true,\n")
+                    .append("    \"allDeclaredConstructors\": true");
+
+            if (clazz.isRecord()) entry.append(",\n    \"allRecordComponents\": true");
+            if (clazz.isSealed()) entry.append(",\n    \"allPermittedSubclasses\": true");
+
+            return entry.append("\n  }").toString();
+        }).collect(Collectors.joining(",\n", "[\n", "\n]\n"));
+    }
+
+    public String toClassList() {
+        return sorted(this.loadedClasses).stream()
+                .map(clazz -> clazz.getName().replace('.', '/') + "\n")
+                .collect(Collectors.joining());
+    }
+
+    ///
+    /// Write [#REFLECT_CONFIG_FILE] and [#CLASS_LIST_FILE] into `directory`, creating it if necessary
+    ///
+    public void writeTo(Path directory) throws IOException {
+        Files.createDirectories(directory);
+
+        Files.writeString(directory.resolve(REFLECT_CONFIG_FILE), this.toReflectConfig());
+        Files.writeString(directory.resolve(CLASS_LIST_FILE), this.toClassList());
+    }
+
+    private static List<Class<?>> sorted(Set<Class<?>> classes) {
+        var list = new ArrayList<>(classes);
+        list.sort(Comparator.comparing(Class::getName));
+
+        return list;
+    }
+}
@@ -0,0 +1,78 @@
+package io.wispforest.endec.impl;
+
+import org.jetbrains.annotations.ApiStatus;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.function.Supplier;
+
+/**
+ * Command line entry point generating {@link ReflectionMetadata} as a build step
+ * <p>
+ * Usage: {@code ReflectionMetadataTool [--builder <supplier class>] <output directory> <class name>...}
+ * <p>
+ * Resolves the endecs of all given classes and writes the resulting metadata into the output directory. Run it with
+ * the application's classpath, for instance from a {@code JavaExec} task ahead of the native-image or CDS archive
+ * creation. As the metadata depends on the endecs registered with the builder, the application's own builder
+ * should be used: {@code --builder} names a class implementing {@code Supplier<ReflectiveEndecBuilder>} with a
+ * no-args constructor which creates it. Without it, a default {@link ReflectiveEndecBuilder} is used
+ * <p>
+ * Run as {@code java -cp <application classpath> io.wispforest.endec.impl.ReflectionMetadataTool ...}
+ */
+@ApiStatus.Experimental
+public final class ReflectionMetadataTool {
+
+    private static final String USAGE = "Usage: ReflectionMetadataTool [--builder <supplier class>] <output directory> <class name>...";
+
+    private ReflectionMetadataTool() {}
+
+    public static void main(String[] args) throws IOException, ReflectiveOperationException {
+        var builderSupplier = (Supplier<ReflectiveEndecBuilder>) ReflectiveEndecBuilder::new;
+        var argIndex = 0;
+
+        if (args.length > 0 && args[0].equals("--builder")) {
+            if (args.length < 2) usage();
+
+            builderSupplier = createSupplier(args[1]);
+            argIndex = 2;
+        }
+
+        if (args.length <= argIndex) usage();
+
+        var output = Path.of(args[argIndex++]);
+
+        var classes = new ArrayList<Class<?>>();
+        for (; argIndex < args.length; argIndex++) {
+            classes.add(Class.forName(args[argIndex], false, ReflectionMetadataTool.class.getClassLoader()));
+        }
+
+        var builder = builderSupplier.get().recordReflectionMetadata();
+
+        var report = builder.precompile(classes);
+        report.failures().forEach((clazz, throwable) -> System.err.println("Failed to create endec for " + clazz.getName() + ": " + throwable));
+
+        builder.reflectionMetadata().writeTo(output);
+        if (!report.successful()) System.exit(1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Supplier<ReflectiveEndecBuilder> createSupplier(String className) throws ReflectiveOperationException {
+        var supplierClass = Class.forName(className, true, ReflectionMetadataTool.class.getClassLoader());
+        if (!Supplier.class.isAssignableFrom(supplierClass)) {
+            throw new IllegalArgumentException("Builder supplier '" + className + "' does not implement Supplier<ReflectiveEndecBuilder>");
+        }
+
+        try {
+            return (Supplier<ReflectiveEndecBuilder>) supplierClass.getConstructor().newInstance();
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException("Builder supplier '" + className + "' failed to be created", e.getCause());
+        }
+    }
+
+    private static void usage() {
+        System.err.println(USAGE);
+        System.exit(1);
+    }
+}
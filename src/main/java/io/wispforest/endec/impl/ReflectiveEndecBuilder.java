@@ -1,32 +1,61 @@
 package io.wispforest.endec.impl;
 
+import io.wispforest.endec.Deserializer;
 import io.wispforest.endec.Endec;
-import io.wispforest.endec.SerializationAttributes;
 import io.wispforest.endec.SerializationContext;
+import io.wispforest.endec.Serializer;
 import io.wispforest.endec.StructEndec;
 import io.wispforest.endec.annotations.*;
+import io.wispforest.endec.format.data.DataInputDeserializer;
+import io.wispforest.endec.format.data.DataOutputSerializer;
+import io.wispforest.endec.format.edm.EdmDeserializer;
+import io.wispforest.endec.format.edm.EdmSerializer;
 import io.wispforest.endec.util.reflection.*;
-import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
-import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
-import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.*;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.*;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 public class ReflectiveEndecBuilder {
 
     public static final ReflectiveEndecBuilder SHARED_INSTANCE = new ReflectiveEndecBuilder();
 
-    private final Map<Class<?>, Endec<?>> classToEndec = new LinkedHashMap<>();
+    ///
+    /// Endecs are created lazily and possibly from many threads at once, reads are lock-free. While an endec
+    /// is being created its class is mapped to a [ReservedEndec], which is handed out to anything requesting the
+    /// same class in the meantime while creating an endec itself - be it recursively on the creating thread or on
+    /// another thread. Top-level requests from other threads instead wait for the creation to finish
+    ///
+    private final Map<Class<?>, Endec<?>> classToEndec = new ConcurrentHashMap<>();
+
+    ///
+    /// Endecs created for (annotated) parameterized, array and annotated types, keyed by their canonical [TypeKey]
+    /// such that the same type always yields the same endec instance. Reservations work just like in [#classToEndec].
+    /// Both are cleared whenever a registration could change the endec created for a type
+    ///
+    private final Map<TypeKey, Endec<?>> annotatedTypeToEndec = new ConcurrentHashMap<>();
+    private final Map<TypeKey, Endec<?>> typeToEndec = new ConcurrentHashMap<>();
+
+    ///
+    /// The innermost [#getOrCreate] call currently creating an endec on each thread, see [Build]
+    ///
+    private final ThreadLocal<@Nullable Build> currentBuild = new ThreadLocal<>();
 
     private final Map<Class<? extends Annotation>, AnnotatedContextGatherer<? extends Annotation>> classToContextGatherer = new LinkedHashMap<>();
     private final Map<Class<? extends Annotation>, AnnotatedAdjuster<? extends Annotation>> classToTypeAdjuster = new LinkedHashMap<>();
+    private final Map<Class<? extends Annotation>, AdjusterEntry<?>> annotationToAdjuster = new HashMap<>();
     private final Map<Class<?>, MethodTypeCheckBypass> classToAlternativeChecker = new LinkedHashMap<>();
 
+    private boolean compileStructEndecs = false;
+    private @Nullable ReflectionMetadata reflectionMetadata = null;
+
     public ReflectiveEndecBuilder(Consumer<ReflectiveEndecBuilder> defaultsSetup) {
         defaultsSetup.accept(this);
         registerDefaults(this);
@@ -40,11 +69,11 @@ public class ReflectiveEndecBuilder {
      * Register {@code endec} to be used for (de)serializing instances of {@code clazz}
      */
     public <T> ReflectiveEndecBuilder register(Endec<T> endec, Class<T> clazz) {
-        if (this.classToEndec.containsKey(clazz)) {
+        if (this.classToEndec.putIfAbsent(clazz, endec) != null) {
             throw new IllegalStateException("Class '" + clazz.getName() + "' already has an associated endec");
         }
 
-        this.classToEndec.put(clazz, endec);
+        this.clearTypeCaches();
         return this;
     }
 
@@ -67,6 +96,9 @@ public class ReflectiveEndecBuilder {
         }
 
         this.classToTypeAdjuster.put(clazz, adjuster);
+        this.annotationToAdjuster.put(clazz, new AdjusterEntry<>(this.annotationToAdjuster.size(), clazz, adjuster));
+
+        this.clearTypeCaches();
         return this;
     }
 
@@ -102,6 +134,58 @@ public class ReflectiveEndecBuilder {
         return this;
     }
 
+    ///
+    /// Compile the endecs created for records and objects by this builder into a dedicated class per type,
+    /// which encodes and decodes every field directly instead of looping over the fields of the type.
+    /// This trades a longer creation time and one hidden class per type for faster (de)serialization
+    /// once the JIT has compiled said classes - see [CompiledStructEndec]
+    ///
+    /// Has no effect while [recording reflection metadata][#recordReflectionMetadata()] or within a runtime
+    /// not supporting the definition of classes, like a GraalVM native image
+    ///
+    public ReflectiveEndecBuilder compileStructEndecs() {
+        this.compileStructEndecs = true;
+        return this;
+    }
+
+    ///
+    /// Record which classes are accessed reflectively while creating endecs from now on, such that
+    /// metadata for ahead-of-time environments can be generated from them - see [ReflectionMetadata]
+    ///
+    public ReflectiveEndecBuilder recordReflectionMetadata() {
+        if (this.reflectionMetadata == null) this.reflectionMetadata = new ReflectionMetadata();
+        return this;
+    }
+
+    ///
+    /// @return the metadata recorded since [#recordReflectionMetadata()] was invoked
+    ///
+    public ReflectionMetadata reflectionMetadata() {
+        if (this.reflectionMetadata == null) {
+            throw new IllegalStateException("Reflection metadata is not being recorded, invoke recordReflectionMetadata() first");
+        }
+
+        return this.reflectionMetadata;
+    }
+
+    ///
+    /// @return the constructor used by the endecs of this builder to create instances through `constructor`.
+    /// While recording [ReflectionMetadata], these are [portable][ObjectConstructor#fromConstructor(Constructor, boolean)]
+    /// such that the recorded run resolves the same accessors as an ahead-of-time environment would
+    ///
+    <T> ObjectConstructor<T> objectConstructor(Constructor<T> constructor) {
+        return ObjectConstructor.fromConstructor(constructor, this.reflectionMetadata != null);
+    }
+
+    private void recordReflectiveAccess(Class<?> clazz, @Nullable Endec<?> endec) {
+        if (this.reflectionMetadata != null && endec != null) this.reflectionMetadata.record(clazz, endec);
+    }
+
+    private void clearTypeCaches() {
+        this.annotatedTypeToEndec.clear();
+        this.typeToEndec.clear();
+    }
+
     //--
 
     public SerializationContext getContext(AnnotatedElement annotatedElement) {
@@ -170,6 +254,24 @@ public class ReflectiveEndecBuilder {
     public Endec<?> getAnnotated(AnnotatedType annotatedType, @Nullable Type baseType) {
         var type = baseType == null ? annotatedType.getType() : baseType;
 
+        // Plain classes are already cached by getOrNull and have nothing to adjust
+        if (type instanceof Class<?> clazz && !clazz.isArray() && annotatedType.getAnnotations().length == 0) {
+            var endec = this.getOrNull(clazz);
+            if (endec == null) throw new IllegalStateException("No Endec available for the given type '" + type + "'");
+
+            return endec;
+        }
+
+        var key = TypeKey.of(annotatedType, baseType);
+
+        var endec = this.getCached(this.annotatedTypeToEndec, key);
+        if (endec != null) return endec;
+
+        var struct = annotatedType.getAnnotations().length == 0 && type instanceof ParameterizedType parameterized && isStructType((Class<?>) parameterized.getRawType());
+        return this.getOrCreate(this.annotatedTypeToEndec, key, struct, () -> this.createAnnotated(annotatedType, type, baseType));
+    }
+
+    private Endec<?> createAnnotated(AnnotatedType annotatedType, Type type, @Nullable Type baseType) {
         Endec<?> endec = null;
 
         if(annotatedType instanceof AnnotatedArrayType annotatedArrayType) {
@@ -186,7 +288,7 @@ public class ReflectiveEndecBuilder {
 
             if (parameterizedType.getRawType() instanceof Class<?> clazz) {
                 // Allow for overriding all types if needed
-                endec = this.classToEndec.get(clazz);
+                endec = this.getExistingEndec(clazz);
 
                 if (endec == null) {
                     if (clazz.equals(Map.class)) {
@@ -201,8 +303,10 @@ public class ReflectiveEndecBuilder {
                         endec = this.getAnnotated(annotatedTypeArgs[0]).optionalOf();
                     } else if (Record.class.isAssignableFrom(clazz)) {
                         endec = RecordEndec.create(this, (Class<? extends Record>) clazz, parameterizedType.getActualTypeArguments());
+                        this.recordReflectiveAccess(clazz, endec);
                     } else if (isGenericObject(clazz)) {
                         endec = ObjectEndec.create(this, clazz, parameterizedType.getActualTypeArguments());
+                        this.recordReflectiveAccess(clazz, endec);
                     } else {
                         endec = this.getOrNull(clazz);
                     }
@@ -222,8 +326,20 @@ public class ReflectiveEndecBuilder {
     }
 
     private <T> Endec<T> adjustEndecWithType(AnnotatedType annotatedType, Endec<T> endec) {
-        for (var clazz : this.classToTypeAdjuster.keySet()) {
-            var results = applyAdjusterIfPresent(clazz, annotatedType, endec);
+        var annotations = annotatedType.getAnnotations();
+        if (annotations.length == 0) return endec;
+
+        // Only look at the adjusters of annotations actually present, applied in registration order
+        var entries = new ArrayList<AdjusterEntry<?>>(annotations.length);
+        for (var annotation : annotations) {
+            var entry = this.annotationToAdjuster.get(annotation.annotationType());
+            if (entry != null) entries.add(entry);
+        }
+
+        entries.sort(Comparator.comparingInt(AdjusterEntry::order));
+
+        for (var entry : entries) {
+            var results = entry.apply(annotatedType, endec);
 
             if (!results.allowFutherAdjustments()) return results.endec();
 
@@ -233,11 +349,10 @@ public class ReflectiveEndecBuilder {
         return endec;
     }
 
-    private <A extends Annotation, T> AdjustmentResult<T> applyAdjusterIfPresent(Class<A> annotationClazz, AnnotatedType annotatedType, Endec<T> endec) {
-        if(!annotatedType.isAnnotationPresent(annotationClazz)) return AdjustmentResult.empty();
-
-        return ((AnnotatedAdjuster<A>) this.classToTypeAdjuster.get(annotationClazz))
-                .adjustEndec(annotatedType, annotatedType.getAnnotation(annotationClazz), endec);
+    private record AdjusterEntry<A extends Annotation>(int order, Class<A> annotationClazz, AnnotatedAdjuster<A> adjuster) {
+        private <T> AdjustmentResult<T> apply(AnnotatedType annotatedType, Endec<T> endec) {
+            return this.adjuster.adjustEndec(annotatedType, annotatedType.getAnnotation(this.annotationClazz), endec);
+        }
     }
 
     //--
@@ -273,45 +388,78 @@ public class ReflectiveEndecBuilder {
         }
 
         // Allow for overriding all types if needed
-        var endec = (Endec<?>) this.classToEndec.get(raw);
+        var endec = (Endec<?>) this.getExistingEndec(raw);
 
         if (endec != null) return endec;
 
         if (typeArgs != null) {
-            if (raw == Map.class) {
-                return typeArgs[0] == String.class
-                    ? this.get(typeArgs[1]).mapOf()
-                    : Endec.map(this.get(typeArgs[0]), this.get(typeArgs[1]));
-            }
+            var key = TypeKey.of(type);
 
-            if (raw == List.class) {
-                return this.get(typeArgs[0]).listOf();
-            }
+            endec = this.getCached(this.typeToEndec, key);
+            if (endec != null) return endec;
 
-            if (raw == Set.class) {
-                //noinspection rawtypes,Convert2MethodRef
-                return this.get(typeArgs[0]).listOf().<Set>xmap(
-                    list -> (Set<?>) new HashSet<>(list),
-                    set -> List.copyOf(set)
-                );
-            }
+            return this.getOrCreate(this.typeToEndec, key, isStructType(raw), () -> this.createParameterized((ParameterizedType) type));
+        }
 
-            if (raw == Optional.class) {
-                return this.get(typeArgs[0]).optionalOf();
-            }
+        return get(raw);
+    }
 
-            if (Record.class.isAssignableFrom(raw)) {
-                return RecordEndec.create(this, (Class<? extends Record>) raw, typeArgs);
-            }
+    @SuppressWarnings("unchecked")
+    private Endec<?> createParameterized(ParameterizedType type) {
+        var raw = (Class<?>) type.getRawType();
+        var typeArgs = type.getActualTypeArguments();
+
+        if (raw == Map.class) {
+            return typeArgs[0] == String.class
+                ? this.get(typeArgs[1]).mapOf()
+                : Endec.map(this.get(typeArgs[0]), this.get(typeArgs[1]));
+        }
 
-            if (isGenericObject(raw)) {
-                return ObjectEndec.create(this, raw, typeArgs);
-            }
+        if (raw == List.class) {
+            return this.get(typeArgs[0]).listOf();
+        }
+
+        if (raw == Set.class) {
+            //noinspection rawtypes,Convert2MethodRef
+            return this.get(typeArgs[0]).listOf().<Set>xmap(
+                list -> (Set<?>) new HashSet<>(list),
+                set -> List.copyOf(set)
+            );
+        }
+
+        if (raw == Optional.class) {
+            return this.get(typeArgs[0]).optionalOf();
+        }
+
+        if (Record.class.isAssignableFrom(raw)) {
+            var endec = RecordEndec.create(this, (Class<? extends Record>) raw, typeArgs);
+            this.recordReflectiveAccess(raw, endec);
+
+            return endec;
+        }
+
+        if (isGenericObject(raw)) {
+            var endec = ObjectEndec.create(this, raw, typeArgs);
+            this.recordReflectiveAccess(raw, endec);
+
+            return endec;
         }
 
         return get(raw);
     }
 
+    ///
+    /// Whether the endec created for `clazz` is known to be a [StructEndec] before creating it, which
+    /// is the case for records and plain objects unless they define their own endec
+    ///
+    private static boolean isStructType(Class<?> clazz) {
+        if (!Record.class.isAssignableFrom(clazz) && !isGenericObject(clazz)) return false;
+        if (clazz.isInterface() || clazz == Optional.class) return false;
+
+        return Arrays.stream(clazz.getDeclaredFields()).noneMatch(field -> field.isAnnotationPresent(DefinedEndecGetter.class))
+                && Arrays.stream(clazz.getDeclaredMethods()).noneMatch(method -> method.isAnnotationPresent(DefinedEndecGetter.class));
+    }
+
     private static boolean isGenericObject(Class<?> clazz) {
         return !(Record.class.isAssignableFrom(clazz)
                 || clazz.isEnum()
@@ -342,13 +490,111 @@ public class ReflectiveEndecBuilder {
         return Optional.ofNullable(this.getOrNull(clazz));
     }
 
-    @SuppressWarnings({"unchecked", "rawtypes"})
-    private <T> @Nullable Endec<T> getOrNull(Class<T> clazz) {
-        Endec<T> endec = (Endec<T>) this.classToEndec.get(clazz);
+    //--
+
+    ///
+    /// Resolve the endecs of all `classes` in parallel on the common pool, such that the cost
+    /// of reflection is paid upfront instead of on first use
+    ///
+    /// @see #precompile(Collection, Executor, int)
+    ///
+    public PrecompilationReport precompile(Collection<Class<?>> classes) {
+        return this.precompile(classes, ForkJoinPool.commonPool(), 0);
+    }
+
+    ///
+    /// @see #precompile(Collection, Executor, int)
+    ///
+    public PrecompilationReport precompile(Collection<Class<?>> classes, Executor executor) {
+        return this.precompile(classes, executor, 0);
+    }
+
+    ///
+    /// Resolve the endecs of all `classes` in parallel on `executor` and block until all of them are available.
+    ///
+    /// If `warmupIterations` is positive, each endec then decodes a synthetic instance in which every primitive
+    /// is zero and every string, collection and optional is empty, and round-trips it through a binary and a
+    /// self-described format `warmupIterations` times to get the JIT going on the paths used later on. Failures
+    /// do not abort the remaining classes, they are collected in the returned report instead - warm-up failures
+    /// separately from build failures, as the synthetic instance may simply not be a valid value of its type
+    ///
+    public PrecompilationReport precompile(Collection<Class<?>> classes, Executor executor, int warmupIterations) {
+        var buildTimes = new ConcurrentHashMap<Class<?>, Duration>();
+        var warmupTimes = new ConcurrentHashMap<Class<?>, Duration>();
+        var failures = new ConcurrentHashMap<Class<?>, Throwable>();
+        var warmupFailures = new ConcurrentHashMap<Class<?>, Throwable>();
+
+        var start = System.nanoTime();
+
+        var tasks = new ArrayList<CompletableFuture<Void>>(classes.size());
+        for (var clazz : classes) {
+            tasks.add(CompletableFuture.runAsync(() -> {
+                Endec<?> endec;
+
+                try {
+                    var buildStart = System.nanoTime();
+                    endec = this.get(clazz);
+                    buildTimes.put(clazz, Duration.ofNanos(System.nanoTime() - buildStart));
+                } catch (Throwable e) {
+                    failures.put(clazz, e);
+                    return;
+                }
+
+                if (warmupIterations <= 0) return;
 
+                try {
+                    var warmupStart = System.nanoTime();
+                    warmup(endec, warmupIterations);
+                    warmupTimes.put(clazz, Duration.ofNanos(System.nanoTime() - warmupStart));
+                } catch (Throwable e) {
+                    warmupFailures.put(clazz, e);
+                }
+            }, executor));
+        }
+
+        CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)).join();
+
+        return new PrecompilationReport(Map.copyOf(buildTimes), Map.copyOf(failures), Map.copyOf(warmupTimes), Map.copyOf(warmupFailures), Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private static <T> void warmup(Endec<T> endec, int iterations) {
+        // Binary formats read zero for every number, length and presence flag from an endless stream of zeroes
+        var value = endec.decodeFully(DataInputDeserializer::of, new DataInputStream(new ZeroInputStream()));
+
+        for (int i = 0; i < iterations; i++) {
+            var bytes = new ByteArrayOutputStream();
+            endec.encodeFully(() -> DataOutputSerializer.of(new DataOutputStream(bytes)), value);
+            endec.decodeFully(DataInputDeserializer::of, new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+            endec.decodeFully(EdmDeserializer::of, endec.encodeFully(EdmSerializer::of, value));
+        }
+    }
+
+    private static final class ZeroInputStream extends InputStream {
+        @Override
+        public int read() {
+            return 0;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            Arrays.fill(bytes, offset, offset + length, (byte) 0);
+            return length;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> @Nullable Endec<T> getOrNull(Class<T> clazz) {
+        var endec = (Endec<T>) this.getCached(this.classToEndec, clazz);
         if (endec != null) return endec;
 
-        endec = (Endec<T>) getDefinedEndec(clazz);
+        return (Endec<T>) this.getOrCreate(this.classToEndec, clazz, isStructType(clazz), () -> this.createEndec(clazz));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private <T> @Nullable Endec<T> createEndec(Class<T> clazz) {
+        Endec<T> endec = (Endec<T>) getGeneratedEndec(clazz);
+        if (endec == null) endec = (Endec<T>) getDefinedEndec(clazz);
 
         if (endec == null) {
             if (Record.class.isAssignableFrom(clazz)) {
@@ -362,15 +608,352 @@ public class ReflectiveEndecBuilder {
             } else {
                 endec = ObjectEndec.create(this, clazz);
             }
+
+            if (this.compileStructEndecs && this.reflectionMetadata == null && Accessors.supportsRuntimeClassDefinition()) {
+                if (endec instanceof RecordishEndec<T> recordishEndec) {
+                    endec = recordishEndec.compile();
+                } else if (endec instanceof ObjectEndec<T> objectEndec) {
+                    endec = objectEndec.compile();
+                }
+            }
         }
 
-        this.classToEndec.put(clazz, endec);
+        this.recordReflectiveAccess(clazz, endec);
+        return endec;
+    }
+
+    ///
+    /// Get the endec mapped to `key` in `cache` or create it using `factory`, reserving the key while doing so.
+    /// If `factory` yields `null` or throws, the reservation is removed again and nothing is cached - neither
+    /// the endec itself nor any endec created along the way, which could hold on to the failed reservation.
+    ///
+    /// Once created, the endec replaces the reservation in `cache`. Endecs created along the way which captured
+    /// the reservation are evicted at that point, such that they are created anew - this time around the actual
+    /// endec - when next requested. Only the endec itself, when it refers to its own type, keeps going through
+    /// the reservation
+    ///
+    /// Endecs created on other threads which were handed the reservation are evicted as well, whether creation
+    /// succeeds or fails, see [ReservedEndec#addDependent].
+    /// Should another thread already be creating the endec, top-level calls wait for it to finish and try on their own
+    /// if that fails, see [#resolveReservation]
+    ///
+    /// If `struct` is set, the endec is known to be a [StructEndec] upfront and the reservation will be
+    /// one as well, such that self-referential types may use it wherever a struct endec is required
+    ///
+    @SuppressWarnings("unchecked")
+    private <K> @Nullable Endec<?> getOrCreate(Map<K, Endec<?>> cache, K key, boolean struct, Supplier<@Nullable Endec<?>> factory) {
+        ReservedEndec<Object> reservation;
+        while (true) {
+            var endec = this.getCached(cache, key);
+            if (endec != null) return endec;
+
+            reservation = struct ? new ReservedStructEndec<>(key) : new ReservedEndec<>(key);
+            endec = cache.putIfAbsent(key, reservation);
+            if (endec == null) break;
+
+            // Either the endec has been created in the meantime or someone else is
+            // creating it right now, in which case we go with their reservation
+            endec = endec instanceof ReservedEndec<?> other ? this.resolveReservation(other) : endec;
+            if (endec != null) return endec;
+        }
+
+        var parent = this.currentBuild.get();
+        var build = new Build(parent, reservation);
+        this.currentBuild.set(build);
+
+        Endec<?> endec;
+        try {
+            endec = factory.get();
+        } catch (Throwable e) {
+            build.entries.forEach(CacheEntry::remove);
+            cache.remove(key, reservation);
+            reservation.fail(e);
+
+            throw e;
+        } finally {
+            if (parent != null) {
+                this.currentBuild.set(parent);
+            } else {
+                this.currentBuild.remove();
+            }
+        }
+
+        if (endec == null) {
+            build.entries.forEach(CacheEntry::remove);
+            cache.remove(key, reservation);
+            reservation.fail(new IllegalStateException("No endec available for '" + key + "'"));
+
+            return null;
+        }
+
+        cache.replace(key, reservation, endec);
+        reservation.complete((Endec<Object>) endec);
+
+        var cacheEntry = new CacheEntry<>(cache, key, endec, build.capturedDepth);
+        for (var foreignReservation : build.foreignReservations) {
+            foreignReservation.addDependent(cacheEntry);
+        }
+
+        // Whatever captured our reservation has the actual endec available now
+        build.entries.removeIf(entry -> {
+            if (entry.capturedDepth < build.depth) return false;
+
+            entry.remove();
+            return true;
+        });
+
+        if (parent != null) {
+            parent.entries.addAll(build.entries);
+            parent.entries.add(cacheEntry);
+            parent.foreignReservations.addAll(build.foreignReservations);
+
+            if (build.capturedDepth < parent.depth) parent.capturedDepth = Math.min(parent.capturedDepth, build.capturedDepth);
+        }
 
         return endec;
     }
 
-    <T> Endec<T> getExistingEndec(Class<T> clazz) {
-        return (Endec<T>) this.classToEndec.get(clazz);
+    ///
+    /// Get the endec mapped to `key` in `cache`, which may be a reservation
+    ///
+    private <K> @Nullable Endec<?> getCached(Map<K, Endec<?>> cache, K key) {
+        var endec = cache.get(key);
+        return endec instanceof ReservedEndec<?> reservation ? this.resolveReservation(reservation) : endec;
+    }
+
+    ///
+    /// Get the endec to hand out for `reservation`. Outside of any build on this thread, it must be another thread
+    /// creating the endec - in which case we wait for it, yielding `null` if that failed such that the caller tries
+    /// on its own. Within a build, the reservation itself is handed out and noted as captured, as waiting could
+    /// deadlock builds on different threads requiring each other's types
+    ///
+    private @Nullable Endec<?> resolveReservation(ReservedEndec<?> reservation) {
+        var build = this.currentBuild.get();
+        if (build == null) return reservation.await();
+
+        this.noteCapture(build, reservation);
+        return reservation;
+    }
+
+    ///
+    /// Record that `build`, the innermost build running on this thread, has been handed `reservation` -
+    /// either that of one of the builds enclosing it, or otherwise one of a build running on another thread
+    ///
+    private void noteCapture(Build build, ReservedEndec<?> reservation) {
+        for (var owner = build; owner != null; owner = owner.parent) {
+            if (owner.reservation != reservation) continue;
+
+            if (owner != build) build.capturedDepth = Math.min(build.capturedDepth, owner.depth);
+            return;
+        }
+
+        build.foreignReservations.add(reservation);
+    }
+
+    ///
+    /// A [#getOrCreate] call creating an endec. `entries` holds the cache entries made by the calls nested in it,
+    /// for removing them should this build fail. `capturedDepth` is the depth of the outermost enclosing build whose
+    /// reservation this build has been handed (directly or through the endec of a nested build), if any.
+    /// `foreignReservations` are the reservations of builds on other threads it has been handed likewise
+    ///
+    private static final class Build {
+
+        private final @Nullable Build parent;
+        private final int depth;
+        private final ReservedEndec<?> reservation;
+
+        private final List<CacheEntry<?>> entries = new ArrayList<>();
+        private final Set<ReservedEndec<?>> foreignReservations = new HashSet<>();
+        private int capturedDepth = Integer.MAX_VALUE;
+
+        private Build(@Nullable Build parent, ReservedEndec<?> reservation) {
+            this.parent = parent;
+            this.depth = parent != null ? parent.depth + 1 : 0;
+            this.reservation = reservation;
+        }
+    }
+
+    private record CacheEntry<K>(Map<K, Endec<?>> cache, K key, Endec<?> endec, int capturedDepth) {
+        private void remove() {
+            this.cache.remove(this.key, this.endec);
+        }
+    }
+
+    ///
+    /// Get the endec currently associated with `clazz`, not considering endecs which are still being created
+    ///
+    <T> @Nullable Endec<T> getExistingEndec(Class<T> clazz) {
+        var endec = (Endec<T>) this.classToEndec.get(clazz);
+        return endec instanceof ReservedEndec<T> ? null : endec;
+    }
+
+    ///
+    /// Placeholder for an endec which is still being created, usable as soon as creation has finished.
+    /// Encoding or decoding through it before that point blocks until the actual endec is available
+    ///
+    /// Endecs created on other threads which captured the placeholder are its dependents, and evicted
+    /// from their caches once creation has finished - successfully or not
+    ///
+    private static class ReservedEndec<T> implements Endec<T> {
+
+        protected final Object key;
+        private final CompletableFuture<Endec<T>> future = new CompletableFuture<>();
+        private volatile @Nullable Endec<T> delegate = null;
+
+        private final List<CacheEntry<?>> dependents = new ArrayList<>();
+        private boolean finished = false;
+
+        private ReservedEndec(Object key) {
+            this.key = key instanceof Class<?> clazz ? clazz.getName() : key;
+        }
+
+        protected void complete(Endec<T> endec) {
+            this.delegate = endec;
+            this.future.complete(endec);
+            this.evictDependents();
+        }
+
+        private void fail(Throwable throwable) {
+            this.future.completeExceptionally(throwable);
+            this.evictDependents();
+        }
+
+        ///
+        /// Wait for creation to finish
+        ///
+        /// @return the created endec, or `null` if creation failed
+        ///
+        private @Nullable Endec<T> await() {
+            try {
+                return this.future.join();
+            } catch (CompletionException e) {
+                return null;
+            }
+        }
+
+        ///
+        /// Evict `entry` once creation has finished, or right away should that already be the case
+        ///
+        private void addDependent(CacheEntry<?> entry) {
+            synchronized (this) {
+                if (!this.finished) {
+                    this.dependents.add(entry);
+                    return;
+                }
+            }
+
+            entry.remove();
+        }
+
+        private void evictDependents() {
+            List<CacheEntry<?>> dependents;
+            synchronized (this) {
+                this.finished = true;
+                dependents = List.copyOf(this.dependents);
+                this.dependents.clear();
+            }
+
+            dependents.forEach(CacheEntry::remove);
+        }
+
+        protected Endec<T> delegate() {
+            var delegate = this.delegate;
+            if (delegate != null) return delegate;
+
+            try {
+                return this.future.join();
+            } catch (CompletionException e) {
+                throw new IllegalStateException("Creation of the endec for '" + this.key + "' failed", e.getCause());
+            }
+        }
+
+        @Override
+        public void encode(SerializationContext ctx, Serializer<?> serializer, T value) {
+            this.delegate().encode(ctx, serializer, value);
+        }
+
+        @Override
+        public T decode(SerializationContext ctx, Deserializer<?> deserializer) {
+            return this.delegate().decode(ctx, deserializer);
+        }
+
+        @Override
+        public String toString() {
+            return "ReservedEndec[" + this.key + "]";
+        }
+    }
+
+    ///
+    /// [ReservedEndec] for types whose endec is known to be a [StructEndec]. Plain encoding and decoding
+    /// is forwarded to the actual endec as-is, struct operations additionally require it to be a struct endec -
+    /// which is checked once it is available rather than on every call
+    ///
+    private static final class ReservedStructEndec<T> extends ReservedEndec<T> implements StructEndec<T> {
+
+        private volatile @Nullable StructEndec<T> structDelegate = null;
+
+        private ReservedStructEndec(Object key) {
+            super(key);
+        }
+
+        @Override
+        protected void complete(Endec<T> endec) {
+            if (endec instanceof StructEndec<T> structEndec) this.structDelegate = structEndec;
+            super.complete(endec);
+        }
+
+        private StructEndec<T> structDelegate() {
+            var structDelegate = this.structDelegate;
+            if (structDelegate != null) return structDelegate;
+
+            if (this.delegate() instanceof StructEndec<T> structEndec) return structEndec;
+            throw new IllegalStateException("The endec created for '" + this.key + "' is not a StructEndec");
+        }
+
+        @Override
+        public void encodeStruct(SerializationContext ctx, Serializer<?> serializer, Serializer.Struct struct, T value) {
+            this.structDelegate().encodeStruct(ctx, serializer, struct, value);
+        }
+
+        @Override
+        public T decodeStruct(SerializationContext ctx, Deserializer<?> deserializer, Deserializer.Struct struct) {
+            return this.structDelegate().decodeStruct(ctx, deserializer, struct);
+        }
+    }
+
+    ///
+    /// Attempts to get the endec generated at compile time for a class annotated with [GenerateEndec],
+    /// returning `null` if the class is not annotated or the generated class is not present
+    ///
+    private @Nullable Endec<?> getGeneratedEndec(Class<?> clazz) {
+        if (!clazz.isAnnotationPresent(GenerateEndec.class)) return null;
+
+        var binaryName = clazz.getName();
+        var packageName = clazz.getPackageName();
+
+        var generatedName = (packageName.isEmpty() ? "" : packageName + ".")
+                + binaryName.substring(packageName.isEmpty() ? 0 : packageName.length() + 1).replace('$', '_')
+                + "Endec";
+
+        // Only the nested implementation is used, initializing the generated class itself
+        // would have the shared builder create its ENDEC as well
+        Class<?> generatedClass;
+        try {
+            generatedClass = Class.forName(generatedName + "$Impl", false, clazz.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+
+        try {
+            var endec = (Endec<?>) generatedClass.getMethod("create", ReflectiveEndecBuilder.class).invoke(null, this);
+            this.recordReflectiveAccess(generatedClass, endec);
+
+            return endec;
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException("The generated endec for class [" + clazz + "] failed to be created", e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to create the generated endec for class [" + clazz + "]", e);
+        }
     }
 
     ///
@@ -438,7 +1021,19 @@ public class ReflectiveEndecBuilder {
     private Endec<?> createArrayEndec(Class<?> elementClass, @Nullable AnnotatedType genericComponentType) {
         if(elementClass.equals(byte.class) || elementClass.equals(Byte.class)) return Endec.BYTES;
 
-        var elementEndec = (Endec<Object>) ((genericComponentType == null) ? this.get(elementClass) : this.getAnnotated(genericComponentType));
+        Endec<?> componentEndec = (genericComponentType == null) ? this.get(elementClass) : this.getAnnotated(genericComponentType);
+
+        // Primitive arrays using the default element endec are handed to the format in bulk
+        if (elementClass.isPrimitive()) {
+            if (elementClass == int.class && componentEndec == Endec.INT) return BuiltInEndecs.INT_ARRAY;
+            if (elementClass == long.class && componentEndec == Endec.LONG) return BuiltInEndecs.LONG_ARRAY;
+            if (elementClass == float.class && componentEndec == Endec.FLOAT) return BuiltInEndecs.FLOAT_ARRAY;
+            if (elementClass == double.class && componentEndec == Endec.DOUBLE) return BuiltInEndecs.DOUBLE_ARRAY;
+            if (elementClass == short.class && componentEndec == Endec.SHORT) return BuiltInEndecs.SHORT_ARRAY;
+            if (elementClass == boolean.class && componentEndec == Endec.BOOLEAN) return BuiltInEndecs.BOOLEAN_ARRAY;
+        }
+
+        var elementEndec = (Endec<Object>) componentEndec;
 
         return elementEndec.listOf().xmap(list -> {
             int length = list.size();
@@ -482,45 +1077,20 @@ public class ReflectiveEndecBuilder {
 
         permittedSubclasses.sort(Comparator.comparing(Class::getName));
 
-        var serializerMap = new Int2ObjectOpenHashMap<Endec<?>>();
-
-        var classesMap = new Reference2IntOpenHashMap<Class<?>>();
-        var namedMap = new Object2IntOpenHashMap<String>();
-
-        classesMap.defaultReturnValue(-1);
-
-        for (int i = 0; i < permittedSubclasses.size(); i++) {
-            Class<?> klass = permittedSubclasses.get(i);
-
-            serializerMap.put(i, this.get(klass));
-
-            classesMap.put(klass, i);
-
-            if(namedMap.containsKey(klass.getSimpleName())) {
-                var existingIndex = namedMap.getInt(klass.getSimpleName());
-
-                Class<?> existingKlass = null;
-
-                for (var classEntry : classesMap.reference2IntEntrySet()) {
-                    if (classEntry.getIntValue() == existingIndex) {
-                        existingKlass = classEntry.getKey();
-
-                        break;
-                    }
-                }
+        // Variants are identified by their simple name in human-readable formats and by their index otherwise
+        var table = DispatchTable.<Object>builder().idEndec(BuiltInEndecs.INT);
+        var names = new HashMap<String, Class<?>>();
 
+        for (var klass : permittedSubclasses) {
+            var existingKlass = names.putIfAbsent(klass.getSimpleName(), klass);
+            if (existingKlass != null) {
                 throw new IllegalStateException("Unable to handled the given set of sealed class as two or more class share the same name! [Class1: " + existingKlass.getName() + ", Class2: " + klass.getName() + "]");
             }
 
-            namedMap.put(klass.getSimpleName(), i);
+            table.register((Class<Object>) klass, klass.getSimpleName(), (Endec<Object>) this.get(klass));
         }
 
-        return Endec.<Object>ifAttr(
-                        SerializationAttributes.HUMAN_READABLE,
-                        Endec.dispatched(name -> serializerMap.get(namedMap.getInt(name)), instance -> instance.getClass().getName(), Endec.STRING)
-                ).orElse(
-                        Endec.dispatched(integer -> serializerMap.get(integer.intValue()), instance -> classesMap.getInt(instance.getClass()), Endec.INT)
-                );
+        return Endec.dispatched(table.build());
     }
 
     @SafeVarargs
@@ -571,9 +1141,9 @@ public class ReflectiveEndecBuilder {
             public <T> AdjustmentResult<T> adjustEndec(AnnotatedType annotatedType, IsVarInt annotation, Endec<T> base) {
                 if (annotatedType.getType() instanceof Class<?> clazz) {
                     if (clazz.equals(int.class) || clazz.equals(Integer.class)) {
-                        return AdjustmentResult.of((Endec<T>) Endec.VAR_INT);
+                        return AdjustmentResult.of((Endec<T>) (annotation.signed() ? Endec.SIGNED_VAR_INT : Endec.VAR_INT));
                     } else if (clazz.equals(long.class) || clazz.equals(Long.class)) {
-                        return AdjustmentResult.of((Endec<T>) Endec.VAR_LONG);
+                        return AdjustmentResult.of((Endec<T>) (annotation.signed() ? Endec.SIGNED_VAR_LONG : Endec.VAR_LONG));
                     }
                 }
 
@@ -13,6 +13,13 @@ public class StructEndecBuilder {
 
     public static <S, F1> StructEndec<S> of(StructField<S, F1> f1, Function<F1, S> constructor) {
         return new StructEndec<>() {
+            private final StructSchema schema = StructSchema.of(f1);
+
+            @Override
+            public StructSchema schema() {
+                return this.schema;
+            }
+
             @Override
             public void encodeStruct(SerializationContext ctx, Serializer<?> serializer, Serializer.Struct struct, S value) {
                 f1.encodeField(ctx, serializer, struct, value);
@@ -27,6 +34,13 @@ public class StructEndecBuilder {
 
     public static <S, F1, F2> StructEndec<S> of(StructField<S, F1> f1, StructField<S, F2> f2, BiFunction<F1, F2, S> constructor) {
         return new StructEndec<>() {
+            private final StructSchema schema = StructSchema.of(f1, f2);
+
+            @Override
+            public StructSchema schema() {
+                return this.schema;
+            }
+
             @Override
             public void encodeStruct(SerializationContext ctx, Serializer<?> serializer, Serializer.Struct struct, S value) {
                 f1.encodeField(ctx, serializer, struct, value);
@@ -43,6 +57,13 @@ public class StructEndecBuilder {
 
     public static <S, F1, F2, F3> StructEndec<S> of(StructField<S, F1> f1, StructField<S, F2> f2, StructField<S, F3> f3, Function3<F1, F2, F3, S> constructor) {
         return new StructEndec<>() {
+            private final StructSchema schema = StructSchema.of(f1, f2, f3);
+
+            @Override
+            public StructSchema schema() {
+                return this.schema;
+            }
+
             @Override
             public void encodeStruct(SerializationContext ctx, Serializer<?> serializer, Serializer.Struct struct, S value) {
                 f1.encodeField(ctx, serializer, struct, value);
@@ -61,6 +82,13 @@ public class StructEndecBuilder {
 
     public static <S, F1, F2, F3, F4> StructEndec<S> of(StructField<S, F1> f1, StructField<S, F2> f2, StructField<S, F3> f3, StructField<S, F4> f4, Function4<F1, F2, F3, F4, S> constructor) {
         return new StructEndec<>() {
+            private final StructSchema schema = StructSchema.of(f1, f2, f3, f4);
+
+            @Override
+            public StructSchema schema() {
+                return this.schema;
+            }
+
             @Override
             public void encodeStruct(SerializationContext ctx, Serializer<?> serializer, Serializer.Struct struct, S value) {
                 f1.encodeField(ctx, serializer, struct, value);
@@ -81,6 +109,13 @@ public class StructEndecBuilder {
 
     public static <S, F1, F2, F3, F4, F5> StructEndec<S> of(StructField<S, F1> f1, StructField<S, F2> f2, StructField<S, F3> f3, StructField<S, F4> f4, StructField<S, F5> f5, Function5<F1, F2, F3, F4, F5, S> constructor) {
         return new StructEndec<>() {
+            private final StructSchema schema = StructSchema.of(f1, f2, f3, f4, f5);
+
+            @Override
+            public StructSchema schema() {
+                return this.schema;
+            }
+
             @Override
             public void encodeStruct(SerializationContext ctx, Serializer<?> serializer, Serializer.Struct struct, S value) {
                 f1.encodeField(ctx, serializer, struct, value);
@@ -103,6 +138,13 @@ public class StructEndecBuilder {
 
     public static <S, F1, F2, F3, F4, F5, F6> StructEndec<S> of(StructField<S, F1> f1, StructField<S, F2> f2, StructField<S, F3> f3, StructField<S, F4> f4, StructField<S, F5> f5, StructField<S, F6> f6, Function6<F1, F2, F3, F4, F5, F6, S> constructor) {
         return new StructEndec<>() {
+            private final StructSchema schema = StructSchema.of(f1, f2, f3, f4, f5, f6);
+
+            @Override
+            public StructSchema schema() {
+                return this.schema;
+            }
+
             @Override
             public void encodeStruct(SerializationContext ctx, Serializer<?> serializer, Serializer.Struct struct, S value) {
                 f1.encodeField(ctx, serializer, struct, value);
@@ -127,6 +169,13 @@ public class StructEndecBuilder {
 
     public static <S, F1, F2, F3, F4, F5, F6, F7> StructEndec<S> of(StructField<S, F1> f1, StructField<S, F2> f2, StructField<S, F3> f3, StructField<S, F4> f4, StructField<S, F5> f5, StructField<S, F6> f6, StructField<S, F7> f7, Function7<F1, F2, F3, F4, F5, F6, F7, S> constructor) {
         return new StructEndec<>() {
+            private final StructSchema schema = StructSchema.of(f1, f2, f3, f4, f5, f6, f7);
+
+            @Override
+            public StructSchema schema() {
+                return this.schema;
+            }
+
             @Override
             public void encodeStruct(SerializationContext ctx, Serializer<?> serializer, Serializer.Struct struct, S value) {
                 f1.encodeField(ctx, serializer, struct, value);
@@ -153,6 +202,13 @@ public class StructEndecBuilder {
 
     public static <S, F1, F2, F3, F4, F5, F6, F7, F8> StructEndec<S> of(StructField<S, F1> f1, StructField<S, F2> f2, StructField<S, F3> f3, StructField<S, F4> f4, StructField<S, F5> f5, StructField<S, F6> f6, StructField<S, F7> f7, StructField<S, F8> f8, Function8<F1, F2, F3, F4, F5, F6, F7, F8, S> constructor) {
         return new StructEndec<>() {
+            private final StructSchema schema = StructSchema.of(f1, f2, f3, f4, f5, f6, f7, f8);
+
+            @Override
+            public StructSchema schema() {
+                return this.schema;
+            }
+
             @Override
             public void encodeStruct(SerializationContext ctx, Serializer<?> serializer, Serializer.Struct struct, S value) {
                 f1.encodeField(ctx, serializer, struct, value);
@@ -181,6 +237,13 @@ public class StructEndecBuilder {
 
     public static <S, F1, F2, F3, F4, F5, F6, F7, F8, F9> StructEndec<S> of(StructField<S, F1> f1, StructField<S, F2> f2, StructField<S, F3> f3, StructField<S, F4> f4, StructField<S, F5> f5, StructField<S, F6> f6, StructField<S, F7> f7, StructField<S, F8> f8, StructField<S, F9> f9, Function9<F1, F2, F3, F4, F5, F6, F7, F8, F9, S> constructor) {
         return new StructEndec<>() {
+            private final StructSchema schema = StructSchema.of(f1, f2, f3, f4, f5, f6, f7, f8, f9);
+
+            @Override
+            public StructSchema schema() {
+                return this.schema;
+            }
+
             @Override
             public void encodeStruct(SerializationContext ctx, Serializer<?> serializer, Serializer.Struct struct, S value) {
                 f1.encodeField(ctx, serializer, struct, value);
@@ -211,6 +274,13 @@ public class StructEndecBuilder {
 
     public static <S, F1, F2, F3, F4, F5, F6, F7, F8, F9, F10> StructEndec<S> of(StructField<S, F1> f1, StructField<S, F2> f2, StructField<S, F3> f3, StructField<S, F4> f4, StructField<S, F5> f5, StructField<S, F6> f6, StructField<S, F7> f7, StructField<S, F8> f8, StructField<S, F9> f9, StructField<S, F10> f10, Function10<F1, F2, F3, F4, F5, F6, F7, F8, F9, F10, S> constructor) {
         return new StructEndec<>() {
+            private final StructSchema schema = StructSchema.of(f1, f2, f3, f4, f5, f6, f7, f8, f9, f10);
+
+            @Override
+            public StructSchema schema() {
+                return this.schema;
+            }
+
             @Override
             public void encodeStruct(SerializationContext ctx, Serializer<?> serializer, Serializer.Struct struct, S value) {
                 f1.encodeField(ctx, serializer, struct, value);
@@ -243,6 +313,13 @@ public class StructEndecBuilder {
 
     public static <S, F1, F2, F3, F4, F5, F6, F7, F8, F9, F10, F11> StructEndec<S> of(StructField<S, F1> f1, StructField<S, F2> f2, StructField<S, F3> f3, StructField<S, F4> f4, StructField<S, F5> f5, StructField<S, F6> f6, StructField<S, F7> f7, StructField<S, F8> f8, StructField<S, F9> f9, StructField<S, F10> f10, StructField<S, F11> f11, Function11<F1, F2, F3, F4, F5, F6, F7, F8, F9, F10, F11, S> constructor) {
         return new StructEndec<>() {
+            private final StructSchema schema = StructSchema.of(f1, f2, f3, f4, f5, f6, f7, f8, f9, f10, f11);
+
+            @Override
+            public StructSchema schema() {
+                return this.schema;
+            }
+
             @Override
             public void encodeStruct(SerializationContext ctx, Serializer<?> serializer, Serializer.Struct struct, S value) {
                 f1.encodeField(ctx, serializer, struct, value);
@@ -277,6 +354,13 @@ public class StructEndecBuilder {
 
     public static <S, F1, F2, F3, F4, F5, F6, F7, F8, F9, F10, F11, F12> StructEndec<S> of(StructField<S, F1> f1, StructField<S, F2> f2, StructField<S, F3> f3, StructField<S, F4> f4, StructField<S, F5> f5, StructField<S, F6> f6, StructField<S, F7> f7, StructField<S, F8> f8, StructField<S, F9> f9, StructField<S, F10> f10, StructField<S, F11> f11, StructField<S, F12> f12, Function12<F1, F2, F3, F4, F5, F6, F7, F8, F9, F10, F11, F12, S> constructor) {
         return new StructEndec<>() {
+            private final StructSchema schema = StructSchema.of(f1, f2, f3, f4, f5, f6, f7, f8, f9, f10, f11, f12);
+
+            @Override
+            public StructSchema schema() {
+                return this.schema;
+            }
+
             @Override
             public void encodeStruct(SerializationContext ctx, Serializer<?> serializer, Serializer.Struct struct, S value) {
                 f1.encodeField(ctx, serializer, struct, value);
@@ -313,6 +397,13 @@ public class StructEndecBuilder {
 
     public static <S, F1, F2, F3, F4, F5, F6, F7, F8, F9, F10, F11, F12, F13> StructEndec<S> of(StructField<S, F1> f1, StructField<S, F2> f2, StructField<S, F3> f3, StructField<S, F4> f4, StructField<S, F5> f5, StructField<S, F6> f6, StructField<S, F7> f7, StructField<S, F8> f8, StructField<S, F9> f9, StructField<S, F10> f10, StructField<S, F11> f11, StructField<S, F12> f12, StructField<S, F13> f13, Function13<F1, F2, F3, F4, F5, F6, F7, F8, F9, F10, F11, F12, F13, S> constructor) {
         return new StructEndec<>() {
+            private final StructSchema schema = StructSchema.of(f1, f2, f3, f4, f5, f6, f7, f8, f9, f10, f11, f12, f13);
+
+            @Override
+            public StructSchema schema() {
+                return this.schema;
+            }
+
             @Override
             public void encodeStruct(SerializationContext ctx, Serializer<?> serializer, Serializer.Struct struct, S value) {
                 f1.encodeField(ctx, serializer, struct, value);
@@ -351,6 +442,13 @@ public class StructEndecBuilder {
 
     public static <S, F1, F2, F3, F4, F5, F6, F7, F8, F9, F10, F11, F12, F13, F14> StructEndec<S> of(StructField<S, F1> f1, StructField<S, F2> f2, StructField<S, F3> f3, StructField<S, F4> f4, StructField<S, F5> f5, StructField<S, F6> f6, StructField<S, F7> f7, StructField<S, F8> f8, StructField<S, F9> f9, StructField<S, F10> f10, StructField<S, F11> f11, StructField<S, F12> f12, StructField<S, F13> f13, StructField<S, F14> f14, Function14<F1, F2, F3, F4, F5, F6, F7, F8, F9, F10, F11, F12, F13, F14, S> constructor) {
         return new StructEndec<>() {
+            private final StructSchema schema = StructSchema.of(f1, f2, f3, f4, f5, f6, f7, f8, f9, f10, f11, f12, f13, f14);
+
+            @Override
+            public StructSchema schema() {
+                return this.schema;
+            }
+
             @Override
             public void encodeStruct(SerializationContext ctx, Serializer<?> serializer, Serializer.Struct struct, S value) {
                 f1.encodeField(ctx, serializer, struct, value);
@@ -391,6 +489,13 @@ public class StructEndecBuilder {
 
     public static <S, F1, F2, F3, F4, F5, F6, F7, F8, F9, F10, F11, F12, F13, F14, F15> StructEndec<S> of(StructField<S, F1> f1, StructField<S, F2> f2, StructField<S, F3> f3, StructField<S, F4> f4, StructField<S, F5> f5, StructField<S, F6> f6, StructField<S, F7> f7, StructField<S, F8> f8, StructField<S, F9> f9, StructField<S, F10> f10, StructField<S, F11> f11, StructField<S, F12> f12, StructField<S, F13> f13, StructField<S, F14> f14, StructField<S, F15> f15, Function15<F1, F2, F3, F4, F5, F6, F7, F8, F9, F10, F11, F12, F13, F14, F15, S> constructor) {
         return new StructEndec<>() {
+            private final StructSchema schema = StructSchema.of(f1, f2, f3, f4, f5, f6, f7, f8, f9, f10, f11, f12, f13, f14, f15);
+
+            @Override
+            public StructSchema schema() {
+                return this.schema;
+            }
+
             @Override
             public void encodeStruct(SerializationContext ctx, Serializer<?> serializer, Serializer.Struct struct, S value) {
                 f1.encodeField(ctx, serializer, struct, value);
@@ -433,6 +538,13 @@ public class StructEndecBuilder {
 
     public static <S, F1, F2, F3, F4, F5, F6, F7, F8, F9, F10, F11, F12, F13, F14, F15, F16> StructEndec<S> of(StructField<S, F1> f1, StructField<S, F2> f2, StructField<S, F3> f3, StructField<S, F4> f4, StructField<S, F5> f5, StructField<S, F6> f6, StructField<S, F7> f7, StructField<S, F8> f8, StructField<S, F9> f9, StructField<S, F10> f10, StructField<S, F11> f11, StructField<S, F12> f12, StructField<S, F13> f13, StructField<S, F14> f14, StructField<S, F15> f15, StructField<S, F16> f16, Function16<F1, F2, F3, F4, F5, F6, F7, F8, F9, F10, F11, F12, F13, F14, F15, F16, S> constructor) {
         return new StructEndec<>() {
+            private final StructSchema schema = StructSchema.of(f1, f2, f3, f4, f5, f6, f7, f8, f9, f10, f11, f12, f13, f14, f15, f16);
+
+            @Override
+            public StructSchema schema() {
+                return this.schema;
+            }
+
             @Override
             public void encodeStruct(SerializationContext ctx, Serializer<?> serializer, Serializer.Struct struct, S value) {
                 f1.encodeField(ctx, serializer, struct, value);
@@ -477,6 +589,13 @@ public class StructEndecBuilder {
 
     public static <S, F1, F2, F3, F4, F5, F6, F7, F8, F9, F10, F11, F12, F13, F14, F15, F16, F17> StructEndec<S> of(StructField<S, F1> f1, StructField<S, F2> f2, StructField<S, F3> f3, StructField<S, F4> f4, StructField<S, F5> f5, StructField<S, F6> f6, StructField<S, F7> f7, StructField<S, F8> f8, StructField<S, F9> f9, StructField<S, F10> f10, StructField<S, F11> f11, StructField<S, F12> f12, StructField<S, F13> f13, StructField<S, F14> f14, StructField<S, F15> f15, StructField<S, F16> f16, StructField<S, F17> f17, Function17<F1, F2, F3, F4, F5, F6, F7, F8, F9, F10, F11, F12, F13, F14, F15, F16, F17, S> constructor) {
         return new StructEndec<>() {
+            private final StructSchema schema = StructSchema.of(f1, f2, f3, f4, f5, f6, f7, f8, f9, f10, f11, f12, f13, f14, f15, f16, f17);
+
+            @Override
+            public StructSchema schema() {
+                return this.schema;
+            }
+
             @Override
             public void encodeStruct(SerializationContext ctx, Serializer<?> serializer, Serializer.Struct struct, S value) {
                 f1.encodeField(ctx, serializer, struct, value);
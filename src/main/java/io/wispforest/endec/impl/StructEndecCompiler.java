@@ -0,0 +1,156 @@
+package io.wispforest.endec.impl;
+
+import io.wispforest.endec.Deserializer;
+import io.wispforest.endec.SerializationContext;
+import io.wispforest.endec.Serializer;
+import io.wispforest.endec.StructEndec;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+
+///
+/// Compiles reflectively discovered struct layouts into dedicated [StructEndec]s, see [CompiledStructEndec].
+///
+/// The encoder of a type reads every field through its getter handle and passes it straight to
+/// the field's [StructField#encodeValue] (or primitive equivalent), the decoder calls the constructor
+/// with the decoded fields as direct arguments or, for mutable objects, invokes the setter handles
+/// on a freshly constructed instance. Neither iterates a field list nor allocates an argument array
+///
+final class StructEndecCompiler {
+
+    private static final MethodType ENCODER_TYPE = MethodType.methodType(void.class, SerializationContext.class, Serializer.class, Serializer.Struct.class, Object.class);
+    private static final MethodType DECODER_TYPE = MethodType.methodType(Object.class, SerializationContext.class, Deserializer.class, Deserializer.Struct.class);
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static byte @Nullable [] templateBytes = null;
+
+    private StructEndecCompiler() {}
+
+    ///
+    /// Compile an endec for a type constructed by passing all `fields` to `constructor`, in order
+    ///
+    static <T> StructEndec<T> compile(Class<T> clazz, StructSchema schema, List<? extends StructField<T, ?>> fields, List<MethodHandle> getters, MethodHandle constructor) {
+        try {
+            var decoder = MethodHandles.dropArguments(constructor.asType(constructor.type().changeReturnType(Object.class)), fields.size(), DECODER_TYPE.parameterList());
+
+            // Fold from the last field onwards, such that the first field ends up outermost and is decoded first
+            for (int i = fields.size() - 1; i >= 0; i--) {
+                decoder = MethodHandles.foldArguments(decoder, i, fieldDecoder(fields.get(i), constructor.type().parameterType(i)));
+            }
+
+            return define(clazz, schema, encoder(fields, getters), decoder);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to compile struct endec for " + clazz, e);
+        }
+    }
+
+    ///
+    /// Compile an endec for a type constructed through a no-args `constructor` after
+    /// which all `fields` are assigned through their respective `setters`
+    ///
+    static <T> StructEndec<T> compileMutable(Class<T> clazz, StructSchema schema, List<? extends StructField<T, ?>> fields, List<MethodHandle> getters, List<MethodHandle> setters, MethodHandle constructor) {
+        try {
+            // (ctx, deserializer, struct, instance)instance
+            var assigner = MethodHandles.dropArguments(MethodHandles.identity(Object.class), 0, DECODER_TYPE.parameterList());
+
+            for (int i = fields.size() - 1; i >= 0; i--) {
+                var setter = setters.get(i);
+                setter = setter.asType(MethodType.methodType(void.class, Object.class, setter.type().parameterType(1)));
+
+                var assignment = MethodHandles.collectArguments(setter, 1, fieldDecoder(fields.get(i), setter.type().parameterType(1)));
+                assigner = MethodHandles.foldArguments(assigner, MethodHandles.permuteArguments(
+                        assignment,
+                        MethodType.methodType(void.class, SerializationContext.class, Deserializer.class, Deserializer.Struct.class, Object.class),
+                        3, 0, 1, 2
+                ));
+            }
+
+            var decoder = MethodHandles.foldArguments(assigner, 3, constructor.asType(MethodType.methodType(Object.class)));
+            return define(clazz, schema, encoder(fields, getters), decoder);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to compile struct endec for " + clazz, e);
+        }
+    }
+
+    private static MethodHandle encoder(List<? extends StructField<?, ?>> fields, List<MethodHandle> getters) throws ReflectiveOperationException {
+        var encoder = MethodHandles.empty(ENCODER_TYPE);
+
+        for (int i = fields.size() - 1; i >= 0; i--) {
+            encoder = MethodHandles.foldArguments(encoder, fieldEncoder(fields.get(i), getters.get(i)));
+        }
+
+        return encoder;
+    }
+
+    ///
+    /// @return a handle of type `(ctx, serializer, struct, instance)void` encoding `field` of the instance
+    ///
+    private static MethodHandle fieldEncoder(StructField<?, ?> field, MethodHandle getter) throws ReflectiveOperationException {
+        var primitiveType = primitiveType(field);
+        var valueType = primitiveType != null ? primitiveType : Object.class;
+
+        var encodeValue = LOOKUP.findVirtual(field.getClass(), primitiveType != null ? "encode" + capitalize(primitiveType) : "encodeValue", ENCODER_TYPE.changeParameterType(3, valueType))
+                .bindTo(field);
+
+        return MethodHandles.filterArguments(encodeValue, 3, getter.asType(MethodType.methodType(valueType, Object.class)));
+    }
+
+    ///
+    /// @return a handle of type `(ctx, deserializer, struct)valueType` decoding `field`
+    ///
+    private static MethodHandle fieldDecoder(StructField<?, ?> field, Class<?> valueType) throws ReflectiveOperationException {
+        var primitiveType = primitiveType(field);
+
+        var decoder = primitiveType != null && primitiveType == valueType
+                ? LOOKUP.findVirtual(field.getClass(), "decode" + capitalize(primitiveType), DECODER_TYPE.changeReturnType(primitiveType))
+                : LOOKUP.findVirtual(StructField.class, "decodeField", DECODER_TYPE);
+
+        return decoder.bindTo(field).asType(DECODER_TYPE.changeReturnType(valueType));
+    }
+
+    ///
+    /// @return the type of value `field` handles without boxing, or `null` if it is not a primitive field
+    ///
+    private static @Nullable Class<?> primitiveType(StructField<?, ?> field) {
+        if (field instanceof StructField.IntField<?>) return int.class;
+        if (field instanceof StructField.LongField<?>) return long.class;
+        if (field instanceof StructField.FloatField<?>) return float.class;
+        if (field instanceof StructField.DoubleField<?>) return double.class;
+        if (field instanceof StructField.BooleanField<?>) return boolean.class;
+
+        return null;
+    }
+
+    private static String capitalize(Class<?> primitiveType) {
+        var name = primitiveType.getName();
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> StructEndec<T> define(Class<T> clazz, StructSchema schema, MethodHandle encoder, MethodHandle decoder) throws ReflectiveOperationException {
+        var endecLookup = LOOKUP.defineHiddenClassWithClassData(templateBytes(), List.of(encoder, decoder, clazz.getName(), schema), true);
+
+        try {
+            return (StructEndec<T>) endecLookup.findConstructor(endecLookup.lookupClass(), MethodType.methodType(void.class)).invoke();
+        } catch (ReflectiveOperationException | RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Failed to instantiate compiled struct endec for " + clazz, e);
+        }
+    }
+
+    private static synchronized byte[] templateBytes() {
+        if (templateBytes != null) return templateBytes;
+
+        try (var stream = CompiledStructEndec.class.getResourceAsStream(CompiledStructEndec.class.getSimpleName() + ".class")) {
+            if (stream == null) throw new IllegalStateException("Unable to locate the compiled struct endec template");
+            return templateBytes = stream.readAllBytes();
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to read the compiled struct endec template", e);
+        }
+    }
+}
@@ -1,12 +1,12 @@
 package io.wispforest.endec.impl;
 
 import io.wispforest.endec.*;
+import io.wispforest.endec.util.reflection.Accessors;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.function.BiConsumer;
-import java.util.function.Function;
-import java.util.function.Supplier;
+import java.lang.invoke.MethodHandle;
+import java.util.function.*;
 
 ///
 /// A Holder object that is used to [#encodeField] and [#decodeField] a field ([F]) for object ([S])
@@ -15,21 +15,27 @@ import java.util.function.Supplier;
 /// By passing in a **NON NULL** [Supplier<F>] for the fields [#defaultValueFactory], allowing to omit
 /// reading field data when the format supports such.
 ///
-public sealed class StructField<S, F> permits StructField.Flat, StructField.MutableField {
+public sealed class StructField<S, F> permits StructField.Flat, StructField.MutableField, StructField.PrimitiveField {
 
     protected final String name;
+    protected final FieldKey key;
     protected final Endec<F> endec;
     protected final Function<S, F> getter;
     protected final @Nullable Supplier<F> defaultValueFactory;
     protected final SerializationContext context;
 
+    private final SerializationContext.MergeCache contextCache;
+
     @ApiStatus.Internal
     public StructField(String name, Endec<F> endec, Function<S, F> getter, @Nullable Supplier<F> defaultValueFactory, SerializationContext context) {
         this.name = name;
+        this.key = FieldKey.of(name);
         this.endec = endec;
         this.getter = getter;
         this.defaultValueFactory = defaultValueFactory;
         this.context = context;
+
+        this.contextCache = new SerializationContext.MergeCache(context);
     }
 
     @ApiStatus.Internal
@@ -54,35 +60,88 @@ public sealed class StructField<S, F> permits StructField.Flat, StructField.Muta
         return new StructField<>(this.name, this.endec, this.getter, this.defaultValueFactory, this.context.and(context));
     }
 
+    ///
+    /// Merge this field's [#context] into the given `ctx`, memoized as this happens for every value handled
+    ///
+    protected SerializationContext fieldContext(SerializationContext ctx) {
+        return this.contextCache.merge(ctx);
+    }
+
     public void encodeField(SerializationContext ctx, Serializer<?> serializer, Serializer.Struct struct, S instance) {
         try {
-            struct.field(this.name, ctx.and(this.context), this.endec, this.getter.apply(instance), this.defaultValueFactory != null);
-        } catch (StructFieldException e) {
-            throw e;
+            struct.field(this.key, this.fieldContext(ctx), this.endec, this.getter.apply(instance), this.defaultValueFactory != null);
+        } catch (Exception e) {
+            throw this.wrapException(ctx, "encoding", e);
+        }
+    }
+
+    ///
+    /// Encode the given `value` of this field, bypassing the [#getter]. This is used by [CompiledStructEndec]s,
+    /// which read the value themselves
+    ///
+    @ApiStatus.Internal
+    public void encodeValue(SerializationContext ctx, Serializer<?> serializer, Serializer.Struct struct, F value) {
+        try {
+            struct.field(this.key, this.fieldContext(ctx), this.endec, value, this.defaultValueFactory != null);
         } catch (Exception e) {
-            throw ctx.pushField(name).<StructFieldException>exceptionWithTrace((trace) -> {
-                throw new StructFieldException("Exception occurred when encoding a given StructField: " + trace.toString(), e);
-            });
+            throw this.wrapException(ctx, "encoding", e);
         }
     }
 
     public F decodeField(SerializationContext ctx, Deserializer<?> deserializer, Deserializer.Struct struct) {
         try {
-            return struct.field(this.name, ctx.and(this.context), this.endec, this.defaultValueFactory);
-        } catch (StructFieldException e) {
-            throw e;
+            return struct.field(this.key, this.fieldContext(ctx), this.endec, this.defaultValueFactory);
         } catch (Exception e) {
-            throw ctx.pushField(name).<StructFieldException>exceptionWithTrace((trace) -> {
-                throw new StructFieldException("Exception occurred when decoding a given StructField: " + trace.toString(), e);
-            });
+            throw this.wrapException(ctx, "decoding", e);
         }
     }
 
+    ///
+    /// Wrap `exception`, thrown while `action` this field, into a [StructFieldException] carrying the
+    /// trace of this field - unless it already is one, thrown by a nested field
+    ///
+    protected StructFieldException wrapException(SerializationContext ctx, String action, Exception exception) {
+        if (exception instanceof StructFieldException fieldException) return fieldException;
+        return this.fieldException(ctx, action, exception);
+    }
+
+    protected StructFieldException fieldException(SerializationContext ctx, String action, Exception exception) {
+        return ctx.pushField(this.name).exceptionWithTrace(trace -> {
+            return new StructFieldException("Exception occurred when " + action + " a given StructField: " + trace.toString(), exception);
+        });
+    }
+
     @Override
     public String toString() {
         return "StructField[Name: '" + name + "', Endec: " + endec + (!context.isEmpty() ? ", Context: " + context : "") + "]";
     }
 
+    ///
+    /// Create a [StructField] which reads its value through `getter`, a [MethodHandle] of type `(S)F`.
+    ///
+    /// Should `F` be a primitive type and `endec` the matching primitive endec (like [IntEndec] for `int`),
+    /// the primitive variant of [StructField] is created so that the value is never boxed while encoding
+    ///
+    @ApiStatus.Internal
+    @SuppressWarnings("unchecked")
+    public static <S> StructField<S, ?> ofGetterHandle(String name, Endec<?> endec, MethodHandle getter, SerializationContext context) {
+        var fieldType = getter.type().returnType();
+
+        if (fieldType == int.class && endec instanceof IntEndec intEndec) {
+            return new IntField<S>(name, intEndec, Accessors.intGetter(getter), context);
+        } else if (fieldType == long.class && endec instanceof LongEndec longEndec) {
+            return new LongField<S>(name, longEndec, Accessors.longGetter(getter), context);
+        } else if (fieldType == float.class && endec instanceof FloatEndec floatEndec) {
+            return new FloatField<S>(name, floatEndec, Accessors.floatGetter(getter), context);
+        } else if (fieldType == double.class && endec instanceof DoubleEndec doubleEndec) {
+            return new DoubleField<S>(name, doubleEndec, Accessors.doubleGetter(getter), context);
+        } else if (fieldType == boolean.class && endec instanceof BooleanEndec booleanEndec) {
+            return new BooleanField<S>(name, booleanEndec, Accessors.booleanGetter(getter), context);
+        }
+
+        return new StructField<>(name, (Endec<Object>) endec, Accessors.getter(getter), (Supplier<Object>) null, context);
+    }
+
     ///
     /// A variant of [StructField] that will flatten the Fields data using a passed [StructEndec]
     /// instead of encoding it as field.
@@ -112,12 +171,17 @@ public sealed class StructField<S, F> permits StructField.Flat, StructField.Muta
 
         @Override
         public void encodeField(SerializationContext ctx, Serializer<?> serializer, Serializer.Struct struct, S instance) {
-            this.endec().encodeStruct(ctx.and(this.context), serializer, struct, this.getter.apply(instance));
+            this.endec().encodeStruct(this.fieldContext(ctx), serializer, struct, this.getter.apply(instance));
+        }
+
+        @Override
+        public void encodeValue(SerializationContext ctx, Serializer<?> serializer, Serializer.Struct struct, F value) {
+            this.endec().encodeStruct(this.fieldContext(ctx), serializer, struct, value);
         }
 
         @Override
         public F decodeField(SerializationContext ctx, Deserializer<?> deserializer, Deserializer.Struct struct) {
-            return this.endec().decodeStruct(ctx.and(this.context), deserializer, struct);
+            return this.endec().decodeStruct(this.fieldContext(ctx), deserializer, struct);
         }
 
         @Override
@@ -161,15 +225,11 @@ public sealed class StructField<S, F> permits StructField.Flat, StructField.Muta
 
         public void decodeField(SerializationContext ctx, Deserializer<?> deserializer, Deserializer.Struct struct, S s) {
             try {
-                F f = struct.field(this.name, ctx.and(this.context), this.endec, this.defaultValueFactory);
+                F f = struct.field(this.key, this.fieldContext(ctx), this.endec, this.defaultValueFactory);
 
                 setter.accept(s, f);
-            } catch (StructFieldException e) {
-                throw e;
             } catch (Exception e) {
-                throw ctx.pushField(name).<StructFieldException>exceptionWithTrace((trace) -> {
-                    throw new StructFieldException("Exception occurred when decoding a given StructField: " + trace.toString(), e);
-                });
+                throw this.wrapException(ctx, "decoding", e);
             }
         }
 
@@ -178,4 +238,304 @@ public sealed class StructField<S, F> permits StructField.Flat, StructField.Muta
             return "MutableStructField[Name: '" + name + "', Endec: " + endec + (!context.isEmpty() ? ", Context: " + context : "") + "]";
         }
     }
+
+    ///
+    /// The base of the [StructField] variants for primitive values, which read the value using a primitive getter
+    /// and hand it to the format through the matching primitive method of [Serializer.Struct] and [Deserializer.Struct],
+    /// avoiding boxing for any format supporting such. Subclasses only implement [#encodePrimitive] and [#decodeBoxed],
+    /// along with the unboxed `encodeX`/`decodeX` variants used by [CompiledStructEndec]s, while error handling and
+    /// the field context are dealt with here
+    ///
+    public static abstract sealed class PrimitiveField<S, F, G> extends StructField<S, F>
+            permits IntField, LongField, FloatField, DoubleField, BooleanField {
+
+        protected final G primitiveGetter;
+
+        private final String kind;
+
+        private PrimitiveField(String kind, String name, Endec<F> endec, G primitiveGetter, Function<S, F> getter, SerializationContext context) {
+            super(name, endec, getter, (Supplier<F>) null, context);
+
+            this.kind = kind;
+            this.primitiveGetter = primitiveGetter;
+        }
+
+        ///
+        /// Read the value of this field from `instance` and encode it into `struct`, without boxing
+        ///
+        protected abstract void encodePrimitive(SerializationContext fieldCtx, Serializer.Struct struct, S instance);
+
+        ///
+        /// Decode the value of this field from `struct`, boxing it only once decoded
+        ///
+        protected abstract F decodeBoxed(SerializationContext fieldCtx, Deserializer.Struct struct);
+
+        @Override
+        public final void encodeField(SerializationContext ctx, Serializer<?> serializer, Serializer.Struct struct, S instance) {
+            try {
+                this.encodePrimitive(this.fieldContext(ctx), struct, instance);
+            } catch (Exception e) {
+                throw this.wrapException(ctx, "encoding", e);
+            }
+        }
+
+        @Override
+        public final F decodeField(SerializationContext ctx, Deserializer<?> deserializer, Deserializer.Struct struct) {
+            try {
+                return this.decodeBoxed(this.fieldContext(ctx), struct);
+            } catch (Exception e) {
+                throw this.wrapException(ctx, "decoding", e);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return this.kind + "StructField[Name: '" + name + "', Endec: " + endec + (!context.isEmpty() ? ", Context: " + context : "") + "]";
+        }
+    }
+
+    ///
+    /// A [PrimitiveField] for `int` values, read using a [ToIntFunction]
+    ///
+    public static final class IntField<S> extends PrimitiveField<S, Integer, ToIntFunction<S>> {
+
+        private final IntEndec intEndec;
+
+        public IntField(String name, IntEndec endec, ToIntFunction<S> getter, SerializationContext context) {
+            super("Int", name, endec, getter, getter::applyAsInt, context);
+            this.intEndec = endec;
+        }
+
+        public IntField(String name, IntEndec endec, ToIntFunction<S> getter) {
+            this(name, endec, getter, SerializationContext.empty());
+        }
+
+        @Override
+        public IntField<S> withContext(SerializationContext context) {
+            return new IntField<>(this.name, this.intEndec, this.primitiveGetter, this.context.and(context));
+        }
+
+        @Override
+        protected void encodePrimitive(SerializationContext fieldCtx, Serializer.Struct struct, S instance) {
+            struct.intField(this.key, fieldCtx, this.intEndec, this.primitiveGetter.applyAsInt(instance));
+        }
+
+        @Override
+        protected Integer decodeBoxed(SerializationContext fieldCtx, Deserializer.Struct struct) {
+            return struct.intField(this.key, fieldCtx, this.intEndec);
+        }
+
+        @ApiStatus.Internal
+        public void encodeInt(SerializationContext ctx, Serializer<?> serializer, Serializer.Struct struct, int value) {
+            try {
+                struct.intField(this.key, this.fieldContext(ctx), this.intEndec, value);
+            } catch (Exception e) {
+                throw this.wrapException(ctx, "encoding", e);
+            }
+        }
+
+        public int decodeInt(SerializationContext ctx, Deserializer<?> deserializer, Deserializer.Struct struct) {
+            try {
+                return struct.intField(this.key, this.fieldContext(ctx), this.intEndec);
+            } catch (Exception e) {
+                throw this.wrapException(ctx, "decoding", e);
+            }
+        }
+    }
+
+    ///
+    /// A [PrimitiveField] for `long` values, read using a [ToLongFunction]
+    ///
+    public static final class LongField<S> extends PrimitiveField<S, Long, ToLongFunction<S>> {
+
+        private final LongEndec longEndec;
+
+        public LongField(String name, LongEndec endec, ToLongFunction<S> getter, SerializationContext context) {
+            super("Long", name, endec, getter, getter::applyAsLong, context);
+            this.longEndec = endec;
+        }
+
+        public LongField(String name, LongEndec endec, ToLongFunction<S> getter) {
+            this(name, endec, getter, SerializationContext.empty());
+        }
+
+        @Override
+        public LongField<S> withContext(SerializationContext context) {
+            return new LongField<>(this.name, this.longEndec, this.primitiveGetter, this.context.and(context));
+        }
+
+        @Override
+        protected void encodePrimitive(SerializationContext fieldCtx, Serializer.Struct struct, S instance) {
+            struct.longField(this.key, fieldCtx, this.longEndec, this.primitiveGetter.applyAsLong(instance));
+        }
+
+        @Override
+        protected Long decodeBoxed(SerializationContext fieldCtx, Deserializer.Struct struct) {
+            return struct.longField(this.key, fieldCtx, this.longEndec);
+        }
+
+        @ApiStatus.Internal
+        public void encodeLong(SerializationContext ctx, Serializer<?> serializer, Serializer.Struct struct, long value) {
+            try {
+                struct.longField(this.key, this.fieldContext(ctx), this.longEndec, value);
+            } catch (Exception e) {
+                throw this.wrapException(ctx, "encoding", e);
+            }
+        }
+
+        public long decodeLong(SerializationContext ctx, Deserializer<?> deserializer, Deserializer.Struct struct) {
+            try {
+                return struct.longField(this.key, this.fieldContext(ctx), this.longEndec);
+            } catch (Exception e) {
+                throw this.wrapException(ctx, "decoding", e);
+            }
+        }
+    }
+
+    ///
+    /// A [PrimitiveField] for `float` values, read using a [FloatEndec.ToFloatFunction]
+    ///
+    public static final class FloatField<S> extends PrimitiveField<S, Float, FloatEndec.ToFloatFunction<S>> {
+
+        private final FloatEndec floatEndec;
+
+        public FloatField(String name, FloatEndec endec, FloatEndec.ToFloatFunction<S> getter, SerializationContext context) {
+            super("Float", name, endec, getter, getter::applyAsFloat, context);
+            this.floatEndec = endec;
+        }
+
+        public FloatField(String name, FloatEndec endec, FloatEndec.ToFloatFunction<S> getter) {
+            this(name, endec, getter, SerializationContext.empty());
+        }
+
+        @Override
+        public FloatField<S> withContext(SerializationContext context) {
+            return new FloatField<>(this.name, this.floatEndec, this.primitiveGetter, this.context.and(context));
+        }
+
+        @Override
+        protected void encodePrimitive(SerializationContext fieldCtx, Serializer.Struct struct, S instance) {
+            struct.floatField(this.key, fieldCtx, this.floatEndec, this.primitiveGetter.applyAsFloat(instance));
+        }
+
+        @Override
+        protected Float decodeBoxed(SerializationContext fieldCtx, Deserializer.Struct struct) {
+            return struct.floatField(this.key, fieldCtx, this.floatEndec);
+        }
+
+        @ApiStatus.Internal
+        public void encodeFloat(SerializationContext ctx, Serializer<?> serializer, Serializer.Struct struct, float value) {
+            try {
+                struct.floatField(this.key, this.fieldContext(ctx), this.floatEndec, value);
+            } catch (Exception e) {
+                throw this.wrapException(ctx, "encoding", e);
+            }
+        }
+
+        public float decodeFloat(SerializationContext ctx, Deserializer<?> deserializer, Deserializer.Struct struct) {
+            try {
+                return struct.floatField(this.key, this.fieldContext(ctx), this.floatEndec);
+            } catch (Exception e) {
+                throw this.wrapException(ctx, "decoding", e);
+            }
+        }
+    }
+
+    ///
+    /// A [PrimitiveField] for `double` values, read using a [ToDoubleFunction]
+    ///
+    public static final class DoubleField<S> extends PrimitiveField<S, Double, ToDoubleFunction<S>> {
+
+        private final DoubleEndec doubleEndec;
+
+        public DoubleField(String name, DoubleEndec endec, ToDoubleFunction<S> getter, SerializationContext context) {
+            super("Double", name, endec, getter, getter::applyAsDouble, context);
+            this.doubleEndec = endec;
+        }
+
+        public DoubleField(String name, DoubleEndec endec, ToDoubleFunction<S> getter) {
+            this(name, endec, getter, SerializationContext.empty());
+        }
+
+        @Override
+        public DoubleField<S> withContext(SerializationContext context) {
+            return new DoubleField<>(this.name, this.doubleEndec, this.primitiveGetter, this.context.and(context));
+        }
+
+        @Override
+        protected void encodePrimitive(SerializationContext fieldCtx, Serializer.Struct struct, S instance) {
+            struct.doubleField(this.key, fieldCtx, this.doubleEndec, this.primitiveGetter.applyAsDouble(instance));
+        }
+
+        @Override
+        protected Double decodeBoxed(SerializationContext fieldCtx, Deserializer.Struct struct) {
+            return struct.doubleField(this.key, fieldCtx, this.doubleEndec);
+        }
+
+        @ApiStatus.Internal
+        public void encodeDouble(SerializationContext ctx, Serializer<?> serializer, Serializer.Struct struct, double value) {
+            try {
+                struct.doubleField(this.key, this.fieldContext(ctx), this.doubleEndec, value);
+            } catch (Exception e) {
+                throw this.wrapException(ctx, "encoding", e);
+            }
+        }
+
+        public double decodeDouble(SerializationContext ctx, Deserializer<?> deserializer, Deserializer.Struct struct) {
+            try {
+                return struct.doubleField(this.key, this.fieldContext(ctx), this.doubleEndec);
+            } catch (Exception e) {
+                throw this.wrapException(ctx, "decoding", e);
+            }
+        }
+    }
+
+    ///
+    /// A [PrimitiveField] for `boolean` values, read using a [BooleanEndec.ToBooleanFunction]
+    ///
+    public static final class BooleanField<S> extends PrimitiveField<S, Boolean, BooleanEndec.ToBooleanFunction<S>> {
+
+        private final BooleanEndec booleanEndec;
+
+        public BooleanField(String name, BooleanEndec endec, BooleanEndec.ToBooleanFunction<S> getter, SerializationContext context) {
+            super("Boolean", name, endec, getter, getter::applyAsBoolean, context);
+            this.booleanEndec = endec;
+        }
+
+        public BooleanField(String name, BooleanEndec endec, BooleanEndec.ToBooleanFunction<S> getter) {
+            this(name, endec, getter, SerializationContext.empty());
+        }
+
+        @Override
+        public BooleanField<S> withContext(SerializationContext context) {
+            return new BooleanField<>(this.name, this.booleanEndec, this.primitiveGetter, this.context.and(context));
+        }
+
+        @Override
+        protected void encodePrimitive(SerializationContext fieldCtx, Serializer.Struct struct, S instance) {
+            struct.booleanField(this.key, fieldCtx, this.booleanEndec, this.primitiveGetter.applyAsBoolean(instance));
+        }
+
+        @Override
+        protected Boolean decodeBoxed(SerializationContext fieldCtx, Deserializer.Struct struct) {
+            return struct.booleanField(this.key, fieldCtx, this.booleanEndec);
+        }
+
+        @ApiStatus.Internal
+        public void encodeBoolean(SerializationContext ctx, Serializer<?> serializer, Serializer.Struct struct, boolean value) {
+            try {
+                struct.booleanField(this.key, this.fieldContext(ctx), this.booleanEndec, value);
+            } catch (Exception e) {
+                throw this.wrapException(ctx, "encoding", e);
+            }
+        }
+
+        public boolean decodeBoolean(SerializationContext ctx, Deserializer<?> deserializer, Deserializer.Struct struct) {
+            try {
+                return struct.booleanField(this.key, this.fieldContext(ctx), this.booleanEndec);
+            } catch (Exception e) {
+                throw this.wrapException(ctx, "decoding", e);
+            }
+        }
+    }
 }
@@ -0,0 +1,119 @@
+package io.wispforest.endec.impl;
+
+import io.wispforest.endec.Endec;
+import io.wispforest.endec.FieldKey;
+import io.wispforest.endec.StructEndec;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+///
+/// The fields of a [StructEndec] in the order they are encoded in, resolved once when the endec is created. Every
+/// field carries its [FieldKey], which formats use to cache the encoded form of its name across all values
+///
+/// Obtained through [StructEndec#schema()] from the struct endecs created by [StructEndecBuilder],
+/// [ObjectEndec] and [RecordEndec]
+///
+public final class StructSchema {
+
+    private final List<Field> fields;
+    private final Map<String, Integer> indices;
+
+    private StructSchema(List<Field> fields) {
+        this.fields = fields;
+
+        var indices = new HashMap<String, Integer>();
+        for (int i = 0; i < fields.size(); i++) {
+            if (!fields.get(i).flat()) indices.put(fields.get(i).name(), i);
+        }
+
+        this.indices = indices;
+    }
+
+    public static StructSchema of(List<? extends StructField<?, ?>> structFields) {
+        var fields = new ArrayList<Field>(structFields.size());
+        for (var field : structFields) {
+            fields.add(new Field(field));
+        }
+
+        return new StructSchema(List.copyOf(fields));
+    }
+
+    public static StructSchema of(StructField<?, ?>... structFields) {
+        return of(List.of(structFields));
+    }
+
+    public List<Field> fields() {
+        return this.fields;
+    }
+
+    public int size() {
+        return this.fields.size();
+    }
+
+    ///
+    /// @return the index of the field called `name` in encoding order, or `-1` if there is no such field
+    ///
+    public int indexOf(String name) {
+        var index = this.indices.get(name);
+        return index != null ? index : -1;
+    }
+
+    public @Nullable Field field(String name) {
+        var index = this.indexOf(name);
+        return index != -1 ? this.fields.get(index) : null;
+    }
+
+    @Override
+    public String toString() {
+        return "StructSchema" + this.fields;
+    }
+
+    public static final class Field {
+
+        private final StructField<?, ?> structField;
+
+        private Field(StructField<?, ?> structField) {
+            this.structField = structField;
+        }
+
+        public FieldKey key() {
+            return this.structField.key;
+        }
+
+        public String name() {
+            return this.structField.name;
+        }
+
+        public Endec<?> endec() {
+            return this.structField.endec;
+        }
+
+        ///
+        /// @return whether the field has a default value and may thus be omitted
+        ///
+        public boolean optional() {
+            return this.structField.defaultValueFactory != null;
+        }
+
+        ///
+        /// @return whether the field is a [StructField.Flat], merging the fields of its
+        /// [StructEndec] into this struct instead of appearing under its own name
+        ///
+        public boolean flat() {
+            return this.structField instanceof StructField.Flat<?, ?>;
+        }
+
+        StructField<?, ?> structField() {
+            return this.structField;
+        }
+
+        @Override
+        public String toString() {
+            return this.flat() ? "flat " + this.endec() : this.name() + (this.optional() ? "?" : "");
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package io.wispforest.endec.impl;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+///
+/// Canonical representation of a (possibly annotated) type, used as the key of the type caches within
+/// [ReflectiveEndecBuilder]. Two keys are equal if they describe the same type carrying the same annotations
+/// at every level, no matter which [Type] or [AnnotatedType] implementation they were created from.
+///
+/// Parameterized types are represented by their raw class and the keys of their type arguments,
+/// generic array types by [GenericArrayType] itself and the key of their component type
+///
+record TypeKey(Type raw, List<Annotation> annotations, List<TypeKey> arguments) {
+
+    static TypeKey of(Type type) {
+        if (type instanceof ParameterizedType parameterizedType) {
+            var arguments = new ArrayList<TypeKey>();
+            for (var argument : parameterizedType.getActualTypeArguments()) {
+                arguments.add(of(argument));
+            }
+
+            return new TypeKey(parameterizedType.getRawType(), List.of(), List.copyOf(arguments));
+        } else if (type instanceof GenericArrayType arrayType) {
+            return new TypeKey(GenericArrayType.class, List.of(), List.of(of(arrayType.getGenericComponentType())));
+        }
+
+        return new TypeKey(type, List.of(), List.of());
+    }
+
+    ///
+    /// Create the key of `annotatedType`, with `baseType` replacing its type if present
+    ///
+    static TypeKey of(AnnotatedType annotatedType, @Nullable Type baseType) {
+        var type = baseType == null ? annotatedType.getType() : baseType;
+        var annotations = List.of(annotatedType.getAnnotations());
+
+        if (annotatedType instanceof AnnotatedArrayType arrayType) {
+            var raw = type instanceof Class<?> ? type : GenericArrayType.class;
+            return new TypeKey(raw, annotations, List.of(of(arrayType.getAnnotatedGenericComponentType(), null)));
+        } else if (annotatedType instanceof AnnotatedParameterizedType parameterizedType && type instanceof ParameterizedType parameterized) {
+            var annotatedArguments = parameterizedType.getAnnotatedActualTypeArguments();
+            var actualArguments = parameterized.getActualTypeArguments();
+
+            var arguments = new ArrayList<TypeKey>();
+            for (int i = 0; i < annotatedArguments.length; i++) {
+                arguments.add(of(annotatedArguments[i], i < actualArguments.length ? actualArguments[i] : null));
+            }
+
+            return new TypeKey(parameterized.getRawType(), annotations, List.copyOf(arguments));
+        }
+
+        var key = of(type);
+        return new TypeKey(key.raw, annotations, key.arguments);
+    }
+
+    @Override
+    public String toString() {
+        var builder = new StringBuilder();
+        for (var annotation : this.annotations) builder.append(annotation).append(' ');
+
+        if (this.raw == GenericArrayType.class || (this.raw instanceof Class<?> clazz && clazz.isArray() && !this.arguments.isEmpty())) {
+            return builder.append(this.arguments.get(0)).append("[]").toString();
+        }
+
+        builder.append(this.raw.getTypeName());
+        if (!this.arguments.isEmpty()) {
+            builder.append(this.arguments.stream().map(TypeKey::toString).collect(Collectors.joining(", ", "<", ">")));
+        }
+
+        return builder.toString();
+    }
+}
@@ -1,38 +1,65 @@
 package io.wispforest.endec.impl.trace;
 
-import java.util.ArrayList;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
+/**
+ * Location within a serialized structure, stored as a persistent linked list
+ * of {@link EndecTraceElement}s in which every trace only references its parent.
+ * <p>
+ * This makes {@link #push(EndecTraceElement)} a constant-time operation which
+ * shares the entire existing path instead of copying it, the element list is only
+ * materialized once it is actually requested through {@link #elements()}
+ */
 public class EndecTrace {
-    private final List<EndecTraceElement> elements;
+    private final @Nullable EndecTrace parent;
+    private final @Nullable EndecTraceElement element;
+    private final int depth;
+
+    private EndecTrace(@Nullable EndecTrace parent, @Nullable EndecTraceElement element, int depth) {
+        this.parent = parent;
+        this.element = element;
+        this.depth = depth;
+    }
 
     public EndecTrace(List<EndecTraceElement> elements) {
-        this.elements = elements;
+        this(
+            elements.isEmpty() ? null : new EndecTrace(elements.subList(0, elements.size() - 1)),
+            elements.isEmpty() ? null : elements.get(elements.size() - 1),
+            elements.size()
+        );
     }
 
     public EndecTrace() {
-        this(List.of());
+        this(null, null, 0);
     }
 
     public List<EndecTraceElement> elements() {
-        return Collections.unmodifiableList(this.elements);
-    }
+        var elements = new EndecTraceElement[this.depth];
 
-    public EndecTrace push(EndecTraceElement element) {
-        var newElements = new ArrayList<>(elements);
+        var trace = this;
+        for (int i = this.depth - 1; i >= 0; i--) {
+            elements[i] = trace.element;
+            trace = trace.parent;
+        }
 
-        newElements.add(element);
+        return Collections.unmodifiableList(Arrays.asList(elements));
+    }
 
-        return new EndecTrace(newElements);
+    public EndecTrace push(EndecTraceElement element) {
+        return new EndecTrace(this, element, this.depth + 1);
     }
 
     @Override
     public String toString() {
-        return "$" + elements.stream()
-            .map(EndecTraceElement::toFormatedString)
-            .collect(Collectors.joining());
+        var builder = new StringBuilder("$");
+        for (var element : this.elements()) {
+            builder.append(element.toFormatedString());
+        }
+
+        return builder.toString();
     }
 }
-
@@ -0,0 +1,298 @@
+package io.wispforest.endec.util;
+
+import io.wispforest.endec.BooleanEndec;
+import io.wispforest.endec.Deserializer;
+import io.wispforest.endec.DoubleEndec;
+import io.wispforest.endec.Endec;
+import io.wispforest.endec.FloatEndec;
+import io.wispforest.endec.FormatCapability;
+import io.wispforest.endec.IntEndec;
+import io.wispforest.endec.LongEndec;
+import io.wispforest.endec.SerializationContext;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A template class for implementing deserializers which read the binary format of {@code ByteBufDeserializer}
+ * from some kind of buffer
+ * <p>
+ * Implementations supply the reads of fixed-width values and VarInts along with {@link #consume(int)}, from which
+ * strings, byte arrays and bulk primitive arrays are read. Sequences, maps and structs are read by {@link BinarySequence}
+ * and {@link BinaryMap}, which can be extended should the format carry additional data. {@link #tryRead(Function)} moves
+ * back to the {@link #position()} at which reading started upon failure
+ * <p>
+ * Check {@link io.wispforest.endec.format.bytebuffer.ByteBufferDeserializer} for a reference implementation
+ */
+public abstract class BinaryDeserializer<T> implements Deserializer<T> {
+
+    protected static final Set<FormatCapability> CAPABILITIES = FormatCapability.setOf(FormatCapability.BULK_PRIMITIVE_ARRAYS, FormatCapability.TRY_READ, FormatCapability.OMITS_FIELD_NAMES);
+
+    @Override
+    public Set<FormatCapability> capabilities() {
+        return CAPABILITIES;
+    }
+
+    /**
+     * Consume the next {@code length} bytes of the input and return a buffer holding exactly
+     * them, starting at its position. Should the input contain fewer bytes than required or
+     * {@code length} be negative, this must fail before anything is allocated
+     */
+    protected abstract ByteBuffer consume(int length);
+
+    /**
+     * @return the position in the input at which the next value is read
+     */
+    protected abstract long position();
+
+    /**
+     * Continue reading at {@code position}, as previously returned by {@link #position()}
+     */
+    protected abstract void seek(long position);
+
+    // ---
+
+    @Override
+    public String readString(SerializationContext ctx) {
+        var length = this.readVarInt(ctx);
+        var bytes = this.consume(length);
+
+        if (bytes.hasArray()) {
+            return new String(bytes.array(), bytes.arrayOffset() + bytes.position(), length, StandardCharsets.UTF_8);
+        } else {
+            var array = new byte[length];
+            bytes.get(array);
+
+            return new String(array, StandardCharsets.UTF_8);
+        }
+    }
+
+    @Override
+    public byte[] readBytes(SerializationContext ctx) {
+        var length = this.readVarInt(ctx);
+        var bytes = this.consume(length);
+
+        var array = new byte[length];
+        bytes.get(array);
+
+        return array;
+    }
+
+    @Override
+    public <V> Optional<V> readOptional(SerializationContext ctx, Endec<V> endec) {
+        return this.readBoolean(ctx)
+                ? Optional.of(endec.decode(ctx, this))
+                : Optional.empty();
+    }
+
+    // ---
+
+    @Override
+    public short[] readShorts(SerializationContext ctx) {
+        var length = this.readVarInt(ctx);
+        var view = this.bulkView(length, Short.BYTES);
+
+        var values = new short[length];
+        view.asShortBuffer().get(values);
+
+        return values;
+    }
+
+    @Override
+    public int[] readInts(SerializationContext ctx) {
+        var length = this.readVarInt(ctx);
+        var view = this.bulkView(length, Integer.BYTES);
+
+        var values = new int[length];
+        view.asIntBuffer().get(values);
+
+        return values;
+    }
+
+    @Override
+    public long[] readLongs(SerializationContext ctx) {
+        var length = this.readVarInt(ctx);
+        var view = this.bulkView(length, Long.BYTES);
+
+        var values = new long[length];
+        view.asLongBuffer().get(values);
+
+        return values;
+    }
+
+    @Override
+    public float[] readFloats(SerializationContext ctx) {
+        var length = this.readVarInt(ctx);
+        var view = this.bulkView(length, Float.BYTES);
+
+        var values = new float[length];
+        view.asFloatBuffer().get(values);
+
+        return values;
+    }
+
+    @Override
+    public double[] readDoubles(SerializationContext ctx) {
+        var length = this.readVarInt(ctx);
+        var view = this.bulkView(length, Double.BYTES);
+
+        var values = new double[length];
+        view.asDoubleBuffer().get(values);
+
+        return values;
+    }
+
+    @Override
+    public boolean[] readBooleans(SerializationContext ctx) {
+        var length = this.readVarInt(ctx);
+        var view = this.consume(length);
+
+        var values = new boolean[length];
+        for (int i = 0; i < length; i++) values[i] = view.get(view.position() + i) != 0;
+
+        return values;
+    }
+
+    /**
+     * Consume the next {@code count} elements of {@code elementBytes} size each and return a big-endian
+     * view of them. Should the input contain fewer bytes than required, this fails before any destination
+     * array is allocated
+     */
+    private ByteBuffer bulkView(int count, int elementBytes) {
+        return this.consume(Math.multiplyExact(count, elementBytes)).order(ByteOrder.BIG_ENDIAN);
+    }
+
+    // ---
+
+    @Override
+    public <V> V tryRead(Function<Deserializer<T>, V> reader) {
+        var prevPosition = this.position();
+
+        try {
+            return reader.apply(this);
+        } catch (Exception e) {
+            this.seek(prevPosition);
+            throw e;
+        }
+    }
+
+    // ---
+
+    @Override
+    public <E> Deserializer.Sequence<E> sequence(SerializationContext ctx, Endec<E> elementEndec) {
+        return new BinarySequence<>(ctx, elementEndec, this.readVarInt(ctx));
+    }
+
+    @Override
+    public <V> Deserializer.Map<V> map(SerializationContext ctx, Endec<V> valueEndec) {
+        return new BinaryMap<>(ctx, valueEndec, this.readVarInt(ctx));
+    }
+
+    @Override
+    public Struct struct(SerializationContext ctx) {
+        return new BinarySequence<>(null, null, 0);
+    }
+
+    // ---
+
+    protected class BinarySequence<V> implements Deserializer.Sequence<V>, Struct {
+
+        protected final SerializationContext ctx;
+        protected final Endec<V> valueEndec;
+        protected final int size;
+
+        private int index = 0;
+
+        protected BinarySequence(SerializationContext ctx, Endec<V> valueEndec, int size) {
+            this.ctx = ctx;
+            this.valueEndec = valueEndec;
+            this.size = size;
+        }
+
+        @Override
+        public int estimatedSize() {
+            return this.size;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.index < this.size;
+        }
+
+        @Override
+        public V next() {
+            this.index++;
+            return this.valueEndec.decode(this.ctx, BinaryDeserializer.this);
+        }
+
+        @Override
+        public <F> @Nullable F field(String name, SerializationContext ctx, Endec<F> endec, @Nullable Supplier<F> defaultValueFactory) {
+            return endec.decode(ctx, BinaryDeserializer.this);
+        }
+
+        @Override
+        public int intField(String name, SerializationContext ctx, IntEndec endec) {
+            return endec.decodeInt(ctx, BinaryDeserializer.this);
+        }
+
+        @Override
+        public long longField(String name, SerializationContext ctx, LongEndec endec) {
+            return endec.decodeLong(ctx, BinaryDeserializer.this);
+        }
+
+        @Override
+        public float floatField(String name, SerializationContext ctx, FloatEndec endec) {
+            return endec.decodeFloat(ctx, BinaryDeserializer.this);
+        }
+
+        @Override
+        public double doubleField(String name, SerializationContext ctx, DoubleEndec endec) {
+            return endec.decodeDouble(ctx, BinaryDeserializer.this);
+        }
+
+        @Override
+        public boolean booleanField(String name, SerializationContext ctx, BooleanEndec endec) {
+            return endec.decodeBoolean(ctx, BinaryDeserializer.this);
+        }
+    }
+
+    protected class BinaryMap<V> implements Deserializer.Map<V> {
+
+        protected final SerializationContext ctx;
+        protected final Endec<V> valueEndec;
+        protected final int size;
+
+        private int index = 0;
+
+        protected BinaryMap(SerializationContext ctx, Endec<V> valueEndec, int size) {
+            this.ctx = ctx;
+            this.valueEndec = valueEndec;
+            this.size = size;
+        }
+
+        @Override
+        public int estimatedSize() {
+            return this.size;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.index < this.size;
+        }
+
+        @Override
+        public java.util.Map.Entry<String, V> next() {
+            this.index++;
+            return java.util.Map.entry(
+                    BinaryDeserializer.this.readString(this.ctx),
+                    this.valueEndec.decode(this.ctx, BinaryDeserializer.this)
+            );
+        }
+    }
+}
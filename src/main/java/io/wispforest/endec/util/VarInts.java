@@ -3,30 +3,33 @@ package io.wispforest.endec.util;
 import it.unimi.dsi.fastutil.bytes.ByteConsumer;
 import org.jetbrains.annotations.ApiStatus;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
 @ApiStatus.Internal
 public class VarInts {
 
     public static final int SEGMENT_BITS = 127;
     public static final int CONTINUE_BIT = 128;
 
-    public static int getSizeInBytesFromInt(int i){
-        for(int j = 1; j < 5; ++j) {
-            if ((i & -1 << j * 7) == 0) {
-                return j;
-            }
-        }
+    /**
+     * The bits of the result of {@link #unpack(long)} holding the decoded value
+     */
+    public static final long UNPACKED_VALUE_BITS = 0xFFFFFFFFFFFFFFL;
+
+    private static final VarHandle SHORT_LE = MethodHandles.byteArrayViewVarHandle(short[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle INT_LE = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle LONG_LE = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
 
-        return 5;
+    public static int getSizeInBytesFromInt(int i){
+        return (38 - Integer.numberOfLeadingZeros(i | 1)) / 7;
     }
 
     public static int getSizeInBytesFromLong(long l) {
-        for(int i = 1; i < 10; ++i) {
-            if ((l & -1L << i * 7) == 0L) {
-                return i;
-            }
-        }
-
-        return 10;
+        return (70 - Long.numberOfLeadingZeros(l | 1)) / 7;
     }
 
     public static int readInt(ByteSupplier readByteSup) {
@@ -95,6 +98,236 @@ public class VarInts {
         }
     }
 
+    // --- ZigZag encoding ---
+
+    /**
+     * Map {@code value} onto an unsigned integer such that values of small magnitude,
+     * negative or not, are mapped to small integers (0, -1, 1, -2, ... to 0, 1, 2, 3, ...)
+     */
+    public static int encodeZigZag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    public static long encodeZigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    public static int decodeZigZag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public static long decodeZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    // --- Packed encoding ---
+
+    /**
+     * Encode {@code value} into the little-endian packed form of its VarInt, meaning
+     * that the first byte of the encoding is stored in the lowest byte of the result.
+     * The encoding is {@link #getSizeInBytesFromInt(int)} bytes long, every byte above that is zero
+     * <p>
+     * This allows formats to write an entire VarInt using a single wide store
+     */
+    public static long packInt(int value) {
+        return spread(value & 0xFFFFFFFFL) | continueBits(getSizeInBytesFromInt(value));
+    }
+
+    /**
+     * Like {@link #packInt(int)}, only valid for values which encode into at most
+     * 8 bytes, meaning {@link #getSizeInBytesFromLong(long)} returns 8 or less
+     */
+    public static long packLong(long value) {
+        return spread(value) | continueBits(getSizeInBytesFromLong(value));
+    }
+
+    /**
+     * Decode the VarInt at the start of {@code word}, which holds the next
+     * 8 bytes of input in little-endian order
+     *
+     * @return the decoded value in the lower 56 bits and the amount of consumed bytes
+     * in the upper 8 bits, or {@code -1} if the VarInt is longer than 8 bytes
+     */
+    public static long unpack(long word) {
+        long stopBits = ~word & 0x8080808080808080L;
+        if (stopBits == 0) return -1;
+
+        int size = (Long.numberOfTrailingZeros(stopBits) + 1) >>> 3;
+        long value = gather(size == 8 ? word : word & ((1L << (size << 3)) - 1));
+
+        return value | ((long) size << 56);
+    }
+
+    private static long spread(long value) {
+        return (value & 0x7FL)
+                | (value & 0x7FL << 7) << 1
+                | (value & 0x7FL << 14) << 2
+                | (value & 0x7FL << 21) << 3
+                | (value & 0x7FL << 28) << 4
+                | (value & 0x7FL << 35) << 5
+                | (value & 0x7FL << 42) << 6
+                | (value & 0x7FL << 49) << 7;
+    }
+
+    private static long gather(long word) {
+        return (word & 0x7FL)
+                | (word >>> 1 & 0x7FL << 7)
+                | (word >>> 2 & 0x7FL << 14)
+                | (word >>> 3 & 0x7FL << 21)
+                | (word >>> 4 & 0x7FL << 28)
+                | (word >>> 5 & 0x7FL << 35)
+                | (word >>> 6 & 0x7FL << 42)
+                | (word >>> 7 & 0x7FL << 49);
+    }
+
+    private static long continueBits(int size) {
+        return 0x8080808080808080L & ((1L << ((size - 1) << 3)) - 1);
+    }
+
+    // --- byte[] and ByteBuffer ---
+
+    /**
+     * Write {@code value} into {@code target} starting at {@code offset}
+     *
+     * @return the amount of bytes written
+     */
+    public static int writeInt(int value, byte[] target, int offset) {
+        int size = getSizeInBytesFromInt(value);
+        writePacked(packInt(value), size, target, offset);
+
+        return size;
+    }
+
+    /**
+     * Write {@code value} into {@code target} starting at {@code offset}
+     *
+     * @return the amount of bytes written
+     */
+    public static int writeLong(long value, byte[] target, int offset) {
+        int size = getSizeInBytesFromLong(value);
+
+        if (size <= Long.BYTES) {
+            writePacked(packLong(value), size, target, offset);
+        } else {
+            LONG_LE.set(target, offset, packLongPrefix(value));
+            writeInt((int) (value >>> 56), target, offset + Long.BYTES);
+        }
+
+        return size;
+    }
+
+    public static void writeInt(int value, ByteBuffer buffer) {
+        writePacked(packInt(value), getSizeInBytesFromInt(value), buffer);
+    }
+
+    public static void writeLong(long value, ByteBuffer buffer) {
+        int size = getSizeInBytesFromLong(value);
+        if (size <= Long.BYTES) {
+            writePacked(packLong(value), size, buffer);
+            return;
+        }
+
+        if (buffer.remaining() < size) throw new BufferOverflowException();
+
+        writePacked(packLongPrefix(value), Long.BYTES, buffer);
+        writeInt((int) (value >>> 56), buffer);
+    }
+
+    public static int readInt(ByteBuffer buffer) {
+        if (buffer.remaining() >= Long.BYTES) {
+            int position = buffer.position();
+            long unpacked = unpack(peekLong(buffer, position));
+            int size = (int) (unpacked >>> 56);
+
+            if (unpacked == -1 || size > 5) throw new RuntimeException("VarInt is too big");
+
+            buffer.position(position + size);
+            return (int) unpacked;
+        }
+
+        return readInt(buffer::get);
+    }
+
+    public static long readLong(ByteBuffer buffer) {
+        if (buffer.remaining() >= Long.BYTES) {
+            int position = buffer.position();
+            long unpacked = unpack(peekLong(buffer, position));
+
+            if (unpacked != -1) {
+                buffer.position(position + (int) (unpacked >>> 56));
+                return unpacked & UNPACKED_VALUE_BITS;
+            }
+        }
+
+        return readLong(buffer::get);
+    }
+
+    /**
+     * The first 8 bytes of the encoding of a value which encodes into more than 8 bytes, in the same form
+     * as {@link #packLong(long)}. The remaining bytes are the encoding of {@code value >>> 56}
+     */
+    public static long packLongPrefix(long value) {
+        return spread(value) | 0x8080808080808080L;
+    }
+
+    /**
+     * Store exactly the lower {@code size} bytes of {@code packed}, using as few stores as possible.
+     * Storing a full {@code long} regardless of size would be cheaper still, but would clobber whatever
+     * follows the written bytes
+     */
+    private static void writePacked(long packed, int size, byte[] target, int offset) {
+        if (size == Long.BYTES) {
+            LONG_LE.set(target, offset, packed);
+            return;
+        }
+
+        int index = 0;
+        if ((size & 4) != 0) {
+            INT_LE.set(target, offset, (int) packed);
+            index = 4;
+        }
+
+        if ((size & 2) != 0) {
+            SHORT_LE.set(target, offset + index, (short) (packed >>> (index << 3)));
+            index += 2;
+        }
+
+        if ((size & 1) != 0) target[offset + index] = (byte) (packed >>> (index << 3));
+    }
+
+    private static void writePacked(long packed, int size, ByteBuffer buffer) {
+        int position = buffer.position();
+        if (buffer.limit() - position < size) throw new BufferOverflowException();
+
+        boolean littleEndian = buffer.order() == ByteOrder.LITTLE_ENDIAN;
+
+        if (size == Long.BYTES) {
+            buffer.putLong(position, littleEndian ? packed : Long.reverseBytes(packed));
+        } else {
+            int index = 0;
+            if ((size & 4) != 0) {
+                buffer.putInt(position, littleEndian ? (int) packed : Integer.reverseBytes((int) packed));
+                index = 4;
+            }
+
+            if ((size & 2) != 0) {
+                short value = (short) (packed >>> (index << 3));
+                buffer.putShort(position + index, littleEndian ? value : Short.reverseBytes(value));
+                index += 2;
+            }
+
+            if ((size & 1) != 0) buffer.put(position + index, (byte) (packed >>> (index << 3)));
+        }
+
+        buffer.position(position + size);
+    }
+
+    private static long peekLong(ByteBuffer buffer, int position) {
+        return buffer.order() == ByteOrder.LITTLE_ENDIAN
+                ? buffer.getLong(position)
+                : Long.reverseBytes(buffer.getLong(position));
+    }
+
     public interface ByteSupplier {
         byte get();
     }
@@ -0,0 +1,285 @@
+package io.wispforest.endec.util.reflection;
+
+import io.wispforest.endec.BooleanEndec;
+import io.wispforest.endec.FloatEndec;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.util.List;
+import java.util.function.*;
+
+///
+/// Factory for the accessors used by reflectively created endecs, turning [MethodHandle]s of getters
+/// and constructors into plain functional interfaces.
+///
+/// Whenever the handle directly refers to a method or constructor of a class this library has full privilege
+/// access to (meaning its package is open to us), the accessor is spun using [LambdaMetafactory]. This results in a
+/// dedicated class calling the target directly, which the JIT can inline just like a hand-written lambda. In all
+/// other cases, the accessor falls back to an exact invocation of the handle. Constructors taking arguments
+/// get a hidden class of their own, see [CompiledConstructor]
+///
+/// Neither spun lambdas nor hidden classes can be defined within a GraalVM native image. There (or whenever
+/// [#supportsRuntimeClassDefinition()] is `false`), as well as for constructors requested as
+/// [portable][#constructor(Constructor, boolean)], constructors are instead invoked through their spread
+/// [MethodHandle] - or [Constructor#newInstance] by [ObjectConstructor#fromConstructor] if no handle can be created
+///
+@ApiStatus.Internal
+public final class Accessors {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final boolean RUNTIME_CLASS_DEFINITION = System.getProperty("org.graalvm.nativeimage.imagecode") == null;
+
+    private static byte @Nullable [] constructorTemplateBytes = null;
+
+    private Accessors() {}
+
+    public static <T> ToIntFunction<T> intGetter(MethodHandle getter) {
+        ToIntFunction<T> generated = metafactory(getter, ToIntFunction.class, "applyAsInt", int.class);
+        if (generated != null) return generated;
+
+        var handle = getter.asType(MethodType.methodType(int.class, Object.class));
+        return instance -> {
+            try { return (int) handle.invokeExact((Object) instance); }
+            catch (Throwable e) { throw rethrow(e); }
+        };
+    }
+
+    public static <T> ToLongFunction<T> longGetter(MethodHandle getter) {
+        ToLongFunction<T> generated = metafactory(getter, ToLongFunction.class, "applyAsLong", long.class);
+        if (generated != null) return generated;
+
+        var handle = getter.asType(MethodType.methodType(long.class, Object.class));
+        return instance -> {
+            try { return (long) handle.invokeExact((Object) instance); }
+            catch (Throwable e) { throw rethrow(e); }
+        };
+    }
+
+    public static <T> FloatEndec.ToFloatFunction<T> floatGetter(MethodHandle getter) {
+        FloatEndec.ToFloatFunction<T> generated = metafactory(getter, FloatEndec.ToFloatFunction.class, "applyAsFloat", float.class);
+        if (generated != null) return generated;
+
+        var handle = getter.asType(MethodType.methodType(float.class, Object.class));
+        return instance -> {
+            try { return (float) handle.invokeExact((Object) instance); }
+            catch (Throwable e) { throw rethrow(e); }
+        };
+    }
+
+    public static <T> ToDoubleFunction<T> doubleGetter(MethodHandle getter) {
+        ToDoubleFunction<T> generated = metafactory(getter, ToDoubleFunction.class, "applyAsDouble", double.class);
+        if (generated != null) return generated;
+
+        var handle = getter.asType(MethodType.methodType(double.class, Object.class));
+        return instance -> {
+            try { return (double) handle.invokeExact((Object) instance); }
+            catch (Throwable e) { throw rethrow(e); }
+        };
+    }
+
+    public static <T> BooleanEndec.ToBooleanFunction<T> booleanGetter(MethodHandle getter) {
+        BooleanEndec.ToBooleanFunction<T> generated = metafactory(getter, BooleanEndec.ToBooleanFunction.class, "applyAsBoolean", boolean.class);
+        if (generated != null) return generated;
+
+        var handle = getter.asType(MethodType.methodType(boolean.class, Object.class));
+        return instance -> {
+            try { return (boolean) handle.invokeExact((Object) instance); }
+            catch (Throwable e) { throw rethrow(e); }
+        };
+    }
+
+    /**
+     * Create a getter returning the (possibly boxed) value of {@code getter}
+     */
+    public static <T, F> Function<T, F> getter(MethodHandle getter) {
+        if (!getter.type().returnType().isPrimitive()) {
+            Function<T, F> generated = metafactory(getter, Function.class, "apply", Object.class);
+            if (generated != null) return generated;
+        }
+
+        var handle = getter.asType(MethodType.methodType(Object.class, Object.class));
+        return instance -> {
+            try { return (F) handle.invokeExact((Object) instance); }
+            catch (Throwable e) { throw rethrow(e); }
+        };
+    }
+
+    /**
+     * Create a setter from {@code setter}, a handle of type {@code (T, F)void}
+     */
+    public static <T, F> BiConsumer<T, F> setter(MethodHandle setter) {
+        if (!setter.type().parameterType(1).isPrimitive()) {
+            BiConsumer<T, F> generated = metafactory(setter, BiConsumer.class, "accept", void.class, Object.class);
+            if (generated != null) return generated;
+        }
+
+        var handle = setter.asType(MethodType.methodType(void.class, Object.class, Object.class));
+        return (instance, value) -> {
+            try { handle.invokeExact((Object) instance, (Object) value); }
+            catch (Throwable e) { throw rethrow(e); }
+        };
+    }
+
+    /**
+     * Create a constructor invoking {@code constructor} with its arguments passed as an array
+     *
+     * @return the constructor, or {@code null} if no method handle could be created for {@code constructor}
+     */
+    public static <T> @Nullable ObjectConstructor<T> constructor(Constructor<T> constructor) {
+        return constructor(constructor, false);
+    }
+
+    /**
+     * Create a constructor invoking {@code constructor} with its arguments passed as an array. If {@code portable}
+     * is set, no class is defined for it and the constructor is invoked through its method handle, such that it
+     * works the same within ahead-of-time environments
+     *
+     * @return the constructor, or {@code null} if no method handle could be created for {@code constructor}
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> @Nullable ObjectConstructor<T> constructor(Constructor<T> constructor, boolean portable) {
+        MethodHandle handle;
+        try {
+            handle = lookupFor(constructor.getDeclaringClass()).unreflectConstructor(constructor);
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+
+        var errorMessage = "Error while deserializing object [" + constructor.getDeclaringClass() + "]";
+
+        var spreader = handle.asSpreader(Object[].class, constructor.getParameterCount())
+                .asType(MethodType.methodType(Object.class, Object[].class));
+
+        if (portable || !RUNTIME_CLASS_DEFINITION) return handleConstructor(spreader, errorMessage);
+
+        if (constructor.getParameterCount() == 0) {
+            Supplier<T> generated = metafactory(handle, Supplier.class, "get", Object.class);
+
+            if (generated != null) {
+                return initargs -> {
+                    try { return generated.get(); }
+                    catch (RuntimeException e) { throw new IllegalStateException(errorMessage, e); }
+                };
+            }
+        }
+
+        var compiled = defineConstructor(spreader, constructor.getDeclaringClass().toString());
+        return compiled != null ? (ObjectConstructor<T>) compiled : handleConstructor(spreader, errorMessage);
+    }
+
+    /**
+     * @return whether classes can be defined at runtime, which is not the case within a GraalVM native image
+     */
+    public static boolean supportsRuntimeClassDefinition() {
+        return RUNTIME_CLASS_DEFINITION;
+    }
+
+    /**
+     * @return a lookup with full privilege access to {@code clazz} if its package is open to us,
+     * otherwise the {@linkplain MethodHandles#publicLookup() public lookup}
+     */
+    public static MethodHandles.Lookup lookupFor(Class<?> clazz) {
+        var lookup = privateLookup(clazz);
+        return lookup != null ? lookup : MethodHandles.publicLookup();
+    }
+
+    // ---
+
+    private static MethodHandles.@Nullable Lookup privateLookup(Class<?> clazz) {
+        try {
+            Accessors.class.getModule().addReads(clazz.getModule());
+
+            var lookup = MethodHandles.privateLookupIn(clazz, MethodHandles.lookup());
+            return lookup.hasFullPrivilegeAccess() ? lookup : null;
+        } catch (IllegalAccessException | SecurityException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Spin an implementation of {@code functionalInterface} calling {@code target}, whose
+     * erased signature is {@code (Object, Object...)returnType}
+     *
+     * @return the implementation, or {@code null} if {@code target} is not a direct handle
+     * accessible with full privileges
+     */
+    @SuppressWarnings("unchecked")
+    private static <I> @Nullable I metafactory(MethodHandle target, Class<?> functionalInterface, String methodName, Class<?> returnType, Class<?>... extraParameters) {
+        var targetType = target.type();
+        var host = targetType.parameterCount() > 0 ? targetType.parameterType(0) : targetType.returnType();
+
+        var lookup = privateLookup(host);
+        if (lookup == null) return null;
+
+        var erasedType = targetType.parameterCount() > 0
+                ? MethodType.methodType(returnType, Object.class, extraParameters)
+                : MethodType.methodType(returnType);
+
+        // The functional interface may discard the return value of the target
+        var instantiatedType = returnType == void.class ? targetType.changeReturnType(void.class) : targetType;
+
+        try {
+            var callSite = LambdaMetafactory.metafactory(
+                    lookup,
+                    methodName,
+                    MethodType.methodType(functionalInterface),
+                    erasedType,
+                    target,
+                    instantiatedType
+            );
+
+            return (I) callSite.getTarget().invoke();
+        } catch (Throwable e) {
+            // Not a direct handle or otherwise unsupported, use the fallback
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> ObjectConstructor<T> handleConstructor(MethodHandle spreader, String errorMessage) {
+        return initargs -> {
+            try { return (T) (Object) spreader.invokeExact((Object[]) initargs); }
+            catch (Throwable e) { throw new IllegalStateException(errorMessage, e); }
+        };
+    }
+
+    /**
+     * @return the compiled constructor, or {@code null} if the runtime does not support defining it
+     */
+    private static @Nullable ObjectConstructor<?> defineConstructor(MethodHandle spreader, String name) {
+        try {
+            var constructorLookup = LOOKUP.defineHiddenClassWithClassData(constructorTemplateBytes(), List.of(spreader, name), true);
+            return (ObjectConstructor<?>) constructorLookup.findConstructor(constructorLookup.lookupClass(), MethodType.methodType(void.class)).invoke();
+        } catch (UnsupportedOperationException | LinkageError e) {
+            return null;
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Failed to define compiled constructor for " + name, e);
+        }
+    }
+
+    private static synchronized byte[] constructorTemplateBytes() {
+        if (constructorTemplateBytes != null) return constructorTemplateBytes;
+
+        try (var stream = CompiledConstructor.class.getResourceAsStream(CompiledConstructor.class.getSimpleName() + ".class")) {
+            if (stream == null) throw new IllegalStateException("Unable to locate the compiled constructor template");
+            return constructorTemplateBytes = stream.readAllBytes();
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to read the compiled constructor template", e);
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable throwable) {
+        if (throwable instanceof RuntimeException runtimeException) return runtimeException;
+        if (throwable instanceof Error error) throw error;
+
+        return new IllegalStateException("Exception thrown by reflective accessor", throwable);
+    }
+}
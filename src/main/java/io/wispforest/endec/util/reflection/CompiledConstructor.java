@@ -0,0 +1,46 @@
+package io.wispforest.endec.util.reflection;
+
+import java.lang.constant.ConstantDescs;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+
+///
+/// Template of the per-constructor [ObjectConstructor]s created by [Accessors#constructor]. This class itself
+/// is never initialized, instead its bytes are defined as a new hidden class for every constructor with the
+/// spreading handle of that constructor passed as class data.
+///
+/// As the handle is held in a `static final` field, the JIT treats it as a constant and folds the spreading
+/// of the argument array and the constructor call itself into [#createInstance]
+///
+final class CompiledConstructor implements ObjectConstructor<Object> {
+
+    private static final MethodHandle CONSTRUCTOR;
+    private static final String NAME;
+
+    static {
+        try {
+            var lookup = MethodHandles.lookup();
+
+            CONSTRUCTOR = MethodHandles.classDataAt(lookup, ConstantDescs.DEFAULT_NAME, MethodHandle.class, 0);
+            NAME = MethodHandles.classDataAt(lookup, ConstantDescs.DEFAULT_NAME, String.class, 1);
+        } catch (IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @Override
+    public Object createInstance(Object... initargs) {
+        try {
+            return (Object) CONSTRUCTOR.invokeExact(initargs);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Error while deserializing object [" + NAME + "]", e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledConstructor[" + NAME + "]";
+    }
+}
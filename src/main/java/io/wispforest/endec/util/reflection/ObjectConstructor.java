@@ -7,9 +7,22 @@ import java.lang.reflect.InvocationTargetException;
 /// A constructor for a given object with the type [T] typically using a [Constructor] for reflective construction
 /// of an object.
 ///
+/// Constructors created through [#fromConstructor] invoke the constructor through a method handle (or a generated
+/// class if possible) as created by [Accessors#constructor], [Constructor#newInstance] is only used as a fallback
+/// for constructors not accessible that way. Constructors created as [portable][#fromConstructor(Constructor, boolean)]
+/// never define a class of their own and thus behave the same within ahead-of-time environments like GraalVM
+/// native images.
+///
 public interface ObjectConstructor<T> {
 
     static <T> ObjectConstructor<T> fromConstructor(Constructor<T> constructor) {
+        return fromConstructor(constructor, false);
+    }
+
+    static <T> ObjectConstructor<T> fromConstructor(Constructor<T> constructor, boolean portable) {
+        var accessor = Accessors.constructor(constructor, portable);
+        if (accessor != null) return accessor;
+
         return initargs -> {
             try {
                 return (T) constructor.newInstance(initargs);
@@ -3,6 +3,8 @@ package io.wispforest.endec.util.reflection;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.*;
 import java.util.*;
 import java.util.function.BiConsumer;
@@ -289,35 +291,44 @@ public class ReflectionUtils {
     }
 
     public static <T> Function<T, Object> createGetter(Class<T> clazz, Field field, MethodTypeCheckBypass alternativeTypeCheck) {
-        if (!Modifier.isPublic(field.getModifiers()) && !field.trySetAccessible()) {
-            var method = findGetterMethod(clazz, field, alternativeTypeCheck);
+        return Accessors.getter(createGetterHandle(clazz, field, alternativeTypeCheck));
+    }
 
-            return (t) -> {
-                try { return method.invoke(t); }
-                catch (Throwable e) { throw new IllegalStateException("Unable to get field [" + field + "] value from method", e); }
-            };
-        }
+    /**
+     * Create a {@link MethodHandle} of type {@code (T)F} reading the given field, either directly or through
+     * its getter method should the field not be accessible. Unlike {@link #createGetter}, the handle retains the
+     * fields actual type which allows for reading primitive values without boxing them
+     */
+    public static MethodHandle createGetterHandle(Class<?> clazz, Field field, MethodTypeCheckBypass alternativeTypeCheck) {
+        try {
+            if (!Modifier.isPublic(field.getModifiers()) && !field.trySetAccessible()) {
+                return MethodHandles.publicLookup().unreflect(findGetterMethod(clazz, field, alternativeTypeCheck));
+            }
 
-        return (t) -> {
-            try { return field.get(t); }
-            catch (Throwable e) { throw new IllegalStateException("Unable to get field [" + field + "] value", e); }
-        };
+            return MethodHandles.lookup().unreflectGetter(field);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Unable to create method handle for field [" + field + "]", e);
+        }
     }
 
     public static <T> BiConsumer<T, Object> createSetter(Class<T> clazz, Field field, MethodTypeCheckBypass alternativeTypeCheck) {
-        if (!Modifier.isPublic(field.getModifiers()) && !field.trySetAccessible()) {
-            var method = findSetterMethod(clazz, field, alternativeTypeCheck);
+        return Accessors.setter(createSetterHandle(clazz, field, alternativeTypeCheck));
+    }
 
-            return (t, o) -> {
-                try { method.invoke(t, o); }
-                catch (Throwable e) { throw new IllegalStateException("Unable to set field value from method", e); }
-            };
-        }
+    /**
+     * Create a {@link MethodHandle} of type {@code (T, F)void} writing the given field, either directly
+     * or through its setter method should the field not be accessible
+     */
+    public static MethodHandle createSetterHandle(Class<?> clazz, Field field, MethodTypeCheckBypass alternativeTypeCheck) {
+        try {
+            if (!Modifier.isPublic(field.getModifiers()) && !field.trySetAccessible()) {
+                return MethodHandles.publicLookup().unreflect(findSetterMethod(clazz, field, alternativeTypeCheck));
+            }
 
-        return (t, o) -> {
-            try { field.set(t, o); }
-            catch (Throwable e) { throw new IllegalStateException("Unable to set field value", e); }
-        };
+            return MethodHandles.lookup().unreflectSetter(field);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Unable to create method handle for field [" + field + "]", e);
+        }
     }
 
     private static boolean isNotStatic(int modifiers) {
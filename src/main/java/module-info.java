@@ -6,6 +6,7 @@ module endec {
     exports io.wispforest.endec.impl;
     exports io.wispforest.endec.util;
     exports io.wispforest.endec.annotations;
+    exports io.wispforest.endec.format.bytebuffer;
     exports io.wispforest.endec.format.data;
     exports io.wispforest.endec.format.edm;
     exports io.wispforest.endec.format.forwarding;
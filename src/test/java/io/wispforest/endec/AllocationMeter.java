@@ -0,0 +1,100 @@
+package io.wispforest.endec;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * JUnit extension which measures how many bytes a single call to some operation
+ * allocates on the calling thread, using {@link com.sun.management.ThreadMXBean#getCurrentThreadAllocatedBytes()}.
+ * <p>
+ * Register it on a test class using {@code @ExtendWith(AllocationMeter.class)} and take an
+ * {@link AllocationMeter} parameter in the test method to measure operations or to assert
+ * allocation budgets on them. On JVMs which do not support allocation tracking, tests using
+ * the meter are skipped instead of failed
+ */
+public final class AllocationMeter implements ParameterResolver {
+
+    /**
+     * Number of untracked calls made before measuring, this is intentionally high
+     * so that the operation has been compiled by C2 (and had escape analysis applied)
+     * by the time its allocations are recorded
+     */
+    private static final int WARMUP_CALLS = 50_000;
+    private static final int BATCHES = 5;
+    private static final int CALLS_PER_BATCH = 10_000;
+
+    // null if the JVM cannot track allocations per thread
+    private final com.sun.management.ThreadMXBean threadBean;
+
+    public AllocationMeter() {
+        this.threadBean = trackingThreadBean();
+    }
+
+    private static com.sun.management.ThreadMXBean trackingThreadBean() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threadBean) || !threadBean.isThreadAllocatedMemorySupported()) {
+            return null;
+        }
+
+        if (!threadBean.isThreadAllocatedMemoryEnabled()) threadBean.setThreadAllocatedMemoryEnabled(true);
+        return threadBean;
+    }
+
+    private void assumeSupported() {
+        Assumptions.assumeTrue(this.threadBean != null, "Thread allocation tracking is not supported by this JVM");
+    }
+
+    /**
+     * Measure the bytes allocated by a single invocation of {@code operation}. The
+     * result is the smallest per-call average of several measured batches, which filters
+     * out one-off allocations like class initialization or deoptimization
+     */
+    public long measure(Runnable operation) {
+        this.assumeSupported();
+
+        for (int i = 0; i < WARMUP_CALLS; i++) operation.run();
+
+        long minimumBytesPerCall = Long.MAX_VALUE;
+        for (int batch = 0; batch < BATCHES; batch++) {
+            long before = this.threadBean.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < CALLS_PER_BATCH; i++) operation.run();
+            long allocated = this.threadBean.getCurrentThreadAllocatedBytes() - before;
+
+            minimumBytesPerCall = Math.min(minimumBytesPerCall, allocated / CALLS_PER_BATCH);
+        }
+
+        return minimumBytesPerCall;
+    }
+
+    /**
+     * Measure {@code operation} as described in {@link #measure(Runnable)} and fail
+     * the current test if it allocates more than {@code maxBytesPerCall} per invocation
+     */
+    public long assertBudget(String name, long maxBytesPerCall, Runnable operation) {
+        var bytesPerCall = this.measure(operation);
+
+        Assertions.assertTrue(
+                bytesPerCall <= maxBytesPerCall,
+                () -> "Allocation budget exceeded for '" + name + "': " + bytesPerCall + " bytes/call allocated, at most " + maxBytesPerCall + " allowed"
+        );
+
+        return bytesPerCall;
+    }
+
+    // ---
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return parameterContext.getParameter().getType() == AllocationMeter.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        this.assumeSupported();
+        return this;
+    }
+}
@@ -0,0 +1,133 @@
+package io.wispforest.endec;
+
+import io.netty.buffer.Unpooled;
+import io.wispforest.endec.format.bytebuf.ByteBufDeserializer;
+import io.wispforest.endec.format.bytebuf.ByteBufSerializer;
+import io.wispforest.endec.format.data.DataOutputSerializer;
+import io.wispforest.endec.impl.BuiltInEndecs;
+import io.wispforest.endec.impl.CommentAttribute;
+import io.wispforest.endec.impl.StructEndecBuilder;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.io.DataOutputStream;
+import java.io.OutputStream;
+import java.util.List;
+
+@ExtendWith(AllocationMeter.class)
+public class AllocationTests {
+
+    private record Entry(int id, int count, long timestamp) {
+        public static final StructEndec<Entry> ENDEC = StructEndecBuilder.of(
+                Endec.INT.fieldOf("id", Entry::id),
+                Endec.VAR_INT.fieldOf("count", Entry::count),
+                Endec.LONG.fieldOf("timestamp", Entry::timestamp),
+                Entry::new
+        );
+    }
+
+    private static final StructEndec<Entry> PRIMITIVE_ENTRY_ENDEC = StructEndecBuilder.of(
+            BuiltInEndecs.INT.intFieldOf("id", Entry::id),
+            BuiltInEndecs.VAR_INT.intFieldOf("count", Entry::count),
+            BuiltInEndecs.LONG.longFieldOf("timestamp", Entry::timestamp),
+            Entry::new
+    );
+
+    private static final Entry ENTRY = new Entry(1234, 300, 1234567890123L);
+
+    @Test
+    @DisplayName("encode 3-field struct to bytebuf")
+    public void encodeStructToByteBuf(AllocationMeter meter) {
+        var buffer = Unpooled.buffer(64);
+        var serializer = ByteBufSerializer.of(buffer);
+        var ctx = serializer.setupContext(SerializationContext.empty());
+
+        meter.assertBudget("encode struct to bytebuf", 128, () -> {
+            buffer.clear();
+            Entry.ENDEC.encode(ctx, serializer, ENTRY);
+        });
+    }
+
+    @Test
+    @DisplayName("decode 3-field struct from bytebuf")
+    public void decodeStructFromByteBuf(AllocationMeter meter) {
+        var buffer = Unpooled.buffer(64);
+        Entry.ENDEC.encodeFully(() -> ByteBufSerializer.of(buffer), ENTRY);
+
+        var deserializer = ByteBufDeserializer.of(buffer);
+        var ctx = deserializer.setupContext(SerializationContext.empty());
+
+        meter.assertBudget("decode struct from bytebuf", 192, () -> {
+            buffer.readerIndex(0);
+            Entry.ENDEC.decode(ctx, deserializer);
+        });
+    }
+
+    @Test
+    @DisplayName("encode 3-field struct with primitive fields to bytebuf")
+    public void encodePrimitiveStructToByteBuf(AllocationMeter meter) {
+        var buffer = Unpooled.buffer(64);
+        var serializer = ByteBufSerializer.of(buffer);
+        var ctx = serializer.setupContext(SerializationContext.empty());
+
+        var boxedBytes = meter.measure(() -> {
+            buffer.clear();
+            Entry.ENDEC.encode(ctx, serializer, ENTRY);
+        });
+
+        var primitiveBytes = meter.assertBudget("encode primitive struct to bytebuf", 96, () -> {
+            buffer.clear();
+            PRIMITIVE_ENTRY_ENDEC.encode(ctx, serializer, ENTRY);
+        });
+
+        Assertions.assertTrue(primitiveBytes <= boxedBytes, "Primitive fields should not allocate more than boxed ones");
+    }
+
+    @Test
+    @DisplayName("encode struct with field context to bytebuf")
+    public void encodeStructWithFieldContextToByteBuf(AllocationMeter meter) {
+        var fieldContext = SerializationContext.attributes(new CommentAttribute("a comment"));
+        var endec = StructEndecBuilder.of(
+                Endec.INT.fieldOf("id", Entry::id).withContext(fieldContext),
+                Endec.VAR_INT.fieldOf("count", Entry::count).withContext(fieldContext),
+                Endec.LONG.fieldOf("timestamp", Entry::timestamp).withContext(fieldContext),
+                Entry::new
+        );
+
+        var buffer = Unpooled.buffer(64);
+        var serializer = ByteBufSerializer.of(buffer);
+        var ctx = serializer.setupContext(SerializationContext.attributes(SerializationAttributes.HUMAN_READABLE));
+
+        meter.assertBudget("encode struct with field context to bytebuf", 192, () -> {
+            buffer.clear();
+            endec.encode(ctx, serializer, ENTRY);
+        });
+    }
+
+    @Test
+    @DisplayName("encode 3-field struct to data output")
+    public void encodeStructToDataOutput(AllocationMeter meter) {
+        var serializer = DataOutputSerializer.of(new DataOutputStream(OutputStream.nullOutputStream()));
+        var ctx = serializer.setupContext(SerializationContext.empty());
+
+        meter.assertBudget("encode struct to data output", 288, () -> Entry.ENDEC.encode(ctx, serializer, ENTRY));
+    }
+
+    @Test
+    @DisplayName("encode list of structs to bytebuf")
+    public void encodeStructListToByteBuf(AllocationMeter meter) {
+        var entries = List.of(ENTRY, ENTRY, ENTRY, ENTRY, ENTRY, ENTRY, ENTRY, ENTRY);
+        var endec = Entry.ENDEC.listOf();
+
+        var buffer = Unpooled.buffer(256);
+        var serializer = ByteBufSerializer.of(buffer);
+        var ctx = serializer.setupContext(SerializationContext.empty());
+
+        meter.assertBudget("encode struct list to bytebuf", 896, () -> {
+            buffer.clear();
+            endec.encode(ctx, serializer, entries);
+        });
+    }
+}
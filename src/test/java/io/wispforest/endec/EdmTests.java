@@ -7,6 +7,7 @@ import io.wispforest.endec.format.edm.EdmIo;
 import io.wispforest.endec.format.edm.EdmSerializer;
 import io.wispforest.endec.impl.StructEndecBuilder;
 import io.wispforest.endec.impl.trace.EndecMalformedInputException;
+import io.wispforest.endec.impl.trace.EndecTraceElement;
 import org.jetbrains.annotations.Nullable;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
@@ -145,6 +146,24 @@ public class EdmTests {
         }, "Malformed input at $.a: Expected a i32, got a string");
     }
 
+    @Test
+    @DisplayName("malformed input trace of nested value")
+    public void malformedNestedEdmInput() {
+        var exception = Assertions.assertThrows(EndecMalformedInputException.class, () -> {
+            Endec.INT.listOf().mapOf()
+                .decodeFully(
+                    EdmDeserializer::of,
+                    EdmElement.consumeMap(Map.of("a", EdmElement.sequence(List.of(EdmElement.i32(1), EdmElement.string("test")))))
+                );
+        });
+
+        Assertions.assertEquals("$.a[1]", exception.location.toString());
+        Assertions.assertEquals(
+            List.of(new EndecTraceElement.FieldTraceElement("a"), new EndecTraceElement.IndexTraceElement(1)),
+            exception.location.elements()
+        );
+    }
+
     private static byte[] encodeEdmElement(EdmElement<?> edmElement) {
         try {
             var dataOutput = ByteStreams.newDataOutput();
@@ -0,0 +1,127 @@
+package io.wispforest.endec;
+
+import com.google.gson.JsonElement;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.wispforest.endec.annotations.*;
+import io.wispforest.endec.format.bytebuf.ByteBufDeserializer;
+import io.wispforest.endec.format.bytebuf.ByteBufSerializer;
+import io.wispforest.endec.format.edm.EdmDeserializer;
+import io.wispforest.endec.format.edm.EdmSerializer;
+import io.wispforest.endec.format.gson.GsonDeserializer;
+import io.wispforest.endec.format.gson.GsonSerializer;
+import io.wispforest.endec.impl.RecordEndec;
+import io.wispforest.endec.impl.ReflectiveEndecBuilder;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+public class GeneratedEndecTests {
+
+    @GenerateEndec
+    public record Point(int x, @IsVarInt long y, @Comment(comment = "the name") String name, List<String> tags, Map<String, Integer> counts, @IsNullable(mayOmitField = true) String nickname, Optional<Point> next) {}
+
+    @GenerateEndec
+    public static class Settings {
+        public int volume;
+        private String theme;
+
+        public Settings() {}
+
+        public String getTheme() {
+            return this.theme;
+        }
+
+        public void setTheme(String theme) {
+            this.theme = theme;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Settings settings && this.volume == settings.volume && Objects.equals(this.theme, settings.theme);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.volume, this.theme);
+        }
+    }
+
+    @GenerateEndec
+    @SealedPolymorphic
+    public sealed interface Shape permits Circle, Square {}
+
+    public record Circle(double radius) implements Shape {}
+
+    public record Square(float side, @RangedInteger(min = 0, max = 10) int count) implements Shape {}
+
+    @Test
+    @DisplayName("builder uses generated endec")
+    public void builderUsesGeneratedEndec() {
+        var builder = new ReflectiveEndecBuilder();
+
+        Assertions.assertInstanceOf(GeneratedEndecTests_PointEndec.Impl.class, builder.get(Point.class));
+        Assertions.assertInstanceOf(GeneratedEndecTests_SettingsEndec.Impl.class, builder.get(Settings.class));
+    }
+
+    @Test
+    @DisplayName("generated record endec matches reflective endec")
+    public void generatedRecordMatchesReflective() {
+        var point = new Point(1, 300, "point", List.of("a", "b"), Map.of("c", 3), "p", Optional.of(new Point(2, -1, "next", List.of(), Map.of(), "n", Optional.empty())));
+
+        var reflective = RecordEndec.create(new ReflectiveEndecBuilder(), Point.class);
+        var generated = GeneratedEndecTests_PointEndec.ENDEC;
+
+        Assertions.assertEquals(reflective.encodeFully(EdmSerializer::of, point), generated.encodeFully(EdmSerializer::of, point));
+
+        var reflectiveBytes = ByteBufUtil.getBytes(reflective.encodeFully(() -> ByteBufSerializer.of(Unpooled.buffer()), point));
+        var generatedBuffer = generated.encodeFully(() -> ByteBufSerializer.of(Unpooled.buffer()), point);
+
+        Assertions.assertArrayEquals(reflectiveBytes, ByteBufUtil.getBytes(generatedBuffer));
+        Assertions.assertEquals(point, generated.decodeFully(ByteBufDeserializer::of, generatedBuffer));
+
+        // Generated endecs describe their fields just like the reflective ones, which lazy decoding relies on
+        Assertions.assertNotNull(generated.schema());
+        Assertions.assertEquals(
+                reflective.schema().fields().stream().map(field -> field.name()).toList(),
+                generated.schema().fields().stream().map(field -> field.name()).toList()
+        );
+
+        var lazy = generated.decodeLazily(EdmDeserializer::of, generated.encodeFully(EdmSerializer::of, point));
+        Assertions.assertEquals("point", lazy.get("name"));
+        Assertions.assertFalse(lazy.isDecoded("next"));
+    }
+
+    @Test
+    @DisplayName("generated class endec roundtrip")
+    public void generatedClassRoundtrip() {
+        var settings = new Settings();
+        settings.volume = 7;
+        settings.setTheme("dark");
+
+        var endec = GeneratedEndecTests_SettingsEndec.ENDEC;
+        ByteBuf buffer = endec.encodeFully(() -> ByteBufSerializer.of(Unpooled.buffer()), settings);
+
+        Assertions.assertEquals(settings, endec.decodeFully(ByteBufDeserializer::of, buffer));
+    }
+
+    @Test
+    @DisplayName("generated sealed endec roundtrip")
+    public void generatedSealedRoundtrip() {
+        var endec = GeneratedEndecTests_ShapeEndec.ENDEC;
+
+        for (var shape : List.of(new Circle(2.5), new Square(1.5f, 4), new Square(1, 20))) {
+            var expected = shape instanceof Square square ? new Square(square.side(), Math.min(square.count(), 10)) : shape;
+
+            JsonElement json = endec.encodeFully(GsonSerializer::of, shape);
+            Assertions.assertEquals(expected, endec.decodeFully(GsonDeserializer::of, json));
+            Assertions.assertEquals(expected, endec.decodeFully(EdmDeserializer::of, endec.encodeFully(EdmSerializer::of, shape)));
+        }
+    }
+}
@@ -1,22 +1,56 @@
 package io.wispforest.endec;
 
 import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonNull;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonPrimitive;
+import io.netty.buffer.ByteBufUtil;
 import io.netty.buffer.Unpooled;
 import io.wispforest.endec.format.bytebuf.ByteBufDeserializer;
+import io.wispforest.endec.format.bytebuf.ByteBufOption;
 import io.wispforest.endec.format.bytebuf.ByteBufSerializer;
+import io.wispforest.endec.format.bytebuf.ByteBufVarInts;
+import io.wispforest.endec.format.bytebuffer.ByteBufferDeserializer;
+import io.wispforest.endec.format.bytebuffer.ByteBufferEndecBuffer;
+import io.wispforest.endec.format.bytebuffer.ByteBufferSerializer;
+import io.wispforest.endec.format.bytebuffer.MappedFile;
+import io.wispforest.endec.format.bytebuffer.MappedFileDeserializer;
+import io.wispforest.endec.format.data.DataInputDeserializer;
+import io.wispforest.endec.format.data.DataOutputSerializer;
+import io.wispforest.endec.format.edm.EdmDeserializer;
 import io.wispforest.endec.format.edm.EdmElement;
+import io.wispforest.endec.format.edm.EdmIo;
 import io.wispforest.endec.format.edm.EdmSerializer;
+import io.wispforest.endec.format.forwarding.ForwardingDeserializer;
 import io.wispforest.endec.format.gson.GsonDeserializer;
 import io.wispforest.endec.format.gson.GsonEndec;
 import io.wispforest.endec.format.gson.GsonSerializer;
+import io.wispforest.endec.format.hash.HashSerializer;
+import io.wispforest.endec.impl.BuiltInEndecs;
+import io.wispforest.endec.impl.DispatchTable;
+import io.wispforest.endec.impl.ReflectiveEndecBuilder;
+import io.wispforest.endec.impl.StructEndecBuilder;
 import io.wispforest.endec.util.RangeNumberException;
+import io.wispforest.endec.util.VarInts;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
 public class MiscTests {
 
     @Test
@@ -110,4 +144,639 @@ public class MiscTests {
 
         Assertions.assertNotEquals(EdmElement.Type.I32, endec.encodeFully(SerializationContext.attributes(attr1), EdmSerializer::of, (byte) 16).type());
     }
+
+    @Test
+    @DisplayName("context attribute merging")
+    public void contextAttributeMerging(){
+        final var marker = SerializationAttribute.marker("marker");
+        final var valued = SerializationAttribute.<String>withValue("valued");
+
+        var ctx = SerializationContext.attributes(marker, valued.instance("first"));
+        Assertions.assertTrue(ctx.hasAttribute(marker));
+        Assertions.assertEquals("first", ctx.requireAttributeValue(valued));
+
+        var merged = ctx.and(SerializationContext.attributes(valued.instance("second")));
+        Assertions.assertTrue(merged.hasAttribute(marker));
+        Assertions.assertEquals("second", merged.requireAttributeValue(valued));
+        Assertions.assertEquals("first", ctx.requireAttributeValue(valued));
+
+        var suppressed = merged.and(SerializationContext.suppressed(marker)).pushField("field");
+        Assertions.assertFalse(suppressed.hasAttribute(marker));
+        Assertions.assertTrue(suppressed.withoutSuppressed(marker).hasAttribute(marker));
+
+        var removed = merged.withoutAttributes(valued);
+        Assertions.assertFalse(removed.hasAttribute(valued));
+        Assertions.assertNull(removed.getAttributeValue(valued));
+        Assertions.assertTrue(removed.withoutAttributes(marker).isEmpty());
+
+        var cache = new SerializationContext.MergeCache(SerializationContext.attributes(valued.instance("second")));
+        var first = cache.merge(ctx);
+        Assertions.assertEquals("second", first.requireAttributeValue(valued));
+        Assertions.assertTrue(first.hasAttribute(marker));
+
+        var other = cache.merge(removed);
+        Assertions.assertNotSame(first, other);
+        Assertions.assertEquals("second", other.requireAttributeValue(valued));
+        Assertions.assertSame(first, cache.merge(ctx));
+        Assertions.assertSame(other, cache.merge(removed));
+
+        var pushed = cache.merge(ctx.pushField("field"));
+        Assertions.assertNotSame(first, pushed);
+        Assertions.assertEquals("second", pushed.requireAttributeValue(valued));
+        Assertions.assertEquals(ctx.pushField("field").trace().toString(), pushed.trace().toString());
+    }
+
+    @Test
+    @DisplayName("bulk primitive arrays match sequences")
+    public void bulkPrimitiveArrays(){
+        var ints = new int[]{0, -1, 17, Integer.MAX_VALUE, Integer.MIN_VALUE, 300};
+        var doubles = new double[]{0, -1.5, Double.MAX_VALUE, Math.PI};
+        var booleans = new boolean[]{true, false, false, true};
+
+        var bulkBuffer = BuiltInEndecs.INT_ARRAY.encodeFully(() -> ByteBufSerializer.of(Unpooled.buffer()), ints);
+        var sequenceBuffer = Endec.INT.listOf().encodeFully(() -> ByteBufSerializer.of(Unpooled.buffer()), Arrays.stream(ints).boxed().toList());
+        Assertions.assertEquals(sequenceBuffer, bulkBuffer);
+        Assertions.assertArrayEquals(ints, BuiltInEndecs.INT_ARRAY.decodeFully(ByteBufDeserializer::of, bulkBuffer));
+
+        var compositeBuffer = BuiltInEndecs.DOUBLE_ARRAY.encodeFully(() -> ByteBufSerializer.of(Unpooled.compositeBuffer().addComponent(true, Unpooled.buffer(4))), doubles);
+        Assertions.assertArrayEquals(doubles, BuiltInEndecs.DOUBLE_ARRAY.decodeFully(ByteBufDeserializer::of, compositeBuffer));
+        Assertions.assertArrayEquals(booleans, BuiltInEndecs.BOOLEAN_ARRAY.decodeFully(ByteBufDeserializer::of, BuiltInEndecs.BOOLEAN_ARRAY.encodeFully(() -> ByteBufSerializer.of(Unpooled.buffer()), booleans)));
+
+        var bytes = new ByteArrayOutputStream();
+        BuiltInEndecs.INT_ARRAY.encodeFully(() -> DataOutputSerializer.of(new DataOutputStream(bytes)), ints);
+        Assertions.assertArrayEquals(ByteBufUtil.getBytes(bulkBuffer, 0, bulkBuffer.writerIndex()), bytes.toByteArray());
+        Assertions.assertArrayEquals(ints, BuiltInEndecs.INT_ARRAY.decodeFully(DataInputDeserializer::of, new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))));
+
+        var largeInts = IntStream.range(0, 5000).toArray();
+        var largeBytes = new ByteArrayOutputStream();
+        BuiltInEndecs.INT_ARRAY.encodeFully(() -> DataOutputSerializer.of(new DataOutputStream(largeBytes)), largeInts);
+        Assertions.assertArrayEquals(largeInts, BuiltInEndecs.INT_ARRAY.decodeFully(DataInputDeserializer::of, new DataInputStream(new ByteArrayInputStream(largeBytes.toByteArray()))));
+
+        // Spanning several chunks of the serializer's scratch buffer
+        var largeBuffer = BuiltInEndecs.INT_ARRAY.encodeFully(() -> ByteBufSerializer.of(Unpooled.buffer()), largeInts);
+        Assertions.assertArrayEquals(ByteBufUtil.getBytes(largeBuffer, 0, largeBuffer.writerIndex()), largeBytes.toByteArray());
+
+        var largeBooleans = new boolean[20000];
+        for (int i = 0; i < largeBooleans.length; i += 3) largeBooleans[i] = true;
+
+        var largeBooleanBytes = new ByteArrayOutputStream();
+        BuiltInEndecs.BOOLEAN_ARRAY.encodeFully(() -> DataOutputSerializer.of(new DataOutputStream(largeBooleanBytes)), largeBooleans);
+        Assertions.assertArrayEquals(largeBooleans, BuiltInEndecs.BOOLEAN_ARRAY.decodeFully(DataInputDeserializer::of, new DataInputStream(new ByteArrayInputStream(largeBooleanBytes.toByteArray()))));
+
+        // A bogus length fails once the input runs out instead of allocating the whole array upfront
+        var bogusBytes = new ByteArrayOutputStream();
+        Endec.VAR_INT.encodeFully(() -> DataOutputSerializer.of(new DataOutputStream(bogusBytes)), Integer.MAX_VALUE / Integer.BYTES);
+        bogusBytes.writeBytes(new byte[]{1, 2, 3});
+        Assertions.assertThrows(RuntimeException.class, () -> BuiltInEndecs.INT_ARRAY.decodeFully(DataInputDeserializer::of, new DataInputStream(new ByteArrayInputStream(bogusBytes.toByteArray()))));
+
+        Assertions.assertEquals(
+                Endec.INT.listOf().encodeFully(EdmSerializer::of, Arrays.stream(ints).boxed().toList()),
+                BuiltInEndecs.INT_ARRAY.encodeFully(EdmSerializer::of, ints)
+        );
+        Assertions.assertArrayEquals(ints, BuiltInEndecs.INT_ARRAY.decodeFully(EdmDeserializer::of, BuiltInEndecs.INT_ARRAY.encodeFully(EdmSerializer::of, ints)));
+
+        JsonElement sequenceJson = Endec.BOOLEAN.listOf().encodeFully(GsonSerializer::of, List.of(true, false, false, true));
+        Assertions.assertEquals(sequenceJson, BuiltInEndecs.BOOLEAN_ARRAY.encodeFully(GsonSerializer::of, booleans));
+        Assertions.assertArrayEquals(doubles, BuiltInEndecs.DOUBLE_ARRAY.decodeFully(GsonDeserializer::of, BuiltInEndecs.DOUBLE_ARRAY.encodeFully(GsonSerializer::of, doubles)));
+    }
+
+    @Test
+    @DisplayName("varint encodings")
+    public void varIntEncodings(){
+        var intValues = new int[]{0, 1, 127, 128, 255, 300, 16383, 16384, 2097151, 2097152, 268435455, 268435456, Integer.MAX_VALUE, -1, Integer.MIN_VALUE};
+        var longValues = new long[]{0, 1, 127, 128, 1L << 35, (1L << 49) - 1, 1L << 49, (1L << 56) - 1, 1L << 56, Long.MAX_VALUE, -1, Long.MIN_VALUE};
+
+        for (var value : intValues) {
+            var expected = new ByteArrayOutputStream();
+            VarInts.writeInt(value, b -> expected.write(b));
+
+            var buffer = Unpooled.buffer(1);
+            ByteBufVarInts.writeInt(buffer, value);
+            Assertions.assertArrayEquals(expected.toByteArray(), ByteBufUtil.getBytes(buffer), "bytebuf encoding of " + value);
+            Assertions.assertEquals(expected.size(), VarInts.getSizeInBytesFromInt(value));
+
+            var array = new byte[10];
+            Assertions.assertEquals(expected.size(), VarInts.writeInt(value, array, 0));
+
+            // once through the 8 byte peek, once through the byte-by-byte fallback
+            Assertions.assertEquals(value, ByteBufVarInts.readInt(Unpooled.wrappedBuffer(array)));
+            Assertions.assertEquals(value, ByteBufVarInts.readInt(Unpooled.wrappedBuffer(expected.toByteArray())));
+            Assertions.assertEquals(value, VarInts.readInt(ByteBuffer.wrap(array)));
+            Assertions.assertEquals(value, VarInts.readInt(ByteBuffer.wrap(expected.toByteArray())));
+
+            for (var order : List.of(ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN)) {
+                var byteBuffer = ByteBuffer.wrap(new byte[]{9, 9, 9, 9, 9, 9, 9, 9, 9, 9, 9, 9}).order(order);
+                byteBuffer.position(1);
+                VarInts.writeInt(value, byteBuffer);
+
+                // exactly the encoding is stored, leaving the following bytes alone
+                Assertions.assertEquals(expected.size() + 1, byteBuffer.position());
+                Assertions.assertArrayEquals(expected.toByteArray(), Arrays.copyOfRange(byteBuffer.array(), 1, expected.size() + 1));
+                Assertions.assertEquals(9, byteBuffer.get(expected.size() + 1));
+
+                Assertions.assertEquals(value, VarInts.readInt(byteBuffer.position(1)));
+            }
+        }
+
+        for (var value : longValues) {
+            var expected = new ByteArrayOutputStream();
+            VarInts.writeLong(value, b -> expected.write(b));
+
+            var buffer = Unpooled.buffer(1);
+            ByteBufVarInts.writeLong(buffer, value);
+            Assertions.assertArrayEquals(expected.toByteArray(), ByteBufUtil.getBytes(buffer), "bytebuf encoding of " + value);
+            Assertions.assertEquals(expected.size(), VarInts.getSizeInBytesFromLong(value));
+
+            var array = new byte[16];
+            Assertions.assertEquals(expected.size(), VarInts.writeLong(value, array, 0));
+
+            Assertions.assertEquals(value, ByteBufVarInts.readLong(Unpooled.wrappedBuffer(array)));
+            Assertions.assertEquals(value, ByteBufVarInts.readLong(Unpooled.wrappedBuffer(expected.toByteArray())));
+            Assertions.assertEquals(value, VarInts.readLong(ByteBuffer.wrap(array)));
+            Assertions.assertEquals(value, VarInts.readLong(ByteBuffer.wrap(expected.toByteArray())));
+
+            for (var order : List.of(ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN)) {
+                var byteBuffer = ByteBuffer.wrap(new byte[]{9, 9, 9, 9, 9, 9, 9, 9, 9, 9, 9, 9}).order(order);
+                byteBuffer.position(1);
+                VarInts.writeLong(value, byteBuffer);
+
+                Assertions.assertEquals(expected.size() + 1, byteBuffer.position());
+                Assertions.assertArrayEquals(expected.toByteArray(), Arrays.copyOfRange(byteBuffer.array(), 1, expected.size() + 1));
+                Assertions.assertEquals(9, byteBuffer.get(expected.size() + 1));
+
+                Assertions.assertEquals(value, VarInts.readLong(byteBuffer.position(1)));
+            }
+
+            var bytes = new ByteArrayOutputStream();
+            Endec.VAR_LONG.encodeFully(() -> DataOutputSerializer.of(new DataOutputStream(bytes)), value);
+            Assertions.assertArrayEquals(expected.toByteArray(), bytes.toByteArray());
+            Assertions.assertEquals(value, Endec.VAR_LONG.decodeFully(DataInputDeserializer::of, new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))));
+        }
+
+        Assertions.assertThrows(RuntimeException.class, () -> ByteBufVarInts.readInt(Unpooled.wrappedBuffer(new byte[]{-1, -1, -1, -1, -1, -1, -1, -1})));
+    }
+
+    @Test
+    @DisplayName("signed varints")
+    public void signedVarInts(){
+        for (var value : new int[]{0, -1, 1, -64, 64, Integer.MAX_VALUE, Integer.MIN_VALUE}) {
+            var buffer = Endec.SIGNED_VAR_INT.encodeFully(() -> ByteBufSerializer.of(Unpooled.buffer()), value);
+            Assertions.assertEquals(VarInts.getSizeInBytesFromInt(VarInts.encodeZigZag(value)), buffer.readableBytes());
+            Assertions.assertEquals(value, Endec.SIGNED_VAR_INT.decodeFully(ByteBufDeserializer::of, buffer));
+        }
+
+        for (var value : new long[]{0, -1, 1, Long.MAX_VALUE, Long.MIN_VALUE}) {
+            var buffer = Endec.SIGNED_VAR_LONG.encodeFully(() -> ByteBufSerializer.of(Unpooled.buffer()), value);
+            Assertions.assertEquals(value, Endec.SIGNED_VAR_LONG.decodeFully(ByteBufDeserializer::of, buffer));
+        }
+
+        Assertions.assertEquals(1, Endec.SIGNED_VAR_INT.encodeFully(() -> ByteBufSerializer.of(Unpooled.buffer()), -3).readableBytes());
+        Assertions.assertEquals(5, Endec.VAR_INT.encodeFully(() -> ByteBufSerializer.of(Unpooled.buffer()), -3).readableBytes());
+
+        Assertions.assertEquals(new JsonPrimitive(-3), Endec.SIGNED_VAR_INT.encodeFully(GsonSerializer::of, -3));
+        Assertions.assertEquals(-3, Endec.SIGNED_VAR_INT.decodeFully(GsonDeserializer::of, new JsonPrimitive(-3)));
+    }
+
+    @Test
+    @DisplayName("dispatch table")
+    public void dispatchTable(){
+        var table = DispatchTable.<Event>builder()
+                .register(Join.class, "join", StructEndecBuilder.of(Endec.STRING.fieldOf("player", Join::player), Join::new))
+                .register(Leave.class, "leave", StructEndecBuilder.of(Endec.VAR_INT.fieldOf("reason", Leave::reason), Leave::new))
+                .build();
+
+        var endec = Endec.dispatchedStruct(table, "type");
+        var events = List.<Event>of(new Join("glisco"), new Leave(3), new Join("noaione"));
+
+        var json = endec.listOf().encodeFully(GsonSerializer::of, events);
+        Assertions.assertEquals("leave", json.getAsJsonArray().get(1).getAsJsonObject().get("type").getAsString());
+        Assertions.assertEquals(events, endec.listOf().decodeFully(GsonDeserializer::of, json));
+
+        var buffer = endec.encodeFully(() -> ByteBufSerializer.of(Unpooled.buffer()), new Leave(3));
+        Assertions.assertArrayEquals(new byte[]{1, 3}, ByteBufUtil.getBytes(buffer));
+        Assertions.assertEquals(new Leave(3), endec.decodeFully(ByteBufDeserializer::of, buffer));
+
+        var dispatched = Endec.dispatched(table);
+        Assertions.assertEquals(events, dispatched.listOf().decodeFully(EdmDeserializer::of, dispatched.listOf().encodeFully(EdmSerializer::of, events)));
+
+        Assertions.assertSame(table.variant(1), table.variantOf(new Leave(0)));
+        Assertions.assertThrows(IllegalStateException.class, () -> table.variantOf(new Event() {}));
+        Assertions.assertThrows(IllegalStateException.class, () -> endec.decodeFully(ByteBufDeserializer::of, Unpooled.wrappedBuffer(new byte[]{2})));
+        Assertions.assertThrows(IllegalStateException.class, () -> DispatchTable.<Event>builder()
+                .register(Join.class, "join", StructEndecBuilder.of(Endec.STRING.fieldOf("player", Join::player), Join::new))
+                .register(Leave.class, "join", StructEndecBuilder.of(Endec.VAR_INT.fieldOf("reason", Leave::reason), Leave::new)));
+    }
+
+    @Test
+    @DisplayName("format capabilities")
+    public void formatCapabilities(){
+        Assertions.assertTrue(ByteBufSerializer.of(Unpooled.buffer()).hasCapability(FormatCapability.OMITS_FIELD_NAMES));
+        Assertions.assertTrue(ByteBufDeserializer.of(Unpooled.buffer()).hasCapability(FormatCapability.TRY_READ));
+        Assertions.assertFalse(DataInputDeserializer.of(new DataInputStream(new ByteArrayInputStream(new byte[0]))).hasCapability(FormatCapability.TRY_READ));
+
+        Assertions.assertTrue(GsonSerializer.of().hasCapability(FormatCapability.SELF_DESCRIBED));
+        Assertions.assertTrue(EdmDeserializer.of(EdmElement.i32(0)).hasCapability(FormatCapability.RANDOM_ACCESS));
+        Assertions.assertFalse(EdmSerializer.of().hasCapability(FormatCapability.OMITS_FIELD_NAMES));
+
+        // Self-described data is read through the capability, not the SelfDescribedDeserializer type
+        var json = new JsonObject();
+        json.addProperty("value", 5);
+
+        var forwarding = new ForwardingDeserializer<>(GsonDeserializer.of(json)) {};
+        Assertions.assertFalse(forwarding instanceof SelfDescribedDeserializer<?>);
+        Assertions.assertEquals(json, GsonEndec.INSTANCE.decode(SerializationContext.empty(), forwarding));
+        Assertions.assertThrows(IllegalStateException.class, () -> ByteBufDeserializer.of(Unpooled.buffer()).readAny(SerializationContext.empty(), EdmSerializer.of()));
+
+        // DataInput cannot be rewound, so catching errors is refused before anything is read
+        var endec = Endec.INT.validate(value -> {
+            if (value < 0) throw new IllegalStateException("negative");
+        }).catchErrors((ctx, deserializer, exception) -> {
+            deserializer.readInt(ctx);
+            return 0;
+        });
+
+        var bytes = new ByteArrayOutputStream();
+        var output = new DataOutputStream(bytes);
+        Endec.INT.encodeFully(() -> DataOutputSerializer.of(output), -1);
+        Endec.INT.encodeFully(() -> DataOutputSerializer.of(output), 5);
+
+        var input = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        Assertions.assertThrows(IllegalStateException.class, () -> endec.decodeFully(DataInputDeserializer::of, input));
+        Assertions.assertEquals(-1, Endec.INT.decodeFully(DataInputDeserializer::of, input));
+
+        // Anywhere else, the fallback starts over from the beginning of the value
+        var buffer = Unpooled.wrappedBuffer(bytes.toByteArray());
+        Assertions.assertEquals(0, endec.decodeFully(ByteBufDeserializer::of, buffer));
+        Assertions.assertEquals(5, endec.decodeFully(ByteBufDeserializer::of, buffer));
+    }
+
+    @Test
+    @DisplayName("struct schema")
+    public void structSchema(){
+        var endec = StructEndecBuilder.of(
+                Endec.STRING.fieldOf("player", Join::player),
+                Endec.VAR_INT.optionalFieldOf("reason", join -> 0, 0),
+                (player, reason) -> new Join(player)
+        );
+
+        var schema = endec.schema();
+        Assertions.assertNotNull(schema);
+        Assertions.assertEquals(List.of("player", "reason"), schema.fields().stream().map(field -> field.name()).toList());
+        Assertions.assertEquals(1, schema.indexOf("reason"));
+        Assertions.assertTrue(schema.field("reason").optional());
+        Assertions.assertSame(Endec.STRING, schema.field("player").endec());
+
+        var reflectiveSchema = ((StructEndec<Leave>) new ReflectiveEndecBuilder().get(Leave.class)).schema();
+        Assertions.assertNotNull(reflectiveSchema);
+        Assertions.assertEquals("reason", reflectiveSchema.fields().get(0).name());
+
+        var key = FieldKey.of(new String("player"));
+        Assertions.assertSame("player", key.name());
+        Assertions.assertSame(key.encoded(FieldKey.UTF_8), key.encoded(FieldKey.UTF_8));
+
+        // Keyed fields must hash exactly like fields written by name
+        var named = StructEndec.<Join>of(
+                (ctx, serializer, struct, value) -> struct.field("player", ctx, Endec.STRING, value.player()),
+                (ctx, deserializer, struct) -> new Join(struct.field("player", ctx, Endec.STRING, (Supplier<String>) null))
+        );
+
+        var keyed = StructEndecBuilder.of(Endec.STRING.fieldOf("player", Join::player), Join::new);
+
+        Assertions.assertEquals(named.encodeFully(HashSerializer::crc32c, new Join("joe")), keyed.encodeFully(HashSerializer::crc32c, new Join("joe")));
+
+        // Primitive fields hand their key to the format as well, which reuses its trace element
+        var received = new ArrayList<String>();
+        var recording = new Serializer.Struct() {
+            @Override
+            public <F> Serializer.Struct field(String name, SerializationContext ctx, Endec<F> endec, F value, boolean mayOmit) {
+                received.add("name " + name);
+                return this;
+            }
+
+            @Override
+            public Serializer.Struct intField(FieldKey key, SerializationContext ctx, IntEndec endec, int value) {
+                received.add("key " + key.name() + " " + ctx.pushField(key).trace().elements().get(0).valueAsString());
+                return this;
+            }
+
+            @Override
+            public void end() {}
+        };
+
+        BuiltInEndecs.INT.<Routed>intFieldOf("target", Routed::target).encodeField(SerializationContext.empty(), null, recording, new Routed("a", 7, List.of()));
+        Assertions.assertEquals(List.of("key target target"), received);
+        Assertions.assertSame(
+                SerializationContext.empty().pushField(key).trace().elements().get(0),
+                SerializationContext.empty().pushField(key).trace().elements().get(0)
+        );
+    }
+
+    @Test
+    @DisplayName("lazy struct")
+    public void lazyStruct(){
+        var endec = StructEndecBuilder.of(
+                Endec.STRING.fieldOf("type", Routed::type),
+                Endec.VAR_INT.fieldOf("target", Routed::target),
+                Endec.STRING.listOf().fieldOf("payload", Routed::payload),
+                Routed::new
+        );
+
+        var message = new Routed("chat", 7, List.of("a", "b", "c"));
+
+        var edmLazy = endec.decodeLazily(EdmDeserializer::of, endec.encodeFully(EdmSerializer::of, message));
+        Assertions.assertEquals(7, (int) edmLazy.get("target"));
+        Assertions.assertFalse(edmLazy.isDecoded("type"));
+        Assertions.assertFalse(edmLazy.isDecoded("payload"));
+        Assertions.assertEquals(message, edmLazy.value());
+
+        var buffer = endec.encodeFully(() -> ByteBufSerializer.of(Unpooled.buffer()), message);
+
+        // Without random access, every field up to the requested one has to be read
+        var bufLazy = endec.decodeLazily(ByteBufDeserializer::of, buffer);
+        Assertions.assertEquals(7, (int) bufLazy.get("target"));
+        Assertions.assertTrue(bufLazy.isDecoded("type"));
+        Assertions.assertFalse(bufLazy.isDecoded("payload"));
+        Assertions.assertEquals("chat", bufLazy.get("type"));
+        Assertions.assertEquals(message, bufLazy.value());
+
+        Assertions.assertThrows(IllegalStateException.class, () -> bufLazy.get("missing"));
+        Assertions.assertThrows(IllegalStateException.class, () -> StructEndec.of((ctx, serializer, struct, value) -> {}, (ctx, deserializer, struct) -> message)
+                .decodeLazily(EdmDeserializer::of, EdmElement.i32(0)));
+    }
+
+    @Test
+    @DisplayName("framed binary structs")
+    public void framedBinaryStructs(){
+        var endec = StructEndecBuilder.of(
+                Endec.STRING.fieldOf("type", Routed::type),
+                Endec.VAR_INT.fieldOf("target", Routed::target),
+                Endec.STRING.listOf().fieldOf("payload", Routed::payload),
+                Routed::new
+        );
+
+        // Large enough for the length prefix to outgrow its reserved byte
+        var message = new Routed("chat", 7, List.of("a".repeat(200), "b".repeat(20000)));
+
+        var serializer = ByteBufSerializer.framed(Unpooled.buffer());
+        endec.encode(SerializationContext.empty(), serializer, message);
+        Endec.VAR_INT.encode(SerializationContext.empty(), serializer, 42);
+        endec.encode(SerializationContext.empty(), serializer, message);
+
+        var deserializer = ByteBufDeserializer.framed(serializer.result());
+        deserializer.skipFrame(SerializationContext.empty());
+        Assertions.assertEquals(42, deserializer.readVarInt(SerializationContext.empty()));
+        Assertions.assertEquals(message, endec.decode(SerializationContext.empty(), deserializer));
+        Assertions.assertEquals(0, serializer.result().readableBytes());
+
+        // Newer versions of a struct may append fields, which older readers skip and newer readers default
+        var older = StructEndecBuilder.of(Endec.STRING.fieldOf("type", Routed::type), type -> new Routed(type, 0, List.of()));
+        var newer = StructEndecBuilder.of(
+                Endec.STRING.fieldOf("type", Routed::type),
+                Endec.VAR_INT.optionalFieldOf("target", Routed::target, 3),
+                (type, target) -> new Routed(type, target, List.of())
+        );
+
+        var newData = newer.listOf().encodeFully(() -> ByteBufSerializer.framed(Unpooled.buffer()), List.of(new Routed("a", 1, List.of()), new Routed("b", 2, List.of())));
+        Assertions.assertEquals(List.of("a", "b"), older.listOf().decodeFully(ByteBufDeserializer::framed, newData).stream().map(Routed::type).toList());
+
+        var oldData = older.listOf().encodeFully(() -> ByteBufSerializer.framed(Unpooled.buffer()), List.of(new Routed("a", 1, List.of())));
+        Assertions.assertEquals(List.of(new Routed("a", 3, List.of())), newer.listOf().decodeFully(ByteBufDeserializer::framed, oldData));
+
+        Assertions.assertThrows(IllegalStateException.class, () -> ByteBufDeserializer.of(Unpooled.buffer()).skipFrame(SerializationContext.empty()));
+        Assertions.assertThrows(IllegalStateException.class, () -> ByteBufDeserializer.framed(Unpooled.buffer()).skip(SerializationContext.empty()));
+        Assertions.assertTrue(ByteBufDeserializer.framed(Unpooled.buffer()).hasCapability(FormatCapability.SKIP_FRAMES));
+        Assertions.assertFalse(ByteBufDeserializer.framed(Unpooled.buffer()).hasCapability(FormatCapability.SKIP));
+
+        // The frame of a sequence must end where its last element does
+        var truncated = Unpooled.buffer();
+        ByteBufVarInts.writeInt(truncated, 3);
+        ByteBufVarInts.writeInt(truncated, 1);
+        truncated.writeByte(4).writeByte(0);
+        Assertions.assertThrows(IllegalStateException.class, () -> Endec.VAR_INT.listOf().decodeFully(ByteBufDeserializer::framed, truncated));
+
+        // Direct buffers have no backing array, which frames growing their length prefix have to cope with
+        var direct = endec.encodeFully(() -> ByteBufSerializer.framed(Unpooled.directBuffer(16)), message);
+        Assertions.assertEquals(message, endec.decodeFully(ByteBufDeserializer::framed, direct));
+        direct.release();
+
+        // Skipping an element passes over only that element, for binary and self-described formats alike
+        var skipped = new Routed("skipped", 0, List.of());
+        var skipping = Endec.<Routed>of(endec::encode, (ctx, input) -> {
+            if (!input.hasCapability(FormatCapability.SKIP) && !input.hasCapability(FormatCapability.SKIP_FRAMES)) return endec.decode(ctx, input);
+
+            input.skipFrame(ctx);
+            return skipped;
+        });
+
+        var messages = List.of(message, new Routed("b", 2, List.of()));
+        var framedList = endec.listOf().encodeFully(() -> ByteBufSerializer.framed(Unpooled.buffer()), messages);
+        Assertions.assertEquals(List.of(skipped, skipped), skipping.listOf().decodeFully(ByteBufDeserializer::framed, framedList));
+
+        var edmList = endec.listOf().encodeFully(EdmSerializer::of, messages);
+        Assertions.assertEquals(List.of(skipped, skipped), skipping.listOf().decodeFully(EdmDeserializer::of, edmList));
+        var forwarding = new ForwardingDeserializer<>(EdmDeserializer.of(edmList)) {};
+        Assertions.assertEquals(List.of(skipped, skipped), skipping.listOf().decode(SerializationContext.empty(), forwarding));
+
+        // Primitives are not framed, which is why they may only be skipped by formats declaring SKIP
+        var skippingInt = Endec.<Integer>of(Endec.INT::encode, (ctx, input) -> {
+            if (!input.hasCapability(FormatCapability.SKIP)) return Endec.INT.decode(ctx, input);
+
+            input.skip(ctx);
+            return -1;
+        });
+
+        var ints = List.of(1, 200, 30000);
+        Assertions.assertEquals(ints, skippingInt.listOf().decodeFully(ByteBufDeserializer::framed, Endec.INT.listOf().encodeFully(() -> ByteBufSerializer.framed(Unpooled.buffer()), ints)));
+        Assertions.assertEquals(List.of(-1, -1, -1), skippingInt.listOf().decodeFully(EdmDeserializer::of, Endec.INT.listOf().encodeFully(EdmSerializer::of, ints)));
+
+        Assertions.assertThrows(IllegalStateException.class, () -> DataInputDeserializer.of(new DataInputStream(new ByteArrayInputStream(new byte[0]))).skip(SerializationContext.empty()));
+    }
+
+    @Test
+    @DisplayName("presence bits")
+    public void presenceBits(){
+        var endec = StructEndecBuilder.of(
+                Endec.VAR_INT.fieldOf("id", Update::id),
+                Endec.STRING.optionalFieldOf("name", Update::name, (String) null),
+                Endec.INT.listOf().optionalFieldOf("values", Update::values, List.of(), List::isEmpty),
+                Endec.INT.optionalFieldOf("a", Update::a, 0, value -> value == 0),
+                Endec.INT.optionalFieldOf("b", Update::b, 0, value -> value == 0),
+                Endec.INT.optionalFieldOf("c", Update::c, 0, value -> value == 0),
+                Endec.INT.optionalFieldOf("d", Update::d, 0, value -> value == 0),
+                Endec.INT.optionalFieldOf("e", Update::e, 0, value -> value == 0),
+                Endec.INT.optionalFieldOf("f", Update::f, 0),
+                Update::new
+        );
+
+        var sparse = new Update(1, null, List.of(), 0, 0, 0, 0, 0, 0);
+        var dense = new Update(2, "name", List.of(1, 2), 3, 4, 5, 6, 7, 8);
+
+        for (var update : List.of(sparse, dense)) {
+            var plain = endec.encodeFully(() -> ByteBufSerializer.of(Unpooled.buffer()), update);
+            var masked = endec.encodeFully(() -> ByteBufSerializer.withOptions(Unpooled.buffer(), ByteBufOption.PRESENCE_BITS), update);
+
+            Assertions.assertTrue(masked.readableBytes() < plain.readableBytes());
+            Assertions.assertEquals(update, endec.decodeFully(buffer -> ByteBufDeserializer.withOptions(buffer, ByteBufOption.PRESENCE_BITS), masked));
+
+            var framed = endec.listOf().encodeFully(() -> ByteBufSerializer.withOptions(Unpooled.buffer(), ByteBufOption.PRESENCE_BITS, ByteBufOption.FRAMED), List.of(update, update));
+            Assertions.assertEquals(List.of(update, update), endec.listOf().decodeFully(buffer -> ByteBufDeserializer.withOptions(buffer, ByteBufOption.PRESENCE_BITS, ByteBufOption.FRAMED), framed));
+
+            // The bitmask of more than 7 optional fields outgrows its reserved byte, also in buffers without a backing array
+            var direct = endec.encodeFully(() -> ByteBufSerializer.withOptions(Unpooled.directBuffer(4), ByteBufOption.PRESENCE_BITS, ByteBufOption.FRAMED), update);
+            Assertions.assertEquals(update, endec.decodeFully(buffer -> ByteBufDeserializer.withOptions(buffer, ByteBufOption.PRESENCE_BITS, ByteBufOption.FRAMED), direct));
+            direct.release();
+        }
+
+        // Repeating an option has no further effect
+        var repeated = endec.encodeFully(() -> ByteBufSerializer.withOptions(Unpooled.buffer(), ByteBufOption.PRESENCE_BITS, ByteBufOption.PRESENCE_BITS), dense);
+        Assertions.assertEquals(dense, endec.decodeFully(buffer -> ByteBufDeserializer.withOptions(buffer, ByteBufOption.PRESENCE_BITS, ByteBufOption.PRESENCE_BITS), repeated));
+
+        // Only the id, the two bytes of the bitmask and 'f' (which has no default predicate) remain
+        Assertions.assertEquals(7, endec.encodeFully(() -> ByteBufSerializer.withOptions(Unpooled.buffer(), ByteBufOption.PRESENCE_BITS), sparse).readableBytes());
+    }
+
+    @Test
+    @DisplayName("byte buffer format")
+    public void byteBufferFormat(){
+        var endec = StructEndecBuilder.of(
+                Endec.STRING.fieldOf("type", Routed::type),
+                Endec.VAR_INT.fieldOf("target", Routed::target),
+                Endec.STRING.listOf().fieldOf("payload", Routed::payload),
+                Routed::new
+        );
+
+        var message = new Routed("chat", -300, List.of("ascii", "ümlaut ☃", "x".repeat(1000)));
+        var expected = ByteBufUtil.getBytes(endec.encodeFully(() -> ByteBufSerializer.of(Unpooled.buffer()), message));
+
+        // Both start out too small, forcing the serializer to grow them
+        for (var initial : List.of(ByteBuffer.allocate(4), ByteBuffer.allocateDirect(4))) {
+            var buffer = endec.encodeFully(() -> ByteBufferSerializer.of(initial), message).flip();
+            Assertions.assertEquals(initial.isDirect(), buffer.isDirect());
+
+            var bytes = new byte[buffer.remaining()];
+            buffer.duplicate().get(bytes);
+            Assertions.assertArrayEquals(expected, bytes);
+
+            Assertions.assertEquals(message, endec.decodeFully(ByteBufferDeserializer::of, buffer));
+            Assertions.assertFalse(buffer.hasRemaining());
+        }
+
+        var ints = new int[]{1, -2, Integer.MAX_VALUE};
+        var doubles = new double[]{.5, -1e300};
+
+        var serializer = ByteBufferSerializer.heap();
+        endec.encode(SerializationContext.empty(), serializer, message);
+        BuiltInEndecs.INT_ARRAY.encode(SerializationContext.empty(), serializer, ints);
+        BuiltInEndecs.DOUBLE_ARRAY.encode(SerializationContext.empty(), serializer, doubles);
+
+        var arrays = serializer.result().flip();
+        var deserializer = ByteBufferDeserializer.of(arrays);
+        Assertions.assertEquals(message, endec.decode(SerializationContext.empty(), deserializer));
+
+        // A failed attempt leaves the position where it was
+        var position = arrays.position();
+        Assertions.assertThrows(IllegalStateException.class, () -> deserializer.tryRead(attempt -> {
+            BuiltInEndecs.INT_ARRAY.decode(SerializationContext.empty(), attempt);
+            throw new IllegalStateException("Rejected");
+        }));
+        Assertions.assertEquals(position, arrays.position());
+
+        Assertions.assertArrayEquals(ints, BuiltInEndecs.INT_ARRAY.decode(SerializationContext.empty(), deserializer));
+        Assertions.assertArrayEquals(doubles, BuiltInEndecs.DOUBLE_ARRAY.decode(SerializationContext.empty(), deserializer));
+
+        var endecBuffer = ByteBufferEndecBuffer.direct();
+        endecBuffer.write(endec, message);
+        endecBuffer.write(Endec.VAR_LONG, Long.MIN_VALUE);
+
+        Assertions.assertEquals(expected.length + 10, endecBuffer.readableBytes());
+        Assertions.assertEquals(message, endecBuffer.read(endec));
+        Assertions.assertEquals(Long.MIN_VALUE, endecBuffer.read(Endec.VAR_LONG));
+        Assertions.assertEquals(0, endecBuffer.readableBytes());
+    }
+
+    @Test
+    @DisplayName("mapped file")
+    public void mappedFile() throws IOException {
+        var endec = StructEndecBuilder.of(
+                Endec.STRING.fieldOf("type", Routed::type),
+                Endec.VAR_INT.fieldOf("target", Routed::target),
+                Endec.STRING.listOf().fieldOf("payload", Routed::payload),
+                Routed::new
+        );
+
+        var messages = List.of(new Routed("large", 1, List.of("x".repeat(60000))), new Routed("small", 2, List.of("ümlaut")));
+        var offsets = new long[messages.size()];
+
+        var serializer = ByteBufferSerializer.heap();
+        for (int i = 0; i < messages.size(); i++) {
+            offsets[i] = serializer.result().position();
+            endec.encode(SerializationContext.empty(), serializer, messages.get(i));
+        }
+
+        var bytesOffset = serializer.result().position();
+        Endec.BYTES.encode(SerializationContext.empty(), serializer, new byte[]{1, 2, 3});
+
+        var binary = serializer.result().flip();
+        var edmOffset = binary.remaining();
+
+        var contents = new ByteArrayOutputStream();
+        contents.write(binary.array(), 0, edmOffset);
+        EdmIo.encode(new DataOutputStream(contents), endec.listOf().encodeFully(EdmSerializer::of, messages));
+        EdmIo.encode(new DataOutputStream(contents), EdmElement.i32(42));
+
+        var lazyOffset = contents.size();
+        EdmIo.encode(new DataOutputStream(contents), EdmElement.sequence(List.of(EdmElement.bytes(new byte[]{4, 5}), EdmElement.string("lazy"))));
+
+        var path = Files.createTempFile("endec", ".bin");
+        try {
+            Files.write(path, contents.toByteArray());
+
+            try (var file = MappedFile.open(path)) {
+                Assertions.assertEquals(contents.size(), file.size());
+
+                // Values are read at their offset, in any order
+                var deserializer = MappedFileDeserializer.of(file, offsets[1]);
+                Assertions.assertEquals(messages.get(1), endec.decode(SerializationContext.empty(), deserializer));
+
+                deserializer.seek(offsets[0]);
+                Assertions.assertEquals(messages.get(0), endec.decode(SerializationContext.empty(), deserializer));
+
+                deserializer.seek(bytesOffset);
+                var view = deserializer.readBytesView(SerializationContext.empty());
+                Assertions.assertTrue(view.isReadOnly());
+                Assertions.assertEquals(ByteBuffer.wrap(new byte[]{1, 2, 3}), view);
+                Assertions.assertEquals(edmOffset, deserializer.position());
+
+                var reader = file.reader(edmOffset);
+                EdmIo.skip(reader);
+                Assertions.assertEquals(EdmElement.i32(42), EdmIo.decode(reader));
+                Assertions.assertEquals(lazyOffset, reader.position());
+
+                reader.seek(edmOffset);
+                Assertions.assertEquals(messages, endec.listOf().decodeFully(EdmDeserializer::of, EdmIo.decode(reader)));
+
+                // Strings and byte arrays are only read once accessed, the reader moves past them regardless
+                reader.seek(edmOffset);
+                Assertions.assertEquals(messages, endec.listOf().decodeFully(EdmDeserializer::of, EdmIo.decodeLazily(reader)));
+                Assertions.assertEquals(EdmElement.i32(42), EdmIo.decodeLazily(reader));
+
+                var lazy = EdmIo.decodeLazily(reader).<List<EdmElement<?>>>cast();
+                Assertions.assertEquals(0, reader.remaining());
+                Assertions.assertArrayEquals(new byte[]{4, 5}, lazy.get(0).cast());
+                Assertions.assertEquals(EdmElement.string("lazy"), lazy.get(1));
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    public record Update(int id, String name, List<Integer> values, int a, int b, int c, int d, int e, int f) {}
+
+    public record Routed(String type, int target, List<String> payload) {}
+
+    public interface Event {}
+
+    public record Join(String player) implements Event {}
+
+    public record Leave(int reason) implements Event {}
 }
@@ -1,8 +1,17 @@
 package io.wispforest.endec;
 
+import io.netty.buffer.Unpooled;
 import io.wispforest.endec.annotations.DefinedEndecGetter;
+import io.wispforest.endec.annotations.IsVarInt;
+import io.wispforest.endec.annotations.RangedInteger;
+import io.wispforest.endec.annotations.SealedPolymorphic;
+import io.wispforest.endec.format.bytebuf.ByteBufDeserializer;
+import io.wispforest.endec.format.bytebuf.ByteBufSerializer;
 import io.wispforest.endec.format.edm.EdmDeserializer;
 import io.wispforest.endec.format.edm.EdmSerializer;
+import io.wispforest.endec.format.gson.GsonDeserializer;
+import io.wispforest.endec.format.gson.GsonSerializer;
+import io.wispforest.endec.impl.RecordEndec;
 import io.wispforest.endec.impl.ReflectiveEndecBuilder;
 import io.wispforest.endec.impl.StructEndecBuilder;
 import io.wispforest.endec.struct.*;
@@ -10,12 +19,21 @@ import io.wispforest.endec.struct.inheritence.ImmutablePairTest;
 import io.wispforest.endec.struct.inheritence.InheritedObject1;
 import io.wispforest.endec.struct.inheritence.InheritedObject2;
 import io.wispforest.endec.struct.inheritence.InheritedObject3;
+import io.wispforest.endec.util.reflection.ObjectConstructor;
 import io.wispforest.endec.util.reflection.ReflectionUtils;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 public class ReflectionTests {
 
@@ -289,6 +307,335 @@ public class ReflectionTests {
         Assertions.assertEquals(obj, newObj);
     }
 
+    @Test
+    @DisplayName("signed IsVarInt annotation")
+    public void testSignedVarIntAnnotation(){
+        var endec = BUILDER.get(Delta.class);
+        var delta = new Delta(-1, -2);
+
+        var buffer = endec.encodeFully(() -> ByteBufSerializer.of(Unpooled.buffer()), delta);
+        Assertions.assertEquals(2, buffer.readableBytes());
+        Assertions.assertEquals(delta, endec.decodeFully(ByteBufDeserializer::of, buffer));
+    }
+
+    public record Delta(@IsVarInt(signed = true) int dx, @IsVarInt(signed = true) long dy) {}
+
+    @Test
+    @DisplayName("recursive record")
+    public void testRecursiveRecord(){
+        var endec = new ReflectiveEndecBuilder().get(Node.class);
+        var node = new Node(1, Optional.of(new Node(2, Optional.of(new Node(3, Optional.empty())))));
+
+        var element = endec.encodeFully(EdmSerializer::of, node);
+        Assertions.assertEquals(node, endec.decodeFully(EdmDeserializer::of, element));
+    }
+
+    public record Node(int value, Optional<Node> next) {}
+
+    @Test
+    @DisplayName("private record with primitive components")
+    public void testPrivateRecord(){
+        var endec = BUILDER.get(Sample.class);
+        var sample = new Sample(7, 8L, 1.5f, 2.5d, true, "sample");
+
+        var element = endec.encodeFully(EdmSerializer::of, sample);
+        Assertions.assertEquals(sample, endec.decodeFully(EdmDeserializer::of, element));
+    }
+
+    private record Sample(int i, long l, float f, double d, boolean b, String s) {}
+
+    @Test
+    @DisplayName("compiled struct endecs")
+    public void testCompiledStructEndecs(){
+        var builder = new ReflectiveEndecBuilder().compileStructEndecs();
+
+        var sampleEndec = builder.get(Sample.class);
+        var objectEndec = builder.get(TestObject1.class);
+
+        Assertions.assertTrue(sampleEndec.getClass().isHidden());
+        Assertions.assertTrue(objectEndec.getClass().isHidden());
+        Assertions.assertNotSame(sampleEndec.getClass(), objectEndec.getClass());
+
+        var sample = new Sample(7, 8L, 1.5f, 2.5d, true, "sample");
+        var sampleElement = sampleEndec.encodeFully(EdmSerializer::of, sample);
+        Assertions.assertEquals(BUILDER.get(Sample.class).encodeFully(EdmSerializer::of, sample), sampleElement);
+        Assertions.assertEquals(sample, sampleEndec.decodeFully(EdmDeserializer::of, sampleElement));
+
+        var object = new TestObject1();
+        object.field2 = 5;
+        object.field8 = Optional.of("present");
+
+        var objectBuffer = objectEndec.encodeFully(() -> ByteBufSerializer.of(Unpooled.buffer()), object);
+        Assertions.assertEquals(object, objectEndec.decodeFully(ByteBufDeserializer::of, objectBuffer));
+
+        var node = new Node(1, Optional.of(new Node(2, Optional.empty())));
+        var nodeEndec = builder.get(Node.class);
+        Assertions.assertEquals(node, nodeEndec.decodeFully(EdmDeserializer::of, nodeEndec.encodeFully(EdmSerializer::of, node)));
+    }
+
+    @Test
+    @DisplayName("type keyed endec cache")
+    public void testTypeKeyedCache(){
+        var builder = new ReflectiveEndecBuilder();
+
+        var nodeList = builder.get(ReflectionUtils.createParameterizedType(List.class, Node.class));
+        Assertions.assertSame(nodeList, builder.get(ReflectionUtils.createParameterizedType(List.class, Node.class)));
+
+        var components = Numbers.class.getRecordComponents();
+        var varInts = builder.getAnnotated(components[0]);
+        var ints = builder.getAnnotated(components[1]);
+
+        Assertions.assertSame(varInts, builder.getAnnotated(components[0]));
+        Assertions.assertSame(ints, builder.getAnnotated(components[2]));
+        Assertions.assertNotSame(varInts, ints);
+
+        var numbers = new Numbers(List.of(1, 2, 3), List.of(1, 2, 3), List.of());
+        var buffer = builder.get(Numbers.class).encodeFully(() -> ByteBufSerializer.of(Unpooled.buffer()), numbers);
+
+        Assertions.assertEquals(1 + 3 + 1 + 3 * 4 + 1, buffer.readableBytes());
+        Assertions.assertEquals(numbers, builder.get(Numbers.class).decodeFully(ByteBufDeserializer::of, buffer));
+    }
+
+    public record Numbers(List<@IsVarInt Integer> varInts, List<Integer> ints, List<Integer> moreInts) {}
+
+    @Test
+    @DisplayName("concurrent endec creation")
+    public void testConcurrentCreation() throws Exception {
+        var builder = new ReflectiveEndecBuilder();
+        var threads = 8;
+
+        var start = new CountDownLatch(1);
+        var executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            var results = new ArrayList<Future<Endec<Node>>>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return builder.get(Node.class);
+                }));
+            }
+
+            start.countDown();
+
+            // Threads which raced the creating thread wait for it rather than getting a placeholder
+            var node = new Node(1, Optional.of(new Node(2, Optional.empty())));
+            for (var result : results) {
+                var endec = result.get();
+                Assertions.assertSame(builder.get(Node.class), endec);
+                Assertions.assertEquals(node, endec.decodeFully(EdmDeserializer::of, endec.encodeFully(EdmSerializer::of, node)));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("failed concurrent creation discards dependent endecs")
+    public void testFailedConcurrentCreation() throws Exception {
+        var builder = new ReflectiveEndecBuilder();
+        var executor = Executors.newSingleThreadExecutor();
+
+        try {
+            var stalled = executor.submit(() -> builder.get(Stalled.class));
+            STALLED_STARTED.await();
+
+            // Created while another thread holds the reservation of Stalled, which then fails
+            builder.get(StalledHolder.class);
+            STALLED_RELEASED.countDown();
+
+            Assertions.assertThrows(ExecutionException.class, stalled::get);
+            Assertions.assertThrows(RuntimeException.class, () -> builder.get(StalledHolder.class));
+        } finally {
+            STALLED_RELEASED.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private static final CountDownLatch STALLED_STARTED = new CountDownLatch(1);
+    private static final CountDownLatch STALLED_RELEASED = new CountDownLatch(1);
+
+    public record StalledHolder(List<Stalled> stalled) {}
+
+    public record Stalled(int value) {
+        @DefinedEndecGetter
+        public static Endec<Stalled> endec() throws InterruptedException {
+            STALLED_STARTED.countDown();
+            STALLED_RELEASED.await();
+
+            throw new IllegalStateException("Stalled endec creation failed");
+        }
+    }
+
+    @Test
+    @DisplayName("parallel precompilation")
+    public void testPrecompile(){
+        var builder = new ReflectiveEndecBuilder();
+        var executor = Executors.newFixedThreadPool(4);
+
+        try {
+            var report = builder.precompile(List.of(Node.class, Sample.class, Numbers.class, TestObject1.class, Delta.class), executor, 10);
+
+            Assertions.assertTrue(report.successful(), () -> report.failures().toString());
+            Assertions.assertEquals(5, report.buildTimes().size());
+            Assertions.assertEquals(5, report.warmupTimes().size());
+
+            Assertions.assertSame(builder.get(Node.class), builder.get(Node.class));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        var report = builder.precompile(List.of(Runnable.class));
+        Assertions.assertFalse(report.successful());
+        Assertions.assertTrue(report.failures().containsKey(Runnable.class));
+
+        // The all-zero warm-up value is out of range, which does not make the endec itself a failure
+        var warmupReport = builder.precompile(List.of(Positive.class), ForkJoinPool.commonPool(), 1);
+        Assertions.assertTrue(warmupReport.successful(), () -> warmupReport.failures().toString());
+        Assertions.assertTrue(warmupReport.buildTimes().containsKey(Positive.class));
+        Assertions.assertTrue(warmupReport.warmupFailures().containsKey(Positive.class));
+    }
+
+    public record Positive(@RangedInteger(min = 1, throwError = true) int value) {}
+
+    @Test
+    @DisplayName("reflection metadata")
+    public void testReflectionMetadata(){
+        var builder = new ReflectiveEndecBuilder().recordReflectionMetadata();
+        builder.get(Numbers.class);
+        builder.get(InheritedObject1.class);
+
+        var metadata = builder.reflectionMetadata();
+        Assertions.assertTrue(metadata.reflectiveClasses().containsAll(ReflectionUtils.unpackClassStack(InheritedObject1.class).subList(1, 3)));
+        Assertions.assertFalse(metadata.reflectiveClasses().contains(Object.class));
+
+        var reflectConfig = metadata.toReflectConfig();
+        Assertions.assertTrue(reflectConfig.contains("\"name\": \"" + Numbers.class.getName() + "\""));
+        Assertions.assertTrue(reflectConfig.contains("\"allRecordComponents\": true"));
+
+        var classList = metadata.toClassList();
+        Assertions.assertTrue(classList.contains(Numbers.class.getName().replace('.', '/') + "\n"));
+        Assertions.assertTrue(classList.contains("io/wispforest/endec/impl/RecordEndec\n"));
+
+        Assertions.assertThrows(IllegalStateException.class, () -> new ReflectiveEndecBuilder().reflectionMetadata());
+
+        // While recording, endecs are neither compiled nor use compiled constructors
+        var recordingBuilder = new ReflectiveEndecBuilder().compileStructEndecs().recordReflectionMetadata();
+        var numbersEndec = recordingBuilder.get(Numbers.class);
+        var numbers = new Numbers(List.of(1, 300), List.of(2), List.of());
+
+        Assertions.assertInstanceOf(RecordEndec.class, numbersEndec);
+        Assertions.assertEquals(numbers, numbersEndec.decodeFully(EdmDeserializer::of, numbersEndec.encodeFully(EdmSerializer::of, numbers)));
+    }
+
+    @Test
+    @DisplayName("portable constructors")
+    public void testPortableConstructors() throws NoSuchMethodException {
+        var numbersConstructor = ObjectConstructor.fromConstructor(Numbers.class.getDeclaredConstructor(List.class, List.class, List.class), true);
+        Assertions.assertEquals(new Numbers(List.of(1), List.of(), List.of()), numbersConstructor.createInstance(List.of(1), List.of(), List.of()));
+
+        var listConstructor = ObjectConstructor.fromConstructor(ArrayList.class.getDeclaredConstructor(), true);
+        Assertions.assertEquals(List.of(), listConstructor.createInstance());
+
+        Assertions.assertThrows(IllegalStateException.class, () -> numbersConstructor.createInstance("not a list", List.of(), List.of()));
+    }
+
+    @Test
+    @DisplayName("self referential types")
+    public void testSelfReferentialTypes(){
+        var builder = new ReflectiveEndecBuilder();
+
+        var scene = new SceneNode("root", List.of(new SceneNode("child", List.of(new SceneNode("grandchild", List.of()))), new SceneNode("sibling", List.of())));
+        var sceneEndec = builder.get(SceneNode.class);
+
+        Assertions.assertInstanceOf(RecordEndec.class, sceneEndec);
+        Assertions.assertEquals(scene, sceneEndec.decodeFully(EdmDeserializer::of, sceneEndec.encodeFully(EdmSerializer::of, scene)));
+
+        var folder = new Folder("root", List.of(new FileEntry("file", Optional.empty()), new FileEntry("link", Optional.of(new Folder("other", List.of())))));
+        var folderEndec = builder.get(Folder.class);
+
+        Assertions.assertInstanceOf(RecordEndec.class, builder.get(FileEntry.class));
+        Assertions.assertEquals(folder, folderEndec.decodeFully(EdmDeserializer::of, folderEndec.encodeFully(EdmSerializer::of, folder)));
+    }
+
+    @Test
+    @DisplayName("self referential struct placeholder")
+    public void testSelfReferentialStruct(){
+        var branch = new Branch("root", List.of(new Leaf(3, new Branch("inner", List.of()))));
+        var endec = RECURSIVE_BUILDER.get(Branch.class);
+
+        Assertions.assertEquals(branch, endec.decodeFully(EdmDeserializer::of, endec.encodeFully(EdmSerializer::of, branch)));
+    }
+
+    @Test
+    @DisplayName("endecs capturing a reservation are recreated")
+    public void testReservationEviction(){
+        var branchEndec = RECURSIVE_BUILDER.get(Branch.class);
+
+        // The endec of Leaf created along with that of Branch was handed its reservation, and has thus
+        // been evicted - the one created now refers to the actual endec of Branch instead
+        RECURSIVE_BUILDER.get(Leaf.class);
+        Assertions.assertSame(branchEndec, LEAF_PARENTS.get(LEAF_PARENTS.size() - 1));
+        Assertions.assertSame(RECURSIVE_BUILDER.get(Leaf.class), RECURSIVE_BUILDER.get(Leaf.class));
+    }
+
+    @Test
+    @DisplayName("failed creation discards dependent endecs")
+    public void testFailedCreation(){
+        var builder = new ReflectiveEndecBuilder();
+        Assertions.assertThrows(RuntimeException.class, () -> builder.get(Broken.class));
+
+        // The endec of List<Broken> was created while Broken was reserved, so it must not outlive the failure
+        var childrenType = Broken.class.getRecordComponents()[0].getAnnotatedType();
+        Assertions.assertThrows(RuntimeException.class, () -> builder.getAnnotated(childrenType));
+    }
+
+    public record Broken(List<Broken> children, Runnable action) {}
+
+    public record SceneNode(String name, List<SceneNode> children) {}
+
+    public record Folder(String name, List<FileEntry> files) {}
+
+    public record FileEntry(String name, Optional<Folder> link) {}
+
+    private static final ReflectiveEndecBuilder RECURSIVE_BUILDER = new ReflectiveEndecBuilder();
+    private static final List<StructEndec<Branch>> LEAF_PARENTS = new ArrayList<>();
+
+    public record Branch(String name, List<Leaf> leaves) {}
+
+    public record Leaf(int weight, Branch parent) {
+        @DefinedEndecGetter
+        public static Endec<Leaf> endec() {
+            // Requested while the endec of Branch is still being created
+            var parent = (StructEndec<Branch>) RECURSIVE_BUILDER.get(Branch.class);
+            LEAF_PARENTS.add(parent);
+
+            return StructEndecBuilder.of(
+                    Endec.INT.fieldOf("weight", Leaf::weight),
+                    parent.flatFieldOf(Leaf::parent),
+                    Leaf::new
+            );
+        }
+    }
+
+    @Test
+    @DisplayName("sealed polymorphic roundtrip")
+    public void testSealedPolymorphic(){
+        var endec = BUILDER.get(Message.class);
+        var messages = List.<Message>of(new Message.Chat("hello"), new Message.Ping(7L), new Message.Chat("bye"));
+
+        Assertions.assertEquals(messages, endec.listOf().decodeFully(GsonDeserializer::of, endec.listOf().encodeFully(GsonSerializer::of, messages)));
+
+        var buffer = endec.listOf().encodeFully(() -> ByteBufSerializer.of(Unpooled.buffer()), messages);
+        Assertions.assertEquals(messages, endec.listOf().decodeFully(ByteBufDeserializer::of, buffer));
+    }
+
+    @SealedPolymorphic
+    public sealed interface Message {
+        record Chat(String text) implements Message {}
+        record Ping(long time) implements Message {}
+    }
+
     public static class Funny {
 
         private String name;